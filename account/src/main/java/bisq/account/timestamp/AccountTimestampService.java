@@ -46,9 +46,10 @@ import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.PublicKey;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
@@ -59,6 +60,9 @@ public class AccountTimestampService implements Service, DataService.Listener {
     private final AuthorizedBondedRolesService authorizedBondedRolesService;
 
     private final ObservableHashMap<ByteArray, AccountTimestamp> accountTimestampByHash = new ObservableHashMap<>();
+    // The hash is the only field of AuthorizedAccountTimestamp used for the storage key, thus there is only one
+    // entry per hash in the network store.
+    private final Map<ByteArray, AuthorizedAccountTimestamp> authorizedAccountTimestampByHash = new ConcurrentHashMap<>();
 
     public AccountTimestampService(NetworkService networkService,
                                    UserService userService,
@@ -94,6 +98,7 @@ public class AccountTimestampService implements Service, DataService.Listener {
     @Override
     public CompletableFuture<Boolean> shutdown() {
         networkService.removeDataServiceListener(this);
+        authorizedAccountTimestampByHash.clear();
         return CompletableFuture.completedFuture(true);
     }
 
@@ -123,7 +128,7 @@ public class AccountTimestampService implements Service, DataService.Listener {
 
     public void handleAddedAccount(Account<?, ?> account) {
         byte[] hash = createHash(account);
-        findAuthorizedAccountTimestamp(hash).findAny()
+        findAuthorizedAccountTimestamp(hash)
                 .ifPresentOrElse(authorizedAccountTimestamp -> {
                     if (shouldRepublish(authorizedAccountTimestamp)) {
                         // Republish
@@ -155,6 +160,7 @@ public class AccountTimestampService implements Service, DataService.Listener {
     private void handleAuthorizedAccountTimestampAdded(AuthorizedAccountTimestamp authorizedAccountTimestamp) {
         AccountTimestamp accountTimestamp = authorizedAccountTimestamp.getAccountTimestamp();
         ByteArray accountTimestampHash = new ByteArray(accountTimestamp.getHash());
+        authorizedAccountTimestampByHash.put(accountTimestampHash, authorizedAccountTimestamp);
         AccountTimestamp existing = accountTimestampByHash.get(accountTimestampHash);
         if (existing != null && existing.getDate() != accountTimestamp.getDate()) {
             log.warn("Our existing accountTimestamp date is different to the date of the newly added. " +
@@ -166,6 +172,7 @@ public class AccountTimestampService implements Service, DataService.Listener {
     private void handleAuthorizedAccountTimestampRemoved(AuthorizedAccountTimestamp authorizedAccountTimestamp) {
         AccountTimestamp accountTimestamp = authorizedAccountTimestamp.getAccountTimestamp();
         ByteArray accountTimestampHash = new ByteArray(accountTimestamp.getHash());
+        authorizedAccountTimestampByHash.remove(accountTimestampHash, authorizedAccountTimestamp);
         accountTimestampByHash.remove(accountTimestampHash);
     }
 
@@ -238,17 +245,8 @@ public class AccountTimestampService implements Service, DataService.Listener {
                                 selectedUserIdentity.getNetworkIdWithKeyPair()));
     }
 
-    private Stream<AuthorizedAccountTimestamp> findAuthorizedAccountTimestamp(byte[] hash) {
-        String storageKey = AuthorizedAccountTimestamp.class.getSimpleName();
-        return networkService.getDataService()
-                .stream()
-                .flatMap(dataService ->
-                        dataService.getAuthenticatedPayloadStreamByStoreName(storageKey)
-                                .map(AuthenticatedData::getDistributedData)
-                                .filter(AuthorizedAccountTimestamp.class::isInstance)
-                                .map(AuthorizedAccountTimestamp.class::cast)
-                )
-                .filter(e -> Arrays.equals(hash, e.getAccountTimestamp().getHash()));
+    private Optional<AuthorizedAccountTimestamp> findAuthorizedAccountTimestamp(byte[] hash) {
+        return Optional.ofNullable(authorizedAccountTimestampByHash.get(new ByteArray(hash)));
     }
 
     private static byte[] createHash(Account<? extends PaymentMethod<?>, ?> account) {
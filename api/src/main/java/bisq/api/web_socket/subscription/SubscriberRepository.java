@@ -17,32 +17,67 @@
 
 package bisq.api.web_socket.subscription;
 
-import bisq.common.observable.map.ObservableHashMap;
 import bisq.common.util.StringUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.glassfish.grizzly.websockets.WebSocket;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Index of subscribers by topic and parameter with a reverse index by WebSocket.
+ * Per topic, we keep an immutable snapshot which gets replaced atomically on add and remove. Reads are lock-free
+ * and return the snapshot sets directly, so dispatching and cleanup at connection close only touch the matching
+ * subscribers.
+ * Subscribers without a parameter are stored under Optional.empty() and match any parameter.
+ */
 @Slf4j
 public class SubscriberRepository {
-    private final ObservableHashMap<Topic, Set<Subscriber>> subscribersByTopic = new ObservableHashMap<>();
-    private final Object subscribersByTopicLock = new Object();
+    private final Map<Topic, TopicSubscribers> subscribersByTopic = new ConcurrentHashMap<>();
+    private final Map<WebSocket, Set<Subscriber>> subscribersByWebSocket = new ConcurrentHashMap<>();
 
     public void onConnectionClosed(WebSocket webSocket) {
-        findSubscribers(webSocket).forEach(this::remove);
+        // We remove from the topic index inside the compute function so that a concurrent add for the same
+        // webSocket cannot leave an orphaned subscriber in the topic index.
+        subscribersByWebSocket.computeIfPresent(webSocket, (key, subscribers) -> {
+            subscribers.forEach(this::removeFromTopicIndex);
+            return null;
+        });
     }
 
     public void add(SubscriptionRequest request, WebSocket webSocket) {
         Topic topic = request.getTopic();
         Optional<String> parameter = StringUtils.toOptional(request.getParameter());
         Subscriber subscriber = new Subscriber(topic, parameter, request.getRequestId(), webSocket);
-        synchronized (subscribersByTopicLock) {
-            Set<Subscriber> subscribers = subscribersByTopic.computeIfAbsent(topic, key -> new HashSet<>());
-            subscribers.add(subscriber);
+        AtomicReference<Subscriber> replaced = new AtomicReference<>();
+        subscribersByWebSocket.compute(webSocket, (key, subscribers) -> {
+            subscribersByTopic.compute(topic, (topicKey, topicSubscribers) -> {
+                TopicSubscribers current = topicSubscribers == null ? TopicSubscribers.EMPTY : topicSubscribers;
+                current.findSubscriber(subscriber.getSubscriberId()).ifPresent(replaced::set);
+                return current.add(subscriber);
+            });
+            // A re-used subscriberId replaces the previous subscriber in the topic index, thus we remove it from
+            // the reverse index as well.
+            Subscriber previous = replaced.get();
+            if (previous != null && subscribers != null && previous.getWebSocket().equals(webSocket)) {
+                subscribers = removeFromSnapshot(subscribers, previous);
+            }
+            return addToSnapshot(subscribers, subscriber);
+        });
+
+        // The map does not support nested updates, thus a replaced subscriber of another webSocket is removed after
+        // the compute. A concurrent close of that webSocket does not touch the topic index, as the replaced subscriber
+        // is not contained anymore.
+        Subscriber previous = replaced.get();
+        if (previous != null && !previous.getWebSocket().equals(webSocket)) {
+            subscribersByWebSocket.computeIfPresent(previous.getWebSocket(), (key, subscribers) ->
+                    removeFromSnapshot(subscribers, previous));
         }
     }
 
@@ -51,42 +86,129 @@ public class SubscriberRepository {
     }
 
     public void remove(Topic topic, String subscriberId) {
-        synchronized (subscribersByTopicLock) {
-            Optional.ofNullable(subscribersByTopic.get(topic))
-                    .ifPresent(subscribers -> {
-                        subscribers.removeIf(subscriber ->
-                                subscriber.getSubscriberId().equals(subscriberId));
-                        if (subscribers.isEmpty()) {
-                            subscribersByTopic.remove(topic);
-                        }
-                    });
-        }
+        Optional.ofNullable(subscribersByTopic.get(topic))
+                .flatMap(topicSubscribers -> topicSubscribers.findSubscriber(subscriberId))
+                .ifPresent(subscriber -> {
+                    removeFromTopicIndex(subscriber);
+                    subscribersByWebSocket.computeIfPresent(subscriber.getWebSocket(), (key, subscribers) ->
+                            removeFromSnapshot(subscribers, subscriber));
+                });
     }
 
     public Optional<Set<Subscriber>> findSubscribers(Topic topic) {
-        synchronized (subscribersByTopicLock) {
-            return Optional.ofNullable(subscribersByTopic.get(topic))
-                    .filter(subscribers -> !subscribers.isEmpty());
-        }
+        return Optional.ofNullable(subscribersByTopic.get(topic))
+                .map(TopicSubscribers::getAll)
+                .filter(subscribers -> !subscribers.isEmpty());
     }
 
     public Optional<Set<Subscriber>> findSubscribers(Topic topic, String parameter) {
-        synchronized (subscribersByTopicLock) {
-            return findSubscribers(topic)
-                    .map(set -> set.stream()
-                            .filter(subscriber -> subscriber.getParameter()
-                                    .map(param -> param.equals(parameter))
-                                    .orElse(true))
-                            .collect(Collectors.toSet()));
-        }
+        return Optional.ofNullable(subscribersByTopic.get(topic))
+                .map(topicSubscribers -> topicSubscribers.getMatching(parameter))
+                .filter(subscribers -> !subscribers.isEmpty());
     }
 
     public Set<Subscriber> findSubscribers(WebSocket webSocket) {
-        synchronized (subscribersByTopicLock) {
-            return subscribersByTopic.values().stream()
-                    .flatMap(set -> set.stream()
-                            .filter(subscriber -> subscriber.getWebSocket().equals(webSocket)))
-                    .collect(Collectors.toSet());
+        return subscribersByWebSocket.getOrDefault(webSocket, Collections.emptySet());
+    }
+
+    private void removeFromTopicIndex(Subscriber subscriber) {
+        subscribersByTopic.computeIfPresent(subscriber.getTopic(), (key, topicSubscribers) ->
+                topicSubscribers.remove(subscriber));
+    }
+
+    private static Set<Subscriber> addToSnapshot(Set<Subscriber> snapshot, Subscriber subscriber) {
+        Set<Subscriber> copy = snapshot == null ? new HashSet<>() : new HashSet<>(snapshot);
+        copy.add(subscriber);
+        return Collections.unmodifiableSet(copy);
+    }
+
+    private static Set<Subscriber> removeFromSnapshot(Set<Subscriber> snapshot, Subscriber subscriber) {
+        if (!snapshot.contains(subscriber)) {
+            return snapshot;
+        }
+        Set<Subscriber> copy = new HashSet<>(snapshot);
+        copy.remove(subscriber);
+        return copy.isEmpty() ? null : Collections.unmodifiableSet(copy);
+    }
+
+    /**
+     * Immutable snapshot of the subscribers of one topic. Mutations return a new instance.
+     */
+    private static final class TopicSubscribers {
+        private static final TopicSubscribers EMPTY = new TopicSubscribers(Collections.emptySet(),
+                Collections.emptyMap(),
+                Collections.emptyMap());
+
+        private final Set<Subscriber> all;
+        private final Map<Optional<String>, Set<Subscriber>> byParameter;
+        private final Map<String, Subscriber> bySubscriberId;
+
+        private TopicSubscribers(Set<Subscriber> all,
+                                 Map<Optional<String>, Set<Subscriber>> byParameter,
+                                 Map<String, Subscriber> bySubscriberId) {
+            this.all = all;
+            this.byParameter = byParameter;
+            this.bySubscriberId = bySubscriberId;
+        }
+
+        private Set<Subscriber> getAll() {
+            return all;
+        }
+
+        private Optional<Subscriber> findSubscriber(String subscriberId) {
+            return Optional.ofNullable(bySubscriberId.get(subscriberId));
+        }
+
+        private Set<Subscriber> getMatching(String parameter) {
+            Set<Subscriber> withoutParameter = byParameter.getOrDefault(Optional.<String>empty(), Collections.emptySet());
+            Set<Subscriber> withParameter = byParameter.getOrDefault(Optional.ofNullable(parameter), Collections.emptySet());
+            if (withParameter.isEmpty() || withParameter == withoutParameter) {
+                return withoutParameter;
+            }
+            if (withoutParameter.isEmpty()) {
+                return withParameter;
+            }
+            Set<Subscriber> result = new HashSet<>(withoutParameter);
+            result.addAll(withParameter);
+            return Collections.unmodifiableSet(result);
+        }
+
+        private TopicSubscribers add(Subscriber subscriber) {
+            Map<String, Subscriber> newBySubscriberId = new HashMap<>(bySubscriberId);
+            Subscriber previous = newBySubscriberId.put(subscriber.getSubscriberId(), subscriber);
+            // A re-used subscriberId replaces the previous subscriber
+            TopicSubscribers base = previous != null ? remove(previous) : this;
+            if (base == null) {
+                base = EMPTY;
+            }
+
+            Map<Optional<String>, Set<Subscriber>> newByParameter = new HashMap<>(base.byParameter);
+            newByParameter.put(subscriber.getParameter(),
+                    addToSnapshot(newByParameter.get(subscriber.getParameter()), subscriber));
+            return new TopicSubscribers(addToSnapshot(base.all, subscriber),
+                    Collections.unmodifiableMap(newByParameter),
+                    Collections.unmodifiableMap(newBySubscriberId));
+        }
+
+        private TopicSubscribers remove(Subscriber subscriber) {
+            if (!all.contains(subscriber)) {
+                return this;
+            }
+            Map<Optional<String>, Set<Subscriber>> newByParameter = new HashMap<>(byParameter);
+            Set<Subscriber> remaining = removeFromSnapshot(newByParameter.get(subscriber.getParameter()), subscriber);
+            if (remaining == null) {
+                newByParameter.remove(subscriber.getParameter());
+            } else {
+                newByParameter.put(subscriber.getParameter(), remaining);
+            }
+            Map<String, Subscriber> newBySubscriberId = new HashMap<>(bySubscriberId);
+            newBySubscriberId.remove(subscriber.getSubscriberId(), subscriber);
+
+            Set<Subscriber> newAll = removeFromSnapshot(all, subscriber);
+            // Returning null from the compute function removes the topic entry
+            return newAll == null ? null : new TopicSubscribers(newAll,
+                    Collections.unmodifiableMap(newByParameter),
+                    Collections.unmodifiableMap(newBySubscriberId));
         }
     }
 }
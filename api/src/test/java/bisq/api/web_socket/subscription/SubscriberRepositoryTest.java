@@ -0,0 +1,95 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.api.web_socket.subscription;
+
+import org.glassfish.grizzly.websockets.WebSocket;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class SubscriberRepositoryTest {
+
+    @Test
+    void findSubscribersByParameter() {
+        SubscriberRepository repository = new SubscriberRepository();
+        WebSocket webSocket = mock(WebSocket.class);
+        repository.add(request("1", Topic.OFFERS, "USD"), webSocket);
+        repository.add(request("2", Topic.OFFERS, "EUR"), webSocket);
+        repository.add(request("3", Topic.OFFERS, null), webSocket);
+
+        assertEquals(Set.of("1", "3"), ids(repository.findSubscribers(Topic.OFFERS, "USD").orElseThrow()));
+        assertEquals(Set.of("2", "3"), ids(repository.findSubscribers(Topic.OFFERS, "EUR").orElseThrow()));
+        assertEquals(Set.of("3"), ids(repository.findSubscribers(Topic.OFFERS, "CHF").orElseThrow()));
+        assertEquals(Set.of("1", "2", "3"), ids(repository.findSubscribers(Topic.OFFERS).orElseThrow()));
+        assertTrue(repository.findSubscribers(Topic.MARKET_PRICE).isEmpty());
+    }
+
+    @Test
+    void removeAndConnectionClosed() {
+        SubscriberRepository repository = new SubscriberRepository();
+        WebSocket webSocket1 = mock(WebSocket.class);
+        WebSocket webSocket2 = mock(WebSocket.class);
+        repository.add(request("1", Topic.OFFERS, "USD"), webSocket1);
+        repository.add(request("2", Topic.MARKET_PRICE, null), webSocket1);
+        repository.add(request("3", Topic.OFFERS, "USD"), webSocket2);
+
+        repository.remove(Topic.OFFERS, "1");
+        assertEquals(Set.of("3"), ids(repository.findSubscribers(Topic.OFFERS, "USD").orElseThrow()));
+        assertEquals(Set.of("2"), ids(repository.findSubscribers(webSocket1)));
+
+        repository.onConnectionClosed(webSocket1);
+        assertTrue(repository.findSubscribers(webSocket1).isEmpty());
+        assertTrue(repository.findSubscribers(Topic.MARKET_PRICE).isEmpty());
+
+        repository.onConnectionClosed(webSocket2);
+        assertTrue(repository.findSubscribers(Topic.OFFERS).isEmpty());
+    }
+
+    @Test
+    void replacedSubscriberIsRemovedFromWebSocketIndex() {
+        SubscriberRepository repository = new SubscriberRepository();
+        WebSocket webSocket1 = mock(WebSocket.class);
+        WebSocket webSocket2 = mock(WebSocket.class);
+        repository.add(request("1", Topic.OFFERS, "USD"), webSocket1);
+        repository.add(request("1", Topic.OFFERS, "EUR"), webSocket1);
+        assertEquals(1, repository.findSubscribers(webSocket1).size());
+        assertEquals(Set.of("1"), ids(repository.findSubscribers(Topic.OFFERS, "EUR").orElseThrow()));
+
+        repository.add(request("1", Topic.OFFERS, "EUR"), webSocket2);
+        assertTrue(repository.findSubscribers(webSocket1).isEmpty());
+        assertEquals(1, repository.findSubscribers(webSocket2).size());
+
+        repository.onConnectionClosed(webSocket2);
+        assertTrue(repository.findSubscribers(Topic.OFFERS).isEmpty());
+    }
+
+    private static SubscriptionRequest request(String requestId, Topic topic, String parameter) {
+        String parameterJson = parameter == null ? "null" : "\"" + parameter + "\"";
+        String json = "{\"type\":\"SubscriptionRequest\",\"requestId\":\"" + requestId + "\",\"topic\":\"" + topic.name() + "\",\"parameter\":" + parameterJson + "}";
+        return SubscriptionRequest.fromJson(json).orElseThrow();
+    }
+
+    private static Set<String> ids(Set<Subscriber> subscribers) {
+        return subscribers.stream().map(Subscriber::getSubscriberId).collect(Collectors.toSet());
+    }
+}
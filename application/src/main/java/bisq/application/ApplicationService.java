@@ -29,6 +29,7 @@ import bisq.common.locale.LocaleRepository;
 import bisq.common.logging.AsciiLogo;
 import bisq.common.logging.LogSetup;
 import bisq.common.observable.Observable;
+import bisq.common.profiling.StartupProfiler;
 import bisq.i18n.Res;
 import bisq.persistence.PersistenceService;
 import ch.qos.logback.classic.Level;
@@ -71,7 +72,8 @@ public abstract class ApplicationService implements Service {
                     config.getBoolean("ignoreSignatureVerification"),
                     config.getInt("memoryReportIntervalSec"),
                     config.getBoolean("includeThreadListInMemoryReport"),
-                    config.getBoolean("checkInstanceLock"));
+                    config.getBoolean("checkInstanceLock"),
+                    config.getBoolean("profileStartup"));
         }
 
         private final com.typesafe.config.Config rootConfig;
@@ -86,6 +88,7 @@ public abstract class ApplicationService implements Service {
         private final int memoryReportIntervalSec;
         private final boolean includeThreadListInMemoryReport;
         private final boolean checkInstanceLock;
+        private final boolean profileStartup;
 
         public Config(com.typesafe.config.Config rootConfig,
                       Path appDataDirPath,
@@ -98,7 +101,8 @@ public abstract class ApplicationService implements Service {
                       boolean ignoreSignatureVerification,
                       int memoryReportIntervalSec,
                       boolean includeThreadListInMemoryReport,
-                      boolean checkInstanceLock) {
+                      boolean checkInstanceLock,
+                      boolean profileStartup) {
             this.rootConfig = rootConfig;
             this.appDataDirPath = appDataDirPath;
             this.appName = appName;
@@ -117,6 +121,7 @@ public abstract class ApplicationService implements Service {
             this.memoryReportIntervalSec = memoryReportIntervalSec;
             this.includeThreadListInMemoryReport = includeThreadListInMemoryReport;
             this.checkInstanceLock = checkInstanceLock;
+            this.profileStartup = profileStartup;
         }
 
         public boolean writeCustomConfig(com.typesafe.config.Config newConfig) throws IOException {
@@ -198,6 +203,10 @@ public abstract class ApplicationService implements Service {
 
         setupLogging(appDataDirPath);
 
+        if (config.isProfileStartup()) {
+            StartupProfiler.enable();
+        }
+
         DevMode.setDevMode(config.isDevMode());
         if (config.isDevMode()) {
             DevMode.setDevModeReputationScore(config.getDevModeReputationScore());
@@ -1,8 +1,10 @@
 package bisq.application;
 
 import bisq.common.platform.PlatformUtils;
+import bisq.common.profiling.StartupProfiler;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -29,7 +31,7 @@ public abstract class Executable<T extends ApplicationService> implements ShutDo
         applicationService = createApplicationService(args);
 
         long ts = System.currentTimeMillis();
-        applicationService.pruneAllBackups().join();
+        StartupProfiler.traceAsync("Persistence", "pruneAllBackups", applicationService::pruneAllBackups).join();
         log.info("pruneAllBackups took {} ms", System.currentTimeMillis() - ts);
 
         ts = System.currentTimeMillis();
@@ -54,8 +56,9 @@ public abstract class Executable<T extends ApplicationService> implements ShutDo
         try {
             notifyAboutShutdown();
             if (applicationService != null) {
-                applicationService.shutdown()
+                StartupProfiler.traceAsync("Application", "shutdown", applicationService::shutdown)
                         .thenRun(() -> {
+                            exportProfile("shutdown");
                             shutdownHandlers.forEach(shutdownHandler -> {
                                 try {
                                     shutdownHandler.run();
@@ -108,13 +111,26 @@ public abstract class Executable<T extends ApplicationService> implements ShutDo
     }
 
     protected void onApplicationLaunched() {
-        applicationService.initialize()
-                .whenComplete(this::onApplicationServiceInitialized);
+        StartupProfiler.traceAsync("Application", "initialize", applicationService::initialize)
+                .whenComplete((result, throwable) -> {
+                    exportProfile("startup");
+                    onApplicationServiceInitialized(result, throwable);
+                });
     }
 
     protected void onApplicationServiceInitialized(Boolean result, Throwable throwable) {
     }
 
+    private void exportProfile(String name) {
+        StartupProfiler.takeProfile(name).ifPresent(profile -> {
+            try {
+                profile.export(applicationService.getConfig().getAppDataDirPath());
+            } catch (IOException e) {
+                log.error("Could not export {} profile", name, e);
+            }
+        });
+    }
+
     protected void setDefaultUncaughtExceptionHandler() {
         Thread.setDefaultUncaughtExceptionHandler((thread, throwable) ->
                 log.error("Uncaught exception:", throwable));
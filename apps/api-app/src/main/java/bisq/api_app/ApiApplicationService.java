@@ -27,6 +27,7 @@ import bisq.chat.ChatService;
 import bisq.common.application.Service;
 import bisq.common.observable.Pin;
 import bisq.common.platform.OS;
+import bisq.common.profiling.StartupProfiler;
 import bisq.contract.ContractService;
 import bisq.api.ApiConfig;
 import bisq.api.ApiService;
@@ -188,36 +189,36 @@ public class ApiApplicationService extends JavaSeApplicationService {
     @Override
     public CompletableFuture<Boolean> initialize() {
         // Move initialization work off the current thread and use ExecutorFactory.commonForkJoinPool() instead.
-        return supplyAsync(() -> memoryReportService.initialize()
-                .thenCompose(result -> securityService.initialize())
+        return supplyAsync(() -> StartupProfiler.initialize(memoryReportService)
+                .thenCompose(result -> StartupProfiler.initialize(securityService))
                 .thenCompose(result -> {
                     setState(State.INITIALIZE_NETWORK);
-                    return networkService.initialize();
+                    return StartupProfiler.initialize(networkService);
                 })
                 .thenCompose(result -> walletService
                         .map(walletService -> {
                             setState(State.INITIALIZE_WALLET);
-                            return walletService.initialize();
+                            return StartupProfiler.initialize(walletService);
                         })
                         .orElseGet(() -> CompletableFuture.completedFuture(true)))
                 .thenCompose(result -> {
                     setState(State.INITIALIZE_SERVICES);
-                    return identityService.initialize();
+                    return StartupProfiler.initialize(identityService);
                 })
-                .thenCompose(result -> bondedRolesService.initialize())
-                .thenCompose(result -> contractService.initialize())
-                .thenCompose(result -> userService.initialize())
-                .thenCompose(result -> accountService.initialize())
-                .thenCompose(result -> burningmanService.initialize())
-                .thenCompose(result -> settingsService.initialize())
-                .thenCompose(result -> notificationService.initialize())
-                .thenCompose(result -> offerService.initialize())
-                .thenCompose(result -> chatService.initialize())
-                .thenCompose(result -> supportService.initialize())
-                .thenCompose(result -> tradeService.initialize())
-                .thenCompose(result -> bisqEasyService.initialize())
-                .thenCompose(result -> openTradeItemsService.initialize())
-                .thenCompose(result -> apiService.initialize())
+                .thenCompose(result -> StartupProfiler.initialize(bondedRolesService))
+                .thenCompose(result -> StartupProfiler.initialize(contractService))
+                .thenCompose(result -> StartupProfiler.initialize(userService))
+                .thenCompose(result -> StartupProfiler.initialize(accountService))
+                .thenCompose(result -> StartupProfiler.initialize(burningmanService))
+                .thenCompose(result -> StartupProfiler.initialize(settingsService))
+                .thenCompose(result -> StartupProfiler.initialize(notificationService))
+                .thenCompose(result -> StartupProfiler.initialize(offerService))
+                .thenCompose(result -> StartupProfiler.initialize(chatService))
+                .thenCompose(result -> StartupProfiler.initialize(supportService))
+                .thenCompose(result -> StartupProfiler.initialize(tradeService))
+                .thenCompose(result -> StartupProfiler.initialize(bisqEasyService))
+                .thenCompose(result -> StartupProfiler.initialize(openTradeItemsService))
+                .thenCompose(result -> StartupProfiler.initialize(apiService))
                 .orTimeout(5, TimeUnit.MINUTES)
                 .whenComplete((success, throwable) -> {
                     if (throwable == null) {
@@ -252,26 +253,26 @@ public class ApiApplicationService extends JavaSeApplicationService {
 
         // Move shutdown work off the current thread and use ExecutorFactory.commonForkJoinPool() instead.
         // We shut down services in opposite order as they are initialized
-        return supplyAsync(() -> apiService.shutdown()
-                .thenCompose(result -> openTradeItemsService.shutdown())
-                .thenCompose(result -> bisqEasyService.shutdown())
-                .thenCompose(result -> tradeService.shutdown())
-                .thenCompose(result -> supportService.shutdown())
-                .thenCompose(result -> chatService.shutdown())
-                .thenCompose(result -> offerService.shutdown())
-                .thenCompose(result -> notificationService.shutdown())
-                .thenCompose(result -> settingsService.shutdown())
-                .thenCompose(result -> burningmanService.shutdown())
-                .thenCompose(result -> accountService.shutdown())
-                .thenCompose(result -> userService.shutdown())
-                .thenCompose(result -> contractService.shutdown())
-                .thenCompose(result -> bondedRolesService.shutdown())
-                .thenCompose(result -> identityService.shutdown())
-                .thenCompose(result -> networkService.shutdown())
+        return supplyAsync(() -> StartupProfiler.shutdown(apiService)
+                .thenCompose(result -> StartupProfiler.shutdown(openTradeItemsService))
+                .thenCompose(result -> StartupProfiler.shutdown(bisqEasyService))
+                .thenCompose(result -> StartupProfiler.shutdown(tradeService))
+                .thenCompose(result -> StartupProfiler.shutdown(supportService))
+                .thenCompose(result -> StartupProfiler.shutdown(chatService))
+                .thenCompose(result -> StartupProfiler.shutdown(offerService))
+                .thenCompose(result -> StartupProfiler.shutdown(notificationService))
+                .thenCompose(result -> StartupProfiler.shutdown(settingsService))
+                .thenCompose(result -> StartupProfiler.shutdown(burningmanService))
+                .thenCompose(result -> StartupProfiler.shutdown(accountService))
+                .thenCompose(result -> StartupProfiler.shutdown(userService))
+                .thenCompose(result -> StartupProfiler.shutdown(contractService))
+                .thenCompose(result -> StartupProfiler.shutdown(bondedRolesService))
+                .thenCompose(result -> StartupProfiler.shutdown(identityService))
+                .thenCompose(result -> StartupProfiler.shutdown(networkService))
                 .thenCompose(result -> walletService.map(Service::shutdown)
                         .orElse(CompletableFuture.completedFuture(true)))
-                .thenCompose(result -> securityService.shutdown())
-                .thenCompose(result -> memoryReportService.shutdown())
+                .thenCompose(result -> StartupProfiler.shutdown(securityService))
+                .thenCompose(result -> StartupProfiler.shutdown(memoryReportService))
                 .orTimeout(10, TimeUnit.SECONDS)
                 .handle((result, throwable) -> {
                     if (throwable != null) {
@@ -31,6 +31,7 @@ import bisq.burningman.BurningmanService;
 import bisq.chat.ChatService;
 import bisq.common.observable.Observable;
 import bisq.common.platform.OS;
+import bisq.common.profiling.StartupProfiler;
 import bisq.common.util.ExceptionUtil;
 import bisq.contract.ContractService;
 import bisq.desktop.ServiceProvider;
@@ -273,42 +274,42 @@ public class DesktopApplicationService extends JavaSeApplicationService {
     @Override
     public CompletableFuture<Boolean> initialize() {
         // Move initialization work off the current thread and use ExecutorFactory.commonForkJoinPool() instead.
-        return supplyAsync(() -> memoryReportService.initialize()
-                .thenCompose(result -> securityService.initialize())
+        return supplyAsync(() -> StartupProfiler.initialize(memoryReportService)
+                .thenCompose(result -> StartupProfiler.initialize(securityService))
                 .thenCompose(result -> {
                     setState(State.INITIALIZE_NETWORK);
-                    return networkService.initialize();
+                    return StartupProfiler.initialize(networkService);
                 })
                 .thenCompose(result -> walletService
                         .map(walletService -> {
                             setState(State.INITIALIZE_WALLET);
-                            return walletService.initialize();
+                            return StartupProfiler.initialize(walletService);
                         })
                         .orElseGet(() -> CompletableFuture.completedFuture(true)))
                 .thenCompose(result -> {
                     setState(State.INITIALIZE_SERVICES);
-                    return identityService.initialize();
+                    return StartupProfiler.initialize(identityService);
                 })
-                .thenCompose(result -> bondedRolesService.initialize())
-                .thenCompose(result -> contractService.initialize())
-                .thenCompose(result -> userService.initialize())
-                .thenCompose(result -> accountService.initialize())
-                .thenCompose(result -> settingsService.initialize())
-                .thenCompose(result -> burningmanService.initialize())
-                .thenCompose(result -> offerService.initialize())
-                .thenCompose(result -> chatService.initialize())
-                .thenCompose(result -> notificationService.initialize())
-                .thenCompose(result -> supportService.initialize())
-                .thenCompose(result -> tradeService.initialize())
-                .thenCompose(result -> updaterService.initialize())
-                .thenCompose(result -> bisqEasyService.initialize())
-                .thenCompose(result -> muSigService.initialize())
-                .thenCompose(result -> alertNotificationsService.initialize())
-                .thenCompose(result -> favouriteMarketsService.initialize())
-                .thenCompose(result -> dontShowAgainService.initialize())
-                .thenCompose(result -> webcamAppService.initialize())
-                .thenCompose(result -> openTradeItemsService.initialize())
-                .thenCompose(result -> apiService.initialize())
+                .thenCompose(result -> StartupProfiler.initialize(bondedRolesService))
+                .thenCompose(result -> StartupProfiler.initialize(contractService))
+                .thenCompose(result -> StartupProfiler.initialize(userService))
+                .thenCompose(result -> StartupProfiler.initialize(accountService))
+                .thenCompose(result -> StartupProfiler.initialize(settingsService))
+                .thenCompose(result -> StartupProfiler.initialize(burningmanService))
+                .thenCompose(result -> StartupProfiler.initialize(offerService))
+                .thenCompose(result -> StartupProfiler.initialize(chatService))
+                .thenCompose(result -> StartupProfiler.initialize(notificationService))
+                .thenCompose(result -> StartupProfiler.initialize(supportService))
+                .thenCompose(result -> StartupProfiler.initialize(tradeService))
+                .thenCompose(result -> StartupProfiler.initialize(updaterService))
+                .thenCompose(result -> StartupProfiler.initialize(bisqEasyService))
+                .thenCompose(result -> StartupProfiler.initialize(muSigService))
+                .thenCompose(result -> StartupProfiler.initialize(alertNotificationsService))
+                .thenCompose(result -> StartupProfiler.initialize(favouriteMarketsService))
+                .thenCompose(result -> StartupProfiler.initialize(dontShowAgainService))
+                .thenCompose(result -> StartupProfiler.initialize(webcamAppService))
+                .thenCompose(result -> StartupProfiler.initialize(openTradeItemsService))
+                .thenCompose(result -> StartupProfiler.initialize(apiService))
                 .orTimeout(STARTUP_TIMEOUT_SEC, TimeUnit.SECONDS)
                 .handle((result, throwable) -> {
                     if (throwable == null) {
@@ -337,32 +338,32 @@ public class DesktopApplicationService extends JavaSeApplicationService {
         // We shut down services in opposite order as they are initialized
         // In case a shutdown method completes exceptionally we log the error and map the result to `false` to not
         // interrupt the shutdown sequence.
-        return supplyAsync(() -> apiService.shutdown().exceptionally(this::logError)
-                .thenCompose(result -> openTradeItemsService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> webcamAppService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> dontShowAgainService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> favouriteMarketsService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> alertNotificationsService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> muSigService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> bisqEasyService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> updaterService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> tradeService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> supportService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> notificationService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> chatService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> offerService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> burningmanService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> settingsService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> accountService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> userService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> contractService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> bondedRolesService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> identityService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> networkService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> walletService.map(service -> service.shutdown().exceptionally(this::logError))
+        return supplyAsync(() -> StartupProfiler.shutdown(apiService).exceptionally(this::logError)
+                .thenCompose(result -> StartupProfiler.shutdown(openTradeItemsService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(webcamAppService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(dontShowAgainService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(favouriteMarketsService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(alertNotificationsService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(muSigService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(bisqEasyService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(updaterService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(tradeService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(supportService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(notificationService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(chatService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(offerService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(burningmanService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(settingsService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(accountService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(userService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(contractService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(bondedRolesService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(identityService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(networkService).exceptionally(this::logError))
+                .thenCompose(result -> walletService.map(service -> StartupProfiler.shutdown(service).exceptionally(this::logError))
                         .orElse(CompletableFuture.completedFuture(true)))
-                .thenCompose(result -> securityService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> memoryReportService.shutdown().exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(securityService).exceptionally(this::logError))
+                .thenCompose(result -> StartupProfiler.shutdown(memoryReportService).exceptionally(this::logError))
                 .orTimeout(SHUTDOWN_TIMEOUT_SEC, TimeUnit.SECONDS)
                 .handle((result, throwable) -> {
                     if (throwable == null) {
@@ -23,6 +23,8 @@ import bisq.application.State;
 import bisq.chat.notifications.ChatNotificationService;
 import bisq.common.observable.Observable;
 import bisq.common.observable.Pin;
+import bisq.common.observable.map.HashMapObserver;
+import bisq.common.observable.map.ReadOnlyObservableMap;
 import bisq.desktop.common.Browser;
 import bisq.desktop.common.Transitions;
 import bisq.desktop.common.application.JavaFxApplicationData;
@@ -65,7 +67,6 @@ import org.fxmisc.easybind.EasyBind;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Date;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -99,7 +100,7 @@ public class DesktopController extends NavigationController {
 
     private final Observable<State> applicationServiceState;
     private final JavaFxApplicationData applicationJavaFxApplicationData;
-    private Pin referenceTimePin, httpServerErrorMessagePin;
+    private Pin referenceTimePin, httpServerErrorMessagePin, userProfileByIdPin;
     private boolean systemClockDriftWarningDisplayed;
 
     public DesktopController(Observable<State> applicationServiceState,
@@ -154,9 +155,15 @@ public class DesktopController extends NavigationController {
 
         EasyBind.subscribe(viewRoot.getScene().getWindow().focusedProperty(), chatNotificationService::setApplicationFocussed);
 
-        // Prune user profile icons
-        Map<String, UserProfile> userProfileById = serviceProvider.getUserService().getUserProfileService().getUserProfileById().getUnmodifiableMap();
-        CatHash.pruneOutdatedProfileIcons(userProfileById.values());
+        // Prune user profile icons and render the icons of new user profiles in the background
+        ReadOnlyObservableMap<String, UserProfile> userProfileById = serviceProvider.getUserService().getUserProfileService().getUserProfileById();
+        CatHash.pruneOutdatedProfileIcons(userProfileById.getUnmodifiableMap().values());
+        userProfileByIdPin = userProfileById.addObserver(new HashMapObserver<>() {
+            @Override
+            public void put(String key, UserProfile userProfile) {
+                CatHash.prerender(userProfile);
+            }
+        });
     }
 
     private void setInitialScreenSize() {
@@ -255,6 +262,9 @@ public class DesktopController extends NavigationController {
         referenceTimePin.unbind();
         httpServerErrorMessagePin.unbind();
         UIClock.shutdown();
+        if (userProfileByIdPin != null) {
+            userProfileByIdPin.unbind();
+        }
     }
 
     public void onApplicationServiceInitialized(Boolean result, Throwable throwable) {
@@ -361,6 +371,7 @@ public class DesktopController extends NavigationController {
 
     private void onShutdown() {
         preventStandbyModeService.shutdown();
+        CatHash.shutdown();
     }
 
     private boolean isLocked() {
@@ -22,6 +22,7 @@ import bisq.common.observable.Pin;
 import bisq.common.observable.ReadOnlyObservable;
 import bisq.common.observable.collection.ObservableArray;
 import bisq.common.observable.collection.ObservableSet;
+import bisq.common.observable.collection.ReadOnlyObservableCollection;
 import bisq.common.observable.collection.ReadOnlyObservableSet;
 import bisq.common.observable.map.HashMapObserver;
 import bisq.common.observable.map.ObservableHashMap;
@@ -112,6 +113,7 @@ public class FxBindings {
         @SuppressWarnings("unchecked")
         private Function<S, T> mapFunction = e -> (T) e;
         private Function<S, Boolean> filterFunction = e -> true;
+        private boolean coalesced;
 
         private ObservableListBindings(ObservableList<T> observableList) {
             this.observableList = observableList;
@@ -127,17 +129,30 @@ public class FxBindings {
             return this;
         }
 
+        // Applies all changes since the last render frame at once instead of each change. Useful for lists which get
+        // many updates in a short time, as a sorted or filtered view gets only updated once per frame.
+        public ObservableListBindings<S, T> coalesced() {
+            this.coalesced = true;
+            return this;
+        }
+
         // We support currently only JavaFX ObservableList even if the source is a set.
         public Pin to(ObservableSet<S> observable) {
-            return observable.addCollectionChangeMapper(observableList, filterFunction, mapFunction, UIThread::run);
+            return bindTo(observable);
         }
 
         public Pin to(ObservableArray<S> observable) {
-            return observable.addCollectionChangeMapper(observableList, filterFunction, mapFunction, UIThread::run);
+            return bindTo(observable);
         }
 
         public Pin to(ReadOnlyObservableSet<S> observable) {
-            return observable.addCollectionChangeMapper(observableList, filterFunction, mapFunction, UIThread::run);
+            return bindTo(observable);
+        }
+
+        private Pin bindTo(ReadOnlyObservableCollection<S> observable) {
+            return coalesced
+                    ? observable.addCoalescingCollectionChangeMapper(observableList, filterFunction, mapFunction, UIThread::runOnNextRenderFrame)
+                    : observable.addCollectionChangeMapper(observableList, filterFunction, mapFunction, UIThread::run);
         }
     }
 
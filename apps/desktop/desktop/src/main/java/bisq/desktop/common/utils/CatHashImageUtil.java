@@ -17,103 +17,91 @@
 
 package bisq.desktop.common.utils;
 
-import bisq.common.file.FileMutatorUtils;
-import javafx.scene.SnapshotParameters;
-import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.image.PixelFormat;
-import javafx.scene.image.PixelReader;
-import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
-import javafx.scene.image.WritablePixelFormat;
-import javafx.scene.paint.Color;
+import lombok.extern.slf4j.Slf4j;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+@Slf4j
 public class CatHashImageUtil {
     private static final String BASE_PATH = "images/cathash/";
-
-    public static Image composeImage(String[] paths, double size) {
-        return composeImage(paths, size, size);
-    }
-
-    public static Image composeImage(String[] paths, double width, double height) {
-        return composeImage(paths, BASE_PATH, width, height);
-    }
-
-    public static Image composeImage(String[] paths, String basePath, double width, double height) {
-        Canvas canvas = new Canvas();
-        canvas.setWidth(width);
-        canvas.setHeight(height);
-        GraphicsContext graphicsContext2D = canvas.getGraphicsContext2D();
-
-        double radius = Math.min(height, width) / 2d;
-        double x = width / 2d;
-        double y = height / 2d;
-        graphicsContext2D.beginPath();
-        graphicsContext2D.moveTo(x - radius, y);
-        graphicsContext2D.arc(x, y, radius, radius, 180, 360);
-        graphicsContext2D.closePath();
-        graphicsContext2D.clip();
-
+    private static final Map<String, int[]> LAYER_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Composes the layers with source-over blending and a circular clip into premultiplied BGRA pixels.
+     * Other than drawing on a Canvas it does not require the JavaFX application thread.
+     */
+    public static byte[] composePixels(String[] paths, int size) {
+        int numPixels = size * size;
+        int[] composed = new int[numPixels];
         for (String path : paths) {
-            graphicsContext2D.drawImage(new Image(basePath + path), 0, 0, width, height);
+            int[] layer = getLayer(path, size);
+            for (int i = 0; i < numPixels; i++) {
+                int src = layer[i];
+                int srcAlpha = src >>> 24;
+                if (srcAlpha == 255) {
+                    composed[i] = src;
+                } else if (srcAlpha > 0) {
+                    int dst = composed[i];
+                    int inverse = 255 - srcAlpha;
+                    int a = srcAlpha + div255((dst >>> 24) * inverse);
+                    int r = ((src >> 16) & 0xFF) + div255(((dst >> 16) & 0xFF) * inverse);
+                    int g = ((src >> 8) & 0xFF) + div255(((dst >> 8) & 0xFF) * inverse);
+                    int b = (src & 0xFF) + div255((dst & 0xFF) * inverse);
+                    composed[i] = (a << 24) | (r << 16) | (g << 8) | b;
+                }
+            }
         }
-        SnapshotParameters snapshotParameters = new SnapshotParameters();
-        snapshotParameters.setFill(Color.TRANSPARENT);
-        return canvas.snapshot(snapshotParameters, null);
-    }
 
-    public static Image readRawImage(Path filePath) throws IOException {
-        byte[] rawData = Files.readAllBytes(filePath);
-        checkArgument(rawData.length > 0, "rawData must not be empty at readRawImage");
-        return byteArrayToImage(rawData);
-    }
-
-    public static void writeRawImage(Image image, Path filePath) throws IOException {
-        byte[] rawData = imageToByteArray(image);
-        FileMutatorUtils.writeToPath(rawData, filePath);
+        byte[] pixels = new byte[numPixels * 4];
+        double radius = size / 2d;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int i = y * size + x;
+                // Coverage of the pixel by the circle, for an anti-aliased edge
+                double distance = Math.hypot(x + 0.5 - radius, y + 0.5 - radius);
+                double coverage = Math.max(0, Math.min(1, radius - distance + 0.5));
+                if (coverage == 0) {
+                    continue;
+                }
+                int argb = composed[i];
+                int index = i * 4;
+                pixels[index] = (byte) Math.round((argb & 0xFF) * coverage);
+                pixels[index + 1] = (byte) Math.round(((argb >> 8) & 0xFF) * coverage);
+                pixels[index + 2] = (byte) Math.round(((argb >> 16) & 0xFF) * coverage);
+                pixels[index + 3] = (byte) Math.round((argb >>> 24) * coverage);
+            }
+        }
+        return pixels;
     }
 
-    public static Image byteArrayToImage(byte[] data) {
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(data);
-
-        int width = byteArrayInputStream.read();
-        int height = byteArrayInputStream.read();
-        checkArgument(width > 0, "width must be > 0 at byteArrayToImage");
-        checkArgument(height > 0, "height must be > 0 at byteArrayToImage");
-
-        byte[] pixels = new byte[width * height * 4];
-        byteArrayInputStream.read(pixels, 0, pixels.length);
-
-        WritableImage image = new WritableImage(width, height);
-        PixelWriter pixelWriter = image.getPixelWriter();
-        pixelWriter.setPixels(0, 0, width, height, PixelFormat.getByteBgraInstance(), pixels, 0, width * 4);
-
+    public static Image pixelsToImage(byte[] pixels, int size) {
+        checkArgument(pixels.length == size * size * 4, "pixels length does not match size at pixelsToImage");
+        WritableImage image = new WritableImage(size, size);
+        image.getPixelWriter().setPixels(0, 0, size, size, PixelFormat.getByteBgraPreInstance(), pixels, 0, size * 4);
         return image;
     }
 
-    public static byte[] imageToByteArray(Image image) {
-        int width = (int) image.getWidth();
-        int height = (int) image.getHeight();
-        PixelReader pixelReader = image.getPixelReader();
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        byteArrayOutputStream.write(width);
-        byteArrayOutputStream.write(height);
-
-        ByteBuffer buffer = ByteBuffer.allocate(width * height * 4); // 4 bytes per pixel (ARGB)
-        WritablePixelFormat<ByteBuffer> format = WritablePixelFormat.getByteBgraInstance();
-        pixelReader.getPixels(0, 0, width, height, format, buffer, width * 4);
+    // The layers are a few dozen png files, and we use only a few sizes, so we keep the scaled layers in memory
+    private static int[] getLayer(String path, int size) {
+        return LAYER_CACHE.computeIfAbsent(path + "@" + size, key -> {
+            Image image = new Image(BASE_PATH + path, size, size, false, true);
+            int[] layer = new int[size * size];
+            if (image.isError()) {
+                log.warn("Loading cat hash layer {} failed", path, image.getException());
+                return layer;
+            }
+            image.getPixelReader().getPixels(0, 0, size, size, PixelFormat.getIntArgbPreInstance(), layer, 0, size);
+            return layer;
+        });
+    }
 
-        byteArrayOutputStream.write(buffer.array(), 0, buffer.array().length);
-        return byteArrayOutputStream.toByteArray();
+    private static int div255(int value) {
+        return (value + 127) / 255;
     }
 }
@@ -39,11 +39,25 @@ public class CatHash {
         return delegate.getImage(pubKeyHash, powSolution, avatarVersion, size);
     }
 
+    public static void prerender(Collection<UserProfile> userProfiles) {
+        delegate.prerender(userProfiles);
+    }
+
+    public static void prerender(UserProfile userProfile) {
+        delegate.prerender(userProfile);
+    }
+
     // Remove the user profile icons which are not contained anymore in the current user profile list
     public static void pruneOutdatedProfileIcons(Collection<UserProfile> userProfiles) {
         delegate.pruneOutdatedProfileIcons(userProfiles);
     }
 
+    public static void shutdown() {
+        if (delegate != null) {
+            delegate.shutdown();
+        }
+    }
+
     public static int currentAvatarsVersion() {
         return BucketConfig.CURRENT_VERSION;
     }
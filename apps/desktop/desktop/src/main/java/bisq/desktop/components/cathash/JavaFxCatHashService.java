@@ -21,7 +21,6 @@ import bisq.desktop.common.utils.CatHashImageUtil;
 import bisq.user.cathash.CatHashService;
 import javafx.scene.image.Image;
 
-import java.io.IOException;
 import java.nio.file.Path;
 
 public class JavaFxCatHashService extends CatHashService<Image> {
@@ -30,17 +29,12 @@ public class JavaFxCatHashService extends CatHashService<Image> {
     }
 
     @Override
-    protected Image composeImage(String[] paths, double size) {
-        return CatHashImageUtil.composeImage(paths, size);
+    protected byte[] composePixels(String[] paths, int size) {
+        return CatHashImageUtil.composePixels(paths, size);
     }
 
     @Override
-    protected void writeRawImage(Image image, Path iconPath) throws IOException {
-        CatHashImageUtil.writeRawImage(image, iconPath);
-    }
-
-    @Override
-    protected Image readRawImage(Path iconPath) throws IOException {
-        return CatHashImageUtil.readRawImage(iconPath);
+    protected Image toImage(byte[] pixels, int size) {
+        return CatHashImageUtil.pixelsToImage(pixels, size);
     }
 }
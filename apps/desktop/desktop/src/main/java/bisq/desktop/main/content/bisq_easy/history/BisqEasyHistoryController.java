@@ -20,7 +20,9 @@ package bisq.desktop.main.content.bisq_easy.history;
 import bisq.bonded_roles.market_price.MarketPriceService;
 import bisq.common.observable.Pin;
 import bisq.common.observable.collection.CollectionObserver;
+import bisq.common.observable.collection.ObservableSet;
 import bisq.desktop.ServiceProvider;
+import bisq.desktop.common.threading.UIThread;
 import bisq.desktop.common.view.Controller;
 import bisq.desktop.common.view.Navigation;
 import bisq.desktop.main.content.bisq_easy.open_trades.trade_details.TradeDetailsController;
@@ -30,9 +32,12 @@ import bisq.trade.bisq_easy.BisqEasyTradeService;
 import bisq.trade.bisq_easy.protocol.BisqEasyClosedTrade;
 import bisq.user.reputation.ReputationService;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+@Slf4j
 public class BisqEasyHistoryController implements Controller {
     @Getter
     private final BisqEasyHistoryView view;
@@ -41,6 +46,7 @@ public class BisqEasyHistoryController implements Controller {
     private final ReputationService reputationService;
     private final MarketPriceService marketPriceService;
     private Pin closedTradesPin;
+    private CompletableFuture<ObservableSet<BisqEasyClosedTrade>> closedTradesFuture;
 
     public BisqEasyHistoryController(ServiceProvider serviceProvider) {
         model = new BisqEasyHistoryModel();
@@ -52,35 +58,53 @@ public class BisqEasyHistoryController implements Controller {
 
     @Override
     public void onActivate() {
-        closedTradesPin = bisqEasyTradeService.getClosedTrades().addObserver(new CollectionObserver<>() {
-            @Override
-            public void onAdded(BisqEasyClosedTrade closedTrade) {
-                if (findListItem(closedTrade.trade().getId()).isEmpty()) {
-                    model.getBisqEasyTradeHistoryListItems().add(
-                            new BisqEasyTradeHistoryListItem(closedTrade, reputationService, marketPriceService));
-                }
+        CompletableFuture<ObservableSet<BisqEasyClosedTrade>> future = bisqEasyTradeService.loadClosedTrades();
+        closedTradesFuture = future;
+        future.whenComplete((closedTrades, throwable) -> UIThread.run(() -> {
+            if (throwable != null) {
+                log.error("Loading closed trades failed", throwable);
+                return;
+            }
+            // We might have got deactivated before the closed trades have been loaded
+            if (closedTradesFuture != future) {
+                return;
             }
+            closedTradesPin = closedTrades.addObserver(new CollectionObserver<>() {
+                @Override
+                public void onAdded(BisqEasyClosedTrade closedTrade) {
+                    UIThread.run(() -> {
+                        if (findListItem(closedTrade.trade().getId()).isEmpty()) {
+                            model.getBisqEasyTradeHistoryListItems().add(
+                                    new BisqEasyTradeHistoryListItem(closedTrade, reputationService, marketPriceService));
+                        }
+                    });
+                }
 
-            @Override
-            public void onRemoved(Object element) {
-                if (element instanceof BisqEasyClosedTrade closedTrade) {
-                    model.getBisqEasyTradeHistoryListItems().stream()
-                            .filter(item -> item.getTrade().equals(closedTrade.trade()))
-                            .findFirst()
-                            .ifPresent(item -> model.getBisqEasyTradeHistoryListItems().remove(item));
+                @Override
+                public void onRemoved(Object element) {
+                    if (element instanceof BisqEasyClosedTrade closedTrade) {
+                        UIThread.run(() -> model.getBisqEasyTradeHistoryListItems().stream()
+                                .filter(item -> item.getTrade().equals(closedTrade.trade()))
+                                .findFirst()
+                                .ifPresent(item -> model.getBisqEasyTradeHistoryListItems().remove(item)));
+                    }
                 }
-            }
 
-            @Override
-            public void onCleared() {
-                model.getBisqEasyTradeHistoryListItems().clear();
-            }
-        });
+                @Override
+                public void onCleared() {
+                    UIThread.run(() -> model.getBisqEasyTradeHistoryListItems().clear());
+                }
+            });
+        }));
     }
 
     @Override
     public void onDeactivate() {
-        closedTradesPin.unbind();
+        closedTradesFuture = null;
+        if (closedTradesPin != null) {
+            closedTradesPin.unbind();
+            closedTradesPin = null;
+        }
     }
 
     void applySearchPredicate(String searchText) {
@@ -51,6 +51,7 @@ import bisq.chat.reactions.Reaction;
 import bisq.chat.two_party.TwoPartyPrivateChatChannel;
 import bisq.chat.two_party.TwoPartyPrivateChatMessage;
 import bisq.common.observable.Pin;
+import bisq.common.observable.collection.ChangeSet;
 import bisq.common.observable.collection.CollectionObserver;
 import bisq.common.util.StringUtils;
 import bisq.desktop.ServiceProvider;
@@ -89,9 +90,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.fxmisc.easybind.EasyBind;
 import org.fxmisc.easybind.Subscription;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -732,23 +736,39 @@ public class ChatMessagesListController implements Controller {
         maybeScrollDownOnNewItemAdded();
         maybeAddExpiredMessagesIndicator();
 
+        // We get notified once per render frame with all changes since the last frame, so that a burst of new
+        // messages (e.g. at startup) gets added to the list view in one update.
         return channel.getChatMessages().addObserver(new CollectionObserver<>() {
             @Override
             public void onAdded(M chatMessage) {
-                UIThread.run(() -> {
+                UIThread.run(() -> addChatMessages(List.of(chatMessage)));
+            }
+
+            @Override
+            public void onChanges(ChangeSet<? extends M> changeSet) {
+                if (changeSet.isReset()) {
+                    onCleared();
+                }
+                changeSet.getRemoved().forEach(this::onRemoved);
+                UIThread.run(() -> addChatMessages(changeSet.getAdded()));
+            }
+
+            private void addChatMessages(Collection<? extends M> chatMessages) {
+                List<ChatMessageListItem<M, C>> newItems = new ArrayList<>();
+                for (M chatMessage : chatMessages) {
                     // Avoid to add already existing items
                     if (model.getChatMessageIds().contains(chatMessage.getId())) {
-                        return;
+                        continue;
                     }
                     if (chatMessage.getChatMessageType() == TAKE_BISQ_EASY_OFFER) {
-                        return;
+                        continue;
                     }
                     if (chatMessage instanceof BisqEasyOfferbookMessage bisqEasyOfferbookMessage &&
                             !bisqEasyOfferbookMessageService.isValid(bisqEasyOfferbookMessage)) {
-                        return;
+                        continue;
                     }
 
-                    ChatMessageListItem<M, C> item = new ChatMessageListItem<>(chatMessage,
+                    newItems.add(new ChatMessageListItem<>(chatMessage,
                             channel,
                             marketPriceService,
                             userProfileService,
@@ -757,13 +777,16 @@ public class ChatMessagesListController implements Controller {
                             userIdentityService,
                             networkService,
                             resendMessageService,
-                            authorizedBondedRolesService);
-                    model.getChatMessages().add(item);
+                            authorizedBondedRolesService));
                     model.getChatMessageIds().add(chatMessage.getId());
-                    maybeScrollDownOnNewItemAdded();
-                    maybeAddExpiredMessagesIndicator();
-                    updateHasBisqEasyOfferMessages();
-                });
+                }
+                if (newItems.isEmpty()) {
+                    return;
+                }
+                model.getChatMessages().addAll(newItems);
+                maybeScrollDownOnNewItemAdded();
+                maybeAddExpiredMessagesIndicator();
+                updateHasBisqEasyOfferMessages();
             }
 
             @Override
@@ -793,7 +816,7 @@ public class ChatMessagesListController implements Controller {
                     updateHasBisqEasyOfferMessages();
                 });
             }
-        });
+        }, UIThread::runOnNextRenderFrame);
     }
 
     private void publishChatMessageReaction(ChatMessage chatMessage, Reaction reaction, UserIdentity userIdentity) {
@@ -161,6 +161,7 @@ public class ChannelSidebar {
                     .map(profileId -> new ListItem(userProfileService.findUserProfile(profileId).orElseThrow(),
                             bannedUserService,
                             ignoredChatUserIds))
+                    .coalesced()
                     .to(chatChannel.getUserProfileIdsOfActiveParticipants());
 
             if (chatChannel instanceof CommonPublicChatChannel commonPublicChatChannel) {
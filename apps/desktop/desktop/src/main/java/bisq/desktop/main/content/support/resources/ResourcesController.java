@@ -142,6 +142,24 @@ public class ResourcesController implements Controller {
                 }));
     }
 
+    void onExportBackup(String backupFilePath) {
+        String backupLocation = model.getBackupLocation().get();
+        Path path = isEmpty(backupLocation)
+                ? PlatformUtils.getHomeDirectoryPath()
+                : Paths.get(backupLocation);
+        String title = Res.get("support.resources.backupSnapshot.export.selectLocation");
+        FileChooserUtil.chooseDirectory(getView().getRoot().getScene(), path, title)
+                .ifPresent(directory -> persistenceService.exportBackup(Paths.get(backupFilePath), directory)
+                        .whenComplete((exportedFilePath, throwable) -> UIThread.run(() -> {
+                            if (throwable == null) {
+                                new Popup().feedback(Res.get("support.resources.backupSnapshot.export.success", exportedFilePath)).show();
+                            } else {
+                                log.error("Export of backup {} failed", backupFilePath, throwable);
+                                new Popup().error(throwable).show();
+                            }
+                        })));
+    }
+
     void onOpenChatRules() {
         Navigation.navigateTo(NavigationTarget.CHAT_RULES);
     }
@@ -42,7 +42,9 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 public class ResourcesView extends View<VBox, ResourcesModel, ResourcesController> {
@@ -53,6 +55,7 @@ public class ResourcesView extends View<VBox, ResourcesModel, ResourcesControlle
             walletGuide, license, tac;
 
     private final TreeView<String> backupSnapshotTreeView;
+    private final Map<TreeItem<String>, String> backupFilePathByTreeItem = new HashMap<>();
 
     public ResourcesView(ResourcesModel model, ResourcesController controller) {
         super(new VBox(), model, controller);
@@ -196,6 +199,7 @@ public class ResourcesView extends View<VBox, ResourcesModel, ResourcesControlle
         backupButton.disableProperty().unbind();
 
         backupSnapshotTreeView.getRoot().getChildren().clear();
+        backupFilePathByTreeItem.clear();
 
         openLogFileButton.setOnAction(null);
         openTorLogFileButton.setOnAction(null);
@@ -253,6 +257,10 @@ public class ResourcesView extends View<VBox, ResourcesModel, ResourcesControlle
 
                     // Allow normal behavior if click was on the arrow
                     if (!clickedOnArrow(event)) {
+                        String backupFilePath = backupFilePathByTreeItem.get(treeItem);
+                        if (backupFilePath != null && event.getClickCount() == 2) {
+                            controller.onExportBackup(backupFilePath);
+                        }
                         // Toggle expansion only for items with children
                         if (!treeItem.isLeaf()) {
                             treeItem.setExpanded(!treeItem.isExpanded());
@@ -276,6 +284,7 @@ public class ResourcesView extends View<VBox, ResourcesModel, ResourcesControlle
 
     private void updateBackupSnapshotTreeView() {
         backupSnapshotTreeView.getRoot().getChildren().clear();
+        backupFilePathByTreeItem.clear();
 
         for (BackupSnapshotStoreItem item : model.getSortedBackupSnapshotStoreItems()) {
             TreeItem<String> storeItem = new TreeItem<>(
@@ -286,6 +295,7 @@ public class ResourcesView extends View<VBox, ResourcesModel, ResourcesControlle
                         Res.get("support.resources.backupSnapshot.treeView.file",
                                 file.getAge(), file.getPath()));
                 fileItem.setExpanded(false);
+                backupFilePathByTreeItem.put(fileItem, file.getPath());
                 storeItem.getChildren().add(fileItem);
             }
             backupSnapshotTreeView.getRoot().getChildren().add(storeItem);
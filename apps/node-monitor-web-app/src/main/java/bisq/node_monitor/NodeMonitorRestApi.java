@@ -17,10 +17,9 @@
 
 package bisq.node_monitor;
 
-import bisq.common.network.Address;
-import bisq.common.util.CompletableFutureUtils;
 import bisq.api.rest_api.error.RestApiException;
-import bisq.network.NetworkService;
+import bisq.common.util.CompletableFutureUtils;
+import bisq.network.p2p.services.reporting.Report;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -32,6 +31,8 @@ import jakarta.ws.rs.core.MediaType;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -39,11 +40,11 @@ import java.util.stream.Collectors;
 @Produces(MediaType.APPLICATION_JSON)
 @Tag(name = "Report API")
 public class NodeMonitorRestApi {
-    private final NetworkService networkService;
+    private final ReportCollectorService reportCollectorService;
     private final NodeMonitorService nodeMonitorService;
 
-    public NodeMonitorRestApi(NetworkService networkService, NodeMonitorService nodeMonitorService) {
-        this.networkService = networkService;
+    public NodeMonitorRestApi(ReportCollectorService reportCollectorService, NodeMonitorService nodeMonitorService) {
+        this.reportCollectorService = reportCollectorService;
         this.nodeMonitorService = nodeMonitorService;
     }
 
@@ -79,7 +80,7 @@ public class NodeMonitorRestApi {
             @Parameter(description = "address from which we request the report")
             @PathParam("address") String address) {
         try {
-            return ReportDto.from(networkService.requestReport(Address.fromFullAddress(address)).get());
+            return ReportDto.from(reportCollectorService.getReport(address).get());
         } catch (InterruptedException e) {
             log.warn("Thread got interrupted at getReport method", e);
             Thread.currentThread().interrupt(); // Restore interrupted state
@@ -94,7 +95,7 @@ public class NodeMonitorRestApi {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(description = "Get list of reports for given addresses provided in JSON format")
-    @ApiResponse(responseCode = "200", description = "The list of reports for given addresses",
+    @ApiResponse(responseCode = "200", description = "The list of reports for given addresses. Addresses for which no report could be retrieved are omitted.",
             content = {
                     @Content(
                             mediaType = MediaType.APPLICATION_JSON,
@@ -103,11 +104,15 @@ public class NodeMonitorRestApi {
     )
     public List<ReportDto> getReports(@Parameter(description = "JSON array of addresses") List<String> addresses) {
         try {
-            return CompletableFutureUtils.allOf(addresses.stream()
-                            .map(address -> networkService.requestReport(Address.fromFullAddress(address)))
-                            .collect(Collectors.toSet()))
+            // Failed requests must not fail the other ones, so we map them to null and filter them out
+            List<CompletableFuture<Report>> futures = addresses.stream()
+                    .map(address -> reportCollectorService.getReport(address)
+                            .exceptionally(throwable -> null))
+                    .collect(Collectors.toList());
+            return CompletableFutureUtils.allOf(futures)
                     .get()
                     .stream()
+                    .filter(Objects::nonNull)
                     .map(ReportDto::from)
                     .collect(Collectors.toList());
         } catch (InterruptedException e) {
@@ -119,6 +124,26 @@ public class NodeMonitorRestApi {
         }
     }
 
+    @Operation(description = "Get the history of report samples for given address")
+    @ApiResponse(responseCode = "200", description = "the report samples for the given address, ordered from oldest to newest",
+            content = {
+                    @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ReportSampleDto[].class)
+                    )}
+    )
+    @GET
+    @Path("{address}/history")
+    public List<ReportSampleDto> getReportHistory(
+            @Parameter(description = "address for which we request the report history")
+            @PathParam("address") String address) {
+        try {
+            return reportCollectorService.getHistory(address);
+        } catch (Exception e) {
+            throw new RestApiException(e);
+        }
+    }
+
     @POST
     @Path("/addresses/details")
     @Consumes(MediaType.APPLICATION_JSON)
@@ -0,0 +1,274 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.node_monitor;
+
+import bisq.common.application.Service;
+import bisq.common.network.Address;
+import bisq.common.threading.ExecutorFactory;
+import bisq.common.timer.Clock;
+import bisq.common.timer.Scheduler;
+import bisq.common.timer.SystemClock;
+import bisq.network.NetworkService;
+import bisq.network.p2p.services.reporting.Report;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Collects reports from seed and oracle nodes and caches them, so that dashboard refreshes do not require a new
+ * request (often over Tor) to each node.
+ * <p>
+ * Requests run on a fixed thread pool which limits the number of concurrent requests, each bounded by a timeout.
+ * Concurrent requests for the same address share one pending request.
+ * Cached reports are served with stale-while-revalidate semantics: A report older than maxAge is still returned, but
+ * triggers a new request in the background. Only reports older than maxStaleAge are not served anymore, and the
+ * caller waits for a new report.
+ * <p>
+ * If pollInterval is set, all known addresses are polled periodically so that the cache is already warm when the
+ * dashboard requests the reports. Each received report is added to a fixed size history per node for trend charts.
+ * <p>
+ * Only reports of monitored nodes are cached and added to the history. Nodes which are not monitored anymore get
+ * evicted, so that the memory is bounded by the number of monitored nodes and the history size.
+ */
+@Slf4j
+public class ReportCollectorService implements Service {
+    @Getter
+    @ToString
+    public static final class Config {
+        private final int maxParallelRequests;
+        private final long requestTimeoutInSeconds;
+        private final long maxAgeInSeconds;
+        private final long maxStaleAgeInSeconds;
+        private final long pollIntervalInSeconds;
+        private final int historySize;
+
+        public Config(int maxParallelRequests,
+                      long requestTimeoutInSeconds,
+                      long maxAgeInSeconds,
+                      long maxStaleAgeInSeconds,
+                      long pollIntervalInSeconds,
+                      int historySize) {
+            this.maxParallelRequests = maxParallelRequests;
+            this.requestTimeoutInSeconds = requestTimeoutInSeconds;
+            this.maxAgeInSeconds = maxAgeInSeconds;
+            this.maxStaleAgeInSeconds = maxStaleAgeInSeconds;
+            this.pollIntervalInSeconds = pollIntervalInSeconds;
+            this.historySize = historySize;
+        }
+
+        public static Config from(com.typesafe.config.Config config) {
+            return new Config(config.getInt("maxParallelRequests"),
+                    config.getLong("requestTimeoutInSeconds"),
+                    config.getLong("maxAgeInSeconds"),
+                    config.getLong("maxStaleAgeInSeconds"),
+                    config.getLong("pollIntervalInSeconds"),
+                    config.getInt("historySize"));
+        }
+    }
+
+    private record CachedReport(Report report, long timestamp) {
+    }
+
+    private final Config config;
+    private final NetworkService networkService;
+    private final NodeMonitorService nodeMonitorService;
+    private final Map<String, CachedReport> cachedReportByAddress = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedReport>> pendingRequestByAddress = new ConcurrentHashMap<>();
+    private final Map<String, ReportHistory> historyByAddress = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final Clock clock;
+    private Optional<Scheduler> pollScheduler = Optional.empty();
+
+    public ReportCollectorService(Config config,
+                                  NetworkService networkService,
+                                  NodeMonitorService nodeMonitorService) {
+        this(config, networkService, nodeMonitorService, new SystemClock());
+    }
+
+    ReportCollectorService(Config config,
+                           NetworkService networkService,
+                           NodeMonitorService nodeMonitorService,
+                           Clock clock) {
+        this.config = config;
+        this.networkService = networkService;
+        this.nodeMonitorService = nodeMonitorService;
+        this.clock = clock;
+        executor = ExecutorFactory.newFixedThreadPool("ReportCollectorService", config.getMaxParallelRequests());
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Service
+    /* --------------------------------------------------------------------- */
+
+    @Override
+    public CompletableFuture<Boolean> initialize() {
+        log.info("initialize with {}", config);
+        if (config.getPollIntervalInSeconds() > 0) {
+            pollScheduler = Optional.of(Scheduler.run(this::pollAll)
+                    .host(this)
+                    .runnableName("pollAll")
+                    .periodically(config.getPollIntervalInSeconds(), TimeUnit.SECONDS));
+        }
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> shutdown() {
+        log.info("shutdown");
+        pollScheduler.ifPresent(Scheduler::stop);
+        pollScheduler = Optional.empty();
+        pendingRequestByAddress.values().forEach(future -> future.cancel(true));
+        ExecutorFactory.shutdownAndAwaitTermination(executor);
+        return CompletableFuture.completedFuture(true);
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // API
+    /* --------------------------------------------------------------------- */
+
+    public CompletableFuture<Report> getReport(String address) {
+        CachedReport cachedReport = cachedReportByAddress.get(address);
+        if (cachedReport != null) {
+            long age = clock.now() - cachedReport.timestamp();
+            if (age <= TimeUnit.SECONDS.toMillis(config.getMaxAgeInSeconds())) {
+                return CompletableFuture.completedFuture(cachedReport.report());
+            }
+            if (age <= TimeUnit.SECONDS.toMillis(config.getMaxStaleAgeInSeconds())) {
+                // Revalidate in the background
+                requestReport(address);
+                return CompletableFuture.completedFuture(cachedReport.report());
+            }
+        }
+        return requestReport(address).thenApply(CachedReport::report);
+    }
+
+    public List<ReportSampleDto> getHistory(String address) {
+        ReportHistory history = historyByAddress.get(address);
+        return history != null ? history.getSamples() : Collections.emptyList();
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private void pollAll() {
+        try {
+            long maxAge = TimeUnit.SECONDS.toMillis(config.getMaxAgeInSeconds());
+            long now = clock.now();
+            List<String> addressList = nodeMonitorService.getAddressList();
+            evictUnmonitoredAddresses(new HashSet<>(addressList));
+            addressList.stream()
+                    .filter(address -> {
+                        CachedReport cachedReport = cachedReportByAddress.get(address);
+                        return cachedReport == null || now - cachedReport.timestamp() > maxAge;
+                    })
+                    .forEach(this::requestReport);
+        } catch (Exception e) {
+            log.warn("Polling reports failed", e);
+        }
+    }
+
+    private CompletableFuture<CachedReport> requestReport(String address) {
+        CompletableFuture<CachedReport> future = new CompletableFuture<>();
+        CompletableFuture<CachedReport> pending = pendingRequestByAddress.putIfAbsent(address, future);
+        if (pending != null) {
+            return pending;
+        }
+        try {
+            executor.execute(() -> {
+                // We remove the pending request before completing it, so that callers which get the completed
+                // future can send a new request right away.
+                try {
+                    CachedReport cachedReport = doRequestReport(address);
+                    pendingRequestByAddress.remove(address, future);
+                    future.complete(cachedReport);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    pendingRequestByAddress.remove(address, future);
+                    future.completeExceptionally(e);
+                } catch (Exception e) {
+                    pendingRequestByAddress.remove(address, future);
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingRequestByAddress.remove(address, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private CachedReport doRequestReport(String address) throws Exception {
+        long ts = clock.now();
+        CompletableFuture<Report> future = networkService.requestReport(Address.fromFullAddress(address));
+        Report report;
+        try {
+            report = future.get(config.getRequestTimeoutInSeconds(), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Request for report from {} timed out after {} sec.", address, config.getRequestTimeoutInSeconds());
+            throw e;
+        } catch (ExecutionException e) {
+            log.warn("Request for report from {} failed", address, e.getCause());
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+
+        long now = clock.now();
+        log.info("Received report from {} after {} ms", address, now - ts);
+        CachedReport cachedReport = new CachedReport(report, now);
+        Optional<Set<String>> monitoredAddresses = findMonitoredAddresses();
+        if (monitoredAddresses.isPresent() && monitoredAddresses.get().contains(address)) {
+            cachedReportByAddress.put(address, cachedReport);
+            historyByAddress.computeIfAbsent(address, key -> new ReportHistory(config.getHistorySize()))
+                    .add(ReportSampleDto.from(report, now));
+        }
+        monitoredAddresses.ifPresent(this::evictUnmonitoredAddresses);
+        return cachedReport;
+    }
+
+    private Optional<Set<String>> findMonitoredAddresses() {
+        try {
+            return Optional.of(new HashSet<>(nodeMonitorService.getAddressList()));
+        } catch (Exception e) {
+            log.warn("Could not get the monitored addresses", e);
+            return Optional.empty();
+        }
+    }
+
+    private void evictUnmonitoredAddresses(Set<String> monitoredAddresses) {
+        cachedReportByAddress.keySet().retainAll(monitoredAddresses);
+        historyByAddress.keySet().retainAll(monitoredAddresses);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.node_monitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Ring buffer of the most recent report samples of a node. Once full, the oldest sample gets overwritten.
+ */
+class ReportHistory {
+    private final ReportSampleDto[] samples;
+    private int next;
+    private int size;
+
+    ReportHistory(int capacity) {
+        checkArgument(capacity > 0, "capacity must be positive");
+        samples = new ReportSampleDto[capacity];
+    }
+
+    synchronized void add(ReportSampleDto sample) {
+        samples[next] = sample;
+        next = (next + 1) % samples.length;
+        size = Math.min(size + 1, samples.length);
+    }
+
+    /**
+     * @return The samples ordered from oldest to newest.
+     */
+    synchronized List<ReportSampleDto> getSamples() {
+        List<ReportSampleDto> result = new ArrayList<>(size);
+        int start = (next - size + samples.length) % samples.length;
+        for (int i = 0; i < size; i++) {
+            result.add(samples[(start + i) % samples.length]);
+        }
+        return result;
+    }
+}
@@ -39,12 +39,14 @@ import bisq.chat.ChatService;
 import bisq.common.application.Service;
 import bisq.common.observable.Pin;
 import bisq.common.platform.OS;
+import bisq.common.profiling.StartupProfiler;
 import bisq.contract.ContractService;
 import bisq.identity.IdentityService;
 import bisq.java_se.application.JavaSeApplicationService;
 import bisq.network.NetworkService;
 import bisq.network.NetworkServiceConfig;
 import bisq.node_monitor.NodeMonitorService;
+import bisq.node_monitor.ReportCollectorService;
 import bisq.notifications.NotificationService;
 import bisq.notifications.system.OsSpecificNotificationService;
 import bisq.offer.OfferService;
@@ -97,6 +99,7 @@ public class NodeMonitorApplicationService extends JavaSeApplicationService {
     private final TradeService tradeService;
     private final BisqEasyService bisqEasyService;
     private final NodeMonitorService nodeMonitorService;
+    private final ReportCollectorService reportCollectorService;
     private final BurningmanService burningmanService;
     private Optional<ApiAccessTransportService> apiAccessTransportService = Optional.empty();
     private Optional<HttpServerBootstrapService> httpServerBootstrapService = Optional.empty();
@@ -176,6 +179,9 @@ public class NodeMonitorApplicationService extends JavaSeApplicationService {
                 tradeService);
 
         nodeMonitorService = new NodeMonitorService(userService, bondedRolesService);
+        reportCollectorService = new ReportCollectorService(ReportCollectorService.Config.from(getConfig("reportCollector")),
+                networkService,
+                nodeMonitorService);
         ApiConfig apiConfig = ApiConfig.from(getConfig("api"));
         if (apiConfig.isRestEnabled()) {
             ApiAccessStoreService apiAccessStoreService = new ApiAccessStoreService(persistenceService);
@@ -192,7 +198,7 @@ public class NodeMonitorApplicationService extends JavaSeApplicationService {
                     accessApi,
                     permissionService,
                     sessionAuthenticationService,
-                    networkService,
+                    reportCollectorService,
                     nodeMonitorService);
 
             apiAccessTransportService = Optional.of(new ApiAccessTransportService(apiConfig,
@@ -215,39 +221,40 @@ public class NodeMonitorApplicationService extends JavaSeApplicationService {
     @Override
     public CompletableFuture<Boolean> initialize() {
         // Move initialization work off the current thread and use ExecutorFactory.commonForkJoinPool() instead.
-        return supplyAsync(() -> memoryReportService.initialize()
-                .thenCompose(result -> securityService.initialize())
+        return supplyAsync(() -> StartupProfiler.initialize(memoryReportService)
+                .thenCompose(result -> StartupProfiler.initialize(securityService))
                 .thenCompose(result -> {
                     setState(State.INITIALIZE_NETWORK);
-                    return networkService.initialize();
+                    return StartupProfiler.initialize(networkService);
                 })
                 .thenCompose(result -> walletService
                         .map(walletService -> {
                             setState(State.INITIALIZE_WALLET);
-                            return walletService.initialize();
+                            return StartupProfiler.initialize(walletService);
                         })
                         .orElseGet(() -> CompletableFuture.completedFuture(true)))
                 .thenCompose(result -> {
                     setState(State.INITIALIZE_SERVICES);
-                    return identityService.initialize();
+                    return StartupProfiler.initialize(identityService);
                 })
-                .thenCompose(result -> bondedRolesService.initialize())
-                .thenCompose(result -> contractService.initialize())
-                .thenCompose(result -> userService.initialize())
-                .thenCompose(result -> accountService.initialize())
-                .thenCompose(result -> burningmanService.initialize())
-                .thenCompose(result -> settingsService.initialize())
-                .thenCompose(result -> notificationService.initialize())
-                .thenCompose(result -> offerService.initialize())
-                .thenCompose(result -> chatService.initialize())
-                .thenCompose(result -> supportService.initialize())
-                .thenCompose(result -> tradeService.initialize())
-                .thenCompose(result -> bisqEasyService.initialize())
+                .thenCompose(result -> StartupProfiler.initialize(bondedRolesService))
+                .thenCompose(result -> StartupProfiler.initialize(contractService))
+                .thenCompose(result -> StartupProfiler.initialize(userService))
+                .thenCompose(result -> StartupProfiler.initialize(accountService))
+                .thenCompose(result -> StartupProfiler.initialize(burningmanService))
+                .thenCompose(result -> StartupProfiler.initialize(settingsService))
+                .thenCompose(result -> StartupProfiler.initialize(notificationService))
+                .thenCompose(result -> StartupProfiler.initialize(offerService))
+                .thenCompose(result -> StartupProfiler.initialize(chatService))
+                .thenCompose(result -> StartupProfiler.initialize(supportService))
+                .thenCompose(result -> StartupProfiler.initialize(tradeService))
+                .thenCompose(result -> StartupProfiler.initialize(bisqEasyService))
                 .thenCompose(result -> apiAccessTransportService.map(ApiAccessTransportService::initialize)
                         .orElse(CompletableFuture.completedFuture(true)))
                 .thenCompose(result -> httpServerBootstrapService.map(HttpServerBootstrapService::initialize)
                         .orElse(CompletableFuture.completedFuture(true)))
-                .thenCompose(result -> nodeMonitorService.initialize())
+                .thenCompose(result -> StartupProfiler.initialize(nodeMonitorService))
+                .thenCompose(result -> StartupProfiler.initialize(reportCollectorService))
                 .orTimeout(5, TimeUnit.MINUTES)
                 .whenComplete((success, throwable) -> {
                     if (throwable == null) {
@@ -279,29 +286,30 @@ public class NodeMonitorApplicationService extends JavaSeApplicationService {
 
         // Move shutdown work off the current thread and use ExecutorFactory.commonForkJoinPool() instead.
         // We shut down services in opposite order as they are initialized
-        return supplyAsync(() -> nodeMonitorService.shutdown()
+        return supplyAsync(() -> StartupProfiler.shutdown(reportCollectorService)
+                .thenCompose(result -> StartupProfiler.shutdown(nodeMonitorService))
                 .thenCompose(result -> httpServerBootstrapService.map(HttpServerBootstrapService::shutdown)
                         .orElse(CompletableFuture.completedFuture(true)))
                 .thenCompose(result -> apiAccessTransportService.map(ApiAccessTransportService::shutdown)
                         .orElse(CompletableFuture.completedFuture(true)))
-                .thenCompose(result -> bisqEasyService.shutdown())
-                .thenCompose(result -> tradeService.shutdown())
-                .thenCompose(result -> supportService.shutdown())
-                .thenCompose(result -> chatService.shutdown())
-                .thenCompose(result -> offerService.shutdown())
-                .thenCompose(result -> notificationService.shutdown())
-                .thenCompose(result -> settingsService.shutdown())
-                .thenCompose(result -> burningmanService.shutdown())
-                .thenCompose(result -> accountService.shutdown())
-                .thenCompose(result -> userService.shutdown())
-                .thenCompose(result -> contractService.shutdown())
-                .thenCompose(result -> bondedRolesService.shutdown())
-                .thenCompose(result -> identityService.shutdown())
-                .thenCompose(result -> networkService.shutdown())
+                .thenCompose(result -> StartupProfiler.shutdown(bisqEasyService))
+                .thenCompose(result -> StartupProfiler.shutdown(tradeService))
+                .thenCompose(result -> StartupProfiler.shutdown(supportService))
+                .thenCompose(result -> StartupProfiler.shutdown(chatService))
+                .thenCompose(result -> StartupProfiler.shutdown(offerService))
+                .thenCompose(result -> StartupProfiler.shutdown(notificationService))
+                .thenCompose(result -> StartupProfiler.shutdown(settingsService))
+                .thenCompose(result -> StartupProfiler.shutdown(burningmanService))
+                .thenCompose(result -> StartupProfiler.shutdown(accountService))
+                .thenCompose(result -> StartupProfiler.shutdown(userService))
+                .thenCompose(result -> StartupProfiler.shutdown(contractService))
+                .thenCompose(result -> StartupProfiler.shutdown(bondedRolesService))
+                .thenCompose(result -> StartupProfiler.shutdown(identityService))
+                .thenCompose(result -> StartupProfiler.shutdown(networkService))
                 .thenCompose(result -> walletService.map(Service::shutdown)
                         .orElse(CompletableFuture.completedFuture(true)))
-                .thenCompose(result -> securityService.shutdown())
-                .thenCompose(result -> memoryReportService.shutdown())
+                .thenCompose(result -> StartupProfiler.shutdown(securityService))
+                .thenCompose(result -> StartupProfiler.shutdown(memoryReportService))
                 .orTimeout(10, TimeUnit.SECONDS)
                 .handle((result, throwable) -> {
                     if (throwable != null) {
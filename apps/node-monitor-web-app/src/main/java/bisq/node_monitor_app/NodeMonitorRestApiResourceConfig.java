@@ -6,9 +6,9 @@ import bisq.api.access.permissions.PermissionService;
 import bisq.api.access.permissions.RestPermissionMapping;
 import bisq.api.rest_api.RestApiBaseResourceConfig;
 import bisq.api.rest_api.endpoints.access.AccessApi;
-import bisq.network.NetworkService;
 import bisq.node_monitor.NodeMonitorRestApi;
 import bisq.node_monitor.NodeMonitorService;
+import bisq.node_monitor.ReportCollectorService;
 import jakarta.ws.rs.ApplicationPath;
 import lombok.extern.slf4j.Slf4j;
 import org.glassfish.jersey.internal.inject.AbstractBinder;
@@ -20,7 +20,7 @@ public class NodeMonitorRestApiResourceConfig extends RestApiBaseResourceConfig
                                             AccessApi accessApi,
                                             PermissionService<RestPermissionMapping> permissionService,
                                             SessionAuthenticationService sessionAuthenticationService,
-                                            NetworkService networkService,
+                                            ReportCollectorService reportCollectorService,
                                             NodeMonitorService nodeMonitorService
     ) {
         super(apiConfig, accessApi, permissionService, sessionAuthenticationService);
@@ -33,7 +33,7 @@ public class NodeMonitorRestApiResourceConfig extends RestApiBaseResourceConfig
         register(new AbstractBinder() {
             @Override
             protected void configure() {
-                bind(new NodeMonitorRestApi(networkService, nodeMonitorService)).to(NodeMonitorRestApi.class);
+                bind(new NodeMonitorRestApi(reportCollectorService, nodeMonitorService)).to(NodeMonitorRestApi.class);
             }
         });
     }
@@ -0,0 +1,171 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.node_monitor;
+
+import bisq.network.NetworkService;
+import bisq.network.p2p.services.reporting.Report;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReportCollectorServiceTest {
+    private static final String ADDRESS = "127.0.0.1:8000";
+    private static final long MAX_AGE = 10_000;
+    private static final long MAX_STALE_AGE = 60_000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private NetworkService networkService;
+    private NodeMonitorService nodeMonitorService;
+    private ReportCollectorService reportCollectorService;
+
+    @BeforeEach
+    void setUp() {
+        networkService = mock(NetworkService.class);
+        nodeMonitorService = mock(NodeMonitorService.class);
+        when(nodeMonitorService.getAddressList()).thenReturn(List.of(ADDRESS));
+        // 1 sec request timeout, maxAge 10 sec, maxStaleAge 60 sec, no polling
+        ReportCollectorService.Config config = new ReportCollectorService.Config(2, 1, 10, 60, 0, 5);
+        reportCollectorService = new ReportCollectorService(config, networkService, nodeMonitorService, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportCollectorService.shutdown().join();
+    }
+
+    @Test
+    void servesFreshAndStaleReportsFromCacheAndWaitsForExpiredOnes() throws Exception {
+        Report first = report(1);
+        Report second = report(2);
+        Report third = report(3);
+        when(networkService.requestReport(any())).thenReturn(completedFuture(first),
+                completedFuture(second),
+                completedFuture(third));
+
+        assertSame(first, getReport());
+
+        // Fresh reports are served without a request
+        now.addAndGet(MAX_AGE);
+        assertSame(first, getReport());
+        verify(networkService, times(1)).requestReport(any());
+
+        // Stale reports are served and revalidated in the background
+        now.addAndGet(1);
+        assertSame(first, getReport());
+        verify(networkService, timeout(5000).times(2)).requestReport(any());
+        awaitHistorySize(2);
+        assertSame(second, getReport());
+
+        // Expired reports are not served, we wait for the new report
+        now.addAndGet(MAX_STALE_AGE + 1);
+        assertSame(third, getReport());
+        verify(networkService, times(3)).requestReport(any());
+        assertEquals(3, reportCollectorService.getHistory(ADDRESS).size());
+    }
+
+    @Test
+    void concurrentRequestsForSameAddressShareOneRequest() throws Exception {
+        CompletableFuture<Report> pendingReport = new CompletableFuture<>();
+        when(networkService.requestReport(any())).thenReturn(pendingReport);
+
+        CompletableFuture<Report> future1 = reportCollectorService.getReport(ADDRESS);
+        CompletableFuture<Report> future2 = reportCollectorService.getReport(ADDRESS);
+        verify(networkService, timeout(5000).times(1)).requestReport(any());
+
+        Report report = report(1);
+        pendingReport.complete(report);
+        assertSame(report, future1.get(5, SECONDS));
+        assertSame(report, future2.get(5, SECONDS));
+        verify(networkService, times(1)).requestReport(any());
+    }
+
+    @Test
+    void requestTimesOutAndGetsRetriedAtNextCall() throws Exception {
+        CompletableFuture<Report> neverCompleted = new CompletableFuture<>();
+        Report report = report(1);
+        when(networkService.requestReport(any())).thenReturn(neverCompleted, completedFuture(report));
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> reportCollectorService.getReport(ADDRESS).get(5, SECONDS));
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertTrue(neverCompleted.isCancelled());
+        assertTrue(reportCollectorService.getHistory(ADDRESS).isEmpty());
+
+        // The failed request is not pending anymore, so the next call sends a new request
+        assertSame(report, getReport());
+        verify(networkService, times(2)).requestReport(any());
+    }
+
+    @Test
+    void onlyMonitoredAddressesAreCached() throws Exception {
+        when(networkService.requestReport(any())).thenAnswer(invocation -> completedFuture(report(1)));
+
+        String unmonitoredAddress = "127.0.0.1:9000";
+        reportCollectorService.getReport(unmonitoredAddress).get(5, SECONDS);
+        reportCollectorService.getReport(unmonitoredAddress).get(5, SECONDS);
+        verify(networkService, times(2)).requestReport(any());
+        assertTrue(reportCollectorService.getHistory(unmonitoredAddress).isEmpty());
+
+        getReport();
+        assertEquals(1, reportCollectorService.getHistory(ADDRESS).size());
+
+        // Once the node is not monitored anymore, its cached report and history get evicted
+        when(nodeMonitorService.getAddressList()).thenReturn(List.of(unmonitoredAddress));
+        reportCollectorService.getReport(unmonitoredAddress).get(5, SECONDS);
+        assertTrue(reportCollectorService.getHistory(ADDRESS).isEmpty());
+        getReport();
+        verify(networkService, times(5)).requestReport(any());
+    }
+
+    private Report getReport() throws Exception {
+        return reportCollectorService.getReport(ADDRESS).get(5, SECONDS);
+    }
+
+    private void awaitHistorySize(int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (reportCollectorService.getHistory(ADDRESS).size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(size, reportCollectorService.getHistory(ADDRESS).size());
+    }
+
+    private static Report report(int numConnections) {
+        return new Report(new TreeMap<>(), new TreeMap<>(), new TreeMap<>(), numConnections, 0, 0, 0);
+    }
+}
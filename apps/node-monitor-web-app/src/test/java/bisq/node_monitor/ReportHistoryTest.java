@@ -0,0 +1,59 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.node_monitor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReportHistoryTest {
+    @Test
+    void samplesAreOrderedFromOldestToNewest() {
+        ReportHistory history = new ReportHistory(3);
+        assertTrue(history.getSamples().isEmpty());
+
+        history.add(sample(1));
+        history.add(sample(2));
+        assertEquals(List.of(1L, 2L), timestamps(history));
+    }
+
+    @Test
+    void oldestSamplesGetOverwrittenOnceFull() {
+        ReportHistory history = new ReportHistory(3);
+        for (int i = 1; i <= 7; i++) {
+            history.add(sample(i));
+        }
+        assertEquals(List.of(5L, 6L, 7L), timestamps(history));
+
+        // Wraps around exactly at the capacity
+        history.add(sample(8));
+        history.add(sample(9));
+        assertEquals(List.of(7L, 8L, 9L), timestamps(history));
+    }
+
+    private static ReportSampleDto sample(long timestamp) {
+        return new ReportSampleDto(timestamp, 0, 0, 0, 0);
+    }
+
+    private static List<Long> timestamps(ReportHistory history) {
+        return history.getSamples().stream().map(ReportSampleDto::timestamp).toList();
+    }
+}
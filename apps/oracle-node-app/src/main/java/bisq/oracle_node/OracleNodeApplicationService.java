@@ -20,6 +20,7 @@ package bisq.oracle_node;
 import bisq.bonded_roles.BondedRolesService;
 import bisq.bonded_roles.market_price.MarketPriceRequestService;
 import bisq.common.observable.Pin;
+import bisq.common.profiling.StartupProfiler;
 import bisq.identity.IdentityService;
 import bisq.java_se.application.JavaSeApplicationService;
 import bisq.network.NetworkService;
@@ -89,12 +90,12 @@ public class OracleNodeApplicationService extends JavaSeApplicationService {
     @Override
     public CompletableFuture<Boolean> initialize() {
         // Move initialization work off the current thread and run it on ExecutorFactory.commonForkJoinPool().
-        return supplyAsync(() -> memoryReportService.initialize()
-                .thenCompose(result -> securityService.initialize())
-                .thenCompose(result -> networkService.initialize())
-                .thenCompose(result -> identityService.initialize())
-                .thenCompose(result -> bondedRolesService.initialize())
-                .thenCompose(result -> oracleNodeService.initialize())
+        return supplyAsync(() -> StartupProfiler.initialize(memoryReportService)
+                .thenCompose(result -> StartupProfiler.initialize(securityService))
+                .thenCompose(result -> StartupProfiler.initialize(networkService))
+                .thenCompose(result -> StartupProfiler.initialize(identityService))
+                .thenCompose(result -> StartupProfiler.initialize(bondedRolesService))
+                .thenCompose(result -> StartupProfiler.initialize(oracleNodeService))
                 .orTimeout(5, TimeUnit.MINUTES)
                 .whenComplete((success, throwable) -> {
                     if (success) {
@@ -120,12 +121,12 @@ public class OracleNodeApplicationService extends JavaSeApplicationService {
 
         // Move shutdown work off the current thread and run it on ExecutorFactory.commonForkJoinPool().
         // We shut down services in opposite order as they are initialized
-        return supplyAsync(() -> oracleNodeService.shutdown()
-                .thenCompose(result -> bondedRolesService.shutdown())
-                .thenCompose(result -> identityService.shutdown())
-                .thenCompose(result -> networkService.shutdown())
-                .thenCompose(result -> securityService.shutdown())
-                .thenCompose(result -> memoryReportService.shutdown())
+        return supplyAsync(() -> StartupProfiler.shutdown(oracleNodeService)
+                .thenCompose(result -> StartupProfiler.shutdown(bondedRolesService))
+                .thenCompose(result -> StartupProfiler.shutdown(identityService))
+                .thenCompose(result -> StartupProfiler.shutdown(networkService))
+                .thenCompose(result -> StartupProfiler.shutdown(securityService))
+                .thenCompose(result -> StartupProfiler.shutdown(memoryReportService))
                 .orTimeout(10, TimeUnit.SECONDS)
                 .handle((result, throwable) -> {
                     if (throwable != null) {
@@ -19,6 +19,7 @@ package bisq.seed_node;
 
 import bisq.bonded_roles.BondedRolesService;
 import bisq.common.observable.Pin;
+import bisq.common.profiling.StartupProfiler;
 import bisq.identity.IdentityService;
 import bisq.java_se.application.JavaSeApplicationService;
 import bisq.network.NetworkService;
@@ -83,12 +84,12 @@ public class SeedNodeApplicationService extends JavaSeApplicationService {
     @Override
     public CompletableFuture<Boolean> initialize() {
         // Move initialization work off the current thread and use ExecutorFactory.commonForkJoinPool() instead.
-        return supplyAsync(() -> memoryReportService.initialize()
-                .thenCompose(result -> securityService.initialize())
-                .thenCompose(result -> networkService.initialize())
-                .thenCompose(result -> identityService.initialize())
-                .thenCompose(result -> bondedRolesService.initialize())
-                .thenCompose(result -> seedNodeService.initialize())
+        return supplyAsync(() -> StartupProfiler.initialize(memoryReportService)
+                .thenCompose(result -> StartupProfiler.initialize(securityService))
+                .thenCompose(result -> StartupProfiler.initialize(networkService))
+                .thenCompose(result -> StartupProfiler.initialize(identityService))
+                .thenCompose(result -> StartupProfiler.initialize(bondedRolesService))
+                .thenCompose(result -> StartupProfiler.initialize(seedNodeService))
                 .orTimeout(5, TimeUnit.MINUTES)
                 .whenComplete((success, throwable) -> {
                     if (success) {
@@ -114,12 +115,12 @@ public class SeedNodeApplicationService extends JavaSeApplicationService {
         }
         // Move shutdown work off the current thread and use ExecutorFactory.commonForkJoinPool() instead.
         // We shut down services in opposite order as they are initialized
-        return supplyAsync(() -> seedNodeService.shutdown()
-                .thenCompose(result -> bondedRolesService.shutdown())
-                .thenCompose(result -> identityService.shutdown())
-                .thenCompose(result -> networkService.shutdown())
-                .thenCompose(result -> securityService.shutdown())
-                .thenCompose(result -> memoryReportService.shutdown())
+        return supplyAsync(() -> StartupProfiler.shutdown(seedNodeService)
+                .thenCompose(result -> StartupProfiler.shutdown(bondedRolesService))
+                .thenCompose(result -> StartupProfiler.shutdown(identityService))
+                .thenCompose(result -> StartupProfiler.shutdown(networkService))
+                .thenCompose(result -> StartupProfiler.shutdown(securityService))
+                .thenCompose(result -> StartupProfiler.shutdown(memoryReportService))
                 .orTimeout(10, TimeUnit.SECONDS)
                 .handle((result, throwable) -> {
                     if (throwable != null) {
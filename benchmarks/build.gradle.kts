@@ -0,0 +1,64 @@
+plugins {
+    id("bisq.java-library")
+}
+
+dependencies {
+    implementation(project(":persistence"))
+    implementation(project(":security"))
+    implementation(project(":account"))
+    implementation(project(":bonded-roles"))
+
+    implementation("network:network:$version")
+
+    implementation(libs.protobuf.java)
+    implementation(libs.bundles.jackson)
+    implementation(libs.jmh.core)
+    annotationProcessor(libs.jmh.generator.annprocess)
+}
+
+val jmhResultsDir = layout.buildDirectory.dir("reports/jmh")
+
+/**
+ * Runs the JMH benchmarks and writes the results as JSON to build/reports/jmh/results.json.
+ * Benchmarks can be selected with a regex, e.g. `./gradlew :benchmarks:jmh -Pjmh.includes=ProtoBenchmark`.
+ * Further JMH options can be passed with `-Pjmh.args="-f 1 -wi 2"`.
+ */
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks and writes the results as JSON."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+
+    val resultFile = jmhResultsDir.get().file("results.json").asFile
+    doFirst {
+        resultFile.parentFile.mkdirs()
+    }
+    args("-rf", "json", "-rff", resultFile.absolutePath)
+    (project.findProperty("jmh.args") as String?)?.let { args(it.split(" ").filter { arg -> arg.isNotBlank() }) }
+    (project.findProperty("jmh.includes") as String?)?.let { args(it) }
+    outputs.file(resultFile)
+    outputs.upToDateWhen { false }
+}
+
+/**
+ * Compares two JMH JSON result files, e.g. of two commits, and fails if a benchmark got slower than the threshold.
+ * `./gradlew :benchmarks:jmhDiff -Pjmh.baseline=baseline.json [-Pjmh.current=results.json] [-Pjmh.threshold=10]`
+ */
+tasks.register<JavaExec>("jmhDiff") {
+    group = "benchmark"
+    description = "Compares two JMH JSON result files and reports regressions."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("bisq.benchmarks.regression.BenchmarkRegressionDiff")
+
+    // Relative paths are resolved against the root project directory
+    val baseline = (project.findProperty("jmh.baseline") as String?)?.let { rootProject.file(it).absolutePath }
+    val current = (project.findProperty("jmh.current") as String?)?.let { rootProject.file(it).absolutePath }
+            ?: jmhResultsDir.get().file("results.json").asFile.absolutePath
+    val threshold = project.findProperty("jmh.threshold") as String? ?: "10"
+    doFirst {
+        if (baseline == null) {
+            throw GradleException("The baseline result file must be set with -Pjmh.baseline=<path>")
+        }
+    }
+    args(listOfNotNull(baseline, current, threshold))
+}
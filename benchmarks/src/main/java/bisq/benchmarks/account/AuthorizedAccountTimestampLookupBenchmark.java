@@ -0,0 +1,112 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.account;
+
+import bisq.account.timestamp.AccountTimestamp;
+import bisq.account.timestamp.AuthorizedAccountTimestamp;
+import bisq.common.data.ByteArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lookup of an AuthorizedAccountTimestamp by streaming over all entries, as it was done in
+ * AccountTimestampService.findAuthorizedAccountTimestamp before, with the lookup in a map keyed by the hash.
+ * Each invocation does 1000 lookups, half of them are misses, as for new accounts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizedAccountTimestampLookupBenchmark {
+    private static final int NUM_LOOKUPS = 1000;
+
+    @Param({"10000", "100000"})
+    public int numTimestamps;
+
+    private List<AuthorizedAccountTimestamp> store;
+    private Map<ByteArray, AuthorizedAccountTimestamp> authorizedAccountTimestampByHash;
+    private List<byte[]> hashes;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        store = new ArrayList<>(numTimestamps);
+        authorizedAccountTimestampByHash = new HashMap<>();
+        for (int i = 0; i < numTimestamps; i++) {
+            AccountTimestamp accountTimestamp = new AccountTimestamp(randomHash(random), System.currentTimeMillis());
+            AuthorizedAccountTimestamp authorizedAccountTimestamp = new AuthorizedAccountTimestamp(accountTimestamp, false);
+            store.add(authorizedAccountTimestamp);
+            authorizedAccountTimestampByHash.put(new ByteArray(accountTimestamp.getHash()), authorizedAccountTimestamp);
+        }
+
+        hashes = new ArrayList<>(NUM_LOOKUPS);
+        for (int i = 0; i < NUM_LOOKUPS; i++) {
+            hashes.add(i % 2 == 0
+                    ? store.get(random.nextInt(store.size())).getAccountTimestamp().getHash()
+                    : randomHash(random));
+        }
+    }
+
+    @Benchmark
+    public int stream() {
+        int numHits = 0;
+        for (byte[] hash : hashes) {
+            if (store.stream()
+                    .anyMatch(e -> Arrays.equals(hash, e.getAccountTimestamp().getHash()))) {
+                numHits++;
+            }
+        }
+        return numHits;
+    }
+
+    @Benchmark
+    public int index() {
+        int numHits = 0;
+        for (byte[] hash : hashes) {
+            if (authorizedAccountTimestampByHash.get(new ByteArray(hash)) != null) {
+                numHits++;
+            }
+        }
+        return numHits;
+    }
+
+    private static byte[] randomHash(Random random) {
+        byte[] hash = new byte[20];
+        random.nextBytes(hash);
+        return hash;
+    }
+}
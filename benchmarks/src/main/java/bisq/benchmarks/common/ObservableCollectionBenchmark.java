@@ -0,0 +1,182 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.common;
+
+import bisq.common.observable.Pin;
+import bisq.common.observable.collection.ObservableSet;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Inserts elements into an {@link ObservableSet} which is mapped to a UI-like list on a single "UI thread" and
+ * measures the time until the UI list is updated. Like a JavaFX SortedList and FilteredList, the UI list sorts and
+ * filters its view at each change event. We compare per element notifications with a batch and with a coalescing
+ * mapper. The number of UI tasks and view updates are reported as secondary results.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ObservableCollectionBenchmark {
+    @Param({"perElement", "batch", "coalesced"})
+    public String mode;
+
+    @Param({"10000"})
+    public int numElements;
+
+    private ExecutorService uiThread;
+    private AtomicInteger numUiTasks;
+    private ObservableSet<Integer> set;
+    private UiLikeList target;
+    private Pin pin;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public int uiTasks;
+        public int viewUpdates;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            uiTasks = 0;
+            viewUpdates = 0;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        uiThread = Executors.newSingleThreadExecutor();
+        numUiTasks = new AtomicInteger();
+        Consumer<Runnable> uiExecutor = task -> {
+            numUiTasks.incrementAndGet();
+            uiThread.execute(task);
+        };
+        set = new ObservableSet<>();
+        target = new UiLikeList();
+        pin = mode.equals("coalesced")
+                ? set.addCoalescingCollectionChangeMapper(target, e -> e % 10 != 0, e -> e, uiExecutor)
+                : set.addCollectionChangeMapper(target, e -> e % 10 != 0, e -> e, uiExecutor);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        pin.unbind();
+        uiThread.shutdownNow();
+        if (target.view.size() != numElements - numElements / 10) {
+            throw new IllegalStateException("Unexpected size " + target.view.size());
+        }
+    }
+
+    @Benchmark
+    public void insertUntilUiUpdated(Counters counters) throws InterruptedException {
+        Runnable inserts = () -> {
+            // Descending, so that the insertion position is not always at the end of the sorted view
+            for (int i = numElements - 1; i >= 0; i--) {
+                set.add(i);
+            }
+        };
+        if (mode.equals("batch")) {
+            set.batch(inserts);
+        } else {
+            inserts.run();
+        }
+        uiThread.shutdown();
+        uiThread.awaitTermination(10, TimeUnit.MINUTES);
+        counters.uiTasks = numUiTasks.get();
+        counters.viewUpdates = target.numViewUpdates;
+    }
+
+    // Recomputes a sorted and filtered view at each change event
+    private static class UiLikeList extends AbstractCollection<Integer> {
+        private final List<Integer> items = new ArrayList<>();
+        private List<Integer> view = List.of();
+        private int numViewUpdates;
+
+        @Override
+        public boolean add(Integer item) {
+            items.add(item);
+            updateView();
+            return true;
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends Integer> values) {
+            items.addAll(values);
+            updateView();
+            return !values.isEmpty();
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> values) {
+            boolean changed = items.removeAll(values);
+            updateView();
+            return changed;
+        }
+
+        @Override
+        public void clear() {
+            items.clear();
+            updateView();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return items.contains(o);
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return items.iterator();
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+
+        private void updateView() {
+            numViewUpdates++;
+            view = items.stream().filter(item -> item >= 0).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.network;
+
+import bisq.common.protobuf.StringLongPair;
+import bisq.network.p2p.services.data.storage.DistributedData;
+import bisq.network.p2p.services.data.storage.DistributedDataResolver;
+import bisq.network.p2p.services.data.storage.MetaData;
+import com.google.protobuf.Any;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+
+/**
+ * Minimal distributed data used by the benchmarks, so that the storage and inventory code paths can be measured
+ * without depending on the domain modules.
+ */
+public record BenchmarkData(String text, long value) implements DistributedData {
+    private static final MetaData META_DATA = new MetaData(MetaData.TTL_10_DAYS, "BenchmarkData", MetaData.MAX_MAP_SIZE_50_000);
+
+    /**
+     * Needs to be called before the data get deserialized.
+     */
+    public static void registerResolver() {
+        DistributedDataResolver.addResolver("common.StringLongPair", BenchmarkData::fromAny);
+    }
+
+    public static BenchmarkData fromAny(Any any) {
+        try {
+            StringLongPair proto = any.unpack(StringLongPair.class);
+            return new BenchmarkData(proto.getKey(), proto.getValue());
+        } catch (InvalidProtocolBufferException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void verify() {
+    }
+
+    @Override
+    public Message.Builder getBuilder(boolean serializeForHash) {
+        return StringLongPair.newBuilder().setKey(text).setValue(value);
+    }
+
+    @Override
+    public MetaData getMetaData() {
+        return META_DATA;
+    }
+
+    @Override
+    public boolean isDataInvalid(byte[] pubKeyHash) {
+        return false;
+    }
+
+    @Override
+    public double getCostFactor() {
+        return 0.5;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.network;
+
+import bisq.common.encoding.Hex;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.AuthenticatedSequentialData;
+import bisq.network.p2p.services.data.storage.auth.DefaultAuthenticatedData;
+import bisq.security.DigestUtil;
+import bisq.security.SignatureUtil;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.Random;
+
+public final class BenchmarkDataRequests {
+    private BenchmarkDataRequests() {
+    }
+
+    /**
+     * @param dataSize Approximate size of the serialized data in bytes
+     */
+    public static DefaultAuthenticatedData createAuthenticatedData(Random random, int dataSize) {
+        byte[] text = new byte[Math.max(1, dataSize / 2)];
+        random.nextBytes(text);
+        return new DefaultAuthenticatedData(new BenchmarkData(Hex.encode(text), random.nextLong()));
+    }
+
+    public static AddAuthenticatedDataRequest createAddRequest(DefaultAuthenticatedData authenticatedData,
+                                                               KeyPair keyPair,
+                                                               int sequenceNumber) throws GeneralSecurityException {
+        AuthenticatedSequentialData data = new AuthenticatedSequentialData(authenticatedData,
+                sequenceNumber,
+                DigestUtil.hash(keyPair.getPublic().getEncoded()),
+                System.currentTimeMillis());
+        byte[] signature = SignatureUtil.sign(data.serializeForHash(), keyPair.getPrivate());
+        return new AddAuthenticatedDataRequest(data, signature, keyPair.getPublic());
+    }
+
+    public static AddAuthenticatedDataRequest createAddRequest(Random random,
+                                                               int dataSize,
+                                                               KeyPair keyPair) throws GeneralSecurityException {
+        return createAddRequest(createAuthenticatedData(random, dataSize), keyPair, 1);
+    }
+}
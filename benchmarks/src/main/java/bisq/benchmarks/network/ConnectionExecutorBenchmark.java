@@ -0,0 +1,211 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.network;
+
+import bisq.common.threading.AbortPolicyWithLogging;
+import bisq.common.threading.ExecutorFactory;
+import bisq.common.threading.MaxSizeAwareDeque;
+import bisq.common.threading.MaxSizeAwareQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compares the per-connection read and send executors as used in Connection, once with platform thread pools and
+ * once with virtual threads (see NetworkExecutors.useVirtualThreads).
+ * We open numPeers local socket pairs. Each side has a read executor running a blocking read loop and a send
+ * executor. Each operation sends one message from both sides of all connections and waits until all got received.
+ * The peak thread count and the RSS are logged at the end of each trial.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConnectionExecutorBenchmark {
+    private static final int MESSAGE_SIZE = 1024;
+    // Same as in Connection
+    private static final int EXECUTOR_MAX_POOL_SIZE = 5;
+    private static final int QUEUE_CAPACITY = 100;
+
+    @Param({"false", "true"})
+    public boolean useVirtualThreads;
+
+    @Param({"1000"})
+    public int numPeers;
+
+    private final byte[] payload = new byte[MESSAGE_SIZE];
+    private final Semaphore received = new Semaphore(0);
+    private final List<SimulatedConnection> connections = new ArrayList<>();
+    private ThreadMXBean threadMXBean;
+
+    @Setup
+    public void setup() throws IOException {
+        threadMXBean = ManagementFactory.getThreadMXBean();
+        threadMXBean.resetPeakThreadCount();
+        try (ServerSocket serverSocket = new ServerSocket(0, numPeers, InetAddress.getLoopbackAddress())) {
+            for (int i = 0; i < numPeers; i++) {
+                Socket outbound = new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort());
+                Socket inbound = serverSocket.accept();
+                connections.add(new SimulatedConnection("out-" + i, outbound, useVirtualThreads, received));
+                connections.add(new SimulatedConnection("in-" + i, inbound, useVirtualThreads, received));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        log.info("useVirtualThreads={}: peak threads={}, RSS={} MB",
+                useVirtualThreads, threadMXBean.getPeakThreadCount(), readRssKb() / 1024);
+        connections.forEach(SimulatedConnection::shutdown);
+        connections.clear();
+    }
+
+    @Benchmark
+    public void sendToAllPeers() throws InterruptedException, TimeoutException {
+        for (SimulatedConnection connection : connections) {
+            connection.sendAsync(payload);
+        }
+        if (!received.tryAcquire(connections.size(), 1, TimeUnit.MINUTES)) {
+            throw new TimeoutException("Not all messages got received");
+        }
+    }
+
+    private static long readRssKb() {
+        try {
+            return Files.readAllLines(Path.of("/proc/self/status")).stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> line.replaceAll("\\D", ""))
+                    .mapToLong(Long::parseLong)
+                    .findFirst()
+                    .orElse(-1);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static class SimulatedConnection {
+        private final Socket socket;
+        private final DataOutputStream outputStream;
+        private final ExecutorService readExecutor;
+        private final ExecutorService sendExecutor;
+        private final ReentrantLock writeLock = new ReentrantLock();
+
+        SimulatedConnection(String name, Socket socket, boolean useVirtualThreads, Semaphore received) throws IOException {
+            this.socket = socket;
+            outputStream = new DataOutputStream(socket.getOutputStream());
+            DataInputStream inputStream = new DataInputStream(socket.getInputStream());
+            readExecutor = createExecutor("read-" + name, useVirtualThreads, true);
+            sendExecutor = createExecutor("send-" + name, useVirtualThreads, false);
+            readExecutor.submit(() -> {
+                try {
+                    while (!socket.isClosed()) {
+                        byte[] bytes = new byte[inputStream.readInt()];
+                        inputStream.readFully(bytes);
+                        received.release();
+                    }
+                } catch (IOException ignore) {
+                }
+            });
+        }
+
+        void sendAsync(byte[] payload) {
+            while (true) {
+                try {
+                    sendExecutor.submit(() -> {
+                        writeLock.lock();
+                        try {
+                            outputStream.writeInt(payload.length);
+                            outputStream.write(payload);
+                            outputStream.flush();
+                        } catch (IOException ignore) {
+                        } finally {
+                            writeLock.unlock();
+                        }
+                    });
+                    return;
+                } catch (RejectedExecutionException e) {
+                    // Back pressure: wait until the send executor has capacity again
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+        void shutdown() {
+            try {
+                socket.close();
+            } catch (IOException ignore) {
+            }
+            readExecutor.shutdownNow();
+            sendExecutor.shutdownNow();
+        }
+
+        private static ExecutorService createExecutor(String name, boolean useVirtualThreads, boolean useDeque) {
+            if (useVirtualThreads) {
+                return ExecutorFactory.newVirtualThreadExecutor(name, EXECUTOR_MAX_POOL_SIZE + QUEUE_CAPACITY);
+            }
+            if (useDeque) {
+                MaxSizeAwareDeque deque = new MaxSizeAwareDeque(QUEUE_CAPACITY);
+                ThreadPoolExecutor executor = new ThreadPoolExecutor(1, EXECUTOR_MAX_POOL_SIZE, 5, TimeUnit.SECONDS, deque,
+                        ExecutorFactory.getThreadFactoryWithCounter(name),
+                        new AbortPolicyWithLogging(name, QUEUE_CAPACITY, EXECUTOR_MAX_POOL_SIZE));
+                deque.applyExecutor(executor, EXECUTOR_MAX_POOL_SIZE - 2);
+                return executor;
+            } else {
+                MaxSizeAwareQueue queue = new MaxSizeAwareQueue(QUEUE_CAPACITY);
+                ThreadPoolExecutor executor = new ThreadPoolExecutor(1, EXECUTOR_MAX_POOL_SIZE, 5, TimeUnit.SECONDS, queue,
+                        ExecutorFactory.getThreadFactoryWithCounter(name),
+                        new AbortPolicyWithLogging(name, QUEUE_CAPACITY, EXECUTOR_MAX_POOL_SIZE));
+                queue.applyExecutor(executor, EXECUTOR_MAX_POOL_SIZE - 2);
+                return executor;
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.network;
+
+import bisq.common.file.FileMutatorUtils;
+import bisq.network.p2p.services.data.storage.DataStorageResult;
+import bisq.network.p2p.services.data.storage.PruneExpiredEntriesService;
+import bisq.network.p2p.services.data.storage.StoreType;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.AuthenticatedDataStorageService;
+import bisq.network.p2p.services.data.storage.auth.DefaultAuthenticatedData;
+import bisq.network.p2p.services.data.storage.auth.RemoveAuthenticatedDataRequest;
+import bisq.persistence.PersistenceService;
+import bisq.security.keys.KeyGeneration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds and removes DataRequests from several threads to the same store, as it happens when several connections
+ * deliver broadcasts at the same time. The requests are signed before the measurement, the signature verification
+ * at add and remove is part of it.
+ * The number of threads can be changed with the JMH option `-t`.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+@Threads(4)
+public class DataStoreContentionBenchmark {
+    private static final int BATCH_SIZE = 250;
+    private static final int DATA_SIZE = 500;
+
+    @State(Scope.Benchmark)
+    public static class StoreState {
+        private Path appDataDirPath;
+        private PruneExpiredEntriesService pruneExpiredEntriesService;
+        private AuthenticatedDataStorageService store;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            BenchmarkData.registerResolver();
+            appDataDirPath = FileMutatorUtils.createTempDirPath();
+            pruneExpiredEntriesService = new PruneExpiredEntriesService();
+            store = new AuthenticatedDataStorageService(new PersistenceService(appDataDirPath),
+                    pruneExpiredEntriesService,
+                    StoreType.AUTHENTICATED_DATA_STORE.getStoreName(),
+                    BenchmarkData.class.getSimpleName());
+        }
+
+        // Removed entries stay in the map, so we start each iteration with an empty map to not reach the max map size
+        @Setup(Level.Iteration)
+        public void clear() {
+            store.getPersistableStore().getMap().clear();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            store.shutdown();
+            pruneExpiredEntriesService.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BatchState {
+        private final Random random = new Random();
+        private final KeyPair keyPair = KeyGeneration.generateDefaultEcKeyPair();
+        private final List<AddAuthenticatedDataRequest> addRequests = new ArrayList<>();
+        private final List<RemoveAuthenticatedDataRequest> removeRequests = new ArrayList<>();
+
+        @Setup(Level.Iteration)
+        public void createBatch(StoreState storeState) throws GeneralSecurityException {
+            addRequests.clear();
+            removeRequests.clear();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                DefaultAuthenticatedData authenticatedData = BenchmarkDataRequests.createAuthenticatedData(random, DATA_SIZE);
+                // The remove request gets the sequence number of the stored data + 1, which is 1 as the data are
+                // not added yet. Thus, the add request needs a lower sequence number.
+                addRequests.add(BenchmarkDataRequests.createAddRequest(authenticatedData, keyPair, 0));
+                removeRequests.add(RemoveAuthenticatedDataRequest.from(storeState.store, authenticatedData, keyPair));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * BATCH_SIZE)
+    public void addAndRemove(StoreState storeState, BatchState batchState) {
+        for (AddAuthenticatedDataRequest request : batchState.addRequests) {
+            checkSuccess(storeState.store.add(request));
+        }
+        for (RemoveAuthenticatedDataRequest request : batchState.removeRequests) {
+            checkSuccess(storeState.store.remove(request));
+        }
+    }
+
+    // We want to measure the success path and not the early returns for invalid requests
+    private static void checkSuccess(DataStorageResult result) {
+        if (!result.isSuccess()) {
+            throw new IllegalStateException("Unexpected result " + result);
+        }
+    }
+}
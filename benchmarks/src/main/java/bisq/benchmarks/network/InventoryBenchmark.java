@@ -0,0 +1,127 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.network;
+
+import bisq.common.file.FileMutatorUtils;
+import bisq.network.p2p.services.data.inventory.Inventory;
+import bisq.network.p2p.services.data.inventory.filter.hash_set.HashSetFilter;
+import bisq.network.p2p.services.data.inventory.filter.hash_set.HashSetFilterService;
+import bisq.network.p2p.services.data.storage.StorageService;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.persistence.PersistenceService;
+import bisq.security.keys.KeyGeneration;
+import ch.qos.logback.classic.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of the inventory filter by the requesting node and of the inventory by the responding node
+ * (see {@link bisq.network.p2p.services.data.inventory.filter.FilterService#createInventory}).
+ * The requesting node is missing the given percentage of the data of the responding node.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InventoryBenchmark {
+    // Default of the inventory maxSizeInKb config
+    private static final int MAX_SIZE = 2000 * 1024;
+    private static final int DATA_SIZE = 500;
+    private static final int NUM_KEY_PAIRS = 20;
+
+    @Param({"1000", "10000"})
+    public int numEntries;
+
+    @Param({"10", "100"})
+    public int missingPercent;
+
+    private Path requesterDirPath;
+    private Path responderDirPath;
+    private StorageService requesterStorageService;
+    private StorageService responderStorageService;
+    private HashSetFilterService requesterFilterService;
+    private HashSetFilterService responderFilterService;
+    private HashSetFilter filter;
+
+    @Setup
+    public void setup() throws IOException, GeneralSecurityException {
+        // FilterService.createInventory logs each inventory at INFO level
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(ch.qos.logback.classic.Level.WARN);
+        BenchmarkData.registerResolver();
+        Inventory.setMaxSize(MAX_SIZE);
+
+        requesterDirPath = FileMutatorUtils.createTempDirPath();
+        responderDirPath = FileMutatorUtils.createTempDirPath();
+        requesterStorageService = new StorageService(new PersistenceService(requesterDirPath));
+        responderStorageService = new StorageService(new PersistenceService(responderDirPath));
+
+        Random random = new Random(42);
+        KeyPair[] keyPairs = new KeyPair[NUM_KEY_PAIRS];
+        for (int i = 0; i < NUM_KEY_PAIRS; i++) {
+            keyPairs[i] = KeyGeneration.generateDefaultEcKeyPair();
+        }
+        int numKnownByRequester = numEntries * (100 - missingPercent) / 100;
+        for (int i = 0; i < numEntries; i++) {
+            AddAuthenticatedDataRequest request = BenchmarkDataRequests.createAddRequest(random, DATA_SIZE, keyPairs[i % NUM_KEY_PAIRS]);
+            responderStorageService.onAddDataRequest(request).join();
+            if (i < numKnownByRequester) {
+                requesterStorageService.onAddDataRequest(request).join();
+            }
+        }
+
+        requesterFilterService = new HashSetFilterService(requesterStorageService, MAX_SIZE);
+        responderFilterService = new HashSetFilterService(responderStorageService, MAX_SIZE);
+        filter = requesterFilterService.getFilter();
+    }
+
+    @TearDown
+    public void tearDown() {
+        requesterStorageService.shutdown();
+        responderStorageService.shutdown();
+    }
+
+    @Benchmark
+    public HashSetFilter getFilter() {
+        return requesterFilterService.getFilter();
+    }
+
+    @Benchmark
+    public Inventory createInventory() {
+        return responderFilterService.createInventory(filter);
+    }
+}
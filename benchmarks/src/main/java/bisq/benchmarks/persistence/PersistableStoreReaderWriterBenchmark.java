@@ -0,0 +1,118 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.persistence;
+
+import bisq.benchmarks.network.BenchmarkData;
+import bisq.benchmarks.network.BenchmarkDataRequests;
+import bisq.common.file.FileMutatorUtils;
+import bisq.network.p2p.services.data.storage.DataStore;
+import bisq.network.p2p.services.data.storage.PruneExpiredEntriesService;
+import bisq.network.p2p.services.data.storage.StoreType;
+import bisq.network.p2p.services.data.storage.auth.AuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.AuthenticatedDataStorageService;
+import bisq.persistence.PersistableStoreFileManager;
+import bisq.persistence.PersistableStoreReaderWriter;
+import bisq.persistence.PersistenceService;
+import bisq.persistence.backup.RestoreService;
+import bisq.security.keys.KeyGeneration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and reading a network data store, which are the largest stores we persist.
+ * Writing includes the backup of the previous file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistableStoreReaderWriterBenchmark {
+    private static final int DATA_SIZE = 500;
+    private static final int NUM_KEY_PAIRS = 20;
+
+    @Param({"1000", "10000"})
+    public int numEntries;
+
+    private Path appDataDirPath;
+    private PruneExpiredEntriesService pruneExpiredEntriesService;
+    private AuthenticatedDataStorageService storageService;
+    private DataStore<AuthenticatedDataRequest> dataStore;
+    private PersistableStoreReaderWriter<DataStore<AuthenticatedDataRequest>> readerWriter;
+
+    @Setup
+    public void setup() throws IOException, GeneralSecurityException {
+        BenchmarkData.registerResolver();
+        appDataDirPath = FileMutatorUtils.createTempDirPath();
+        pruneExpiredEntriesService = new PruneExpiredEntriesService();
+        // Creating the storage service registers the resolver of the DataStore which is needed for reading
+        storageService = new AuthenticatedDataStorageService(new PersistenceService(appDataDirPath),
+                pruneExpiredEntriesService,
+                StoreType.AUTHENTICATED_DATA_STORE.getStoreName(),
+                BenchmarkData.class.getSimpleName());
+
+        Random random = new Random(42);
+        KeyPair[] keyPairs = new KeyPair[NUM_KEY_PAIRS];
+        for (int i = 0; i < NUM_KEY_PAIRS; i++) {
+            keyPairs[i] = KeyGeneration.generateDefaultEcKeyPair();
+        }
+        for (int i = 0; i < numEntries; i++) {
+            storageService.add(BenchmarkDataRequests.createAddRequest(random, DATA_SIZE, keyPairs[i % NUM_KEY_PAIRS]));
+        }
+        dataStore = storageService.getPersistableStore().getClone();
+
+        Path storeFilePath = appDataDirPath.resolve("benchmark").resolve("BenchmarkDataStore");
+        readerWriter = new PersistableStoreReaderWriter<>(new PersistableStoreFileManager(storeFilePath), new RestoreService());
+        readerWriter.write(dataStore);
+    }
+
+    @TearDown
+    public void tearDown() {
+        storageService.shutdown();
+        pruneExpiredEntriesService.shutdown();
+    }
+
+    @Benchmark
+    public void write() {
+        readerWriter.write(dataStore);
+    }
+
+    @Benchmark
+    public Optional<DataStore<AuthenticatedDataRequest>> read() {
+        return readerWriter.read();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.proto;
+
+import bisq.benchmarks.network.BenchmarkDataRequests;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.DefaultAuthenticatedData;
+import bisq.security.keys.KeyGeneration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.GeneralSecurityException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a DataRequest as it happens for each received and broadcast request.
+ * {@link bisq.common.proto.Proto#serializeForHash()} of the authenticated data is used as storage key,
+ * {@link bisq.common.proto.Proto#getSerializedSize()} when creating inventories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtoBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int dataSize;
+
+    private DefaultAuthenticatedData authenticatedData;
+    private AddAuthenticatedDataRequest request;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        Random random = new Random(42);
+        authenticatedData = BenchmarkDataRequests.createAuthenticatedData(random, dataSize);
+        request = BenchmarkDataRequests.createAddRequest(authenticatedData, KeyGeneration.generateDefaultEcKeyPair(), 1);
+    }
+
+    @Benchmark
+    public byte[] authenticatedDataSerializeForHash() {
+        return authenticatedData.serializeForHash();
+    }
+
+    @Benchmark
+    public byte[] requestSerialize() {
+        return request.serialize();
+    }
+
+    @Benchmark
+    public byte[] requestSerializeForHash() {
+        return request.serializeForHash();
+    }
+
+    @Benchmark
+    public int requestGetSerializedSize() {
+        return request.getSerializedSize();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.regression;
+
+import bisq.common.json.JsonMapperProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Compares two JMH result files in JSON format (e.g. of the parent commit and the current one) and reports the
+ * benchmarks which got worse or better by more than the threshold. Differences within the error margins of both
+ * results are not reported, as they are not significant.
+ * <pre>
+ *   BenchmarkRegressionDiff baseline.json current.json [threshold in percent, default 10]
+ * </pre>
+ * Exits with status 1 if a regression was found, so that it can be used in scripts.
+ */
+@Slf4j
+public class BenchmarkRegressionDiff {
+    public static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    public record Result(String benchmark, String mode, double score, double scoreError, String unit) {
+        // In throughput mode a higher score is better, in all other modes (average time, sample time,
+        // single shot time) a lower one.
+        boolean isHigherBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    public enum Status {
+        REGRESSION,
+        IMPROVEMENT,
+        UNCHANGED,
+        ADDED,
+        REMOVED
+    }
+
+    public record Comparison(String benchmark, Optional<Result> baseline, Optional<Result> current,
+                             double changePercent, Status status) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            log.error("Usage: BenchmarkRegressionDiff <baseline.json> <current.json> [threshold in percent]");
+            System.exit(2);
+        }
+        double thresholdPercent = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        List<Comparison> comparisons = compare(readResults(Paths.get(args[0])),
+                readResults(Paths.get(args[1])),
+                thresholdPercent);
+        log.info("Comparison of {} with {} (threshold {}%)\n{}", args[1], args[0], thresholdPercent, format(comparisons));
+        long numRegressions = comparisons.stream().filter(comparison -> comparison.status() == Status.REGRESSION).count();
+        if (numRegressions > 0) {
+            log.warn("{} benchmark(s) regressed", numRegressions);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return The results by the benchmark name including its parameters, e.g.
+     * {@code bisq.benchmarks.proto.ProtoBenchmark.requestSerialize{dataSize=100}}
+     */
+    public static Map<String, Result> readResults(Path path) throws IOException {
+        return parseResults(Files.readString(path));
+    }
+
+    public static Map<String, Result> parseResults(String json) throws IOException {
+        Map<String, Result> results = new TreeMap<>();
+        for (JsonNode node : JsonMapperProvider.get().readTree(json)) {
+            String benchmark = node.get("benchmark").asText();
+            JsonNode params = node.get("params");
+            if (params != null && params.size() > 0) {
+                Map<String, String> sortedParams = new TreeMap<>();
+                params.fields().forEachRemaining(entry -> sortedParams.put(entry.getKey(), entry.getValue().asText()));
+                benchmark += sortedParams.toString();
+            }
+            JsonNode primaryMetric = node.get("primaryMetric");
+            // JMH writes NaN if there have not been enough iterations to calculate the error
+            double scoreError = primaryMetric.get("scoreError").asDouble(0);
+            results.put(benchmark, new Result(benchmark,
+                    node.get("mode").asText(),
+                    primaryMetric.get("score").asDouble(),
+                    Double.isNaN(scoreError) ? 0 : scoreError,
+                    primaryMetric.get("scoreUnit").asText()));
+        }
+        return results;
+    }
+
+    public static List<Comparison> compare(Map<String, Result> baselineResults,
+                                           Map<String, Result> currentResults,
+                                           double thresholdPercent) {
+        TreeSet<String> benchmarks = new TreeSet<>(baselineResults.keySet());
+        benchmarks.addAll(currentResults.keySet());
+        List<Comparison> comparisons = new ArrayList<>();
+        for (String benchmark : benchmarks) {
+            Optional<Result> baseline = Optional.ofNullable(baselineResults.get(benchmark));
+            Optional<Result> current = Optional.ofNullable(currentResults.get(benchmark));
+            if (baseline.isEmpty()) {
+                comparisons.add(new Comparison(benchmark, baseline, current, 0, Status.ADDED));
+            } else if (current.isEmpty()) {
+                comparisons.add(new Comparison(benchmark, baseline, current, 0, Status.REMOVED));
+            } else {
+                comparisons.add(compare(baseline.get(), current.get(), thresholdPercent));
+            }
+        }
+        return comparisons;
+    }
+
+    public static String format(List<Comparison> comparisons) {
+        StringBuilder sb = new StringBuilder();
+        for (Comparison comparison : comparisons) {
+            sb.append(String.format(Locale.US, "%-12s %15s %15s %9s  %s%n",
+                    comparison.status(),
+                    comparison.baseline().map(BenchmarkRegressionDiff::formatScore).orElse("-"),
+                    comparison.current().map(BenchmarkRegressionDiff::formatScore).orElse("-"),
+                    comparison.baseline().isPresent() && comparison.current().isPresent()
+                            ? String.format(Locale.US, "%+.1f%%", comparison.changePercent())
+                            : "",
+                    comparison.benchmark()));
+        }
+        return sb.toString();
+    }
+
+    private static Comparison compare(Result baseline, Result current, double thresholdPercent) {
+        double changePercent = baseline.score() == 0 ? 0 : 100 * (current.score() - baseline.score()) / baseline.score();
+        double worseningPercent = baseline.isHigherBetter() ? -changePercent : changePercent;
+        boolean isSignificant = Math.abs(current.score() - baseline.score()) > baseline.scoreError() + current.scoreError();
+        Status status;
+        if (!isSignificant || Math.abs(worseningPercent) <= thresholdPercent) {
+            status = Status.UNCHANGED;
+        } else if (worseningPercent > 0) {
+            status = Status.REGRESSION;
+        } else {
+            status = Status.IMPROVEMENT;
+        }
+        return new Comparison(baseline.benchmark(), Optional.of(baseline), Optional.of(current), changePercent, status);
+    }
+
+    private static String formatScore(Result result) {
+        return String.format(Locale.US, "%.3f %s", result.score(), result.unit());
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.security;
+
+import bisq.security.ConfidentialData;
+import bisq.security.DigestUtil;
+import bisq.security.HybridEncryption;
+import bisq.security.SignatureUtil;
+import bisq.security.keys.KeyGeneration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reused thread local JCA instances of DigestUtil, SignatureUtil and AesGcm with creating a new instance
+ * on each call. Run with `-Pjmh.args="-t 4"` to measure concurrent use and with `-Pjmh.args="-prof gc"` to see the
+ * allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptoPrimitivesBenchmark {
+    private static final String BC = "BC";
+
+    @Param({"100", "10000"})
+    public int messageSize;
+
+    private KeyPair senderKeyPair;
+    private KeyPair receiverKeyPair;
+    private byte[] message;
+    private byte[] signature;
+    private ConfidentialData confidentialData;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        senderKeyPair = KeyGeneration.generateDefaultEcKeyPair();
+        receiverKeyPair = KeyGeneration.generateDefaultEcKeyPair();
+        message = new byte[messageSize];
+        new Random(42).nextBytes(message);
+        signature = SignatureUtil.sign(message, senderKeyPair.getPrivate());
+        confidentialData = HybridEncryption.encryptAndSign(message, receiverKeyPair.getPublic(), senderKeyPair);
+    }
+
+    @Benchmark
+    public byte[] sha256() {
+        return DigestUtil.sha256(message);
+    }
+
+    @Benchmark
+    public byte[] sha256NewInstance() throws GeneralSecurityException {
+        return MessageDigest.getInstance("SHA-256").digest(message);
+    }
+
+    @Benchmark
+    public boolean verify() throws GeneralSecurityException {
+        return SignatureUtil.verify(message, signature, senderKeyPair.getPublic());
+    }
+
+    @Benchmark
+    public boolean verifyNewInstance() throws GeneralSecurityException {
+        return newInstanceVerify(message, signature, senderKeyPair.getPublic());
+    }
+
+    @Benchmark
+    public ConfidentialData encryptAndSign() throws GeneralSecurityException {
+        return HybridEncryption.encryptAndSign(message, receiverKeyPair.getPublic(), senderKeyPair);
+    }
+
+    @Benchmark
+    public ConfidentialData encryptAndSignNewInstances() throws GeneralSecurityException {
+        SecretKey sharedAesSecretKey = newInstanceSharedSecretKey(senderKeyPair.getPrivate(), receiverKeyPair.getPublic());
+        byte[] iv = new byte[12];
+        new SecureRandom().nextBytes(iv);
+        byte[] cipherText = newInstanceCipher(Cipher.ENCRYPT_MODE, sharedAesSecretKey, iv, message);
+        byte[] signature = newInstanceSign(cipherText, senderKeyPair.getPrivate());
+        return new ConfidentialData(senderKeyPair.getPublic().getEncoded(), iv, cipherText, signature);
+    }
+
+    @Benchmark
+    public byte[] decryptAndVerify() throws GeneralSecurityException {
+        return HybridEncryption.decryptAndVerify(confidentialData, receiverKeyPair);
+    }
+
+    @Benchmark
+    public byte[] decryptAndVerifyNewInstances() throws GeneralSecurityException {
+        PublicKey senderPublicKey = KeyGeneration.generatePublic(confidentialData.getSenderPublicKey());
+        if (!newInstanceVerify(confidentialData.getCipherText(), confidentialData.getSignature(), senderPublicKey)) {
+            throw new SignatureException("Invalid signature");
+        }
+        SecretKey sharedAesSecretKey = newInstanceSharedSecretKey(receiverKeyPair.getPrivate(), senderPublicKey);
+        return newInstanceCipher(Cipher.DECRYPT_MODE, sharedAesSecretKey, confidentialData.getIv(), confidentialData.getCipherText());
+    }
+
+    private static boolean newInstanceVerify(byte[] message, byte[] signature, PublicKey publicKey) throws GeneralSecurityException {
+        Signature sig = Signature.getInstance(SignatureUtil.SHA256withECDSA, BC);
+        sig.initVerify(publicKey);
+        sig.update(message);
+        return sig.verify(signature);
+    }
+
+    private static byte[] newInstanceSign(byte[] message, PrivateKey privateKey) throws GeneralSecurityException {
+        Signature signature = Signature.getInstance(SignatureUtil.SHA256withECDSA, BC);
+        signature.initSign(privateKey);
+        signature.update(message);
+        return signature.sign();
+    }
+
+    private static SecretKey newInstanceSharedSecretKey(PrivateKey privateKey, PublicKey publicKey) throws GeneralSecurityException {
+        KeyAgreement keyAgreement = KeyAgreement.getInstance(KeyGeneration.ECDH, BC);
+        keyAgreement.init(privateKey);
+        keyAgreement.doPhase(publicKey, true);
+        return keyAgreement.generateSecret("AES");
+    }
+
+    private static byte[] newInstanceCipher(int mode, SecretKey secretKey, byte[] iv, byte[] input) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding", BC);
+        cipher.init(mode, secretKey, new GCMParameterSpec(128, iv));
+        return cipher.doFinal(input);
+    }
+}
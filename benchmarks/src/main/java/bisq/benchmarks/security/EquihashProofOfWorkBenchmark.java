@@ -0,0 +1,78 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.security;
+
+import bisq.common.facades.FacadeProvider;
+import bisq.common.facades.android.AndroidGuavaFacade;
+import bisq.security.pow.ProofOfWork;
+import bisq.security.pow.equihash.EquihashProofOfWorkService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uses the same difficulties as {@link HashCashProofOfWorkBenchmark}, so that both proof of work services can be
+ * compared.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EquihashProofOfWorkBenchmark {
+    @Param({"1024", "65536"})
+    public double difficulty;
+
+    private final EquihashProofOfWorkService proofOfWorkService = new EquihashProofOfWorkService();
+    private byte[] challenge;
+    private ProofOfWork proofOfWork;
+    private long counter;
+
+    @Setup
+    public void setup() {
+        FacadeProvider.setGuavaFacade(new AndroidGuavaFacade());
+        challenge = proofOfWorkService.getChallenge("itemId", "ownerId");
+        proofOfWork = proofOfWorkService.mint(nextPayload(), challenge, difficulty);
+    }
+
+    @Benchmark
+    public ProofOfWork mint() {
+        return proofOfWorkService.mint(nextPayload(), challenge, difficulty);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return proofOfWorkService.verify(proofOfWork);
+    }
+
+    private byte[] nextPayload() {
+        return ("payload" + counter++).getBytes(StandardCharsets.UTF_8);
+    }
+}
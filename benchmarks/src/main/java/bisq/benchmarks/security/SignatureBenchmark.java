@@ -0,0 +1,73 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.security;
+
+import bisq.security.SignatureUtil;
+import bisq.security.keys.KeyGeneration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signature verification is done for each received DataRequest and at the handshake.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignatureBenchmark {
+    @Param({"32", "1000", "10000"})
+    public int messageSize;
+
+    private KeyPair keyPair;
+    private byte[] message;
+    private byte[] signature;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        keyPair = KeyGeneration.generateDefaultEcKeyPair();
+        message = new byte[messageSize];
+        new Random(42).nextBytes(message);
+        signature = SignatureUtil.sign(message, keyPair.getPrivate());
+    }
+
+    @Benchmark
+    public byte[] sign() throws GeneralSecurityException {
+        return SignatureUtil.sign(message, keyPair.getPrivate());
+    }
+
+    @Benchmark
+    public boolean verify() throws GeneralSecurityException {
+        return SignatureUtil.verify(message, signature, keyPair.getPublic());
+    }
+}
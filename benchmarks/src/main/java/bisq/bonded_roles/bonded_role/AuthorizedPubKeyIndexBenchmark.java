@@ -0,0 +1,120 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.bonded_roles.bonded_role;
+
+import bisq.bonded_roles.BondedRoleType;
+import bisq.common.encoding.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lookup of the authorizing bonded role by a linear scan over the hex encoded public keys, as it was
+ * done in AuthorizedBondedRolesService.hasAuthorizedPubKey before, with the lookup in the AuthorizedPubKeyIndex.
+ * Each invocation looks up the public keys of 1000 authorized data for all bonded role types, half of them are
+ * signed by a known bonded role. The benchmark is in the package of AuthorizedPubKeyIndex, as it is package private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizedPubKeyIndexBenchmark {
+    private static final int NUM_AUTHORIZED_DATA = 1000;
+    private static final BondedRoleType[] BONDED_ROLE_TYPES = BondedRoleType.values();
+
+    private record Role(BondedRoleType bondedRoleType, String authorizedPublicKey) {
+    }
+
+    @Param({"20", "200"})
+    public int numBondedRoles;
+
+    private List<Role> roles;
+    private AuthorizedPubKeyIndex<Role> index;
+    private List<byte[]> authorizedDataPublicKeys;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        roles = new ArrayList<>();
+        index = new AuthorizedPubKeyIndex<>();
+        for (int i = 0; i < numBondedRoles; i++) {
+            byte[] publicKey = randomPublicKey(random);
+            Role role = new Role(BONDED_ROLE_TYPES[i % BONDED_ROLE_TYPES.length], Hex.encode(publicKey));
+            roles.add(role);
+            index.add(new AuthorizedPubKeyIndex.Key(role.bondedRoleType(), publicKey), role);
+        }
+
+        authorizedDataPublicKeys = new ArrayList<>();
+        for (int i = 0; i < NUM_AUTHORIZED_DATA; i++) {
+            authorizedDataPublicKeys.add(i % 2 == 0
+                    ? Hex.decode(roles.get(random.nextInt(roles.size())).authorizedPublicKey())
+                    : randomPublicKey(random));
+        }
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int numMatches = 0;
+        for (byte[] publicKey : authorizedDataPublicKeys) {
+            for (BondedRoleType bondedRoleType : BONDED_ROLE_TYPES) {
+                String hex = Hex.encode(publicKey);
+                if (roles.stream()
+                        .filter(role -> role.bondedRoleType() == bondedRoleType)
+                        .anyMatch(role -> role.authorizedPublicKey().equals(hex))) {
+                    numMatches++;
+                }
+            }
+        }
+        return numMatches;
+    }
+
+    @Benchmark
+    public int index() {
+        int numMatches = 0;
+        for (byte[] publicKey : authorizedDataPublicKeys) {
+            for (BondedRoleType bondedRoleType : BONDED_ROLE_TYPES) {
+                if (!index.get(new AuthorizedPubKeyIndex.Key(bondedRoleType, publicKey)).isEmpty()) {
+                    numMatches++;
+                }
+            }
+        }
+        return numMatches;
+    }
+
+    private static byte[] randomPublicKey(Random random) {
+        // Size of an X.509 encoded EC public key
+        byte[] publicKey = new byte[88];
+        random.nextBytes(publicKey);
+        return publicKey;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.envelope;
+
+import bisq.benchmarks.network.BenchmarkData;
+import bisq.common.encoding.Hex;
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.message.NetworkEnvelope;
+import bisq.network.p2p.node.authorization.token.equi_hash.EquiHashToken;
+import bisq.network.p2p.services.data.DataRequest;
+import bisq.network.p2p.services.data.inventory.Inventory;
+import bisq.network.p2p.services.data.inventory.InventoryResponse;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.AuthenticatedSequentialData;
+import bisq.network.p2p.services.data.storage.auth.DefaultAuthenticatedData;
+import bisq.security.DigestUtil;
+import bisq.security.SignatureUtil;
+import bisq.security.keys.KeyGeneration;
+import bisq.security.pow.ProofOfWork;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a synthetic trace of a node start up through the old receive path (parse and materialize every envelope)
+ * and the new one (read into the reused frame, drop known DataRequests before parsing).
+ * <p>
+ * The trace consists of inventory responses from a few peers containing the existing data, followed by the
+ * broadcasts of that data relayed by several peers, plus some new data which is relayed by several peers as well.
+ * Authorization is not part of the measurement as it is the same for both paths.
+ * Run with `-Pjmh.args="-prof gc"` to compare the allocated bytes as well.
+ * The benchmark is in the package of NetworkEnvelopeFrame, as reading a frame is package private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnvelopeDecodingBenchmark {
+    private static final int NUM_EXISTING_DATA = 2000;
+    private static final int NUM_NEW_DATA = 400;
+    private static final int NUM_INVENTORY_PEERS = 3;
+    private static final int INVENTORY_CHUNK_SIZE = 200;
+    private static final int NUM_RELAYS = 4;
+    private static final int DATA_SIZE = 500;
+    private static final int NUM_KEY_PAIRS = 20;
+
+    private byte[] trace;
+
+    @Setup
+    public void setup() throws GeneralSecurityException, IOException {
+        NetworkEnvelope.setNetworkVersion(1);
+        Inventory.setMaxSize(10_000_000);
+        BenchmarkData.registerResolver();
+        trace = createTrace();
+    }
+
+    @Benchmark
+    public int fullParsing() throws IOException {
+        InputStream inputStream = new ByteArrayInputStream(trace);
+        int numMaterialized = 0;
+        bisq.network.protobuf.NetworkEnvelope proto;
+        while ((proto = bisq.network.protobuf.NetworkEnvelope.parseDelimitedFrom(inputStream)) != null) {
+            NetworkEnvelope.fromProto(proto);
+            numMaterialized++;
+        }
+        return numMaterialized;
+    }
+
+    @Benchmark
+    public int duplicateFilter() throws IOException {
+        InputStream inputStream = new ByteArrayInputStream(trace);
+        NetworkEnvelopeFrame frame = new NetworkEnvelopeFrame();
+        DuplicateDataRequestFilter filter = new DuplicateDataRequestFilter();
+        int numMaterialized = 0;
+        while (frame.readDelimitedFrom(inputStream)) {
+            if (filter.isDuplicate(frame)) {
+                continue;
+            }
+            // We treat all received requests as processed by the storage
+            EnvelopePayloadMessage payload = NetworkEnvelope.fromProto(frame.parse()).getEnvelopePayloadMessage();
+            if (payload instanceof DataRequest dataRequest) {
+                filter.onProcessed(dataRequest);
+            } else if (payload instanceof InventoryResponse inventoryResponse) {
+                inventoryResponse.getInventory().getEntries().forEach(filter::onProcessed);
+            }
+            numMaterialized++;
+        }
+        return numMaterialized;
+    }
+
+    private static byte[] createTrace() throws GeneralSecurityException, IOException {
+        Random random = new Random(42);
+        List<KeyPair> keyPairs = new ArrayList<>();
+        for (int i = 0; i < NUM_KEY_PAIRS; i++) {
+            keyPairs.add(KeyGeneration.generateDefaultEcKeyPair());
+        }
+        List<DataRequest> existingData = new ArrayList<>();
+        for (int i = 0; i < NUM_EXISTING_DATA; i++) {
+            existingData.add(createDataRequest(random, keyPairs.get(i % NUM_KEY_PAIRS)));
+        }
+        List<DataRequest> newData = new ArrayList<>();
+        for (int i = 0; i < NUM_NEW_DATA; i++) {
+            newData.add(createDataRequest(random, keyPairs.get(i % NUM_KEY_PAIRS)));
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        for (int peer = 0; peer < NUM_INVENTORY_PEERS; peer++) {
+            for (int from = 0; from < existingData.size(); from += INVENTORY_CHUNK_SIZE) {
+                List<DataRequest> entries = existingData.subList(from, Math.min(existingData.size(), from + INVENTORY_CHUNK_SIZE));
+                boolean maxSizeReached = from + INVENTORY_CHUNK_SIZE < existingData.size();
+                write(new InventoryResponse(new Inventory(entries, maxSizeReached), random.nextInt()), random, outputStream);
+            }
+        }
+        List<DataRequest> broadcasts = new ArrayList<>(existingData);
+        broadcasts.addAll(newData);
+        for (int relay = 0; relay < NUM_RELAYS; relay++) {
+            for (DataRequest dataRequest : broadcasts) {
+                write(dataRequest, random, outputStream);
+            }
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static DataRequest createDataRequest(Random random, KeyPair keyPair) throws GeneralSecurityException {
+        byte[] text = new byte[DATA_SIZE / 2];
+        random.nextBytes(text);
+        DefaultAuthenticatedData authenticatedData = new DefaultAuthenticatedData(new BenchmarkData(Hex.encode(text), random.nextLong()));
+        AuthenticatedSequentialData data = new AuthenticatedSequentialData(authenticatedData,
+                1,
+                DigestUtil.hash(keyPair.getPublic().getEncoded()),
+                System.currentTimeMillis());
+        byte[] signature = SignatureUtil.sign(data.serializeForHash(), keyPair.getPrivate());
+        return new AddAuthenticatedDataRequest(data, signature, keyPair.getPublic());
+    }
+
+    private static void write(EnvelopePayloadMessage message,
+                              Random random,
+                              ByteArrayOutputStream outputStream) throws IOException {
+        byte[] payload = new byte[20];
+        random.nextBytes(payload);
+        byte[] solution = new byte[72];
+        random.nextBytes(solution);
+        ProofOfWork proofOfWork = new ProofOfWork(payload, 0, null, 1000, solution, 10);
+        new NetworkEnvelope(new EquiHashToken(proofOfWork, 1), message).writeDelimitedTo(outputStream);
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.services.peer_group;
+
+import bisq.common.network.Address;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Simulates a node maintaining its connections in a network of local peers with injected slow and faulty peers.
+ * It compares the peer selection by PeerScore with the previous selection by random order for the candidates and
+ * by age for eviction. Each round corresponds to a housekeeping interval of 1 minute.
+ * <p>
+ * The simulation is deterministic for a given seed. The measured time is only of interest for the cost of the
+ * scoring, the metrics are reported as secondary results:
+ * <ul>
+ *   <li>Convergence: first round after which at least 90% of the connections are to good peers for 10 rounds.</li>
+ *   <li>Bandwidth efficiency: new items received per KB of inventory data received.</li>
+ *   <li>Failed connection attempts and average RTT of the connected peers.</li>
+ * </ul>
+ * The simulation is in the package of PeerScore, as its update methods are package private.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class PeerScoringSimulation {
+    private static final int NUM_PEERS = 300;
+    private static final double SHARE_OF_SLOW_PEERS = 0.2;
+    private static final double SHARE_OF_FAULTY_PEERS = 0.2;
+    private static final int NUM_ROUNDS = 300;
+    private static final int TARGET_NUM_CONNECTIONS = 10;
+    private static final int MAX_NUM_CONNECTIONS = 8;
+    private static final int NUM_NEW_ITEMS_PER_ROUND = 20;
+    private static final int ITEM_SIZE_IN_KB = 1;
+    private static final int MAX_CONNECTION_AGE_IN_ROUNDS = 120;
+    private static final int CONVERGENCE_WINDOW = 10;
+    private static final double CONVERGENCE_THRESHOLD = 0.9;
+
+    private enum Kind {
+        GOOD(0.02, 300, 800, 0.95, 0.01),
+        SLOW(0.05, 4000, 8000, 0.95, 0.02),
+        FAULTY(0.7, 500, 3000, 0.3, 0.3);
+
+        private final double connectFailureProbability;
+        private final int minRtt;
+        private final int maxRtt;
+        private final double knowsItemProbability;
+        private final double dropProbability;
+
+        Kind(double connectFailureProbability,
+             int minRtt,
+             int maxRtt,
+             double knowsItemProbability,
+             double dropProbability) {
+            this.connectFailureProbability = connectFailureProbability;
+            this.minRtt = minRtt;
+            this.maxRtt = maxRtt;
+            this.knowsItemProbability = knowsItemProbability;
+            this.dropProbability = dropProbability;
+        }
+    }
+
+    private record SimulatedPeer(Address address, Kind kind, int rtt) {
+    }
+
+    private record Result(int convergenceRound,
+                          double shareOfGoodConnections,
+                          double newItemsPerKb,
+                          int numFailedConnectionAttempts,
+                          double averageRtt) {
+    }
+
+    @Param({"baseline", "scored"})
+    public String policy;
+
+    @Param({"42"})
+    public long seed;
+
+    // Convergence round is -1 if the simulation did not converge
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Metrics {
+        public int convergenceRound;
+        public double shareOfGoodConnections;
+        public double newItemsPerKb;
+        public int failedConnectionAttempts;
+        public double averageRtt;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            convergenceRound = 0;
+            shareOfGoodConnections = 0;
+            newItemsPerKb = 0;
+            failedConnectionAttempts = 0;
+            averageRtt = 0;
+        }
+    }
+
+    @Benchmark
+    public void simulate(Metrics metrics) {
+        Result result = run(policy.equals("scored"), seed);
+        metrics.convergenceRound = result.convergenceRound();
+        metrics.shareOfGoodConnections = result.shareOfGoodConnections();
+        metrics.newItemsPerKb = result.newItemsPerKb();
+        metrics.failedConnectionAttempts = result.numFailedConnectionAttempts();
+        metrics.averageRtt = result.averageRtt();
+    }
+
+    private static Result run(boolean useScore, long seed) {
+        Random random = new Random(seed);
+        List<SimulatedPeer> peers = createPeers(random);
+        Map<Address, PeerScore> scores = new HashMap<>();
+        Map<SimulatedPeer, Integer> connectedSinceRound = new HashMap<>();
+        long now = 0;
+        int numFailedConnectionAttempts = 0;
+        long numNewItems = 0;
+        long numReceivedKb = 0;
+        int numGoodRoundsInRow = 0;
+        int convergenceRound = -1;
+        double sumShareOfGood = 0;
+        double sumAverageRtt = 0;
+
+        for (int round = 0; round < NUM_ROUNDS; round++) {
+            int currentRound = round;
+            now += MINUTES.toMillis(1);
+
+            // Connections get dropped by the peer
+            for (SimulatedPeer peer : new ArrayList<>(connectedSinceRound.keySet())) {
+                if (random.nextDouble() < peer.kind().dropProbability) {
+                    close(peer, connectedSinceRound, scores, round, now);
+                }
+            }
+
+            // Aged connections get closed (maybeCloseAgedConnections)
+            List<SimulatedPeer> aged = sortForSkip(connectedSinceRound, scores, useScore).stream()
+                    .filter(peer -> currentRound - connectedSinceRound.get(peer) > MAX_CONNECTION_AGE_IN_ROUNDS)
+                    .toList();
+            for (SimulatedPeer peer : aged.subList(Math.min(aged.size(), MAX_NUM_CONNECTIONS / 2), aged.size())) {
+                close(peer, connectedSinceRound, scores, round, now);
+            }
+
+            // Extend the peer group (peer exchange)
+            int missing = TARGET_NUM_CONNECTIONS - connectedSinceRound.size();
+            if (missing > 0) {
+                for (SimulatedPeer peer : selectCandidates(peers, connectedSinceRound.keySet(), scores, useScore, random, missing)) {
+                    PeerScore peerScore = scores.computeIfAbsent(peer.address(), address -> new PeerScore(address, 0));
+                    if (random.nextDouble() < peer.kind().connectFailureProbability) {
+                        peerScore.onConnectionFailed(now);
+                        numFailedConnectionAttempts++;
+                    } else {
+                        peerScore.onConnectionSucceeded(now);
+                        peerScore.onRtt(peer.rtt(), now);
+                        connectedSinceRound.put(peer, round);
+                    }
+                }
+            }
+
+            // Close exceeding connections (maybeCloseExceedingConnections)
+            List<SimulatedPeer> sorted = sortForSkip(connectedSinceRound, scores, useScore);
+            for (SimulatedPeer peer : sorted.subList(Math.min(sorted.size(), MAX_NUM_CONNECTIONS), sorted.size())) {
+                close(peer, connectedSinceRound, scores, round, now);
+            }
+
+            // Inventory: each new item is counted as new only from the first peer delivering it (lowest RTT)
+            List<SimulatedPeer> byRtt = new ArrayList<>(connectedSinceRound.keySet());
+            byRtt.sort(Comparator.comparingInt(SimulatedPeer::rtt));
+            Map<SimulatedPeer, Integer> newItemsByPeer = new HashMap<>();
+            Map<SimulatedPeer, Integer> itemsByPeer = new HashMap<>();
+            for (int item = 0; item < NUM_NEW_ITEMS_PER_ROUND; item++) {
+                boolean received = false;
+                for (SimulatedPeer peer : byRtt) {
+                    if (random.nextDouble() < peer.kind().knowsItemProbability) {
+                        itemsByPeer.merge(peer, 1, Integer::sum);
+                        numReceivedKb += ITEM_SIZE_IN_KB;
+                        if (!received) {
+                            received = true;
+                            newItemsByPeer.merge(peer, 1, Integer::sum);
+                            numNewItems++;
+                        }
+                    }
+                }
+            }
+            for (SimulatedPeer peer : byRtt) {
+                int numBytes = itemsByPeer.getOrDefault(peer, 0) * ITEM_SIZE_IN_KB * 1024;
+                scores.get(peer.address()).onInventoryReceived(newItemsByPeer.getOrDefault(peer, 0), numBytes, now);
+            }
+
+            long numGood = connectedSinceRound.keySet().stream().filter(peer -> peer.kind() == Kind.GOOD).count();
+            double shareOfGood = connectedSinceRound.isEmpty() ? 0 : numGood / (double) connectedSinceRound.size();
+            sumShareOfGood += shareOfGood;
+            sumAverageRtt += connectedSinceRound.keySet().stream().mapToInt(SimulatedPeer::rtt).average().orElse(0);
+            if (shareOfGood >= CONVERGENCE_THRESHOLD) {
+                numGoodRoundsInRow++;
+                if (numGoodRoundsInRow == CONVERGENCE_WINDOW && convergenceRound < 0) {
+                    convergenceRound = round - CONVERGENCE_WINDOW + 1;
+                }
+            } else {
+                numGoodRoundsInRow = 0;
+            }
+        }
+        return new Result(convergenceRound,
+                sumShareOfGood / NUM_ROUNDS,
+                numReceivedKb == 0 ? 0 : numNewItems / (double) numReceivedKb,
+                numFailedConnectionAttempts,
+                sumAverageRtt / NUM_ROUNDS);
+    }
+
+    private static List<SimulatedPeer> createPeers(Random random) {
+        List<SimulatedPeer> peers = new ArrayList<>();
+        for (int i = 0; i < NUM_PEERS; i++) {
+            double r = random.nextDouble();
+            Kind kind = r < SHARE_OF_SLOW_PEERS
+                    ? Kind.SLOW
+                    : r < SHARE_OF_SLOW_PEERS + SHARE_OF_FAULTY_PEERS ? Kind.FAULTY : Kind.GOOD;
+            int rtt = kind.minRtt + random.nextInt(kind.maxRtt - kind.minRtt);
+            peers.add(new SimulatedPeer(Address.from("127.0.0.1", 10000 + i), kind, rtt));
+        }
+        return peers;
+    }
+
+    private static List<SimulatedPeer> selectCandidates(List<SimulatedPeer> peers,
+                                                        Set<SimulatedPeer> connected,
+                                                        Map<Address, PeerScore> scores,
+                                                        boolean useScore,
+                                                        Random random,
+                                                        int limit) {
+        List<SimulatedPeer> candidates = new ArrayList<>(peers);
+        candidates.removeAll(connected);
+        Collections.shuffle(candidates, random);
+        if (useScore) {
+            candidates.sort(Comparator.comparingDouble((SimulatedPeer peer) -> getScore(scores, peer)).reversed());
+        }
+        return candidates.subList(0, Math.min(limit, candidates.size()));
+    }
+
+    // Mirrors PeerGroupManager.comparingForSkip: connections at the head are kept
+    private static List<SimulatedPeer> sortForSkip(Map<SimulatedPeer, Integer> connectedSinceRound,
+                                                   Map<Address, PeerScore> scores,
+                                                   boolean useScore) {
+        Comparator<SimulatedPeer> byDate = Comparator.comparingInt((SimulatedPeer peer) -> connectedSinceRound.get(peer)).reversed();
+        Comparator<SimulatedPeer> comparator = useScore
+                ? Comparator.comparingDouble((SimulatedPeer peer) -> getScore(scores, peer)).reversed().thenComparing(byDate)
+                : byDate;
+        List<SimulatedPeer> sorted = new ArrayList<>(connectedSinceRound.keySet());
+        sorted.sort(comparator);
+        return sorted;
+    }
+
+    private static double getScore(Map<Address, PeerScore> scores, SimulatedPeer peer) {
+        PeerScore peerScore = scores.get(peer.address());
+        return peerScore != null ? peerScore.getScore() : PeerScore.UNKNOWN_PEER_SCORE;
+    }
+
+    private static void close(SimulatedPeer peer,
+                              Map<SimulatedPeer, Integer> connectedSinceRound,
+                              Map<Address, PeerScore> scores,
+                              int round,
+                              long now) {
+        Integer since = connectedSinceRound.remove(peer);
+        if (since != null) {
+            scores.get(peer.address()).onUptime(MINUTES.toMillis(round - since), now);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.backup;
+
+import bisq.common.file.FileMutatorUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Simulates hourly changes of a store of about 1 MB over the given number of days and compares the backup time and
+ * disk usage of chunked backups with full copy backups, both pruned with the same retention rules at the simulated
+ * date. Creating the store data is part of the measured time for both policies. The disk usage and the number of
+ * remaining backups are reported as secondary results. After each iteration all remaining chunked backups get
+ * restored and compared with the data they have been created from.
+ * The benchmark is in the package of BackupService, as the methods taking the simulated date are package private.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class BackupBenchmark {
+    private static final String STORE_FILE_NAME = "benchmark_store.protobuf";
+    private static final int NUM_INITIAL_RECORDS = 1000;
+    private static final LocalDateTime START = LocalDateTime.parse("2024-09-01_0000", BackupService.DATE_FORMAT);
+
+    @Param({"chunked", "fullCopy"})
+    public String policy;
+
+    @Param({"31"})
+    public int numDays;
+
+    private Path dataDirPath;
+    private Path storeFilePath;
+    private Path fullCopyDirPath;
+    private BackupService backupService;
+    private List<byte[]> dataHashByHour;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long diskUsageKb;
+        public long maxDiskUsageKb;
+        public int numBackups;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            diskUsageKb = 0;
+            maxDiskUsageKb = 0;
+            numBackups = 0;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        dataDirPath = Files.createTempDirectory("bisq_BackupBenchmark");
+        storeFilePath = dataDirPath.resolve("db").resolve("private").resolve(STORE_FILE_NAME);
+        FileMutatorUtils.createDirectories(storeFilePath.getParent());
+        backupService = new BackupService(dataDirPath, storeFilePath, MaxBackupSize.HUNDRED_MB);
+        fullCopyDirPath = dataDirPath.resolve("full_copy_backups");
+        FileMutatorUtils.createDirectories(fullCopyDirPath);
+        dataHashByHour = new ArrayList<>();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        try {
+            if (policy.equals("chunked")) {
+                verifyChunkedBackups();
+            }
+        } finally {
+            FileMutatorUtils.deleteFileOrDirectory(dataDirPath);
+        }
+    }
+
+    @Benchmark
+    public void simulate(Counters counters) throws IOException {
+        Random random = new Random(42);
+        List<byte[]> records = new ArrayList<>();
+        for (int i = 0; i < NUM_INITIAL_RECORDS; i++) {
+            records.add(createRecord(random));
+        }
+
+        Path backupDirPath = policy.equals("chunked") ? backupService.dirPath : fullCopyDirPath;
+        int numHours = numDays * 24;
+        for (int hour = 0; hour < numHours; hour++) {
+            LocalDateTime now = START.plusHours(hour);
+            mutate(records, random);
+            byte[] data = serialize(records);
+            dataHashByHour.add(sha256(data));
+
+            if (policy.equals("chunked")) {
+                Files.write(storeFilePath, data);
+                backupService.backup(backupService.getBackupFilePath(now));
+                backupService.prune(now);
+            } else {
+                Files.write(fullCopyDirPath.resolve(STORE_FILE_NAME + "_" + BackupService.DATE_FORMAT.format(now)), data);
+                pruneFullCopies(now);
+            }
+            counters.maxDiskUsageKb = Math.max(counters.maxDiskUsageKb, getDirSize(backupDirPath) / 1024);
+        }
+        counters.diskUsageKb = getDirSize(backupDirPath) / 1024;
+        counters.numBackups = policy.equals("chunked")
+                ? backupService.getBackups().size()
+                : listFiles(fullCopyDirPath).size();
+    }
+
+    private void verifyChunkedBackups() throws IOException {
+        ChunkedBackupStore chunkedBackupStore = new ChunkedBackupStore(backupService.dirPath.resolve(BackupService.CHUNKS_DIR_NAME));
+        for (BackupFileInfo backupFileInfo : backupService.getBackups()) {
+            byte[] restored = chunkedBackupStore.restore(backupFileInfo.getPath());
+            int hour = (int) Duration.between(START, backupFileInfo.getLocalDateTime()).toHours();
+            if (!Arrays.equals(dataHashByHour.get(hour), sha256(restored))) {
+                throw new IllegalStateException("Restored data of " + backupFileInfo.getPath() + " do not match");
+            }
+        }
+    }
+
+    private void pruneFullCopies(LocalDateTime now) throws IOException {
+        List<BackupFileInfo> backups = BackupService.createBackupFileInfo(STORE_FILE_NAME, listFiles(fullCopyDirPath));
+        for (BackupFileInfo backupFileInfo : BackupService.findOutdatedBackups(new ArrayList<>(backups), now, e -> false)) {
+            Files.delete(backupFileInfo.getPath());
+        }
+    }
+
+    // Each hour a few records change, get added or get removed
+    private static void mutate(List<byte[]> records, Random random) {
+        for (int i = 0; i < 3; i++) {
+            byte[] record = records.get(random.nextInt(records.size()));
+            record[record.length - 1 - random.nextInt(8)] = (byte) random.nextInt(256);
+        }
+        records.add(random.nextInt(records.size()), createRecord(random));
+        if (random.nextInt(3) == 0) {
+            records.remove(random.nextInt(records.size()));
+        }
+    }
+
+    // A hash like key, followed by text and a few numbers
+    private static byte[] createRecord(Random random) {
+        byte[] record = new byte[900 + random.nextInt(200)];
+        for (int i = 0; i < record.length; i++) {
+            record[i] = i < 32 || i >= record.length - 16
+                    ? (byte) random.nextInt(256)
+                    : (byte) ('a' + random.nextInt(26));
+        }
+        return record;
+    }
+
+    private static byte[] serialize(List<byte[]> records) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream)) {
+            for (byte[] record : records) {
+                outputStream.writeShort(record.length);
+                outputStream.write(record);
+            }
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    // We keep only the hashes of the data of each hour for the verification, to not hold all versions in memory
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static List<Path> listFiles(Path dirPath) throws IOException {
+        try (Stream<Path> stream = Files.list(dirPath)) {
+            return stream.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    private static long getDirSize(Path dirPath) throws IOException {
+        try (Stream<Path> stream = Files.walk(dirPath)) {
+            return stream.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.segmented;
+
+import bisq.common.data.ByteArray;
+import bisq.common.data.StringLongPair;
+import bisq.common.file.FileMutatorUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading a large store by parsing a single protobuf file into a map, as it was done for the network data
+ * stores, with opening a {@link SegmentedStore} as a {@link LazyDecodingMap}. Both then access a few random entries
+ * or iterate all entries. The used heap with the loaded map is reported as secondary result.
+ * The page cache is not dropped between iterations, so the results are for a warm cache.
+ * The benchmark is in the package of SegmentedStore, as writing the keys without holding all values is package private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class SegmentedStoreBenchmark {
+    private static final int KEY_SIZE = 20;
+    private static final int VALUE_SIZE = 1000;
+    private static final int NUM_ACCESSED_ENTRIES = 1000;
+    private static final String SINGLE_FILE_NAME = "single_file_store.protobuf";
+    private static final String SEGMENTED_DIR_NAME = "segmented_store";
+
+    @Param({"singleFile", "segmented"})
+    public String layout;
+
+    @Param({"500"})
+    public int sizeInMb;
+
+    private Path dirPath;
+    private int numEntries;
+    private Map<ByteArray, StringLongPair> map;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long usedHeapMb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            usedHeapMb = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dirPath = Files.createTempDirectory("bisq_SegmentedStoreBenchmark");
+        numEntries = (int) (sizeInMb * 1024L * 1024L / (KEY_SIZE + VALUE_SIZE));
+        if (layout.equals("singleFile")) {
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(dirPath.resolve(SINGLE_FILE_NAME)))) {
+                for (int i = 0; i < numEntries; i++) {
+                    createKey(i).toProto(false).writeDelimitedTo(outputStream);
+                    createValue(i).toProto(false).writeDelimitedTo(outputStream);
+                }
+            }
+        } else {
+            List<ByteArray> keys = new AbstractList<>() {
+                @Override
+                public ByteArray get(int index) {
+                    return createKey(index);
+                }
+
+                @Override
+                public int size() {
+                    return numEntries;
+                }
+            };
+            createStore().write(keys, key ->
+                    ByteBuffer.wrap(createValue(ByteBuffer.wrap(key.getBytes()).getInt()).toProto(false).toByteArray()));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void releaseMap() {
+        map = null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileMutatorUtils.deleteFileOrDirectory(dirPath);
+    }
+
+    @Benchmark
+    public void openAndAccess(Counters counters) throws IOException {
+        map = load();
+        Random random = new Random(42);
+        for (int i = 0; i < NUM_ACCESSED_ENTRIES; i++) {
+            int index = random.nextInt(numEntries);
+            if (map.get(createKey(index)).getValue() != index) {
+                throw new IllegalStateException("Unexpected value at " + index);
+            }
+        }
+        counters.usedHeapMb = getUsedHeapInMb();
+    }
+
+    @Benchmark
+    public long openAndIterate(Counters counters) throws IOException {
+        map = load();
+        long sum = 0;
+        for (Map.Entry<ByteArray, StringLongPair> entry : map.entrySet()) {
+            sum += entry.getValue().getValue();
+        }
+        counters.usedHeapMb = getUsedHeapInMb();
+        return sum;
+    }
+
+    private Map<ByteArray, StringLongPair> load() throws IOException {
+        if (layout.equals("segmented")) {
+            return new LazyDecodingMap<>(createStore());
+        }
+
+        Map<ByteArray, StringLongPair> result = new ConcurrentHashMap<>();
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(dirPath.resolve(SINGLE_FILE_NAME)))) {
+            while (true) {
+                bisq.common.protobuf.ByteArray key = bisq.common.protobuf.ByteArray.parseDelimitedFrom(inputStream);
+                if (key == null) {
+                    break;
+                }
+                bisq.common.protobuf.StringLongPair value = bisq.common.protobuf.StringLongPair.parseDelimitedFrom(inputStream);
+                result.put(ByteArray.fromProto(key), StringLongPair.fromProto(value));
+            }
+        }
+        return result;
+    }
+
+    private SegmentedStore<StringLongPair, bisq.common.protobuf.StringLongPair> createStore() {
+        return new SegmentedStore<>(dirPath.resolve(SEGMENTED_DIR_NAME),
+                bisq.common.protobuf.StringLongPair.parser(),
+                StringLongPair::fromProto);
+    }
+
+    // The index is encoded in the first 4 bytes, the rest is a fixed pseudo-random pattern like a hash
+    private static ByteArray createKey(int index) {
+        ByteBuffer buffer = ByteBuffer.allocate(KEY_SIZE);
+        buffer.putInt(index);
+        new Random(index).ints(KEY_SIZE - 4).forEach(value -> buffer.put((byte) value));
+        return new ByteArray(buffer.array());
+    }
+
+    private static StringLongPair createValue(int index) {
+        byte[] chars = new byte[VALUE_SIZE];
+        Random random = new Random(index);
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (byte) ('a' + random.nextInt(26));
+        }
+        return new StringLongPair(new String(chars), (long) index);
+    }
+
+    // Measured while the map is still referenced by the field
+    private static long getUsedHeapInMb() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return (runtime.totalMemory() - runtime.freeMemory()) / 1024 / 1024;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.security.pow.equihash;
+
+import bisq.common.facades.FacadeProvider;
+import bisq.common.facades.android.AndroidGuavaFacade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the parallel Equihash solver and verifier with the reference implementation for a range of (n, k)
+ * parameters at unit difficulty. The parameters are limited to puzzles the reference solver can handle with at most
+ * 2^17 initial hashes. The benchmark is in the package of Equihash, as the reference implementation is package
+ * private. Run with `-Pjmh.args="-prof gc"` to compare the allocated memory as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EquihashBenchmark {
+    @Param({"60,3", "72,5", "90,5", "96,5"})
+    public String parameters;
+
+    private Equihash equihash;
+    private Equihash.Puzzle.Solution solution;
+    private long counter;
+
+    @Setup
+    public void setup() {
+        FacadeProvider.setGuavaFacade(new AndroidGuavaFacade());
+        String[] nk = parameters.split(",");
+        equihash = new Equihash(Integer.parseInt(nk[0]), Integer.parseInt(nk[1]), 1.0);
+        solution = nextPuzzle().findSolution();
+    }
+
+    @Benchmark
+    public Equihash.Puzzle.Solution solve() {
+        return nextPuzzle().findSolution();
+    }
+
+    @Benchmark
+    public Equihash.Puzzle.Solution solveWithReferenceSolver() {
+        return nextPuzzle().findSolutionWithReferenceSolver();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean verify() {
+        return solution.verify();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean verifyWithReferenceVerifier() {
+        return solution.verifyWithReferenceVerifier();
+    }
+
+    private Equihash.Puzzle nextPuzzle() {
+        return equihash.puzzle(("seed" + counter++).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.regression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static bisq.benchmarks.regression.BenchmarkRegressionDiff.Comparison;
+import static bisq.benchmarks.regression.BenchmarkRegressionDiff.Result;
+import static bisq.benchmarks.regression.BenchmarkRegressionDiff.Status;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BenchmarkRegressionDiffTest {
+    private static final String BASELINE = """
+            [
+              {"benchmark": "a.Benchmark.time", "mode": "avgt", "params": {"size": "100", "mode": "x"},
+               "primaryMetric": {"score": 100.0, "scoreError": 2.0, "scoreUnit": "us/op"}},
+              {"benchmark": "a.Benchmark.throughput", "mode": "thrpt",
+               "primaryMetric": {"score": 1000.0, "scoreError": "NaN", "scoreUnit": "ops/s"}},
+              {"benchmark": "a.Benchmark.noisy", "mode": "avgt",
+               "primaryMetric": {"score": 100.0, "scoreError": 30.0, "scoreUnit": "us/op"}},
+              {"benchmark": "a.Benchmark.removed", "mode": "avgt",
+               "primaryMetric": {"score": 1.0, "scoreError": 0.1, "scoreUnit": "us/op"}}
+            ]
+            """;
+    private static final String CURRENT = """
+            [
+              {"benchmark": "a.Benchmark.time", "mode": "avgt", "params": {"mode": "x", "size": "100"},
+               "primaryMetric": {"score": 120.0, "scoreError": 2.0, "scoreUnit": "us/op"}},
+              {"benchmark": "a.Benchmark.throughput", "mode": "thrpt",
+               "primaryMetric": {"score": 1500.0, "scoreError": "NaN", "scoreUnit": "ops/s"}},
+              {"benchmark": "a.Benchmark.noisy", "mode": "avgt",
+               "primaryMetric": {"score": 140.0, "scoreError": 30.0, "scoreUnit": "us/op"}},
+              {"benchmark": "a.Benchmark.added", "mode": "avgt",
+               "primaryMetric": {"score": 1.0, "scoreError": 0.1, "scoreUnit": "us/op"}}
+            ]
+            """;
+
+    @Test
+    public void compare() throws IOException {
+        Map<String, Result> baseline = BenchmarkRegressionDiff.parseResults(BASELINE);
+        Map<String, Result> current = BenchmarkRegressionDiff.parseResults(CURRENT);
+
+        List<Comparison> comparisons = BenchmarkRegressionDiff.compare(baseline, current, 10);
+
+        assertEquals(5, comparisons.size());
+        assertEquals(Status.ADDED, comparisons.get(0).status());
+        // Change is larger than the threshold but within the error margins
+        assertEquals(Status.UNCHANGED, comparisons.get(1).status());
+        assertEquals(Status.REMOVED, comparisons.get(2).status());
+        // Higher throughput is better
+        assertEquals(Status.IMPROVEMENT, comparisons.get(3).status());
+        assertEquals("a.Benchmark.time{mode=x, size=100}", comparisons.get(4).benchmark());
+        assertEquals(Status.REGRESSION, comparisons.get(4).status());
+        assertEquals(20, comparisons.get(4).changePercent(), 0.001);
+    }
+}
@@ -22,6 +22,8 @@ import bisq.bonded_roles.market_price.AuthorizedMarketPriceData;
 import bisq.bonded_roles.oracle.AuthorizedOracleNode;
 import bisq.common.application.Service;
 import bisq.common.encoding.Hex;
+import bisq.common.observable.Pin;
+import bisq.common.observable.collection.CollectionObserver;
 import bisq.common.observable.collection.ObservableSet;
 import bisq.common.timer.Scheduler;
 import bisq.common.util.StringUtils;
@@ -34,9 +36,11 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Stream;
 
@@ -70,7 +74,15 @@ public class AuthorizedBondedRolesService implements Service, DataService.Listen
     private final ObservableSet<AuthorizedOracleNode> authorizedOracleNodes = new ObservableSet<>();
     @Getter
     private final DataService.Listener initialDataServiceListener;
-    private final Set<AuthorizedData> failedAuthorizedData = new CopyOnWriteArraySet<>();
+    // The not banned and banned bonded roles by their type and authorized public key.
+    private final AuthorizedPubKeyIndex<BondedRole> bondedRoleIndex = new AuthorizedPubKeyIndex<>();
+    // AuthorizedData which failed validation, by the type and public key of the missing bonded role.
+    private final AuthorizedPubKeyIndex<AuthorizedData> failedAuthorizedData = new AuthorizedPubKeyIndex<>();
+    // AuthorizedData for which the missing bonded role has been added or unbanned in the meantime.
+    // Guarded by reprocessLock together with the reprocessScheduler.
+    private final Set<AuthorizedData> authorizedDataToReprocess = new HashSet<>();
+    private final Object reprocessLock = new Object();
+    private final Map<BondedRole, Pin> isBannedPinByBondedRole = new ConcurrentHashMap<>();
     @Nullable
     private Scheduler initialDataScheduler, reprocessScheduler;
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
@@ -81,6 +93,39 @@ public class AuthorizedBondedRolesService implements Service, DataService.Listen
         this.networkService = networkService;
         this.ignoreSecurityManager = ignoreSecurityManager;
 
+        bondedRoles.addObserver(new CollectionObserver<>() {
+            @Override
+            public void onAdded(BondedRole bondedRole) {
+                toIndexKey(bondedRole.getAuthorizedBondedRole()).ifPresent(key -> {
+                    bondedRoleIndex.add(key, bondedRole);
+                    // The observer is called at once with the current state, and again when the bonded role gets
+                    // unbanned, so that the AuthorizedData waiting for that bonded role get reprocessed.
+                    Pin pin = bondedRole.getIsBannedObservable().addObserver(isBanned -> {
+                        if (!isBanned) {
+                            reProcessFailedAuthorizedData(key);
+                        }
+                    });
+                    Optional.ofNullable(isBannedPinByBondedRole.put(bondedRole, pin)).ifPresent(Pin::unbind);
+                });
+            }
+
+            @Override
+            public void onRemoved(Object element) {
+                if (element instanceof BondedRole bondedRole) {
+                    Optional.ofNullable(isBannedPinByBondedRole.remove(bondedRole)).ifPresent(Pin::unbind);
+                    toIndexKey(bondedRole.getAuthorizedBondedRole())
+                            .ifPresent(key -> bondedRoleIndex.remove(key, bondedRole));
+                }
+            }
+
+            @Override
+            public void onCleared() {
+                isBannedPinByBondedRole.values().forEach(Pin::unbind);
+                isBannedPinByBondedRole.clear();
+                bondedRoleIndex.clear();
+            }
+        });
+
         initialDataServiceListener = new DataService.Listener() {
             @Override
             public void onAuthorizedDataAdded(AuthorizedData authorizedData) {
@@ -145,9 +190,12 @@ public class AuthorizedBondedRolesService implements Service, DataService.Listen
             initialDataScheduler.stop();
             initialDataScheduler = null;
         }
-        if (reprocessScheduler != null) {
-            reprocessScheduler.stop();
-            reprocessScheduler = null;
+        synchronized (reprocessLock) {
+            if (reprocessScheduler != null) {
+                reprocessScheduler.stop();
+                reprocessScheduler = null;
+            }
+            authorizedDataToReprocess.clear();
         }
         bondedRoles.clear();
         authorizedOracleNodes.clear();
@@ -207,16 +255,16 @@ public class AuthorizedBondedRolesService implements Service, DataService.Listen
         log.debug("onAuthorizedDataAdded {}", data.getClass().getSimpleName());
         if (data instanceof AuthorizedOracleNode) {
             authorizedOracleNodes.add((AuthorizedOracleNode) data);
-            reProcessFailedAuthorizedData();
         } else if (data instanceof AuthorizedBondedRole authorizedBondedRole) {
             log.debug("BondedRoleType {}", authorizedBondedRole.getBondedRoleType());
+            // Adding the bonded role triggers the reprocessing of the failed AuthorizedData which have been waiting
+            // for that bonded role.
             validateBondedRole(authorizedData, authorizedBondedRole).ifPresent(role -> {
                 bondedRoles.add(new BondedRole(role));
                 if (role.getBondedRoleType() == BondedRoleType.SEED_NODE) {
                     networkService.addSeedNodeAddressByTransport(role.getAddressByTransportTypeMap().orElseThrow());
                 }
             });
-            reProcessFailedAuthorizedData();
         }
         listeners.forEach(listener -> {
             try {
@@ -230,6 +278,7 @@ public class AuthorizedBondedRolesService implements Service, DataService.Listen
     @Override
     public void onAuthorizedDataRemoved(AuthorizedData authorizedData) {
         AuthorizedDistributedData data = authorizedData.getAuthorizedDistributedData();
+        removeFromFailedAuthorizedData(authorizedData);
         if (data instanceof AuthorizedOracleNode) {
             authorizedOracleNodes.remove((AuthorizedOracleNode) data);
         } else if (data instanceof AuthorizedBondedRole) {
@@ -279,46 +328,29 @@ public class AuthorizedBondedRolesService implements Service, DataService.Listen
             return true;
         } else {
             // Signature check is done in AuthorizedData
-            String authorizedDataPubKey = Hex.encode(authorizedData.getAuthorizedPublicKeyBytes());
-            boolean matchFound = getAuthorizedBondedRoleStream()
-                    .filter(bondedRole -> bondedRole.getBondedRoleType() == authorizingBondedRoleType)
-                    .anyMatch(bondedRole -> {
-                        boolean match = bondedRole.getAuthorizedPublicKey().equals(authorizedDataPubKey);
-                        if (match) {
-                            log.debug("Found a matching authorizedPublicKey from bondedRole: {}. data={}",
-                                    bondedRole.getBondedRoleType(),
-                                    data.getClass().getSimpleName());
-                        } else {
-                            log.debug("No authorizedPublicKey found in our list of bonded roles.\n" +
-                                            "bondedRole.getAuthorizedPublicKey()={}\n" +
-                                            "authorizedDataPubKey={}\n" +
-                                            "data={}",
-                                    bondedRole.getAuthorizedPublicKey(),
-                                    authorizedDataPubKey,
-                                    data.getClass().getSimpleName());
-
-                        }
-                        return match;
-                    });
+            AuthorizedPubKeyIndex.Key key = new AuthorizedPubKeyIndex.Key(authorizingBondedRoleType,
+                    authorizedData.getAuthorizedPublicKeyBytes());
+            boolean matchFound = bondedRoleIndex.get(key).stream()
+                    .anyMatch(bondedRole -> ignoreSecurityManager || bondedRole.isNotBanned());
             if (matchFound) {
                 log.debug("authorizedPublicKey provided by a bonded role. data={}", data.getClass().getSimpleName());
                 // In case we are reprocessing previous failed authorizedData we clear it from the queue.
-                if (failedAuthorizedData.remove(authorizedData)) {
+                if (failedAuthorizedData.remove(key, authorizedData) && log.isDebugEnabled()) {
                     log.debug("We successfully reprocessed authorizedData.\n" +
                                     "AuthorizedDistributedData={}, {}",
-                            data.getClass().getSimpleName(), data.toString().substring(0, 100));
+                            data.getClass().getSimpleName(), StringUtils.truncate(data.toString(), 100));
                 }
             } else {
-                failedAuthorizedData.add(authorizedData);
+                failedAuthorizedData.add(key, authorizedData);
                 // TODO Set log level for to debug for now, as too many logs are printed.
                 //  Once the TTL has cleared the old data we can change back to warn level.
-                log.debug("hasAuthorizedPubKey failed for AuthorizedDistributedData={}, {}",
-                        data.getClass().getSimpleName(), StringUtils.truncate(data.toString(), 200));
-                log.debug("AuthorizedPublicKey is not matching any key from our authorizedBondedRolesPubKeys and does " +
-                                "not provide a matching static key.\n" +
-                                "We add the authorizedData to a retry queue for later reprocessing.\n" +
-                                "AuthorizedDistributedData={}, {}",
-                        data.getClass().getSimpleName(), StringUtils.truncate(data.toString(), 200));
+                if (log.isDebugEnabled()) {
+                    log.debug("AuthorizedPublicKey is not matching any key from our authorizedBondedRolesPubKeys and does " +
+                                    "not provide a matching static key.\n" +
+                                    "We add the authorizedData to a retry queue for later reprocessing.\n" +
+                                    "AuthorizedDistributedData={}, {}",
+                            data.getClass().getSimpleName(), StringUtils.truncate(data.toString(), 200));
+                }
             }
             return matchFound;
         }
@@ -340,23 +372,55 @@ public class AuthorizedBondedRolesService implements Service, DataService.Listen
         listeners.remove(listener);
     }
 
-    private void reProcessFailedAuthorizedData() {
+    private void reProcessFailedAuthorizedData(AuthorizedPubKeyIndex.Key key) {
         // Reprocess AuthorizedData which previously failed due potential out-of-order issues
         // We delay to avoid getting too many data queued up
-        if (reprocessScheduler == null) {
-            reprocessScheduler = Scheduler.run(this::reprocess)
-                    .host(this)
-                    .runnableName("reprocess")
-                    .after(1000);
+        synchronized (reprocessLock) {
+            Set<AuthorizedData> waitingForBondedRole = failedAuthorizedData.removeAll(key);
+            if (waitingForBondedRole.isEmpty()) {
+                return;
+            }
+            authorizedDataToReprocess.addAll(waitingForBondedRole);
+            if (reprocessScheduler == null) {
+                reprocessScheduler = Scheduler.run(this::reprocess)
+                        .host(this)
+                        .runnableName("reprocess")
+                        .after(1000);
+            }
         }
     }
 
     private void reprocess() {
-        Set<AuthorizedData> clone = new HashSet<>(failedAuthorizedData);
+        Set<AuthorizedData> clone;
+        synchronized (reprocessLock) {
+            clone = new HashSet<>(authorizedDataToReprocess);
+            authorizedDataToReprocess.clear();
+            // We reset the scheduler before processing, so that data queued while processing get scheduled again
+            if (reprocessScheduler != null) {
+                reprocessScheduler.stop();
+                reprocessScheduler = null;
+            }
+        }
         clone.forEach(this::onAuthorizedDataAdded);
-        if (reprocessScheduler != null) {
-            reprocessScheduler.stop();
-            reprocessScheduler = null;
+    }
+
+    private void removeFromFailedAuthorizedData(AuthorizedData authorizedData) {
+        synchronized (reprocessLock) {
+            authorizedDataToReprocess.remove(authorizedData);
+        }
+        byte[] authorizedPublicKeyBytes = authorizedData.getAuthorizedPublicKeyBytes();
+        for (BondedRoleType bondedRoleType : BondedRoleType.values()) {
+            failedAuthorizedData.remove(new AuthorizedPubKeyIndex.Key(bondedRoleType, authorizedPublicKeyBytes), authorizedData);
+        }
+    }
+
+    private static Optional<AuthorizedPubKeyIndex.Key> toIndexKey(AuthorizedBondedRole authorizedBondedRole) {
+        try {
+            return Optional.of(new AuthorizedPubKeyIndex.Key(authorizedBondedRole.getBondedRoleType(),
+                    Hex.decode(authorizedBondedRole.getAuthorizedPublicKey())));
+        } catch (Exception e) {
+            log.warn("Invalid authorizedPublicKey at authorizedBondedRole {}", authorizedBondedRole.getBondUserName(), e);
+            return Optional.empty();
         }
     }
 
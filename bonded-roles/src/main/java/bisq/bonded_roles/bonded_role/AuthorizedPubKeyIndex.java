@@ -0,0 +1,73 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.bonded_roles.bonded_role;
+
+import bisq.bonded_roles.BondedRoleType;
+import bisq.common.data.ByteArray;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps the combination of a bonded role type and an authorized public key to values. Used for looking up the bonded
+ * roles which can authorize some AuthorizedData and for the AuthorizedData which wait for such a bonded role.
+ */
+class AuthorizedPubKeyIndex<T> {
+    record Key(BondedRoleType bondedRoleType, ByteArray authorizedPublicKey) {
+        Key(BondedRoleType bondedRoleType, byte[] authorizedPublicKey) {
+            this(bondedRoleType, new ByteArray(authorizedPublicKey));
+        }
+    }
+
+    private final Map<Key, Set<T>> valuesByKey = new ConcurrentHashMap<>();
+
+    void add(Key key, T value) {
+        valuesByKey.compute(key, (k, values) -> {
+            Set<T> result = values != null ? values : ConcurrentHashMap.newKeySet();
+            result.add(value);
+            return result;
+        });
+    }
+
+    boolean remove(Key key, T value) {
+        boolean[] removed = new boolean[1];
+        valuesByKey.computeIfPresent(key, (k, values) -> {
+            removed[0] = values.remove(value);
+            return values.isEmpty() ? null : values;
+        });
+        return removed[0];
+    }
+
+    Set<T> get(Key key) {
+        return valuesByKey.getOrDefault(key, Set.of());
+    }
+
+    Set<T> removeAll(Key key) {
+        Set<T> values = valuesByKey.remove(key);
+        return values != null ? values : Set.of();
+    }
+
+    int size() {
+        return valuesByKey.values().stream().mapToInt(Set::size).sum();
+    }
+
+    void clear() {
+        valuesByKey.clear();
+    }
+}
@@ -18,6 +18,7 @@
 package bisq.bonded_roles.bonded_role;
 
 import bisq.common.observable.Observable;
+import bisq.common.observable.ReadOnlyObservable;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
@@ -44,4 +45,8 @@ public class BondedRole {
     public void setIsBanned(boolean value) {
         isBannedObservable.set(value);
     }
+
+    public ReadOnlyObservable<Boolean> getIsBannedObservable() {
+        return isBannedObservable;
+    }
 }
\ No newline at end of file
@@ -36,10 +36,13 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class ExplorerService extends HttpRequestService<ExplorerService.RequestData, Tx> {
+    private static final long HEDGE_DELAY_MS = TimeUnit.SECONDS.toMillis(5);
+
     private static ExecutorService getExecutorService() {
         return ExecutorFactory.newCachedThreadPool(ExplorerService.class.getSimpleName(),
                 1,
@@ -78,8 +81,9 @@ public class ExplorerService extends HttpRequestService<ExplorerService.RequestD
         }
     }
 
+    // The user waits for the result, thus we use a hedged request
     public CompletableFuture<Tx> requestTx(String txId) {
-        return request(new TxRequestData(txId));
+        return requestHedged(new TxRequestData(txId), HEDGE_DELAY_MS);
     }
 
     public Optional<Provider> getExplorerServiceProvider() {
@@ -52,6 +52,8 @@ import java.util.stream.Collectors;
 
 @Slf4j
 public class MarketPriceRequestService extends HttpRequestService<Void, Map<Market, MarketPrice>> {
+    private static final long HEDGE_DELAY_MS = TimeUnit.SECONDS.toMillis(5);
+
     @Getter
     private final ObservableHashMap<Market, MarketPrice> marketPriceByCurrencyMap = new ObservableHashMap<>();
     private final long interval;
@@ -60,7 +62,11 @@ public class MarketPriceRequestService extends HttpRequestService<Void, Map<Mark
     private volatile long initialDelay = 0;
 
     private static ExecutorService getExecutorService() {
-        return ExecutorFactory.newSingleThreadExecutor(MarketPriceRequestService.class.getSimpleName());
+        // Hedged requests require a second thread
+        return ExecutorFactory.newCachedThreadPool(MarketPriceRequestService.class.getSimpleName(),
+                1,
+                3,
+                60);
     }
 
     public MarketPriceRequestService(MarketPriceRequestService.Config conf, NetworkService networkService) {
@@ -96,27 +102,30 @@ public class MarketPriceRequestService extends HttpRequestService<Void, Map<Mark
     }
 
     private void periodicRequest() {
-        request(null)
-                .whenComplete((map, throwable) -> {
-                    if (throwable != null) {
-                        // Increase delay (up to 30 sec.) for retry each time it fails by 5 sec.
-                        initialDelay += 5;
-                        initialDelay = Math.min(30, initialDelay);
-                        log.warn("Failed to fetch market prices, retrying in {} seconds", initialDelay);
-                        startRequesting();
-                    } else {
-                        initialDelay = 0;
-                        // We only use those market prices for which we have a market in the repository
-                        Map<Market, MarketPrice> filtered = map.entrySet().stream()
-                                .filter(e -> e.getValue().isValidDate())
-                                .flatMap(e -> MarketRepository.findAnyMarketByMarketCodes(e.getKey().getMarketCodes())
-                                        .map(market -> Map.entry(market, e.getValue()))
-                                        .stream())
-                                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-                        marketPriceByCurrencyMap.clear();
-                        marketPriceByCurrencyMap.putAll(filtered);
-                    }
-                });
+        // Until we have received the first market prices the request is latency-sensitive
+        CompletableFuture<Map<Market, MarketPrice>> future = marketPriceByCurrencyMap.isEmpty()
+                ? requestHedged(null, HEDGE_DELAY_MS)
+                : request(null);
+        future.whenComplete((map, throwable) -> {
+            if (throwable != null) {
+                // Increase delay (up to 30 sec.) for retry each time it fails by 5 sec.
+                initialDelay += 5;
+                initialDelay = Math.min(30, initialDelay);
+                log.warn("Failed to fetch market prices, retrying in {} seconds", initialDelay);
+                startRequesting();
+            } else {
+                initialDelay = 0;
+                // We only use those market prices for which we have a market in the repository
+                Map<Market, MarketPrice> filtered = map.entrySet().stream()
+                        .filter(e -> e.getValue().isValidDate())
+                        .flatMap(e -> MarketRepository.findAnyMarketByMarketCodes(e.getKey().getMarketCodes())
+                                .map(market -> Map.entry(market, e.getValue()))
+                                .stream())
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                marketPriceByCurrencyMap.clear();
+                marketPriceByCurrencyMap.putAll(filtered);
+            }
+        });
     }
 
     @Override
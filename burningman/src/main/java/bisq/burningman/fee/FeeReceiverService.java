@@ -18,25 +18,64 @@
 package bisq.burningman.fee;
 
 import bisq.burningman.AuthorizedBurningmanListByBlock;
+import bisq.burningman.BurningmanData;
 import bisq.burningman.BurningmanService;
 import bisq.common.application.Service;
+import bisq.common.data.AliasTable;
 import bisq.common.observable.Pin;
 import bisq.common.observable.collection.CollectionObserver;
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 @Slf4j
 public class FeeReceiverService implements Service {
     static final String LEGACY_BURNING_MAN_BTC_FEES_ADDRESS = "38bZBj5peYS3Husdz7AH3gEUiUbYRD951t";
+    // cappedBurnAmountShare is a % value represented as double. Smallest supported value is 0.01% -> 0.0001.
+    static final int CEILING = 10000;
+
+    /**
+     * Receiver addresses and the alias table for the weights of one AuthorizedBurningmanListByBlock.
+     * If the weights do not reach CEILING the last address is the legacy BM address.
+     */
+    @VisibleForTesting
+    record FeeReceivers(int blockHeight, List<String> addresses, List<Long> weights, AliasTable aliasTable) {
+        static FeeReceivers from(AuthorizedBurningmanListByBlock data) {
+            List<BurningmanData> burningmanDataList = data.getBurningmanDataList();
+            List<String> addresses = new ArrayList<>(burningmanDataList.size() + 1);
+            List<Long> weights = new ArrayList<>(burningmanDataList.size() + 1);
+            for (BurningmanData burningmanData : burningmanDataList) {
+                addresses.add(burningmanData.getReceiverAddress());
+                weights.add(toWeight(burningmanData.getCappedBurnAmountShare()));
+            }
+            long sum = weights.stream().mapToLong(e -> e).sum();
+            // If we have not reached the 100% we fill the missing gap with the legacy BM
+            if (sum < CEILING) {
+                addresses.add(LEGACY_BURNING_MAN_BTC_FEES_ADDRESS);
+                weights.add(CEILING - sum);
+            }
+            return new FeeReceivers(data.getBlockHeight(), List.copyOf(addresses), List.copyOf(weights), new AliasTable(weights));
+        }
+
+        String select(RandomGenerator random) {
+            return addresses.get(aliasTable.sample(random));
+        }
+    }
 
     private final BurningmanService burningmanService;
-    private final List<AuthorizedBurningmanListByBlock> authorizedBurningmanListByBlockList = new ArrayList<>();
+    private final TreeMap<Integer, AuthorizedBurningmanListByBlock> authorizedBurningmanListByBlockHeight = new TreeMap<>();
+    // Alias table for the most recent block. Set to null when the set of AuthorizedBurningmanListByBlock changes
+    // and rebuilt at the next selection.
+    private volatile FeeReceivers feeReceivers;
     private Pin authorizedBurningmanDataSetPin;
 
     public FeeReceiverService(BurningmanService burningmanService) {
@@ -54,20 +93,29 @@ public class FeeReceiverService implements Service {
         authorizedBurningmanDataSetPin = burningmanService.getAuthorizedBurningmanListByBlockSet().addObserver(new CollectionObserver<>() {
             @Override
             public void onAdded(AuthorizedBurningmanListByBlock data) {
-                authorizedBurningmanListByBlockList.add(data);
-                authorizedBurningmanListByBlockList.sort(Comparator.comparing(AuthorizedBurningmanListByBlock::getBlockHeight));
+                synchronized (authorizedBurningmanListByBlockHeight) {
+                    authorizedBurningmanListByBlockHeight.put(data.getBlockHeight(), data);
+                    feeReceivers = null;
+                }
             }
 
             @Override
             public void onRemoved(Object element) {
                 if (element instanceof AuthorizedBurningmanListByBlock data) {
-                    authorizedBurningmanListByBlockList.remove(data);
+                    synchronized (authorizedBurningmanListByBlockHeight) {
+                        if (authorizedBurningmanListByBlockHeight.remove(data.getBlockHeight(), data)) {
+                            feeReceivers = null;
+                        }
+                    }
                 }
             }
 
             @Override
             public void onCleared() {
-                authorizedBurningmanListByBlockList.clear();
+                synchronized (authorizedBurningmanListByBlockHeight) {
+                    authorizedBurningmanListByBlockHeight.clear();
+                    feeReceivers = null;
+                }
             }
         });
         return CompletableFuture.completedFuture(true);
@@ -79,46 +127,51 @@ public class FeeReceiverService implements Service {
             authorizedBurningmanDataSetPin.unbind();
             authorizedBurningmanDataSetPin = null;
         }
-        authorizedBurningmanListByBlockList.clear();
+        synchronized (authorizedBurningmanListByBlockHeight) {
+            authorizedBurningmanListByBlockHeight.clear();
+            feeReceivers = null;
+        }
         return CompletableFuture.completedFuture(true);
     }
 
     public String getAddress() {
+        return findFeeReceivers()
+                .map(receivers -> receivers.select(ThreadLocalRandom.current()))
+                .orElseGet(() -> {
+                    log.warn("AuthorizedBurningmanListByBlockList is empty. We use fallback to LEGACY_BURNING_MAN_BTC_FEES_ADDRESS: {}",
+                            LEGACY_BURNING_MAN_BTC_FEES_ADDRESS);
+                    return LEGACY_BURNING_MAN_BTC_FEES_ADDRESS;
+                });
+    }
 
-        if (authorizedBurningmanListByBlockList.isEmpty()) {
-            log.warn("AuthorizedBurningmanListByBlockList is empty. We use fallback to LEGACY_BURNING_MAN_BTC_FEES_ADDRESS: {}",
-                    LEGACY_BURNING_MAN_BTC_FEES_ADDRESS);
-            return LEGACY_BURNING_MAN_BTC_FEES_ADDRESS;
-        }
-
-        // It might be that we do not reach 100% if some entries had a cappedBurnAmountShare.
-        // In that case we fill up the gap to 100% with the legacy BM.
-        // cappedBurnAmountShare is a % value represented as double. Smallest supported value is 0.01% -> 0.0001.
-        // By multiplying it with 10000 and using Math.floor we limit the candidate to 0.01%.
-        // Entries with 0 will be ignored in the selection method, so we do not need to filter them out.
-        int ceiling = 10000;
-      /*  List<Long> amountList = activeBurningManCandidates.stream()
-                .map(BurningManCandidate::getCappedBurnAmountShare)
-                .map(cappedBurnAmountShare -> (long) Math.floor(cappedBurnAmountShare * ceiling))
-                .collect(Collectors.toList());
-        long sum = amountList.stream().mapToLong(e -> e).sum();
-        // If we have not reached the 100% we fill the missing gap with the legacy BM
-        if (sum < ceiling) {
-            amountList.add(ceiling - sum);
+    private Optional<FeeReceivers> findFeeReceivers() {
+        FeeReceivers current = feeReceivers;
+        if (current != null) {
+            return Optional.of(current);
         }
-
-        int winnerIndex = getRandomIndex(amountList, new Random());
-        if (winnerIndex == activeBurningManCandidates.size()) {
-            // If we have filled up the missing gap to 100% with the legacy BM we would get an index out of bounds of
-            // the burningManCandidates as we added for the legacy BM an entry at the end.
-            return LEGACY_BURNING_MAN_BTC_FEES_ADDRESS;
+        synchronized (authorizedBurningmanListByBlockHeight) {
+            if (feeReceivers == null) {
+                Map.Entry<Integer, AuthorizedBurningmanListByBlock> lastEntry = authorizedBurningmanListByBlockHeight.lastEntry();
+                if (lastEntry == null) {
+                    return Optional.empty();
+                }
+                feeReceivers = FeeReceivers.from(lastEntry.getValue());
+            }
+            return Optional.of(feeReceivers);
         }
-        return activeBurningManCandidates.get(winnerIndex).getReceiverAddress()
-                .orElse(LEGACY_BURNING_MAN_BTC_FEES_ADDRESS);*/
+    }
 
-        return null;
+    // By multiplying it with 10000 and using Math.floor we limit the candidate to 0.01%.
+    // Entries with 0 will be ignored in the selection method, so we do not need to filter them out.
+    @VisibleForTesting
+    static long toWeight(double cappedBurnAmountShare) {
+        return (long) Math.floor(cappedBurnAmountShare * CEILING);
     }
 
+    /**
+     * Selection algorithm used in Bisq 1. Linear in the number of weights. We use the alias table instead, which
+     * results in the same distribution; this is kept as reference for verification.
+     */
     @VisibleForTesting
     static int getRandomIndex(List<Long> weights, Random random) {
         long sum = weights.stream().mapToLong(n -> n).sum();
@@ -0,0 +1,100 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.burningman.fee;
+
+import bisq.common.data.AliasTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that the alias table selection results in the same distribution as the Bisq 1 algorithm (getRandomIndex).
+ */
+public class FeeReceiverServiceTest {
+    @Test
+    void testSameDistributionAsBisq1() {
+        Random seedRandom = new Random(7);
+        for (int run = 0; run < 50; run++) {
+            List<Long> weights = createWeights(seedRandom);
+            long sum = weights.stream().mapToLong(e -> e).sum();
+
+            // Bisq 1 draws target uniformly in [1, sum] and maps it with findIndex.
+            // Enumerating all targets gives the exact number of outcomes for each index.
+            long[] bisq1Counts = new long[weights.size()];
+            for (long target = 1; target <= sum; target++) {
+                bisq1Counts[FeeReceiverService.findIndex(weights, target)]++;
+            }
+
+            AliasTable aliasTable = new AliasTable(weights);
+            for (int i = 0; i < weights.size(); i++) {
+                // Alias table probability is numerator / (size * sum), Bisq 1 probability is count / sum.
+                assertEquals(bisq1Counts[i] * weights.size(), aliasTable.getProbabilityNumerator(i),
+                        "weights=" + weights + ", index=" + i);
+            }
+        }
+    }
+
+    @Test
+    void testSampledFrequenciesWithDeterministicSeed() {
+        List<Long> weights = List.of(2500L, 1200L, 0L, 800L, 4000L, 1500L);
+        AliasTable aliasTable = new AliasTable(weights);
+        Random bisq1Random = new Random(123);
+        Random aliasRandom = new Random(123);
+        int numDraws = 200_000;
+        int[] bisq1Counts = new int[weights.size()];
+        int[] aliasCounts = new int[weights.size()];
+        for (int i = 0; i < numDraws; i++) {
+            bisq1Counts[FeeReceiverService.getRandomIndex(weights, bisq1Random)]++;
+            aliasCounts[aliasTable.sample(aliasRandom)]++;
+        }
+        assertEquals(0, bisq1Counts[2]);
+        assertEquals(0, aliasCounts[2]);
+        for (int i = 0; i < weights.size(); i++) {
+            assertTrue(Math.abs(bisq1Counts[i] - aliasCounts[i]) < numDraws * 0.01,
+                    "index=" + i + ", bisq1=" + bisq1Counts[i] + ", alias=" + aliasCounts[i]);
+        }
+    }
+
+    @Test
+    void testToWeight() {
+        assertEquals(1, FeeReceiverService.toWeight(0.0001));
+        assertEquals(1234, FeeReceiverService.toWeight(0.12345));
+        assertEquals(0, FeeReceiverService.toWeight(0.00009));
+    }
+
+    private static List<Long> createWeights(Random random) {
+        int numEntries = 1 + random.nextInt(30);
+        List<Long> weights = new ArrayList<>();
+        long sum = 0;
+        for (int i = 0; i < numEntries && sum < FeeReceiverService.CEILING; i++) {
+            long weight = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(1500);
+            weight = Math.min(weight, FeeReceiverService.CEILING - sum);
+            weights.add(weight);
+            sum += weight;
+        }
+        if (sum < FeeReceiverService.CEILING) {
+            weights.add(FeeReceiverService.CEILING - sum);
+        }
+        return weights;
+    }
+}
@@ -39,7 +39,9 @@ import bisq.user.profile.UserProfile;
 import lombok.extern.slf4j.Slf4j;
 
 import java.security.KeyPair;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -74,8 +76,17 @@ public abstract class PublicChatChannelService<M extends PublicChatMessage, C ex
         maybeAddDefaultChannels();
 
         networkService.addDataServiceListener(this);
-        networkService.getDataService().ifPresent(dataService ->
-                dataService.getAuthenticatedData().forEach(this::handleAuthenticatedDataAdded));
+        networkService.getDataService().ifPresent(dataService -> {
+            // We apply the persisted messages in one batch per channel, so that observers get notified once per
+            // channel instead of once per message.
+            List<C> channels = new ArrayList<>(getChannels());
+            channels.forEach(channel -> channel.getChatMessages().beginBatch());
+            try {
+                dataService.getAuthenticatedData().forEach(this::handleAuthenticatedDataAdded);
+            } finally {
+                channels.forEach(channel -> channel.getChatMessages().commit());
+            }
+        });
 
         networkService.getSupportedTransportTypes().forEach(type ->
                 networkService.getServiceNodesByTransport().findServiceNode(type)
@@ -0,0 +1,113 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.data;
+
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Vose's alias method for sampling an index from a discrete distribution given by integer weights.
+ * Building the table is O(n), each draw is O(1) (one uniform column and one biased coin).
+ * <p>
+ * We use integer arithmetic so the resulting distribution matches the weights exactly: the probability of index i is
+ * weights[i] / sum(weights). Each column c holds threshold[c] (out of sum) for itself and the remainder for alias[c].
+ * Entries with weight 0 are never selected.
+ */
+public final class AliasTable {
+    @Getter
+    private final int size;
+    @Getter
+    private final long sum;
+    private final long[] threshold;
+    private final int[] alias;
+
+    public AliasTable(List<Long> weights) {
+        size = weights.size();
+        checkArgument(size > 0, "Weights must not be empty");
+        long total = 0;
+        for (long weight : weights) {
+            checkArgument(weight >= 0, "Weights must not be negative");
+            total = Math.addExact(total, weight);
+        }
+        checkArgument(total > 0, "Sum of weights must be positive");
+        sum = total;
+        threshold = new long[size];
+        alias = new int[size];
+
+        // Scaled weights: weight * size, the average column height is sum.
+        long[] scaled = new long[size];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            scaled[i] = Math.multiplyExact(weights.get(i), (long) size);
+            if (scaled[i] < sum) {
+                small.push(i);
+            } else {
+                large.push(i);
+            }
+        }
+
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            threshold[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] - (sum - scaled[less]);
+            if (scaled[more] < sum) {
+                small.push(more);
+            } else {
+                large.push(more);
+            }
+        }
+        // With integer arithmetic the remaining entries have exactly the height sum.
+        while (!large.isEmpty()) {
+            int index = large.pop();
+            threshold[index] = sum;
+            alias[index] = index;
+        }
+        while (!small.isEmpty()) {
+            int index = small.pop();
+            threshold[index] = sum;
+            alias[index] = index;
+        }
+    }
+
+    public int sample(RandomGenerator random) {
+        int column = random.nextInt(size);
+        return random.nextLong(sum) < threshold[column] ? column : alias[column];
+    }
+
+    /**
+     * @return The numerator of the probability of the given index with denominator size * sum. Used for verification.
+     */
+    public long getProbabilityNumerator(int index) {
+        long result = threshold[index];
+        for (int column = 0; column < size; column++) {
+            if (alias[column] == index && column != index) {
+                result += sum - threshold[column];
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.data;
+
+import bisq.common.timer.Clock;
+import bisq.common.timer.SystemClock;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Set used for filtering out duplicates. Entries expire after the default time to live or after the time to live
+ * given at add, and if the max. size is reached the oldest entries are removed. Adding an element which is already
+ * present does not refresh its expiry time.
+ */
+public class ExpiringDedupSet<T> {
+    private record Entry<T>(T element, long expiryTime, long sequenceNumber) {
+    }
+
+    private final Clock clock;
+    private final int maxSize;
+    private final long timeToLive;
+    // Insertion order is used for removing the oldest entries at max size
+    private final LinkedHashMap<T, Entry<T>> entryByElement = new LinkedHashMap<>();
+    // Entries can have different time to live values, thus we keep them sorted by expiry time for pruning
+    private final TreeSet<Entry<T>> entriesByExpiryTime = new TreeSet<>(Comparator.<Entry<T>>comparingLong(Entry::expiryTime)
+            .thenComparingLong(Entry::sequenceNumber));
+    private long sequenceNumber;
+
+    public ExpiringDedupSet(int maxSize, long timeToLive) {
+        this(new SystemClock(), maxSize, timeToLive);
+    }
+
+    public ExpiringDedupSet(Clock clock, int maxSize, long timeToLive) {
+        checkArgument(maxSize > 0, "maxSize must be positive");
+        checkArgument(timeToLive > 0, "timeToLive must be positive");
+        this.clock = clock;
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * @return True if the element was not present.
+     */
+    public boolean add(T element) {
+        return add(element, timeToLive);
+    }
+
+    /**
+     * @param timeToLive Time to live of the element, e.g. the time to live of the data it was delivered with.
+     * @return True if the element was not present.
+     */
+    public synchronized boolean add(T element, long timeToLive) {
+        checkArgument(timeToLive > 0, "timeToLive must be positive");
+        long now = clock.now();
+        pruneExpired(now);
+        if (entryByElement.containsKey(element)) {
+            return false;
+        }
+        Entry<T> entry = new Entry<>(element, now + timeToLive, sequenceNumber++);
+        entryByElement.put(element, entry);
+        entriesByExpiryTime.add(entry);
+        if (entryByElement.size() > maxSize) {
+            Iterator<Entry<T>> iterator = entryByElement.values().iterator();
+            entriesByExpiryTime.remove(iterator.next());
+            iterator.remove();
+        }
+        return true;
+    }
+
+    public synchronized boolean contains(T element) {
+        pruneExpired(clock.now());
+        return entryByElement.containsKey(element);
+    }
+
+    public synchronized Set<T> getElements() {
+        pruneExpired(clock.now());
+        return Set.copyOf(entryByElement.keySet());
+    }
+
+    public synchronized int size() {
+        pruneExpired(clock.now());
+        return entryByElement.size();
+    }
+
+    public synchronized void clear() {
+        entryByElement.clear();
+        entriesByExpiryTime.clear();
+    }
+
+    private void pruneExpired(long now) {
+        while (!entriesByExpiryTime.isEmpty() && entriesByExpiryTime.first().expiryTime() <= now) {
+            entryByElement.remove(entriesByExpiryTime.pollFirst().element());
+        }
+    }
+}
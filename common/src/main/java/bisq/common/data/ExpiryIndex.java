@@ -0,0 +1,101 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Index of keys by their expiration date, so that expired keys can be found without scanning all entries.
+ * <br/>
+ * Backed by a min-heap ordered by expiration date. Updating or removing a key does not search the heap, instead the
+ * outdated heap entry stays in the heap and is skipped when it reaches the top, as its date does not match the
+ * current expiration date of the key anymore. If outdated entries make up more than half of the heap it gets rebuilt.
+ */
+public class ExpiryIndex<K> {
+    private static final int MIN_SIZE_FOR_COMPACTION = 64;
+
+    private record Entry<K>(K key, long expirationDate) {
+    }
+
+    private final PriorityQueue<Entry<K>> queue = new PriorityQueue<>(Comparator.comparingLong(Entry::expirationDate));
+    private final Map<K, Long> expirationDateByKey = new HashMap<>();
+
+    /**
+     * Adds the key or updates its expiration date.
+     */
+    public synchronized void put(K key, long expirationDate) {
+        Long previous = expirationDateByKey.put(key, expirationDate);
+        if (previous == null || previous != expirationDate) {
+            queue.add(new Entry<>(key, expirationDate));
+            maybeCompact();
+        }
+    }
+
+    public synchronized void remove(K key) {
+        if (expirationDateByKey.remove(key) != null) {
+            maybeCompact();
+        }
+    }
+
+    public synchronized void clear() {
+        expirationDateByKey.clear();
+        queue.clear();
+    }
+
+    /**
+     * Removes and returns keys with an expiration date before {@code now}, the earliest first.
+     *
+     * @param maxNumKeys Max. number of keys to return, so that callers can process the expired keys in batches.
+     */
+    public synchronized List<K> pollExpired(long now, int maxNumKeys) {
+        checkArgument(maxNumKeys > 0, "maxNumKeys must be positive");
+        List<K> expired = new ArrayList<>();
+        while (expired.size() < maxNumKeys && !queue.isEmpty() && queue.peek().expirationDate() < now) {
+            Entry<K> entry = queue.poll();
+            Long expirationDate = expirationDateByKey.get(entry.key());
+            if (expirationDate != null && expirationDate == entry.expirationDate()) {
+                expirationDateByKey.remove(entry.key());
+                expired.add(entry.key());
+            }
+        }
+        return expired;
+    }
+
+    public synchronized Optional<Long> findExpirationDate(K key) {
+        return Optional.ofNullable(expirationDateByKey.get(key));
+    }
+
+    public synchronized int size() {
+        return expirationDateByKey.size();
+    }
+
+    private void maybeCompact() {
+        if (queue.size() > MIN_SIZE_FOR_COMPACTION && queue.size() > 2 * expirationDateByKey.size()) {
+            queue.clear();
+            expirationDateByKey.forEach((key, expirationDate) -> queue.add(new Entry<>(key, expirationDate)));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.data;
+
+import bisq.common.timer.Clock;
+import bisq.common.timer.SystemClock;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Lock-free counter for the sum of values added within a rolling time window.
+ * <br/>
+ * Values are added to a ring of 60 one-second buckets, a ring of 60 one-minute buckets and a total. A bucket is
+ * reused once its time slot has passed, which is detected by the epoch (time divided by bucket duration) stored with
+ * the bucket. Reading sums up at most 60 buckets, independent of the number of added values.
+ * <br/>
+ * A value added concurrently with the rotation of its bucket might get lost. This is acceptable for load statistics.
+ */
+public class RollingCounter {
+    public static final int MAX_NUM_SECONDS = 60;
+    public static final int MAX_NUM_MINUTES = 60;
+    private static final long SECOND = 1000;
+    private static final long MINUTE = 60 * SECOND;
+
+    private record Bucket(long epoch, LongAdder sum) {
+        private Bucket(long epoch) {
+            this(epoch, new LongAdder());
+        }
+    }
+
+    private final Clock clock;
+    private final AtomicReferenceArray<Bucket> secondBuckets = new AtomicReferenceArray<>(MAX_NUM_SECONDS);
+    private final AtomicReferenceArray<Bucket> minuteBuckets = new AtomicReferenceArray<>(MAX_NUM_MINUTES);
+    private final LongAdder total = new LongAdder();
+
+    public RollingCounter() {
+        this(new SystemClock());
+    }
+
+    public RollingCounter(Clock clock) {
+        this.clock = clock;
+    }
+
+    public void add(long value) {
+        long now = clock.now();
+        getBucket(secondBuckets, now / SECOND).sum().add(value);
+        getBucket(minuteBuckets, now / MINUTE).sum().add(value);
+        total.add(value);
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    /**
+     * @return The sum of the current and the previous numSeconds - 1 seconds.
+     */
+    public long getSumOfLastSeconds(int numSeconds) {
+        checkArgument(numSeconds > 0 && numSeconds <= MAX_NUM_SECONDS, "numSeconds out of range: " + numSeconds);
+        return sumOfLast(secondBuckets, clock.now() / SECOND, numSeconds);
+    }
+
+    /**
+     * @return The sum of the current and the previous numMinutes - 1 minutes.
+     */
+    public long getSumOfLastMinutes(int numMinutes) {
+        checkArgument(numMinutes > 0 && numMinutes <= MAX_NUM_MINUTES, "numMinutes out of range: " + numMinutes);
+        return sumOfLast(minuteBuckets, clock.now() / MINUTE, numMinutes);
+    }
+
+    /**
+     * Sliding window variant of {@link #getSumOfLastMinutes}. The window covers exactly numMinutes up to now: the
+     * current partial minute, the previous numMinutes - 1 minutes and the part of the minute before, which is still
+     * inside the window, weighted by its remaining fraction. This avoids the drop of the sum each time a whole minute
+     * falls out of the window.
+     */
+    public long getSlidingSumOfLastMinutes(int numMinutes) {
+        checkArgument(numMinutes > 0 && numMinutes < MAX_NUM_MINUTES, "numMinutes out of range: " + numMinutes);
+        long now = clock.now();
+        long currentEpoch = now / MINUTE;
+        long sum = sumOfLast(minuteBuckets, currentEpoch, numMinutes);
+        Bucket oldestBucket = minuteBuckets.get((int) ((currentEpoch - numMinutes) % MAX_NUM_MINUTES));
+        if (oldestBucket != null && oldestBucket.epoch() == currentEpoch - numMinutes) {
+            double remainingFraction = 1 - (double) (now % MINUTE) / MINUTE;
+            sum += Math.round(oldestBucket.sum().sum() * remainingFraction);
+        }
+        return sum;
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    private static Bucket getBucket(AtomicReferenceArray<Bucket> buckets, long epoch) {
+        int index = (int) (epoch % buckets.length());
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.epoch() >= epoch) {
+                // If the clock went backwards we add to the newer bucket
+                return bucket;
+            }
+            Bucket newBucket = new Bucket(epoch);
+            if (buckets.compareAndSet(index, bucket, newBucket)) {
+                return newBucket;
+            }
+        }
+    }
+
+    private static long sumOfLast(AtomicReferenceArray<Bucket> buckets, long currentEpoch, int numBuckets) {
+        long minEpoch = currentEpoch - numBuckets + 1;
+        long sum = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.epoch() >= minEpoch && bucket.epoch() <= currentEpoch) {
+                sum += bucket.sum().sum();
+            }
+        }
+        return sum;
+    }
+}
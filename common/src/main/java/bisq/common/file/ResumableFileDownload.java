@@ -0,0 +1,174 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.file;
+
+import bisq.common.observable.Observable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Downloads a file to a partial file next to the destination and moves it to the destination once complete.
+ * If the download gets interrupted, the partial file and a small journal with the URL and the validator
+ * (ETag or Last-Modified) of the server response are kept. The next download of the same URL requests only
+ * the missing bytes with a Range request. If the server does not support Range requests or the file has
+ * changed, the download starts from the beginning.
+ */
+@Slf4j
+public class ResumableFileDownload {
+    static final String PART_EXTENSION = ".part";
+    static final String JOURNAL_EXTENSION = ".part.journal";
+    private static final String URL_KEY = "url";
+    private static final String VALIDATOR_KEY = "validator";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public static void download(URL url, Path destinationPath, Observable<Double> progress) throws IOException {
+        Path partPath = destinationPath.resolveSibling(destinationPath.getFileName() + PART_EXTENSION);
+        Path journalPath = destinationPath.resolveSibling(destinationPath.getFileName() + JOURNAL_EXTENSION);
+
+        Optional<String> validator = readJournal(journalPath)
+                .filter(journal -> url.toString().equals(journal.getProperty(URL_KEY)))
+                .map(journal -> journal.getProperty(VALIDATOR_KEY, ""));
+        long offset = validator.isPresent() && Files.exists(partPath) ? Files.size(partPath) : 0;
+        if (offset == 0) {
+            Files.deleteIfExists(partPath);
+            Files.deleteIfExists(journalPath);
+        }
+
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            if (offset > 0) {
+                connection.setRequestProperty("Range", "bytes=" + offset + "-");
+                validator.filter(value -> !value.isEmpty())
+                        .ifPresent(value -> connection.setRequestProperty("If-Range", value));
+            }
+            connection.connect();
+            int responseCode = connection.getResponseCode();
+            boolean append;
+            if (responseCode == HttpURLConnection.HTTP_PARTIAL && offset > 0 && isContentRangeStartingAt(connection, offset)) {
+                log.info("Resume download of {} at byte {}", url, offset);
+                append = true;
+            } else if (responseCode == HttpURLConnection.HTTP_OK) {
+                if (offset > 0) {
+                    log.info("Server did not accept the range request for {}. We download the whole file.", url);
+                }
+                offset = 0;
+                append = false;
+            } else if (responseCode == 416 && offset > 0) {
+                // Range not satisfiable. Our partial file is not usable, we start from the beginning the next time.
+                Files.deleteIfExists(partPath);
+                Files.deleteIfExists(journalPath);
+                throw new IOException("Server rejected range request for " + url + ". The partial file got deleted.");
+            } else {
+                throw new IOException("Unexpected response code " + responseCode + " for " + url);
+            }
+
+            writeJournal(journalPath, url, getValidator(connection));
+
+            // If server does not provide contentLength it is -1
+            long contentLength = connection.getContentLengthLong();
+            long fileSize = contentLength == -1 ? -1 : offset + contentLength;
+            long totalReadBytes = offset;
+            try (InputStream inputStream = new BufferedInputStream(connection.getInputStream(), BUFFER_SIZE);
+                 OutputStream outputStream = append
+                         ? Files.newOutputStream(partPath, StandardOpenOption.APPEND)
+                         : FileMutatorUtils.newOutputStream(partPath)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int bytesRead;
+                while ((bytesRead = inputStream.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, bytesRead);
+                    totalReadBytes += bytesRead;
+                    if (fileSize > 0) {
+                        progress.set((double) totalReadBytes / fileSize);
+                    }
+                }
+            }
+            if (fileSize != -1 && totalReadBytes != fileSize) {
+                throw new IOException("Download of " + url + " incomplete. Received " + totalReadBytes + " of " + fileSize + " bytes");
+            }
+            progress.set(1d);
+        } finally {
+            connection.disconnect();
+        }
+
+        moveToDestination(partPath, destinationPath);
+        Files.deleteIfExists(journalPath);
+    }
+
+    private static boolean isContentRangeStartingAt(HttpURLConnection connection, long offset) {
+        // E.g. "bytes 1000-9999/10000"
+        String contentRange = connection.getHeaderField("Content-Range");
+        return contentRange != null && contentRange.startsWith("bytes " + offset + "-");
+    }
+
+    private static String getValidator(HttpURLConnection connection) {
+        String eTag = connection.getHeaderField("ETag");
+        // Weak ETags must not be used with If-Range
+        if (eTag != null && !eTag.startsWith("W/")) {
+            return eTag;
+        }
+        String lastModified = connection.getHeaderField("Last-Modified");
+        return lastModified != null ? lastModified : "";
+    }
+
+    private static Optional<Properties> readJournal(Path journalPath) {
+        if (!Files.exists(journalPath)) {
+            return Optional.empty();
+        }
+        try (Reader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return Optional.of(properties);
+        } catch (IOException e) {
+            log.warn("Could not read download journal {}", journalPath, e);
+            return Optional.empty();
+        }
+    }
+
+    private static void writeJournal(Path journalPath, URL url, String validator) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(URL_KEY, url.toString());
+        properties.setProperty(VALIDATOR_KEY, validator);
+        try (Writer writer = Files.newBufferedWriter(journalPath, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+    }
+
+    private static void moveToDestination(Path partPath, Path destinationPath) throws IOException {
+        try {
+            Files.move(partPath, destinationPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(partPath, destinationPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
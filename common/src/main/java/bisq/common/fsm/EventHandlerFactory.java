@@ -0,0 +1,26 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.common.fsm;
+
+/**
+ * Creates the event handler for a transition. Factories are resolved once per handler class and shared by all Fsm
+ * instances using the same transition table, thus they must not capture instance state but get it from the passed fsm.
+ */
+@FunctionalInterface
+public interface EventHandlerFactory {
+    EventHandler<? extends Event> create(Fsm<?> fsm) throws Exception;
+}
@@ -17,17 +17,15 @@
 
 package bisq.common.fsm;
 
-import bisq.common.data.Pair;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -42,24 +40,41 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * <br/>
  * The Fsm does not allow cycle graphs or transitions to previous states. For determining the order of the states we
  * use getOrdinal() which returns in case of enums the ordinal.
+ * <br/>
+ * If isTransitionTableShared() returns true, the transition config is compiled once per Fsm class into an immutable
+ * transition table which is shared by all instances of that class. In that case the config methods must not depend
+ * on instance state and transitions cannot be added after construction.
  */
 @Slf4j
 public abstract class Fsm<M extends FsmModel> {
-    private final Map<Pair<State, Class<? extends Event>>, Transition> transitionMap = new HashMap<>();
+    private static final Map<Class<?>, TransitionTable> SHARED_TRANSITION_TABLES = new ConcurrentHashMap<>();
+
+    private TransitionTable transitionTable;
     @Getter
     protected final M model;
 
     protected Fsm(M model) {
         this.model = model;
 
-        configErrorHandling();
-        configTransitions();
+        if (isTransitionTableShared()) {
+            transitionTable = SHARED_TRANSITION_TABLES.computeIfAbsent(getClass(),
+                    fsmClass -> compileTransitionTable().freeze());
+        } else {
+            compileTransitionTable();
+        }
     }
 
     abstract protected void configErrorHandling();
 
     abstract protected void configTransitions();
 
+    /**
+     * @return true if all instances of that class use the same transition config and can share the transition table.
+     */
+    protected boolean isTransitionTableShared() {
+        return false;
+    }
+
     public <E extends Event> void handle(E event) {
         synchronized (this) {
             try {
@@ -72,9 +87,8 @@ public abstract class Fsm<M extends FsmModel> {
                 }
                 log.info("Start transition from currentState {}", currentState);
                 Class<? extends Event> eventClass = event.getClass();
-                var transitionMapEntriesForEvent = findTransitionMapEntriesForEvent(eventClass);
-                checkArgument(!transitionMapEntriesForEvent.isEmpty(), "No transition found for given event " + event);
-                Optional<Transition> transition = findTransition(currentState, transitionMapEntriesForEvent);
+                checkArgument(transitionTable.hasTransitionsForEvent(eventClass), "No transition found for given event " + event);
+                Optional<Transition> transition = transitionTable.findTransition(currentState, eventClass);
                 if (transition.isPresent()) {
                     State targetState = transition.get().getTargetState();
                     checkArgument(targetState.getOrdinal() > currentState.getOrdinal(),
@@ -83,7 +97,9 @@ public abstract class Fsm<M extends FsmModel> {
                     Optional<Class<? extends EventHandler<? extends Event>>> eventHandlerClass = transition.get().getEventHandlerClass();
                     if (eventHandlerClass.isPresent()) {
                         @SuppressWarnings("unchecked")
-                        EventHandler<E> eventHandler = newEventHandlerFromClass((Class<? extends EventHandler<E>>) eventHandlerClass.get());
+                        EventHandler<E> eventHandler = (EventHandler<E>) transitionTable
+                                .getEventHandlerFactory(eventHandlerClass.get(), this::resolveEventHandlerFactory)
+                                .create(this);
                         String eventHandlerName = eventHandler.getClass().getSimpleName();
                         log.info("Handle {} at {}", event.getClass().getSimpleName(), eventHandlerName);
                         eventHandler.handle(event);
@@ -110,10 +126,9 @@ public abstract class Fsm<M extends FsmModel> {
                             currentState, eventClass.getSimpleName());
                     // In case we get an event which does not match our current state we add the event to our
                     // event queue if the event was not already processed.
-                    transitionMap.keySet().stream()
-                            .filter(key -> key.getSecond().equals(eventClass) &&
-                                    !model.processedEvents.contains(eventClass))
-                            .forEach(e -> model.eventQueue.add(event));
+                    if (!model.processedEvents.contains(eventClass)) {
+                        model.eventQueue.add(event);
+                    }
                 }
             } catch (Exception exception) {
                 log.error("Error at handling {}.", event, exception);
@@ -156,35 +171,33 @@ public abstract class Fsm<M extends FsmModel> {
         return new TransitionBuilder<>(this);
     }
 
-    abstract protected <E extends Event> EventHandler<E> newEventHandlerFromClass(Class<? extends EventHandler<E>> handlerClass)
-            throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException;
+    /**
+     * Creates a new event handler instance by reflection. Used by the default resolveEventHandlerFactory
+     * implementation. Implementations which override resolveEventHandlerFactory do not need to implement it.
+     */
+    protected <E extends Event> EventHandler<E> newEventHandlerFromClass(Class<? extends EventHandler<E>> handlerClass)
+            throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        throw new FsmConfigException("Neither newEventHandlerFromClass nor resolveEventHandlerFactory is implemented");
+    }
 
-    private Set<Map.Entry<Pair<State, Class<? extends Event>>, Transition>> findTransitionMapEntriesForEvent(Class<? extends Event> eventClass) {
-        return transitionMap.entrySet().stream()
-                .filter(e -> e.getKey().getSecond().equals(eventClass))
-                .collect(Collectors.toSet());
+    /**
+     * Called once per event handler class and transition table. Implementations should look up the constructor once
+     * and return a factory bound to it.
+     */
+    protected EventHandlerFactory resolveEventHandlerFactory(Class<? extends EventHandler<? extends Event>> handlerClass) {
+        //noinspection unchecked,rawtypes
+        return fsm -> fsm.newEventHandlerFromClass((Class) handlerClass);
     }
 
-    private Optional<Transition> findTransition(State currentState,
-                                                Set<Map.Entry<Pair<State, Class<? extends Event>>, Transition>> transitionMapEntriesForEvent) {
-        return transitionMapEntriesForEvent.stream()
-                .filter(e -> e.getKey().getFirst().equals(currentState) || e.getKey().getFirst().isAnyState())
-                .map(Map.Entry::getValue)
-                .findAny();
+    private TransitionTable compileTransitionTable() {
+        transitionTable = new TransitionTable();
+        configErrorHandling();
+        configTransitions();
+        return transitionTable;
     }
 
     private void insertTransition(Transition transition) {
-        try {
-            checkArgument(transition.isValid(), "Invalid transition. transition=%s", transition);
-            transition.getSourceStates().forEach(sourceState -> {
-                Pair<State, Class<? extends Event>> pair = new Pair<>(sourceState, transition.getEventClass());
-                checkArgument(!transitionMap.containsKey(pair),
-                        "A transition exists already with the state/event pair. pair=%s", pair);
-                transitionMap.put(pair, transition);
-            });
-        } catch (IllegalArgumentException e) {
-            throw new FsmConfigException(e);
-        }
+        transitionTable.insert(transition);
     }
 
     public static class TransitionBuilder<M extends FsmModel> {
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.common.fsm;
+
+import bisq.common.data.Pair;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Transitions indexed by event class and source state, so that finding the transition for an event is a constant time
+ * lookup. Transitions from ANY state are stored under State.FsmState.ANY and are used if no transition for the
+ * specific source state exists.
+ * <br/>
+ * Once frozen, the table is immutable and can be shared by all Fsm instances of the same class. The event handler
+ * factories are resolved lazily once per handler class.
+ */
+final class TransitionTable {
+    private final Map<Class<? extends Event>, Map<State, Transition>> transitionsByEventClass = new HashMap<>();
+    private final Map<Class<? extends EventHandler<? extends Event>>, EventHandlerFactory> eventHandlerFactoryByClass = new ConcurrentHashMap<>();
+    private volatile boolean frozen;
+
+    void insert(Transition transition) {
+        if (frozen) {
+            throw new FsmConfigException("Transitions cannot be added to a shared transition table after it has been compiled");
+        }
+        try {
+            checkArgument(transition.isValid(), "Invalid transition. transition=%s", transition);
+            Map<State, Transition> transitionByState = transitionsByEventClass.computeIfAbsent(transition.getEventClass(), key -> new HashMap<>());
+            transition.getSourceStates().forEach(sourceState -> {
+                checkArgument(!transitionByState.containsKey(sourceState),
+                        "A transition exists already with the state/event pair. pair=%s",
+                        new Pair<>(sourceState, transition.getEventClass()));
+                transitionByState.put(sourceState, transition);
+            });
+        } catch (IllegalArgumentException e) {
+            throw new FsmConfigException(e);
+        }
+    }
+
+    TransitionTable freeze() {
+        frozen = true;
+        return this;
+    }
+
+    boolean hasTransitionsForEvent(Class<? extends Event> eventClass) {
+        return transitionsByEventClass.containsKey(eventClass);
+    }
+
+    Optional<Transition> findTransition(State currentState, Class<? extends Event> eventClass) {
+        Map<State, Transition> transitionByState = transitionsByEventClass.get(eventClass);
+        if (transitionByState == null) {
+            return Optional.empty();
+        }
+        Transition transition = transitionByState.get(currentState);
+        if (transition == null) {
+            transition = transitionByState.get(State.FsmState.ANY);
+        }
+        return Optional.ofNullable(transition);
+    }
+
+    EventHandlerFactory getEventHandlerFactory(Class<? extends EventHandler<? extends Event>> eventHandlerClass,
+                                               Function<Class<? extends EventHandler<? extends Event>>, EventHandlerFactory> resolver) {
+        return eventHandlerFactoryByClass.computeIfAbsent(eventHandlerClass, resolver);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.observable.collection;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Immutable summary of the changes of an {@link ObservableCollection} during a batch (see
+ * {@link ObservableCollection#beginBatch()}) or coalesced by a {@link CoalescingCollectionObserver}.
+ * <p>
+ * Changes are applied in the order: if reset is set, clear the collection, then remove all elements of removed and
+ * then add all elements of added. Elements which got added and removed again inside the same change set are not
+ * contained.
+ *
+ * @param <S> the element type of the collection
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class ChangeSet<S> {
+    private final boolean reset;
+    private final List<S> added;
+    private final List<Object> removed;
+
+    ChangeSet(boolean reset, List<S> added, List<Object> removed) {
+        this.reset = reset;
+        this.added = List.copyOf(added);
+        this.removed = List.copyOf(removed);
+    }
+
+    public boolean isEmpty() {
+        return !reset && added.isEmpty() && removed.isEmpty();
+    }
+}
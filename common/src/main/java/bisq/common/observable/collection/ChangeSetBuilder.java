@@ -0,0 +1,111 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.observable.collection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records changes and coalesces them into a {@link ChangeSet}. Not thread-safe, callers have to synchronize.
+ */
+final class ChangeSetBuilder<S> {
+    private boolean reset;
+    private final List<S> added = new ArrayList<>();
+    private final List<Object> removed = new ArrayList<>();
+    // Number of occurrences in added which got removed again. We filter them at build to avoid searching the list
+    // at each remove.
+    private final Map<Object, Integer> numAddedByElement = new HashMap<>();
+    private final Map<Object, Integer> numCancelledByElement = new HashMap<>();
+
+    void added(S element) {
+        added.add(element);
+        numAddedByElement.merge(element, 1, Integer::sum);
+    }
+
+    void allAdded(Collection<? extends S> elements) {
+        elements.forEach(this::added);
+    }
+
+    void removed(Object element) {
+        int numAdded = numAddedByElement.getOrDefault(element, 0);
+        if (numAdded > 0) {
+            if (numAdded == 1) {
+                numAddedByElement.remove(element);
+            } else {
+                numAddedByElement.put(element, numAdded - 1);
+            }
+            numCancelledByElement.merge(element, 1, Integer::sum);
+        } else if (!reset) {
+            // After a reset only elements added after it can be removed
+            removed.add(element);
+        }
+    }
+
+    void allRemoved(Collection<?> elements) {
+        elements.forEach(this::removed);
+    }
+
+    void cleared() {
+        reset = true;
+        added.clear();
+        removed.clear();
+        numAddedByElement.clear();
+        numCancelledByElement.clear();
+    }
+
+    void allSet(Collection<? extends S> elements) {
+        cleared();
+        allAdded(elements);
+    }
+
+    void apply(ChangeSet<? extends S> changeSet) {
+        if (changeSet.isReset()) {
+            cleared();
+        }
+        allRemoved(changeSet.getRemoved());
+        allAdded(changeSet.getAdded());
+    }
+
+    boolean isEmpty() {
+        return !reset && added.isEmpty() && removed.isEmpty();
+    }
+
+    ChangeSet<S> build() {
+        List<S> remainingAdded = added;
+        if (!numCancelledByElement.isEmpty()) {
+            Map<Object, Integer> numCancelled = new HashMap<>(numCancelledByElement);
+            remainingAdded = new ArrayList<>(added.size());
+            for (S element : added) {
+                Integer num = numCancelled.get(element);
+                if (num != null) {
+                    if (num == 1) {
+                        numCancelled.remove(element);
+                    } else {
+                        numCancelled.put(element, num - 1);
+                    }
+                    continue;
+                }
+                remainingAdded.add(element);
+            }
+        }
+        return new ChangeSet<>(reset, remainingAdded, removed);
+    }
+}
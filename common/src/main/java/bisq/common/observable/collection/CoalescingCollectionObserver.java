@@ -0,0 +1,127 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.observable.collection;
+
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Observer which records the changes of the source collection and notifies the delegate on the given executor
+ * (usually the JavaFX Application Thread). Only one notification is scheduled at a time, changes arriving until it
+ * runs are coalesced into the same {@link ChangeSet}. Thus, if the executor runs tasks once per UI frame, the delegate
+ * gets notified at most once per frame independent of how many elements got changed.
+ *
+ * @param <S> The type of the collection element of the source collection
+ */
+@Slf4j
+@ToString
+final class CoalescingCollectionObserver<S> implements CollectionObserver<S> {
+    private final CollectionObserver<S> delegate;
+    @ToString.Exclude
+    private final Consumer<Runnable> executor;
+    @ToString.Exclude
+    private ChangeSetBuilder<S> pendingChanges;
+    @ToString.Exclude
+    private boolean disposed;
+
+    CoalescingCollectionObserver(CollectionObserver<S> delegate, Consumer<Runnable> executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public void onAdded(S element) {
+        record(changes -> changes.added(element));
+    }
+
+    @Override
+    public void onAllAdded(Collection<? extends S> values) {
+        record(changes -> changes.allAdded(values));
+    }
+
+    @Override
+    public void onAllSet(Collection<? extends S> values) {
+        record(changes -> changes.allSet(values));
+    }
+
+    @Override
+    public void onRemoved(Object element) {
+        record(changes -> changes.removed(element));
+    }
+
+    @Override
+    public void onAllRemoved(Collection<?> values) {
+        record(changes -> changes.allRemoved(values));
+    }
+
+    @Override
+    public void onCleared() {
+        record(ChangeSetBuilder::cleared);
+    }
+
+    @Override
+    public void onChanges(ChangeSet<? extends S> changeSet) {
+        record(changes -> changes.apply(changeSet));
+    }
+
+    void dispose() {
+        synchronized (this) {
+            disposed = true;
+            pendingChanges = null;
+        }
+    }
+
+    private void record(Consumer<ChangeSetBuilder<S>> recorder) {
+        boolean scheduleFlush;
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            scheduleFlush = pendingChanges == null;
+            if (scheduleFlush) {
+                pendingChanges = new ChangeSetBuilder<>();
+            }
+            recorder.accept(pendingChanges);
+        }
+        if (scheduleFlush) {
+            executor.accept(this::flush);
+        }
+    }
+
+    private void flush() {
+        ChangeSet<S> changeSet;
+        synchronized (this) {
+            if (pendingChanges == null) {
+                return;
+            }
+            changeSet = pendingChanges.build();
+            pendingChanges = null;
+        }
+        if (changeSet.isEmpty()) {
+            return;
+        }
+        try {
+            delegate.onChanges(changeSet);
+        } catch (Exception e) {
+            log.error("Observer {} caused an exception at handling update.", delegate, e);
+        }
+    }
+}
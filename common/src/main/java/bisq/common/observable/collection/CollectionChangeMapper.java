@@ -20,7 +20,11 @@ package bisq.common.observable.collection;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -112,4 +116,36 @@ final class CollectionChangeMapper<S, T> implements CollectionObserver<S> {
     public void onCleared() {
         executor.accept(targetCollection::clear);
     }
+
+    // Applies all changes in one task, so that a sorted or filtered view on the target collection gets updated once.
+    @Override
+    public void onChanges(ChangeSet<? extends S> changeSet) {
+        executor.accept(() -> {
+            if (changeSet.isReset()) {
+                targetCollection.clear();
+            } else if (!changeSet.getRemoved().isEmpty()) {
+                targetCollection.removeAll(changeSet.getRemoved().stream()
+                        .map(element -> {
+                            //noinspection unchecked
+                            return (S) element;
+                        })
+                        .map(mapFunction)
+                        .collect(Collectors.toSet()));
+            }
+
+            if (!changeSet.getAdded().isEmpty()) {
+                Set<T> existingItems = new HashSet<>(targetCollection);
+                List<T> items = new ArrayList<>();
+                for (S sourceItem : changeSet.getAdded()) {
+                    if (filterFunction.apply(sourceItem)) {
+                        T item = mapFunction.apply(sourceItem);
+                        if (existingItems.add(item)) {
+                            items.add(item);
+                        }
+                    }
+                }
+                targetCollection.addAll(items);
+            }
+        });
+    }
 }
\ No newline at end of file
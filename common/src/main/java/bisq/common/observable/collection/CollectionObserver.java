@@ -38,4 +38,22 @@ public interface CollectionObserver<S> {
     }
 
     void onCleared();
+
+    /**
+     * Called with the coalesced changes of a batch or of a {@link CoalescingCollectionObserver}.
+     * The default implementation maps the change set to the bulk callbacks, so that existing observers get one
+     * callback per change type instead of one per element. Observers can override it to handle all changes at once.
+     */
+    default void onChanges(ChangeSet<? extends S> changeSet) {
+        if (changeSet.isReset()) {
+            onAllSet(changeSet.getAdded());
+            return;
+        }
+        if (!changeSet.getRemoved().isEmpty()) {
+            onAllRemoved(changeSet.getRemoved());
+        }
+        if (!changeSet.getAdded().isEmpty()) {
+            onAllAdded(changeSet.getAdded());
+        }
+    }
 }
\ No newline at end of file
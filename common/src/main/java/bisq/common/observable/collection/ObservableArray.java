@@ -18,7 +18,6 @@
 package bisq.common.observable.collection;
 
 import lombok.EqualsAndHashCode;
-import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
@@ -46,7 +45,6 @@ import java.util.ListIterator;
  *
  * @param <S> the type of elements in this list
  */
-@Slf4j
 @EqualsAndHashCode(callSuper = true)
 public class ObservableArray<S> extends ObservableCollection<S> implements List<S>, ReadOnlyObservableArray<S> {
     public ObservableArray() {
@@ -80,13 +78,7 @@ public class ObservableArray<S> extends ObservableCollection<S> implements List<
     public boolean addAll(int index, @NotNull Collection<? extends S> values) {
         boolean result = getList().addAll(index, values);
         if (result) {
-            observers.forEach(observer -> {
-                try {
-                    observer.onAllAdded(values);
-                } catch (Exception e) {
-                    log.error("Observer {} caused an exception at handling update.", observer, e);
-                }
-            });
+            notifyAllAdded(values);
         }
         return result;
     }
@@ -94,38 +86,20 @@ public class ObservableArray<S> extends ObservableCollection<S> implements List<
     @Override
     public S set(int index, S element) {
         S previous = getList().set(index, element);
-        observers.forEach(observer -> {
-            try {
-                observer.onAdded(element);
-            } catch (Exception e) {
-                log.error("Observer {} caused an exception at handling update.", observer, e);
-            }
-        });
+        notifyAdded(element);
         return previous;
     }
 
     @Override
     public void add(int index, S element) {
         getList().add(index, element);
-        observers.forEach(observer -> {
-            try {
-                observer.onAdded(element);
-            } catch (Exception e) {
-                log.error("Observer {} caused an exception at handling update.", observer, e);
-            }
-        });
+        notifyAdded(element);
     }
 
     @Override
     public S remove(int index) {
         S removedElement = getList().remove(index);
-        observers.forEach(observer -> {
-            try {
-                observer.onRemoved(removedElement);
-            } catch (Exception e) {
-                log.error("Observer {} caused an exception at handling update.", observer, e);
-            }
-        });
+        notifyRemoved(removedElement);
         return removedElement;
     }
 
@@ -36,6 +36,9 @@ import java.util.function.Function;
  * <p>
  * Thread-safety depends on the concrete collection implementation returned by {@code createCollection()}.
  * Observers are stored in a {@link java.util.concurrent.CopyOnWriteArrayList}, making registration and notification thread-safe.
+ * <p>
+ * Bulk updates can be wrapped in a batch ({@link #beginBatch()}/{@link #commit()}) so that observers get notified once
+ * with the coalesced {@link ChangeSet} instead of once per element.
  *
  * @param <S> the element type of the collection
  */
@@ -48,6 +51,16 @@ public abstract class ObservableCollection<S> implements Collection<S>, ReadOnly
     @EqualsAndHashCode.Exclude
     protected final List<CollectionObserver<S>> observers = new CopyOnWriteArrayList<>();
 
+    @EqualsAndHashCode.Exclude
+    private final Object batchLock = new Object();
+    // The thread which opened the batch. Only that thread can open nested batches and commit.
+    @EqualsAndHashCode.Exclude
+    private Thread batchThread;
+    @EqualsAndHashCode.Exclude
+    private int batchDepth;
+    @EqualsAndHashCode.Exclude
+    private volatile ChangeSetBuilder<S> pendingChanges;
+
     protected ObservableCollection() {
     }
 
@@ -67,6 +80,16 @@ public abstract class ObservableCollection<S> implements Collection<S>, ReadOnly
         return () -> observers.remove(observer);
     }
 
+    /**
+     * Adds an observer which gets notified on the given executor. All changes which happen until the executor runs
+     * the notification are coalesced into one {@link CollectionObserver#onChanges(ChangeSet)} call. With an executor
+     * which runs the task at the next UI frame the observer gets notified at most once per frame.
+     */
+    public Pin addObserver(CollectionObserver<S> observer, Consumer<Runnable> executor) {
+        CoalescingCollectionObserver<S> coalescingObserver = new CoalescingCollectionObserver<>(observer, executor);
+        return addCoalescingObserver(coalescingObserver, coalescingObserver::onAllAdded);
+    }
+
     public Pin addObserver(Runnable observer) {
         SimpleCollectionObserver<S> simpleCollectionObserver = new SimpleCollectionObserver<>(observer);
         observers.add(simpleCollectionObserver);
@@ -84,17 +107,101 @@ public abstract class ObservableCollection<S> implements Collection<S>, ReadOnly
         return () -> observers.remove(collectionChangeMapper);
     }
 
+    /**
+     * Like {@link #addCollectionChangeMapper(Collection, Function, Function, Consumer)} but all changes until the
+     * executor runs get applied to the target collection in one task.
+     */
+    public <T> Pin addCoalescingCollectionChangeMapper(Collection<T> collection,
+                                                       Function<S, Boolean> filterFunction,
+                                                       Function<S, T> mapFunction,
+                                                       Consumer<Runnable> executor) {
+        CollectionChangeMapper<S, T> collectionChangeMapper = new CollectionChangeMapper<>(collection, filterFunction, mapFunction, Runnable::run);
+        CoalescingCollectionObserver<S> coalescingObserver = new CoalescingCollectionObserver<>(collectionChangeMapper, executor);
+        return addCoalescingObserver(coalescingObserver, coalescingObserver::onAllSet);
+    }
+
+    private Pin addCoalescingObserver(CoalescingCollectionObserver<S> coalescingObserver,
+                                      Consumer<Collection<S>> initialUpdate) {
+        initialUpdate.accept(collection);
+        observers.add(coalescingObserver);
+        return () -> {
+            observers.remove(coalescingObserver);
+            coalescingObserver.dispose();
+        };
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Batch
+    /* --------------------------------------------------------------------- */
+
+    /**
+     * Starts a batch. Until the matching {@link #commit()} observers do not get notified about changes. At the commit
+     * of the outermost batch they get notified once via {@link CollectionObserver#onChanges(ChangeSet)} with the
+     * coalesced changes. Batches can be nested.
+     * <p>
+     * A batch is confined to the thread which opened it. Calling beginBatch or commit from another thread while the
+     * batch is open throws an IllegalStateException. Changes done by other threads while a batch is open become part
+     * of the batch, so that observers get the changes in the order they have been applied.
+     * <p>
+     * Observers added while a batch is open might get notified about elements they got already at registration.
+     */
+    public void beginBatch() {
+        synchronized (batchLock) {
+            Thread currentThread = Thread.currentThread();
+            if (batchThread != null && batchThread != currentThread) {
+                throw new IllegalStateException("A batch is already open by thread " + batchThread.getName());
+            }
+            if (batchDepth++ == 0) {
+                batchThread = currentThread;
+                pendingChanges = new ChangeSetBuilder<>();
+            }
+        }
+    }
+
+    public void commit() {
+        ChangeSet<S> changeSet;
+        synchronized (batchLock) {
+            if (batchDepth == 0) {
+                throw new IllegalStateException("commit called without beginBatch");
+            }
+            if (batchThread != Thread.currentThread()) {
+                throw new IllegalStateException("commit called from another thread than beginBatch");
+            }
+            if (--batchDepth > 0) {
+                return;
+            }
+            changeSet = pendingChanges.build();
+            pendingChanges = null;
+            batchThread = null;
+        }
+        if (!changeSet.isEmpty()) {
+            notifyObservers(observer -> observer.onChanges(changeSet));
+        }
+    }
+
+    /**
+     * Runs the given runnable inside a batch.
+     */
+    public void batch(Runnable runnable) {
+        beginBatch();
+        try {
+            runnable.run();
+        } finally {
+            commit();
+        }
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Collection implementation
+    /* --------------------------------------------------------------------- */
+
     @Override
     public boolean add(S element) {
         boolean changed = collection.add(element);
         if (changed) {
-            observers.forEach(observer -> {
-                try {
-                    observer.onAdded(element);
-                } catch (Exception e) {
-                    log.error("Observer {} caused an exception at handling update.", observer, e);
-                }
-            });
+            notifyAdded(element);
         }
         return changed;
     }
@@ -103,13 +210,7 @@ public abstract class ObservableCollection<S> implements Collection<S>, ReadOnly
     public boolean addAll(@NotNull Collection<? extends S> values) {
         boolean changed = collection.addAll(values);
         if (changed) {
-            observers.forEach(observer -> {
-                try {
-                    observer.onAllAdded(values);
-                } catch (Exception e) {
-                    log.error("Observer {} caused an exception at handling update.", observer, e);
-                }
-            });
+            notifyAllAdded(values);
         }
         return changed;
     }
@@ -117,26 +218,14 @@ public abstract class ObservableCollection<S> implements Collection<S>, ReadOnly
     public void setAll(@NotNull Collection<? extends S> values) {
         collection.clear();
         collection.addAll(values);
-        observers.forEach(observer -> {
-            try {
-                observer.onAllSet(values);
-            } catch (Exception e) {
-                log.error("Observer {} caused an exception at handling update.", observer, e);
-            }
-        });
+        notifyAllSet(values);
     }
 
     @Override
     public boolean remove(Object element) {
         boolean changed = collection.remove(element);
         if (changed) {
-            observers.forEach(observer -> {
-                try {
-                    observer.onRemoved(element);
-                } catch (Exception e) {
-                    log.error("Observer {} caused an exception at handling update.", observer, e);
-                }
-            });
+            notifyRemoved(element);
         }
         return changed;
     }
@@ -145,13 +234,7 @@ public abstract class ObservableCollection<S> implements Collection<S>, ReadOnly
     public boolean removeAll(@NotNull Collection<?> values) {
         boolean changed = collection.removeAll(values);
         if (changed) {
-            observers.forEach(observer -> {
-                try {
-                    observer.onAllRemoved(values);
-                } catch (Exception e) {
-                    log.error("Observer {} caused an exception at handling update.", observer, e);
-                }
-            });
+            notifyAllRemoved(values);
         }
         return changed;
     }
@@ -159,13 +242,7 @@ public abstract class ObservableCollection<S> implements Collection<S>, ReadOnly
     @Override
     public void clear() {
         collection.clear();
-        observers.forEach(observer -> {
-            try {
-                observer.onCleared();
-            } catch (Exception e) {
-                log.error("Observer {} caused an exception at handling update.", observer, e);
-            }
-        });
+        notifyCleared();
     }
 
     @Override
@@ -212,4 +289,69 @@ public abstract class ObservableCollection<S> implements Collection<S>, ReadOnly
     public String toString() {
         return collection.toString();
     }
+
+
+    /* --------------------------------------------------------------------- */
+    // Notifications
+    /* --------------------------------------------------------------------- */
+
+    protected void notifyAdded(S element) {
+        if (!recordInBatch(changes -> changes.added(element))) {
+            notifyObservers(observer -> observer.onAdded(element));
+        }
+    }
+
+    protected void notifyAllAdded(Collection<? extends S> values) {
+        if (!recordInBatch(changes -> changes.allAdded(values))) {
+            notifyObservers(observer -> observer.onAllAdded(values));
+        }
+    }
+
+    protected void notifyAllSet(Collection<? extends S> values) {
+        if (!recordInBatch(changes -> changes.allSet(values))) {
+            notifyObservers(observer -> observer.onAllSet(values));
+        }
+    }
+
+    protected void notifyRemoved(Object element) {
+        if (!recordInBatch(changes -> changes.removed(element))) {
+            notifyObservers(observer -> observer.onRemoved(element));
+        }
+    }
+
+    protected void notifyAllRemoved(Collection<?> values) {
+        if (!recordInBatch(changes -> changes.allRemoved(values))) {
+            notifyObservers(observer -> observer.onAllRemoved(values));
+        }
+    }
+
+    protected void notifyCleared() {
+        if (!recordInBatch(ChangeSetBuilder::cleared)) {
+            notifyObservers(CollectionObserver::onCleared);
+        }
+    }
+
+    private boolean recordInBatch(Consumer<ChangeSetBuilder<S>> recorder) {
+        // Fast path without locking if no batch is open
+        if (pendingChanges == null) {
+            return false;
+        }
+        synchronized (batchLock) {
+            if (pendingChanges == null) {
+                return false;
+            }
+            recorder.accept(pendingChanges);
+            return true;
+        }
+    }
+
+    private void notifyObservers(Consumer<CollectionObserver<S>> notification) {
+        observers.forEach(observer -> {
+            try {
+                notification.accept(observer);
+            } catch (Exception e) {
+                log.error("Observer {} caused an exception at handling update.", observer, e);
+            }
+        });
+    }
 }
\ No newline at end of file
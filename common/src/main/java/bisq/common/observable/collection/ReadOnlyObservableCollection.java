@@ -26,6 +26,8 @@ import java.util.function.Function;
 public interface ReadOnlyObservableCollection<S> {
     Pin addObserver(CollectionObserver<S> observer);
 
+    Pin addObserver(CollectionObserver<S> observer, Consumer<Runnable> executor);
+
     Pin addObserver(Runnable observer);
 
     <T> Pin addCollectionChangeMapper(Collection<T> collection,
@@ -33,6 +35,11 @@ public interface ReadOnlyObservableCollection<S> {
                                       Function<S, T> mapFunction,
                                       Consumer<Runnable> executor);
 
+    <T> Pin addCoalescingCollectionChangeMapper(Collection<T> collection,
+                                                Function<S, Boolean> filterFunction,
+                                                Function<S, T> mapFunction,
+                                                Consumer<Runnable> executor);
+
     int size();
 
     boolean isEmpty();
@@ -76,4 +76,9 @@ final class SimpleCollectionObserver<S> implements CollectionObserver<S> {
     public void onCleared() {
         onChanged();
     }
+
+    @Override
+    public void onChanges(ChangeSet<? extends S> changeSet) {
+        onChanged();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.profiling;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A timed section of the startup or shutdown. Ending a span more than once has no effect.
+ */
+@Getter
+@ToString(onlyExplicitlyIncluded = true)
+public final class Span {
+    static final Span NO_OP = new Span(null, "", "", 0, null, -1);
+
+    @Getter(AccessLevel.NONE)
+    private final StartupProfiler.Recording recording;
+    @ToString.Include
+    private final String category;
+    @ToString.Include
+    private final String name;
+    private final long startNanos;
+    private final String startThreadName;
+    @Getter(AccessLevel.NONE)
+    private final Thread startThread;
+    private final long startAllocatedBytes;
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean ended = new AtomicBoolean();
+    private volatile long endNanos;
+    private volatile String endThreadName;
+    // -1 if unknown, e.g. if the span ended on a different thread than it started on
+    private volatile long allocatedBytes = -1;
+
+    Span(StartupProfiler.Recording recording,
+         String category,
+         String name,
+         long startNanos,
+         Thread startThread,
+         long startAllocatedBytes) {
+        this.recording = recording;
+        this.category = category;
+        this.name = name;
+        this.startNanos = startNanos;
+        this.startThreadName = startThread != null ? startThread.getName() : "";
+        this.startThread = startThread;
+        this.startAllocatedBytes = startAllocatedBytes;
+    }
+
+    // Used in tests
+    Span(String category, String name, long startNanos, long endNanos) {
+        this(null, category, name, startNanos, Thread.currentThread(), -1);
+        this.endNanos = endNanos;
+        this.endThreadName = startThreadName;
+        ended.set(true);
+    }
+
+    public void end() {
+        if (recording == null || !ended.compareAndSet(false, true)) {
+            return;
+        }
+        endNanos = System.nanoTime();
+        Thread thread = Thread.currentThread();
+        endThreadName = thread.getName();
+        if (thread == startThread && startAllocatedBytes >= 0) {
+            long allocatedBytesAtEnd = StartupProfiler.currentThreadAllocatedBytes();
+            if (allocatedBytesAtEnd >= 0) {
+                allocatedBytes = allocatedBytesAtEnd - startAllocatedBytes;
+            }
+        }
+        recording.add(this);
+    }
+
+    public long getDurationNanos() {
+        return endNanos - startNanos;
+    }
+
+    boolean contains(Span other) {
+        return startNanos <= other.startNanos && other.endNanos <= endNanos &&
+                (startNanos != other.startNanos || endNanos != other.endNanos);
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.profiling;
+
+import bisq.common.file.FileMutatorUtils;
+import bisq.common.json.JsonMapperProvider;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The spans recorded by the {@link StartupProfiler} between the origin (JVM start for the startup) and the time the
+ * profile was taken.
+ * <p>
+ * The timeline can be exported in the Chrome trace event format, which can be opened with
+ * <a href="https://ui.perfetto.dev">Perfetto</a> or chrome://tracing.
+ * <p>
+ * The critical path is the chain of spans which determined the total duration: Starting from the end we always step
+ * into the span which finished last, and from its start to the span which finished before it. Spans running in
+ * parallel to a span on the critical path did not delay the startup and are therefore not part of it. Time between
+ * the spans on the critical path was spent in code which is not instrumented (or in the parent span itself).
+ */
+@Slf4j
+@Getter
+public final class StartupProfile {
+    public static final String NOT_INSTRUMENTED = "[not instrumented]";
+    public static final String SELF = "[self]";
+
+    public record CriticalPathEntry(int depth, String name, long durationNanos) {
+    }
+
+    private final String name;
+    private final long originNanos;
+    private final long endNanos;
+    private final List<Span> spans;
+
+    StartupProfile(String name, Optional<Long> originNanos, long endNanos, List<Span> spans) {
+        this.name = name;
+        this.spans = new ArrayList<>(spans);
+        this.spans.sort(Comparator.comparingLong(Span::getStartNanos));
+        this.originNanos = originNanos.orElse(this.spans.isEmpty() ? endNanos : this.spans.get(0).getStartNanos());
+        this.endNanos = endNanos;
+    }
+
+    public long getDurationNanos() {
+        return endNanos - originNanos;
+    }
+
+    public void export(Path directory) throws IOException {
+        FileMutatorUtils.writeToPath(toChromeTraceJson(), directory.resolve(name + "_trace.json"));
+        String criticalPathSummary = getCriticalPathSummary();
+        FileMutatorUtils.writeToPath(criticalPathSummary, directory.resolve(name + "_critical_path.txt"));
+        log.info("Exported {} profile to {}\n{}", name, directory, criticalPathSummary);
+    }
+
+    public String toChromeTraceJson() throws JsonProcessingException {
+        ObjectMapper mapper = JsonMapperProvider.get();
+        ObjectNode root = mapper.createObjectNode();
+        ArrayNode traceEvents = root.putArray("traceEvents");
+        Map<String, Integer> threadIds = new LinkedHashMap<>();
+        for (Span span : spans) {
+            int threadId = threadIds.computeIfAbsent(span.getStartThreadName(), key -> threadIds.size() + 1);
+            ObjectNode event = traceEvents.addObject();
+            event.put("name", span.getName());
+            event.put("cat", span.getCategory());
+            event.put("ph", "X");
+            event.put("ts", toMicros(span.getStartNanos() - originNanos));
+            event.put("dur", toMicros(span.getDurationNanos()));
+            event.put("pid", 1);
+            event.put("tid", threadId);
+            ObjectNode args = event.putObject("args");
+            if (span.getAllocatedBytes() >= 0) {
+                args.put("allocatedBytes", span.getAllocatedBytes());
+            }
+            if (!span.getStartThreadName().equals(span.getEndThreadName())) {
+                args.put("endThread", span.getEndThreadName());
+            }
+        }
+        threadIds.forEach((threadName, threadId) -> {
+            ObjectNode event = traceEvents.addObject();
+            event.put("name", "thread_name");
+            event.put("ph", "M");
+            event.put("pid", 1);
+            event.put("tid", threadId);
+            event.putObject("args").put("name", threadName);
+        });
+        root.put("displayTimeUnit", "ms");
+        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(root);
+    }
+
+    public List<CriticalPathEntry> getCriticalPath() {
+        Map<Span, List<Span>> childrenByParent = new HashMap<>();
+        List<Span> roots = new ArrayList<>();
+        for (Span span : spans) {
+            findParent(span).ifPresentOrElse(parent -> childrenByParent.computeIfAbsent(parent, key -> new ArrayList<>()).add(span),
+                    () -> roots.add(span));
+        }
+        List<CriticalPathEntry> result = new ArrayList<>();
+        addCriticalPath(originNanos, endNanos, roots, 0, NOT_INSTRUMENTED, childrenByParent, result);
+        return result;
+    }
+
+    public String getCriticalPathSummary() {
+        long totalNanos = Math.max(1, getDurationNanos());
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "Critical path of %s: %.1f ms%n", name, toMillis(getDurationNanos())));
+        for (CriticalPathEntry entry : getCriticalPath()) {
+            sb.append(String.format(Locale.US, "%10.1f ms %5.1f%%  %s%s%n",
+                    toMillis(entry.durationNanos()),
+                    100d * entry.durationNanos() / totalNanos,
+                    "  ".repeat(entry.depth()),
+                    entry.name()));
+        }
+        return sb.toString();
+    }
+
+    // The parent is the shortest span containing the given span
+    private Optional<Span> findParent(Span span) {
+        Span parent = null;
+        for (Span candidate : spans) {
+            if (candidate.contains(span) &&
+                    (parent == null || candidate.getDurationNanos() < parent.getDurationNanos())) {
+                parent = candidate;
+            }
+        }
+        return Optional.ofNullable(parent);
+    }
+
+    private static void addCriticalPath(long parentStart,
+                                        long parentEnd,
+                                        List<Span> children,
+                                        int depth,
+                                        String gapName,
+                                        Map<Span, List<Span>> childrenByParent,
+                                        List<CriticalPathEntry> result) {
+        // We walk backwards from the end, so we collect the blocks in reverse order
+        List<List<CriticalPathEntry>> blocks = new ArrayList<>();
+        long cursor = parentEnd;
+        while (true) {
+            Span last = null;
+            for (Span child : children) {
+                if (child.getStartNanos() >= parentStart && child.getEndNanos() <= cursor &&
+                        (last == null || child.getEndNanos() > last.getEndNanos())) {
+                    last = child;
+                }
+            }
+            if (last == null) {
+                break;
+            }
+            if (cursor > last.getEndNanos()) {
+                blocks.add(List.of(new CriticalPathEntry(depth, gapName, cursor - last.getEndNanos())));
+            }
+            List<CriticalPathEntry> block = new ArrayList<>();
+            block.add(new CriticalPathEntry(depth, last.getCategory() + ": " + last.getName(), last.getDurationNanos()));
+            addCriticalPath(last.getStartNanos(),
+                    last.getEndNanos(),
+                    childrenByParent.getOrDefault(last, List.of()),
+                    depth + 1,
+                    SELF,
+                    childrenByParent,
+                    block);
+            blocks.add(block);
+            cursor = last.getStartNanos();
+        }
+        if (cursor > parentStart && (depth == 0 || !blocks.isEmpty())) {
+            blocks.add(List.of(new CriticalPathEntry(depth, gapName, cursor - parentStart)));
+        }
+        Collections.reverse(blocks);
+        blocks.forEach(result::addAll);
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+}
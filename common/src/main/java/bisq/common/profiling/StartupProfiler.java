@@ -0,0 +1,159 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.profiling;
+
+import bisq.common.application.Service;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records the begin and end of the startup and shutdown phases (service initialisation, persistence reads, network
+ * bootstrap) to find out where the time goes. The recorded spans can be exported as Chrome trace / Perfetto timeline
+ * together with a critical path summary (see {@link StartupProfile}).
+ * <p>
+ * Disabled by default. If disabled, the only overhead is reading a volatile flag.
+ */
+@Slf4j
+public final class StartupProfiler {
+    private static volatile boolean enabled;
+    private static volatile Recording recording;
+    private static volatile boolean allocationTrackingSupported = true;
+
+    private StartupProfiler() {
+    }
+
+    /**
+     * Starts recording. The first recording starts at the JVM start time, so that the time before the profiler got
+     * enabled shows up in the timeline as well.
+     */
+    public static synchronized void enable() {
+        if (enabled) {
+            return;
+        }
+        long jvmUptimeNanos = TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+        recording = new Recording(Optional.of(System.nanoTime() - jvmUptimeNanos));
+        enabled = true;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static Span begin(String category, String name) {
+        if (!enabled) {
+            return Span.NO_OP;
+        }
+        return new Span(recording, category, name, System.nanoTime(), Thread.currentThread(), currentThreadAllocatedBytes());
+    }
+
+    public static void trace(String category, String name, Runnable runnable) {
+        if (!enabled) {
+            runnable.run();
+            return;
+        }
+        Span span = begin(category, name);
+        try {
+            runnable.run();
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * The span ends when the future completes, which is usually on another thread than the one it started on.
+     */
+    public static <T> CompletableFuture<T> traceAsync(String category, String name, Supplier<CompletableFuture<T>> supplier) {
+        if (!enabled) {
+            return supplier.get();
+        }
+        Span span = begin(category, name);
+        try {
+            return supplier.get().whenComplete((result, throwable) -> span.end());
+        } catch (RuntimeException e) {
+            span.end();
+            throw e;
+        }
+    }
+
+    public static CompletableFuture<Boolean> initialize(Service service) {
+        return traceAsync("Service", service.getClass().getSimpleName() + ".initialize", service::initialize);
+    }
+
+    public static CompletableFuture<Boolean> shutdown(Service service) {
+        return traceAsync("Service", service.getClass().getSimpleName() + ".shutdown", service::shutdown);
+    }
+
+    /**
+     * Returns the spans recorded so far and starts a new recording, so that for instance the shutdown can be profiled
+     * separately from the startup.
+     */
+    public static synchronized Optional<StartupProfile> takeProfile(String name) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Recording previous = recording;
+        recording = new Recording(Optional.empty());
+        List<Span> spans = new ArrayList<>(previous.spans);
+        return Optional.of(new StartupProfile(name, previous.originNanos, System.nanoTime(), spans));
+    }
+
+    static long currentThreadAllocatedBytes() {
+        if (!allocationTrackingSupported) {
+            return -1;
+        }
+        try {
+            return ThreadAllocation.currentThreadAllocatedBytes();
+        } catch (LinkageError e) {
+            // com.sun.management is not available on all platforms (e.g. Android)
+            allocationTrackingSupported = false;
+            return -1;
+        }
+    }
+
+    private static final class ThreadAllocation {
+        private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        private static long currentThreadAllocatedBytes() {
+            return THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled() ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() : -1;
+        }
+    }
+
+    static final class Recording {
+        // If empty the start of the first span is used
+        private final Optional<Long> originNanos;
+        private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+
+        private Recording(Optional<Long> originNanos) {
+            this.originNanos = originNanos;
+        }
+
+        void add(Span span) {
+            spans.add(span);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.threading;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs each task in a new virtual thread. As virtual threads are cheap there is no pool, but we limit the number of
+ * not yet completed tasks to maxNumTasks to get the same back pressure as with a bounded ThreadPoolExecutor
+ * (maxPoolSize + queueCapacity). If the limit is reached the task is rejected with a RejectedExecutionException.
+ * <p>
+ * Tasks must not block while holding a monitor (synchronized), as that pins the carrier thread. Use a
+ * ReentrantLock instead.
+ */
+@Slf4j
+public class BoundedVirtualThreadExecutor extends AbstractExecutorService {
+    private final String name;
+    @Getter
+    private final int maxNumTasks;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+
+    public BoundedVirtualThreadExecutor(String name, int maxNumTasks) {
+        this.name = name;
+        this.maxNumTasks = maxNumTasks;
+        permits = new Semaphore(maxNumTasks);
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (!permits.tryAcquire()) {
+            log.warn("Task rejected from {} with maxNumTasks {}. We throw a RejectedExecutionException", name, maxNumTasks);
+            throw new RejectedExecutionException("Task " + command.getClass().getSimpleName() + " rejected from " + name);
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getNumPendingTasks() {
+        return maxNumTasks - permits.availablePermits();
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return executor.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return executor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedVirtualThreadExecutor{name=" + name + ", pendingTasks=" + getNumPendingTasks() + "/" + maxNumTasks + "}";
+    }
+}
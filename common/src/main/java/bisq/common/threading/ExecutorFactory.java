@@ -221,6 +221,23 @@ public class ExecutorFactory {
     }
 
 
+    /* --------------------------------------------------------------------- */
+    // Virtual threads
+    /* --------------------------------------------------------------------- */
+
+    /**
+     * Creates an executor which runs each task in a new virtual thread. Used instead of the bounded pools for
+     * blocking IO tasks (e.g. reading from a socket) when we have many of those, as with seed nodes having hundreds
+     * of connections.
+     *
+     * @param name        the name prefix for the virtual threads
+     * @param maxNumTasks the max. number of submitted but not completed tasks. Further tasks get rejected.
+     */
+    public static ExecutorService newVirtualThreadExecutor(String name, int maxNumTasks) {
+        return new BoundedVirtualThreadExecutor(name, maxNumTasks);
+    }
+
+
     /* --------------------------------------------------------------------- */
     // ThreadFactory
     /* --------------------------------------------------------------------- */
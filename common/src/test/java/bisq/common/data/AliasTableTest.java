@@ -0,0 +1,77 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AliasTableTest {
+    @Test
+    void testExactDistribution() {
+        List<List<Long>> weightsList = List.of(
+                List.of(1L),
+                List.of(1L, 1L),
+                List.of(1L, 2L, 3L, 4L),
+                List.of(0L, 5L, 0L, 7L),
+                List.of(9999L, 1L),
+                List.of(3333L, 3333L, 3333L, 1L),
+                List.of(17L, 4L, 250L, 0L, 1L, 9728L));
+        for (List<Long> weights : weightsList) {
+            AliasTable aliasTable = new AliasTable(weights);
+            long sum = weights.stream().mapToLong(e -> e).sum();
+            long totalNumerator = 0;
+            for (int i = 0; i < weights.size(); i++) {
+                long numerator = aliasTable.getProbabilityNumerator(i);
+                // numerator / (size * sum) == weight / sum
+                assertEquals(weights.get(i) * weights.size(), numerator, "weights=" + weights + ", index=" + i);
+                totalNumerator += numerator;
+            }
+            assertEquals(sum * weights.size(), totalNumerator);
+        }
+    }
+
+    @Test
+    void testSampling() {
+        List<Long> weights = List.of(100L, 0L, 300L, 600L);
+        AliasTable aliasTable = new AliasTable(weights);
+        Random random = new Random(42);
+        int[] counts = new int[weights.size()];
+        int numDraws = 100_000;
+        for (int i = 0; i < numDraws; i++) {
+            counts[aliasTable.sample(random)]++;
+        }
+        assertEquals(0, counts[1]);
+        for (int i = 0; i < weights.size(); i++) {
+            double expected = numDraws * weights.get(i) / 1000d;
+            assertTrue(Math.abs(counts[i] - expected) < numDraws * 0.01, "index=" + i + ", count=" + counts[i]);
+        }
+    }
+
+    @Test
+    void testInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(List.of(0L, 0L)));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(List.of(1L, -1L)));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.data;
+
+import bisq.common.timer.MockClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExpiringDedupSetTest {
+    private MockClock clock;
+    private ExpiringDedupSet<String> set;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MockClock();
+        clock.setTime(1000);
+        set = new ExpiringDedupSet<>(clock, 3, 100);
+    }
+
+    @Test
+    void filtersDuplicates() {
+        assertTrue(set.add("a"));
+        assertFalse(set.add("a"));
+        assertTrue(set.add("b"));
+        assertEquals(Set.of("a", "b"), set.getElements());
+    }
+
+    @Test
+    void expiresAfterTimeToLive() {
+        set.add("a");
+        clock.advanceTime(50);
+        set.add("b");
+        clock.advanceTime(50);
+        assertFalse(set.contains("a"));
+        assertTrue(set.contains("b"));
+        assertTrue(set.add("a"));
+
+        // Re-adding does not refresh the insertion time
+        clock.advanceTime(49);
+        assertFalse(set.add("b"));
+        clock.advanceTime(1);
+        assertFalse(set.contains("b"));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void duplicatesAreFilteredUntilTheirTimeToLiveExpires() {
+        set.add("a");
+        set.add("b", 500);
+        clock.advanceTime(99);
+        assertFalse(set.add("a"));
+        clock.advanceTime(1);
+        // Duplicates arriving after expiry are processed again
+        assertTrue(set.add("a"));
+
+        clock.advanceTime(399);
+        assertFalse(set.add("b"));
+        clock.advanceTime(1);
+        assertTrue(set.add("b"));
+        // The re-added "a" expired as well
+        assertEquals(Set.of("b"), set.getElements());
+    }
+
+    @Test
+    void removesOldestAtMaxSizeIndependentOfTimeToLive() {
+        set.add("a", 1000);
+        set.add("b");
+        set.add("c", 1000);
+        set.add("d", 1000);
+        assertEquals(Set.of("b", "c", "d"), set.getElements());
+        clock.advanceTime(100);
+        assertEquals(Set.of("c", "d"), set.getElements());
+        assertTrue(set.add("a"));
+    }
+
+    @Test
+    void removesOldestAtMaxSize() {
+        set.add("a");
+        set.add("b");
+        set.add("c");
+        set.add("d");
+        assertEquals(Set.of("b", "c", "d"), set.getElements());
+        assertTrue(set.add("a"));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExpiryIndexTest {
+
+    @Test
+    void pollsExpiredKeysInOrder() {
+        ExpiryIndex<String> index = new ExpiryIndex<>();
+        index.put("c", 300);
+        index.put("a", 100);
+        index.put("b", 200);
+
+        assertEquals(List.of(), index.pollExpired(100, 10));
+        assertEquals(List.of("a", "b"), index.pollExpired(250, 10));
+        assertEquals(1, index.size());
+        assertEquals(List.of("c"), index.pollExpired(1000, 10));
+        assertTrue(index.pollExpired(1000, 10).isEmpty());
+    }
+
+    @Test
+    void updatedAndRemovedKeysAreSkipped() {
+        ExpiryIndex<String> index = new ExpiryIndex<>();
+        index.put("a", 100);
+        index.put("b", 100);
+        index.put("c", 100);
+        index.put("a", 500);
+        index.remove("b");
+
+        assertEquals(List.of("c"), index.pollExpired(200, 10));
+        assertEquals(Optional.of(500L), index.findExpirationDate("a"));
+
+        // Removing and adding again with the same date must not return the key twice
+        index.remove("a");
+        index.put("a", 500);
+        assertEquals(List.of("a"), index.pollExpired(1000, 10));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void pollsInBatches() {
+        ExpiryIndex<Integer> index = new ExpiryIndex<>();
+        for (int i = 0; i < 1000; i++) {
+            index.put(i, i);
+            // Outdated heap entries trigger compaction
+            index.put(i, i + 1);
+        }
+        assertEquals(List.of(0, 1, 2), index.pollExpired(10_000, 3));
+        int numPolled = 3;
+        List<Integer> batch;
+        while (!(batch = index.pollExpired(10_000, 100)).isEmpty()) {
+            numPolled += batch.size();
+        }
+        assertEquals(1000, numPolled);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.data;
+
+import bisq.common.timer.MockClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RollingCounterTest {
+    private MockClock clock;
+    private RollingCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MockClock();
+        clock.setTime(1_000_000);
+        counter = new RollingCounter(clock);
+    }
+
+    @Test
+    void sumOfLastSeconds() {
+        counter.add(10);
+        clock.advanceTime(1000);
+        counter.add(20);
+        counter.increment();
+
+        assertEquals(21, counter.getSumOfLastSeconds(1));
+        assertEquals(31, counter.getSumOfLastSeconds(2));
+
+        clock.advanceTime(59_000);
+        assertEquals(21, counter.getSumOfLastSeconds(60));
+        clock.advanceTime(1000);
+        assertEquals(0, counter.getSumOfLastSeconds(60));
+        assertEquals(31, counter.getTotal());
+    }
+
+    @Test
+    void sumOfLastMinutes() {
+        for (int minute = 0; minute < 90; minute++) {
+            counter.add(minute);
+            clock.advanceTime(60_000);
+        }
+        // Current minute is empty, the previous 4 minutes had the values 86..89
+        assertEquals(86 + 87 + 88 + 89, counter.getSumOfLastMinutes(5));
+        long sumOfLastHour = 0;
+        for (int minute = 31; minute < 90; minute++) {
+            sumOfLastHour += minute;
+        }
+        assertEquals(sumOfLastHour, counter.getSumOfLastMinutes(60));
+    }
+
+    @Test
+    void slidingSumOfLastMinutes() {
+        // Start at a full minute
+        clock.setTime(60_000_000);
+        for (int minute = 0; minute < 5; minute++) {
+            counter.add(100);
+            clock.advanceTime(60_000);
+        }
+        // The window covers the empty current minute and the 4 previous minutes fully, and the oldest minute fully
+        assertEquals(400, counter.getSumOfLastMinutes(5));
+        assertEquals(500, counter.getSlidingSumOfLastMinutes(5));
+
+        // 15 seconds later 1/4 of the oldest minute has left the window
+        clock.advanceTime(15_000);
+        assertEquals(475, counter.getSlidingSumOfLastMinutes(5));
+        clock.advanceTime(30_000);
+        assertEquals(425, counter.getSlidingSumOfLastMinutes(5));
+        clock.advanceTime(15_000);
+        assertEquals(400, counter.getSlidingSumOfLastMinutes(5));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.file;
+
+import bisq.common.observable.Observable;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResumableFileDownloadTest {
+    private static final int ARTIFACT_SIZE = 8 * 1024 * 1024;
+    private static final String ETAG = "\"v1\"";
+
+    private final byte[] artifact = new byte[ARTIFACT_SIZE];
+    private final List<String> receivedRanges = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private volatile int abortAfterBytes = -1;
+    private volatile boolean supportsRange = true;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        new Random(1).nextBytes(artifact);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/artifact", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void downloadWithoutInterruption(@TempDir Path tempDir) throws IOException {
+        Path destination = tempDir.resolve("artifact.bin");
+        Observable<Double> progress = new Observable<>(-1d);
+        ResumableFileDownload.download(getUrl(), destination, progress);
+
+        assertArrayEquals(artifact, Files.readAllBytes(destination));
+        assertEquals(1d, progress.get());
+        assertFalse(Files.exists(tempDir.resolve("artifact.bin" + ResumableFileDownload.PART_EXTENSION)));
+        assertFalse(Files.exists(tempDir.resolve("artifact.bin" + ResumableFileDownload.JOURNAL_EXTENSION)));
+        assertNull(receivedRanges.get(0));
+    }
+
+    @Test
+    void resumeInterruptedDownload(@TempDir Path tempDir) throws IOException {
+        Path destination = tempDir.resolve("artifact.bin");
+        Path partPath = tempDir.resolve("artifact.bin" + ResumableFileDownload.PART_EXTENSION);
+        abortAfterBytes = ARTIFACT_SIZE / 3;
+        assertThrows(IOException.class, () -> ResumableFileDownload.download(getUrl(), destination, new Observable<>(-1d)));
+        assertFalse(Files.exists(destination));
+        assertTrue(Files.exists(partPath));
+        long partialSize = Files.size(partPath);
+        assertTrue(partialSize > 0 && partialSize < ARTIFACT_SIZE);
+
+        abortAfterBytes = -1;
+        ResumableFileDownload.download(getUrl(), destination, new Observable<>(-1d));
+
+        assertArrayEquals(artifact, Files.readAllBytes(destination));
+        assertEquals("bytes=" + partialSize + "-", receivedRanges.get(1));
+        assertFalse(Files.exists(partPath));
+    }
+
+    @Test
+    void restartIfServerIgnoresRange(@TempDir Path tempDir) throws IOException {
+        Path destination = tempDir.resolve("artifact.bin");
+        abortAfterBytes = ARTIFACT_SIZE / 2;
+        assertThrows(IOException.class, () -> ResumableFileDownload.download(getUrl(), destination, new Observable<>(-1d)));
+
+        abortAfterBytes = -1;
+        supportsRange = false;
+        ResumableFileDownload.download(getUrl(), destination, new Observable<>(-1d));
+
+        assertArrayEquals(artifact, Files.readAllBytes(destination));
+    }
+
+    private URL getUrl() throws IOException {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/artifact").toURL();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        receivedRanges.add(range);
+        int start = 0;
+        if (supportsRange && range != null && ETAG.equals(exchange.getRequestHeaders().getFirst("If-Range"))) {
+            start = Integer.parseInt(range.substring("bytes=".length(), range.indexOf('-')));
+        }
+        int length = ARTIFACT_SIZE - start;
+        exchange.getResponseHeaders().add("ETag", ETAG);
+        if (start > 0) {
+            exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + (ARTIFACT_SIZE - 1) + "/" + ARTIFACT_SIZE);
+            exchange.sendResponseHeaders(206, length);
+        } else {
+            exchange.sendResponseHeaders(200, length);
+        }
+        OutputStream outputStream = exchange.getResponseBody();
+        if (abortAfterBytes > 0) {
+            outputStream.write(artifact, start, abortAfterBytes);
+            outputStream.flush();
+            // The server closes the connection if the handler fails before all announced bytes are sent
+            throw new IOException("Simulated connection loss");
+        }
+        outputStream.write(artifact, start, length);
+        outputStream.close();
+    }
+}
@@ -522,6 +522,60 @@ public class FsmTest {
     }
 
 
+    @Test
+    void testSharedTransitionTable() {
+        MockModel model1 = new MockModel(MockState.INIT);
+        SharedMockFsm fsm1 = new SharedMockFsm(model1);
+        MockModel model2 = new MockModel(MockState.INIT);
+        SharedMockFsm fsm2 = new SharedMockFsm(model2);
+        assertEquals(1, SharedMockFsm.numConfigTransitionsCalls);
+
+        fsm1.handle(new MockEvent1(model1, "test1"));
+        assertEquals(MockState.S1, fsm1.getModel().getState());
+        assertEquals("test1", model1.data);
+        assertEquals(MockState.INIT, fsm2.getModel().getState());
+        assertNull(model2.data);
+
+        fsm2.handle(new MockEvent2(model2, "test2"));
+        assertEquals(MockState.INIT, fsm2.getModel().getState());
+        assertEquals(1, model2.eventQueue.size());
+        fsm2.handle(new MockEvent1(model2, "test3"));
+        assertEquals(MockState.S2, fsm2.getModel().getState());
+        assertEquals("test2", model2.data);
+
+        // The shared transition table cannot be changed after construction
+        Assertions.assertThrows(FsmConfigException.class, () -> fsm1.addTransition()
+                .from(MockState.S2)
+                .on(MockEvent3.class)
+                .to(MockState.S3));
+    }
+
+    private static class SharedMockFsm extends SimpleFsm<MockModel> {
+        private static int numConfigTransitionsCalls;
+
+        private SharedMockFsm(MockModel model) {
+            super(model);
+        }
+
+        @Override
+        protected boolean isTransitionTableShared() {
+            return true;
+        }
+
+        @Override
+        protected void configTransitions() {
+            numConfigTransitionsCalls++;
+            from(MockState.INIT)
+                    .on(MockEvent1.class)
+                    .run(MockEventHandler.class)
+                    .to(MockState.S1);
+            from(MockState.S1)
+                    .on(MockEvent2.class)
+                    .run(MockEventHandler.class)
+                    .to(MockState.S2);
+        }
+    }
+
     @Getter
     public enum MockState implements State {
         INIT,
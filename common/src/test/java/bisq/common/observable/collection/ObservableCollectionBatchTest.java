@@ -0,0 +1,202 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.observable.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ObservableCollectionBatchTest {
+    @Test
+    void batchIsConfinedToThread() throws Exception {
+        ObservableSet<Integer> set = new ObservableSet<>();
+        List<ChangeSet<? extends Integer>> changeSets = new ArrayList<>();
+        set.addObserver(new RecordingObserver<>(changeSets, new ArrayList<>()));
+
+        set.beginBatch();
+        set.add(1);
+        List<Throwable> errors = new ArrayList<>();
+        Thread thread = new Thread(() -> {
+            errors.add(catchThrowable(set::beginBatch));
+            errors.add(catchThrowable(set::commit));
+            // Changes of other threads become part of the open batch
+            set.add(2);
+        });
+        thread.start();
+        thread.join();
+        assertTrue(changeSets.isEmpty());
+        set.commit();
+
+        assertEquals(2, errors.size());
+        errors.forEach(error -> assertTrue(error instanceof IllegalStateException));
+        assertEquals(1, changeSets.size());
+        assertEquals(List.of(1, 2), changeSets.getFirst().getAdded());
+    }
+
+    @Test
+    void batchNotifiesOnceWithCoalescedChanges() {
+        ObservableSet<Integer> set = new ObservableSet<>(List.of(1, 2));
+        List<ChangeSet<? extends Integer>> changeSets = new ArrayList<>();
+        List<Integer> addedPerElement = new ArrayList<>();
+        set.addObserver(new RecordingObserver<>(changeSets, addedPerElement));
+        addedPerElement.clear();
+
+        set.batch(() -> {
+            set.add(3);
+            set.add(4);
+            set.remove(4);
+            set.remove(1);
+            set.beginBatch();
+            set.add(5);
+            set.commit();
+        });
+
+        assertEquals(1, changeSets.size());
+        ChangeSet<? extends Integer> changeSet = changeSets.getFirst();
+        assertFalse(changeSet.isReset());
+        assertEquals(List.of(3, 5), changeSet.getAdded());
+        assertEquals(List.of(1), changeSet.getRemoved());
+        assertTrue(addedPerElement.isEmpty());
+        assertEquals(Set.of(2, 3, 5), set.getSet());
+
+        // Outside a batch we notify per element as before
+        set.add(6);
+        assertEquals(List.of(6), addedPerElement);
+        assertThrows(IllegalStateException.class, set::commit);
+    }
+
+    @Test
+    void clearInBatchResultsInReset() {
+        ObservableArray<String> array = new ObservableArray<>(List.of("a", "b"));
+        List<ChangeSet<? extends String>> changeSets = new ArrayList<>();
+        array.addObserver(new RecordingObserver<>(changeSets, new ArrayList<>()));
+
+        array.batch(() -> {
+            array.remove("a");
+            array.clear();
+            array.add("c");
+            array.add("d");
+            array.remove("d");
+        });
+
+        ChangeSet<? extends String> changeSet = changeSets.getFirst();
+        assertTrue(changeSet.isReset());
+        assertEquals(List.of("c"), changeSet.getAdded());
+        assertTrue(changeSet.getRemoved().isEmpty());
+    }
+
+    @Test
+    void existingObserversGetBulkCallbacks() {
+        ObservableSet<Integer> set = new ObservableSet<>();
+        List<Integer> target = new ArrayList<>();
+        set.addCollectionChangeMapper(target, e -> e % 2 == 0, e -> e, Runnable::run);
+        int[] numNotifications = new int[1];
+        set.addObserver(() -> numNotifications[0]++);
+        numNotifications[0] = 0;
+
+        set.batch(() -> {
+            for (int i = 0; i < 10; i++) {
+                set.add(i);
+            }
+            set.remove(2);
+        });
+
+        assertEquals(List.of(0, 4, 6, 8), target.stream().sorted().toList());
+        assertEquals(1, numNotifications[0]);
+    }
+
+    @Test
+    void coalescingObserverNotifiesOnExecutor() {
+        ObservableSet<Integer> set = new ObservableSet<>();
+        List<Runnable> pendingTasks = new ArrayList<>();
+        List<ChangeSet<? extends Integer>> changeSets = new ArrayList<>();
+        set.addObserver(new RecordingObserver<>(changeSets, new ArrayList<>()), pendingTasks::add);
+        List<Integer> target = new ArrayList<>();
+        set.addCoalescingCollectionChangeMapper(target, e -> true, e -> e * 10, pendingTasks::add);
+
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+        }
+        set.remove(50);
+        // Only the first change schedules a task per observer, initial updates included
+        assertEquals(2, pendingTasks.size());
+        assertTrue(target.isEmpty());
+
+        new ArrayList<>(pendingTasks).forEach(Runnable::run);
+        pendingTasks.clear();
+        assertEquals(1, changeSets.size());
+        assertEquals(99, changeSets.getFirst().getAdded().size());
+        assertEquals(99, target.size());
+        assertFalse(target.contains(500));
+
+        set.add(200);
+        assertEquals(2, pendingTasks.size());
+        new ArrayList<>(pendingTasks).forEach(Runnable::run);
+        assertTrue(target.contains(2000));
+    }
+
+    private static Throwable catchThrowable(Runnable runnable) {
+        try {
+            runnable.run();
+            return null;
+        } catch (Throwable throwable) {
+            return throwable;
+        }
+    }
+
+    private static class RecordingObserver<S> implements CollectionObserver<S> {
+        private final List<ChangeSet<? extends S>> changeSets;
+        private final List<S> addedPerElement;
+
+        private RecordingObserver(List<ChangeSet<? extends S>> changeSets, List<S> addedPerElement) {
+            this.changeSets = changeSets;
+            this.addedPerElement = addedPerElement;
+        }
+
+        @Override
+        public void onAdded(S element) {
+            addedPerElement.add(element);
+        }
+
+        @Override
+        public void onAllAdded(Collection<? extends S> values) {
+            addedPerElement.addAll(values);
+        }
+
+        @Override
+        public void onRemoved(Object element) {
+        }
+
+        @Override
+        public void onCleared() {
+        }
+
+        @Override
+        public void onChanges(ChangeSet<? extends S> changeSet) {
+            changeSets.add(changeSet);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.profiling;
+
+import bisq.common.json.JsonMapperProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static bisq.common.profiling.StartupProfile.CriticalPathEntry;
+import static bisq.common.profiling.StartupProfile.NOT_INSTRUMENTED;
+import static bisq.common.profiling.StartupProfile.SELF;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StartupProfileTest {
+
+    @Test
+    public void criticalPathFollowsSpanWhichFinishedLast() {
+        StartupProfile profile = createProfile();
+
+        List<CriticalPathEntry> expected = List.of(
+                new CriticalPathEntry(0, NOT_INSTRUMENTED, 20_000),
+                new CriticalPathEntry(0, "Service: B", 70_000),
+                new CriticalPathEntry(1, SELF, 20_000),
+                new CriticalPathEntry(1, "Store: B1", 40_000),
+                new CriticalPathEntry(1, SELF, 10_000),
+                new CriticalPathEntry(0, NOT_INSTRUMENTED, 10_000));
+        assertEquals(expected, profile.getCriticalPath());
+    }
+
+    @Test
+    public void chromeTraceContainsAllSpans() throws Exception {
+        StartupProfile profile = createProfile();
+
+        JsonNode traceEvents = JsonMapperProvider.get().readTree(profile.toChromeTraceJson()).get("traceEvents");
+        assertEquals(6, traceEvents.size());
+        JsonNode first = traceEvents.get(0);
+        assertEquals("A", first.get("name").asText());
+        assertEquals("X", first.get("ph").asText());
+        assertEquals(10, first.get("ts").asLong());
+        assertEquals("M", traceEvents.get(5).get("ph").asText());
+    }
+
+    private static StartupProfile createProfile() {
+        // A and B run in parallel, B finishes last. A2 runs in parallel to A1 inside A.
+        return new StartupProfile("test", Optional.of(0L), 100_000, List.of(
+                new Span("Service", "A", 10_000, 60_000),
+                new Span("Store", "A1", 10_000, 30_000),
+                new Span("Store", "A2", 15_000, 55_000),
+                new Span("Service", "B", 20_000, 90_000),
+                new Span("Store", "B1", 40_000, 80_000)));
+    }
+}
@@ -23,12 +23,13 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static bisq.evolution.updater.UpdaterUtils.ASC_EXTENSION;
 import static bisq.evolution.updater.UpdaterUtils.FROM_BISQ_WEBPAGE_PREFIX;
 import static bisq.evolution.updater.UpdaterUtils.FROM_RESOURCES_PREFIX;
-import static bisq.evolution.updater.UpdaterUtils.getSigningKey;
 import static bisq.evolution.updater.UpdaterUtils.getSigningKeyId;
 import static com.google.common.base.Preconditions.checkArgument;
 
@@ -40,42 +41,29 @@ public class DownloadedFilesVerification {
                               boolean ignoreSigningKeyInResourcesCheck) throws IOException {
         String signingKeyId = getSigningKeyId(dirPath);
         checkArgument(keyIds.contains(signingKeyId), "signingKeyId not matching any of the provided keys");
-        String signingKey = getSigningKey(dirPath, signingKeyId);
         Path sigFilePath = dirPath.resolve(dataFileName + ASC_EXTENSION); // E.g. Bisq-2.1.3.dmg.asc
         Path dataFilePath = dirPath.resolve(dataFileName); // E.g. Bisq2.dmg
 
         // We require that the signing key is provided on the Bisq webpage
-        checkSignatureWithKeyFromWebpage(dirPath, signingKeyId, signingKey, sigFilePath, dataFilePath);
+        String fromWebpageKeyFileName = FROM_BISQ_WEBPAGE_PREFIX + signingKeyId + ASC_EXTENSION;
+        Path fromWebpageKeyFilePath = dirPath.resolve(fromWebpageKeyFileName); // E.g. from_bisq_webpage_E222AA02.asc
+        List<Path> pubKeyFilePaths = new ArrayList<>();
+        pubKeyFilePaths.add(fromWebpageKeyFilePath);
 
         if (!ignoreSigningKeyInResourcesCheck) {
-            checkSignatureWithKeyInResources(dirPath, signingKeyId, signingKey, sigFilePath, dataFilePath);
+            String fromResourcesKeyFileName = FROM_RESOURCES_PREFIX + signingKeyId + ASC_EXTENSION;
+            Path fromResourcesKeyFilePath = dirPath.resolve(fromResourcesKeyFileName); // E.g. from_resources_E222AA02.asc
+            FileMutatorUtils.resourceToFile("keys/" + signingKeyId + ASC_EXTENSION, fromResourcesKeyFilePath); // We copy key from resources to download directory
+            pubKeyFilePaths.add(fromResourcesKeyFilePath);
         }
 
-        String signingKeyFileName = signingKeyId + ASC_EXTENSION;
         Path signingKeyFilePath = dirPath.resolve(signingKeyId + ASC_EXTENSION); // E.g. E222AA02.asc
-        checkArgument(PgPUtils.isSignatureValid(signingKeyFilePath, sigFilePath, dataFilePath), "Signature verification failed: signingKeyFileName=" + signingKeyFileName);
-        log.info("signature verification succeeded");
-    }
-
-    private static void checkSignatureWithKeyFromWebpage(Path dirPath,
-                                                         String signingKeyId,
-                                                         String signingKey,
-                                                         Path sigFilePath,
-                                                         Path dataFilePath) {
+        pubKeyFilePaths.add(signingKeyFilePath);
 
-        String signingKeyFileName = FROM_BISQ_WEBPAGE_PREFIX + signingKeyId + ASC_EXTENSION;
-        Path signingKeyFilePath = dirPath.resolve(signingKeyFileName); // E.g. from_bisq_webpage_E222AA02.asc
-        checkArgument(PgPUtils.isSignatureValid(signingKeyFilePath, sigFilePath, dataFilePath), "Signature verification failed: signingKeyFileName=" + signingKeyFileName);
-    }
-
-    private static void checkSignatureWithKeyInResources(Path dirPath,
-                                                         String signingKeyId,
-                                                         String signingKey,
-                                                         Path sigFilePath,
-                                                         Path dataFilePath) throws IOException {
-        String signingKeyFileName = FROM_RESOURCES_PREFIX + signingKeyId + ASC_EXTENSION;
-        Path signingKeyFilePath = dirPath.resolve(signingKeyFileName); // E.g. from_resources_E222AA02.asc
-        FileMutatorUtils.resourceToFile("keys/" + signingKeyId + ASC_EXTENSION, signingKeyFilePath); // We copy key from resources to download directory
-        checkArgument(PgPUtils.isSignatureValid(signingKeyFilePath, sigFilePath, dataFilePath), "Signature verification failed: signingKeyFileName=" + signingKeyFileName);
+        // The data file is read only once for the verification with all keys
+        Map<Path, Boolean> resultByPubKeyFilePath = PgPUtils.isSignatureValid(pubKeyFilePaths, sigFilePath, dataFilePath);
+        resultByPubKeyFilePath.forEach((pubKeyFilePath, isValid) ->
+                checkArgument(isValid, "Signature verification failed: signingKeyFileName=" + pubKeyFilePath.getFileName()));
+        log.info("signature verification succeeded");
     }
-}
\ No newline at end of file
+}
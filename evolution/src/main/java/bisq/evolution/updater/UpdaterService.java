@@ -27,6 +27,7 @@ import bisq.bonded_roles.security_manager.alert.AuthorizedAlertData;
 import bisq.common.application.ApplicationVersion;
 import bisq.common.application.Service;
 import bisq.common.file.FileMutatorUtils;
+import bisq.common.file.ResumableFileDownload;
 import bisq.common.observable.Observable;
 import bisq.common.observable.Pin;
 import bisq.common.observable.collection.CollectionObserver;
@@ -61,6 +62,9 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 @Slf4j
 public class UpdaterService implements Service {
+    private static final int NUM_DOWNLOAD_THREADS = 4;
+    private static final int MAX_DOWNLOAD_ATTEMPTS = 3;
+
     private final SettingsService settingsService;
     private final ReleaseNotificationsService releaseNotificationsService;
     private final AlertService alertService;
@@ -211,7 +215,8 @@ public class UpdaterService implements Service {
         FileMutatorUtils.createDirectories(destinationDirPath);
         downloadItemList.setAll(DownloadItem.createDescriptorList(version, destinationDirPath, downloadFileName, keyIds));
         if (executorService == null) {
-            executorService = ExecutorFactory.newSingleThreadExecutor("DownloadExecutor");
+            // The signature and key files are downloaded in parallel with the binary
+            executorService = ExecutorFactory.newFixedThreadPool("DownloadExecutor", NUM_DOWNLOAD_THREADS);
         }
         boolean isIgnoreSigningKeyInResourcesCheck = config.isIgnoreSigningKeyInResourcesCheck();
         return downloadAndVerify(version,
@@ -287,19 +292,33 @@ public class UpdaterService implements Service {
 
     @VisibleForTesting
     static CompletableFuture<Void> download(List<DownloadItem> downloadItemList, ExecutorService executorService) {
-        return CompletableFuture.supplyAsync(() -> {
-            for (DownloadItem downloadItem : downloadItemList) {
-                try {
-                    log.info("Download {}", downloadItem);
-                    URL url = URI.create(downloadItem.getUrlPath()).toURL();
-                    FileMutatorUtils.downloadFile(url, downloadItem.getDestinationFilePath(), downloadItem.getProgress());
-                } catch (Exception e) {
-                    e.printStackTrace();
+        CompletableFuture<?>[] futures = downloadItemList.stream()
+                .map(downloadItem -> CompletableFuture.runAsync(() -> download(downloadItem), executorService))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
+    }
+
+    private static void download(DownloadItem downloadItem) {
+        URL url;
+        try {
+            url = URI.create(downloadItem.getUrlPath()).toURL();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        // An interrupted download gets resumed at the next attempt
+        for (int attempt = 1; ; attempt++) {
+            try {
+                log.info("Download {}", downloadItem);
+                ResumableFileDownload.download(url, downloadItem.getDestinationFilePath(), downloadItem.getProgress());
+                return;
+            } catch (IOException e) {
+                if (attempt >= MAX_DOWNLOAD_ATTEMPTS) {
+                    log.error("Download of {} failed after {} attempts", downloadItem.getUrlPath(), attempt, e);
                     throw new RuntimeException(e);
                 }
+                log.warn("Download of {} failed at attempt {}. We retry.", downloadItem.getUrlPath(), attempt, e);
             }
-            return null;
-        }, executorService);
+        }
     }
 
     @VisibleForTesting
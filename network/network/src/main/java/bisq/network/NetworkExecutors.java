@@ -30,11 +30,20 @@ import static com.google.common.base.Preconditions.checkArgument;
 public class NetworkExecutors {
     @Getter
     private static ThreadPoolExecutor notifyExecutor;
+    // If set, the connection read and send executors and the node executor (inbound handshakes and outbound connect)
+    // use virtual threads instead of platform thread pools.
+    @Getter
+    private static volatile boolean useVirtualThreads;
     private static volatile boolean isInitialized;
 
     public static void initialize(int notifyExecutorMaxPoolSize) {
+        initialize(notifyExecutorMaxPoolSize, false);
+    }
+
+    public static void initialize(int notifyExecutorMaxPoolSize, boolean useVirtualThreads) {
         checkArgument(!isInitialized, "initialize must not be called twice");
         notifyExecutor = createNotifyExecutor(notifyExecutorMaxPoolSize);
+        NetworkExecutors.useVirtualThreads = useVirtualThreads;
 
         isInitialized = true;
     }
@@ -44,6 +53,7 @@ public class NetworkExecutors {
             ExecutorFactory.shutdownAndAwaitTermination(notifyExecutor);
 
             notifyExecutor = null;
+            useVirtualThreads = false;
             isInitialized = false;
         }
     }
@@ -30,6 +30,7 @@ import bisq.common.platform.MemoryReportService;
 import bisq.common.util.CompletableFutureUtils;
 import bisq.network.http.BaseHttpClient;
 import bisq.network.http.HttpClientsByTransport;
+import bisq.network.http.HttpProviderHealthService;
 import bisq.network.http.HttpRequestServiceConfig;
 import bisq.network.http.ReferenceTimeService;
 import bisq.network.identity.NetworkId;
@@ -84,6 +85,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
@@ -113,6 +115,8 @@ public class NetworkService extends RateLimitedPersistenceClient<NetworkServiceS
     private final NetworkIdService networkIdService;
     private final HttpClientsByTransport httpClientsByTransport;
     @Getter
+    private final HttpProviderHealthService httpProviderHealthService;
+    @Getter
     private final Optional<DataService> dataService;
     @Getter
     private final ServiceNodesByTransport serviceNodesByTransport;
@@ -146,6 +150,7 @@ public class NetworkService extends RateLimitedPersistenceClient<NetworkServiceS
         networkIdService = new NetworkIdService(persistenceService, keyBundleService, supportedTransportTypes, defaultPortByTransportType);
         Map<TransportType, TransportConfig> configByTransportType = config.getConfigByTransportType();
         httpClientsByTransport = new HttpClientsByTransport(configByTransportType);
+        httpProviderHealthService = new HttpProviderHealthService(persistenceService);
 
         Set<ServiceNode.SupportedService> supportedServices = config.getServiceNodeConfig().getSupportedServices();
 
@@ -171,6 +176,7 @@ public class NetworkService extends RateLimitedPersistenceClient<NetworkServiceS
                 seedAddressesByTransportFromConfig,
                 config.getInventoryServiceConfig(),
                 config.getAuthorizationServiceConfig(),
+                config.getConnectionThrottleConfig(),
                 supportedTransportTypes,
                 config.getFeatures(),
                 keyBundleService,
@@ -202,7 +208,7 @@ public class NetworkService extends RateLimitedPersistenceClient<NetworkServiceS
 
     public CompletableFuture<Boolean> initialize() {
         log.info("initialize");
-        NetworkExecutors.initialize(config.getNotifyExecutorMaxPoolSize());
+        NetworkExecutors.initialize(config.getNotifyExecutorMaxPoolSize(), config.isUseVirtualThreads());
         Connection.setExecutorMaxPoolSize(config.getConnectionExecutorMaxPoolSize());
 
         NetworkId defaultNetworkId = networkIdService.getOrCreateDefaultNetworkId();
@@ -427,6 +433,24 @@ public class NetworkService extends RateLimitedPersistenceClient<NetworkServiceS
         serviceNodesByTransport.addConfidentialMessageListener(listener);
     }
 
+    /**
+     * Only messages of the given type or its subtypes are delivered to the listener.
+     */
+    public void addConfidentialMessageListener(Class<? extends EnvelopePayloadMessage> messageType,
+                                               ConfidentialMessageService.Listener listener) {
+        serviceNodesByTransport.addConfidentialMessageListener(messageType, listener, Optional.empty());
+    }
+
+    /**
+     * Only messages of the given type or its subtypes are delivered to the listener. The listener is called on the
+     * given executor instead of the shared notify executor.
+     */
+    public void addConfidentialMessageListener(Class<? extends EnvelopePayloadMessage> messageType,
+                                               ConfidentialMessageService.Listener listener,
+                                               Executor executor) {
+        serviceNodesByTransport.addConfidentialMessageListener(messageType, listener, Optional.of(executor));
+    }
+
     public void removeConfidentialMessageListener(ConfidentialMessageService.Listener listener) {
         serviceNodesByTransport.removeConfidentialMessageListener(listener);
     }
@@ -22,6 +22,7 @@ import bisq.common.network.Address;
 import bisq.common.network.TransportConfig;
 import bisq.common.network.TransportType;
 import bisq.network.p2p.ServiceNode;
+import bisq.network.p2p.node.ConnectionThrottle;
 import bisq.network.p2p.node.Feature;
 import bisq.network.p2p.node.authorization.AuthorizationService;
 import bisq.network.p2p.node.transport.ClearNetTransportService;
@@ -49,6 +50,7 @@ public final class NetworkServiceConfig {
         ServiceNode.Config serviceNodeConfig = ServiceNode.Config.from(networkConfig.getConfig("serviceNode"));
         InventoryService.Config inventoryServiceConfig = InventoryService.Config.from(networkConfig.getConfig("inventory"));
         AuthorizationService.Config authorizationServiceConfig = AuthorizationService.Config.from(networkConfig.getConfig("authorization"));
+        ConnectionThrottle.Config connectionThrottleConfig = ConnectionThrottle.Config.from(networkConfig.getConfig("connectionThrottle"));
         Config seedConfig = networkConfig.getConfig("seedAddressByTransportType");
         // Only read seed addresses for explicitly supported address types
         Set<TransportType> supportedTransportTypes = new HashSet<>(networkConfig.getEnumList(TransportType.class, "supportedTransportTypes"));
@@ -72,12 +74,14 @@ public final class NetworkServiceConfig {
                 networkConfig.getInt("version"),
                 networkConfig.getInt("notifyExecutorMaxPoolSize"),
                 networkConfig.getInt("connectionExecutorMaxPoolSize"),
+                networkConfig.getBoolean("useVirtualThreads"),
                 supportedTransportTypes,
                 features,
                 configByTransportType,
                 serviceNodeConfig,
                 inventoryServiceConfig,
                 authorizationServiceConfig,
+                connectionThrottleConfig,
                 peerGroupManagerConfigByTransportType,
                 defaultPortByTransportType,
                 seedAddressesByTransport,
@@ -162,10 +166,12 @@ public final class NetworkServiceConfig {
     private final int version;
     private final int notifyExecutorMaxPoolSize;
     private final int connectionExecutorMaxPoolSize;
+    private final boolean useVirtualThreads;
     private final Set<TransportType> supportedTransportTypes;
     private final Set<Feature> features;
     private final InventoryService.Config inventoryServiceConfig;
     private final AuthorizationService.Config authorizationServiceConfig;
+    private final ConnectionThrottle.Config connectionThrottleConfig;
     private final Config referenceTimeService;
     private final Map<TransportType, TransportConfig> configByTransportType;
     private final ServiceNode.Config serviceNodeConfig;
@@ -178,12 +184,14 @@ public final class NetworkServiceConfig {
                                 int version,
                                 int notifyExecutorMaxPoolSize,
                                 int connectionExecutorMaxPoolSize,
+                                boolean useVirtualThreads,
                                 Set<TransportType> supportedTransportTypes,
                                 Set<Feature> features,
                                 Map<TransportType, TransportConfig> configByTransportType,
                                 ServiceNode.Config serviceNodeConfig,
                                 InventoryService.Config inventoryServiceConfig,
                                 AuthorizationService.Config authorizationServiceConfig,
+                                ConnectionThrottle.Config connectionThrottleConfig,
                                 Map<TransportType, PeerGroupManager.Config> peerGroupManagerConfigByTransport,
                                 Map<TransportType, Integer> defaultPortByTransportType,
                                 Map<TransportType, Set<Address>> seedAddressesByTransport,
@@ -193,10 +201,12 @@ public final class NetworkServiceConfig {
         this.version = version;
         this.notifyExecutorMaxPoolSize = notifyExecutorMaxPoolSize;
         this.connectionExecutorMaxPoolSize = connectionExecutorMaxPoolSize;
+        this.useVirtualThreads = useVirtualThreads;
         this.supportedTransportTypes = supportedTransportTypes;
         this.features = features;
         this.inventoryServiceConfig = inventoryServiceConfig;
         this.authorizationServiceConfig = authorizationServiceConfig;
+        this.connectionThrottleConfig = connectionThrottleConfig;
         this.referenceTimeService = referenceTimeService;
         this.configByTransportType = filterMap(supportedTransportTypes, configByTransportType);
         this.serviceNodeConfig = serviceNodeConfig;
@@ -0,0 +1,120 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.http;
+
+import bisq.common.proto.PersistableProto;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Health score of a single http provider (per base url and transport type).
+ * Latency and success rate are tracked as exponentially weighted moving averages, so that recent results dominate.
+ * After FAILURE_THRESHOLD consecutive failures the circuit opens and the provider is not used until the open
+ * duration has passed. The open duration doubles with each further failure up to MAX_OPEN_DURATION.
+ * Once the open duration has passed the circuit is half-open: the provider gets selected again and either a success
+ * closes the circuit or a failure opens it again with the increased duration.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class HttpProviderHealth implements PersistableProto {
+    static final double ALPHA = 0.3;
+    static final int FAILURE_THRESHOLD = 3;
+    static final long BASE_OPEN_DURATION = SECONDS.toMillis(30);
+    static final long MAX_OPEN_DURATION = MINUTES.toMillis(10);
+    private static final int MAX_BACKOFF_EXPONENT = 10;
+
+    private volatile double ewmaLatencyMs;
+    private volatile double successRate;
+    private volatile int numConsecutiveFailures;
+    private volatile long circuitOpenUntil;
+    private volatile long numSamples;
+
+    HttpProviderHealth() {
+        this(0, 1, 0, 0, 0);
+    }
+
+    private HttpProviderHealth(double ewmaLatencyMs,
+                               double successRate,
+                               int numConsecutiveFailures,
+                               long circuitOpenUntil,
+                               long numSamples) {
+        this.ewmaLatencyMs = ewmaLatencyMs;
+        this.successRate = successRate;
+        this.numConsecutiveFailures = numConsecutiveFailures;
+        this.circuitOpenUntil = circuitOpenUntil;
+        this.numSamples = numSamples;
+    }
+
+    @Override
+    public bisq.network.protobuf.HttpProviderHealth toProto(boolean serializeForHash) {
+        return unsafeToProto(serializeForHash);
+    }
+
+    @Override
+    public synchronized bisq.network.protobuf.HttpProviderHealth.Builder getBuilder(boolean serializeForHash) {
+        return bisq.network.protobuf.HttpProviderHealth.newBuilder()
+                .setEwmaLatencyMs(ewmaLatencyMs)
+                .setSuccessRate(successRate)
+                .setNumConsecutiveFailures(numConsecutiveFailures)
+                .setCircuitOpenUntil(circuitOpenUntil)
+                .setNumSamples(numSamples);
+    }
+
+    public static HttpProviderHealth fromProto(bisq.network.protobuf.HttpProviderHealth proto) {
+        return new HttpProviderHealth(proto.getEwmaLatencyMs(),
+                proto.getSuccessRate(),
+                proto.getNumConsecutiveFailures(),
+                proto.getCircuitOpenUntil(),
+                proto.getNumSamples());
+    }
+
+    synchronized void onSuccess(long latencyMs) {
+        ewmaLatencyMs = ewmaLatencyMs == 0 ? latencyMs : ALPHA * latencyMs + (1 - ALPHA) * ewmaLatencyMs;
+        successRate = ALPHA + (1 - ALPHA) * successRate;
+        numConsecutiveFailures = 0;
+        circuitOpenUntil = 0;
+        numSamples++;
+    }
+
+    synchronized void onFailure(long now) {
+        successRate = (1 - ALPHA) * successRate;
+        numConsecutiveFailures++;
+        numSamples++;
+        if (numConsecutiveFailures >= FAILURE_THRESHOLD) {
+            int exponent = Math.min(numConsecutiveFailures - FAILURE_THRESHOLD, MAX_BACKOFF_EXPONENT);
+            circuitOpenUntil = now + Math.min(BASE_OPEN_DURATION << exponent, MAX_OPEN_DURATION);
+        }
+    }
+
+    synchronized boolean isCircuitOpen(long now) {
+        return circuitOpenUntil > now;
+    }
+
+    synchronized boolean hasLatencySample() {
+        return ewmaLatencyMs > 0;
+    }
+
+    synchronized HttpProviderHealth copy() {
+        return new HttpProviderHealth(ewmaLatencyMs, successRate, numConsecutiveFailures, circuitOpenUntil, numSamples);
+    }
+}
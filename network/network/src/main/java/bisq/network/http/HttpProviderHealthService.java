@@ -0,0 +1,165 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.http;
+
+import bisq.common.timer.Clock;
+import bisq.common.timer.SystemClock;
+import bisq.persistence.DbSubDirectory;
+import bisq.persistence.Persistence;
+import bisq.persistence.PersistenceService;
+import bisq.persistence.RateLimitedPersistenceClient;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps track of the health of the http providers used by the HttpRequestService implementations and persists it,
+ * so that after a restart we do not start again with slow or unreliable providers.
+ * Providers are selected by weighted random sampling. The weight is successRate^2 / latency, thus fast and reliable
+ * providers are preferred but others still get some traffic, so that their score can recover.
+ * Providers without any latency sample get the average latency of the known providers as an optimistic prior.
+ */
+@Slf4j
+public class HttpProviderHealthService extends RateLimitedPersistenceClient<HttpProviderHealthStore> {
+    static final double DEFAULT_LATENCY_MS = 2000;
+    static final double MIN_LATENCY_MS = 50;
+
+    @Getter
+    private final HttpProviderHealthStore persistableStore = new HttpProviderHealthStore();
+    @Getter
+    private final Persistence<HttpProviderHealthStore> persistence;
+    private final Clock clock;
+
+    public HttpProviderHealthService(PersistenceService persistenceService) {
+        this(persistenceService, new SystemClock());
+    }
+
+    HttpProviderHealthService(PersistenceService persistenceService, Clock clock) {
+        this.clock = clock;
+        persistence = persistenceService.getOrCreatePersistence(this, DbSubDirectory.CACHE, persistableStore);
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // API
+    /* --------------------------------------------------------------------- */
+
+    public void onSuccess(HttpRequestUrlProvider provider, long latencyMs) {
+        getOrCreateHealth(provider).onSuccess(Math.max(1, latencyMs));
+        persist();
+    }
+
+    public void onFailure(HttpRequestUrlProvider provider) {
+        HttpProviderHealth health = getOrCreateHealth(provider);
+        health.onFailure(clock.now());
+        if (health.isCircuitOpen(clock.now())) {
+            log.info("Circuit for provider {} is open until {} after {} consecutive failures",
+                    provider.getBaseUrl(), health.getCircuitOpenUntil(), health.getNumConsecutiveFailures());
+        }
+        persist();
+    }
+
+    public boolean isAvailable(HttpRequestUrlProvider provider) {
+        return findHealth(provider)
+                .map(health -> !health.isCircuitOpen(clock.now()))
+                .orElse(true);
+    }
+
+    public Optional<HttpProviderHealth> findHealth(HttpRequestUrlProvider provider) {
+        return Optional.ofNullable(persistableStore.getHealthByProviderKey().get(getKey(provider)));
+    }
+
+    /**
+     * Selects a provider by weighted random sampling. Providers with an open circuit are skipped.
+     * If all candidates have an open circuit we use the one which reopens first.
+     */
+    public Optional<HttpRequestUrlProvider> selectProvider(Collection<HttpRequestUrlProvider> candidates) {
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        long now = clock.now();
+        List<HttpRequestUrlProvider> available = new ArrayList<>();
+        for (HttpRequestUrlProvider provider : candidates) {
+            if (isAvailable(provider)) {
+                available.add(provider);
+            }
+        }
+        if (available.isEmpty()) {
+            return candidates.stream()
+                    .min(Comparator.comparingLong(provider -> findHealth(provider)
+                            .map(HttpProviderHealth::getCircuitOpenUntil)
+                            .orElse(now)));
+        }
+
+        double defaultLatency = getAverageLatency();
+        double[] weights = new double[available.size()];
+        double totalWeight = 0;
+        for (int i = 0; i < available.size(); i++) {
+            weights[i] = getWeight(available.get(i), defaultLatency);
+            totalWeight += weights[i];
+        }
+
+        double random = ThreadLocalRandom.current().nextDouble() * totalWeight;
+        for (int i = 0; i < available.size(); i++) {
+            random -= weights[i];
+            if (random < 0) {
+                return Optional.of(available.get(i));
+            }
+        }
+        return Optional.of(available.get(available.size() - 1));
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    double getWeight(HttpRequestUrlProvider provider, double defaultLatency) {
+        return findHealth(provider)
+                .map(health -> {
+                    double latency = health.hasLatencySample() ? health.getEwmaLatencyMs() : defaultLatency;
+                    double successRate = health.getSuccessRate();
+                    // Keep a small weight for providers which only failed, so that they get a chance to recover.
+                    return Math.max(successRate * successRate, 0.01) / Math.max(latency, MIN_LATENCY_MS);
+                })
+                .orElse(1 / Math.max(defaultLatency, MIN_LATENCY_MS));
+    }
+
+    private double getAverageLatency() {
+        return persistableStore.getHealthByProviderKey().values().stream()
+                .filter(HttpProviderHealth::hasLatencySample)
+                .mapToDouble(HttpProviderHealth::getEwmaLatencyMs)
+                .average()
+                .orElse(DEFAULT_LATENCY_MS);
+    }
+
+    private HttpProviderHealth getOrCreateHealth(HttpRequestUrlProvider provider) {
+        return persistableStore.getHealthByProviderKey().computeIfAbsent(getKey(provider), key -> new HttpProviderHealth());
+    }
+
+    private static String getKey(HttpRequestUrlProvider provider) {
+        return provider.getTransportType().name() + " " + provider.getBaseUrl();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.http;
+
+import bisq.common.proto.ProtoResolver;
+import bisq.common.proto.UnresolvableProtobufMessageException;
+import bisq.persistence.PersistableStore;
+import com.google.protobuf.InvalidProtocolBufferException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@Slf4j
+final class HttpProviderHealthStore implements PersistableStore<HttpProviderHealthStore> {
+    @Getter(AccessLevel.PACKAGE)
+    private final Map<String, HttpProviderHealth> healthByProviderKey = new ConcurrentHashMap<>();
+
+    private HttpProviderHealthStore(Map<String, HttpProviderHealth> healthByProviderKey) {
+        this.healthByProviderKey.putAll(healthByProviderKey);
+    }
+
+    @Override
+    public bisq.network.protobuf.HttpProviderHealthStore toProto(boolean serializeForHash) {
+        return unsafeToProto(serializeForHash);
+    }
+
+    @Override
+    public bisq.network.protobuf.HttpProviderHealthStore.Builder getBuilder(boolean serializeForHash) {
+        return bisq.network.protobuf.HttpProviderHealthStore.newBuilder()
+                .putAllHealthByProviderKey(healthByProviderKey.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey,
+                                e -> e.getValue().toProto(serializeForHash))));
+    }
+
+    public static PersistableStore<?> fromProto(bisq.network.protobuf.HttpProviderHealthStore proto) {
+        var healthByProviderKey = proto.getHealthByProviderKeyMap().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        e -> HttpProviderHealth.fromProto(e.getValue())));
+        return new HttpProviderHealthStore(healthByProviderKey);
+    }
+
+    @Override
+    public ProtoResolver<PersistableStore<?>> getResolver() {
+        return any -> {
+            try {
+                return fromProto(any.unpack(bisq.network.protobuf.HttpProviderHealthStore.class));
+            } catch (InvalidProtocolBufferException e) {
+                throw new UnresolvableProtobufMessageException(e);
+            }
+        };
+    }
+
+    @Override
+    public void applyPersisted(HttpProviderHealthStore persisted) {
+        healthByProviderKey.clear();
+        healthByProviderKey.putAll(persisted.getHealthByProviderKey());
+    }
+
+    @Override
+    public HttpProviderHealthStore getClone() {
+        return new HttpProviderHealthStore(healthByProviderKey.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().copy())));
+    }
+}
@@ -23,7 +23,6 @@ import bisq.common.data.Pair;
 import bisq.common.network.TransportType;
 import bisq.common.observable.Observable;
 import bisq.common.threading.ExecutorFactory;
-import bisq.common.util.CollectionUtil;
 import bisq.common.util.ExceptionUtil;
 import bisq.i18n.Res;
 import bisq.network.NetworkService;
@@ -32,6 +31,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -39,7 +40,9 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -61,6 +64,7 @@ public abstract class HttpRequestService<T, R> implements Service {
     protected final HttpRequestServiceConfig conf;
     protected final NetworkService networkService;
     protected final String userAgent;
+    protected final HttpProviderHealthService providerHealthService;
 
     @Getter
     protected final Observable<HttpRequestUrlProvider> selectedProvider = new Observable<>();
@@ -82,6 +86,7 @@ public abstract class HttpRequestService<T, R> implements Service {
         this.conf = conf;
         this.networkService = networkService;
         this.executorService = executorService;
+        providerHealthService = networkService.getHttpProviderHealthService();
 
         userAgent = "bisq-v2/" + ApplicationVersion.getVersion().toString();
 
@@ -179,43 +184,26 @@ public abstract class HttpRequestService<T, R> implements Service {
 
                         httpClient = Optional.of(client);
 
-                        long requestedAt = System.currentTimeMillis();
-                        String param = getParam(providerForThisRequest, request);
                         try {
-                            log.info("Start Http request to {}", client.getBaseUrl() + "/" + param);
-
-                            String json = client.get(param, Optional.of(new Pair<>("User-Agent", userAgent)));
-
-                            long receivedAt = System.currentTimeMillis();
-                            String sinceLastResponse = timeSinceLastResponse == 0 ? "" : "Time since last response: " + (receivedAt - timeSinceLastResponse) / 1000 + " sec";
-                            log.info("Received response from {} after {} ms. {}",
-                                    client.getBaseUrl(), receivedAt - requestedAt, sinceLastResponse);
-                            timeSinceLastResponse = receivedAt;
-
-                            R result = parseResult(json);
-
-                            mostRecentProvider = Optional.of(providerForThisRequest);
+                            R result = fetch(client, providerForThisRequest, request);
 
+                            // After a success we select again from all healthy providers, so that the health
+                            // weights apply and not just a rotation over all candidates.
+                            candidates.clear();
                             selectedProvider.set(selectNextProvider());
-                            shutdownHttpClient(client);
                             return result;
                         } catch (Exception e) {
-                            shutdownHttpClient(client);
                             if (shutdownStarted) {
                                 throw new RuntimeException("Shutdown has already started");
                             }
 
                             Throwable rootCause = ExceptionUtil.getRootCause(e);
                             log.warn("Encountered exception during HTTP request to provider {}", providerForThisRequest.getBaseUrl(), rootCause);
-                            if (rootCause instanceof HttpException httpException) {
-                                int responseCode = httpException.getResponseCode();
+                            if (!isProviderFailure(rootCause)) {
                                 // If not server error we pass the error to the client
-                                // 408 (Request Timeout) and 429 (Too Many Requests) are usually transient
-                                // and should rotate to another provider.
-                                if (responseCode < 500 && responseCode != 408 && responseCode != 429) {
-                                    throw new CompletionException(e);
-                                }
+                                throw new CompletionException(e);
                             }
+                            providerHealthService.onFailure(providerForThisRequest);
 
                             boolean shouldRetry = shouldRetry(recursionDepth, providerForThisRequest, true);
                             if (shouldRetry) {
@@ -230,6 +218,7 @@ public abstract class HttpRequestService<T, R> implements Service {
                         if (ExceptionUtil.getRootCause(throwable) instanceof TimeoutException) {
                             log.warn("Request to provider {} timed out after {} seconds",
                                     providerForThisRequest.getBaseUrl(), conf.getTimeoutInSeconds());
+                            providerHealthService.onFailure(providerForThisRequest);
                             boolean shouldRetry = shouldRetry(recursionDepth, providerForThisRequest, true);
                             Exception exception = shouldRetry
                                     ? new ProviderFailoverException("Timeout. Retrying with next provider " + selectedProvider.get().getBaseUrl(), recursionDepth)
@@ -244,6 +233,141 @@ public abstract class HttpRequestService<T, R> implements Service {
         }
     }
 
+    /**
+     * Sends the request to the selected provider and after hedgeDelayMs without a response a second request to
+     * another provider, selected by its health score. If the first request fails before, the second request is sent
+     * immediately. The first successful response is used. This reduces tail latency at the cost of extra requests, so
+     * it should be used only for latency-sensitive requests.
+     * If both requests fail we fall back to the regular request with provider failover.
+     * The executorService needs to support at least 2 concurrent tasks.
+     */
+    public CompletableFuture<R> requestHedged(T requestData, long hedgeDelayMs) {
+        if (noProviderAvailable || shutdownStarted || numTotalCandidates < 2) {
+            return request(requestData);
+        }
+
+        HttpRequestUrlProvider primaryProvider = checkNotNull(selectedProvider.get(), "Selected provider must not be null.");
+        CompletableFuture<R> resultFuture = new CompletableFuture<>();
+        // One slot for the primary and one for the hedged request. If the hedged request is not sent, its slot is released.
+        AtomicInteger numPending = new AtomicInteger(2);
+        Runnable onAttemptFailed = () -> {
+            if (numPending.decrementAndGet() == 0 && !resultFuture.isDone()) {
+                log.info("Primary and hedged request failed. We fall back to request with provider failover.");
+                request(requestData).whenComplete((result, throwable) -> {
+                    if (throwable == null) {
+                        resultFuture.complete(result);
+                    } else {
+                        resultFuture.completeExceptionally(throwable);
+                    }
+                });
+            }
+        };
+
+        AtomicBoolean hedgedRequestSent = new AtomicBoolean();
+        Runnable sendHedgedRequest = () -> {
+            if (!hedgedRequestSent.compareAndSet(false, true)) {
+                return;
+            }
+            if (resultFuture.isDone() || shutdownStarted) {
+                onAttemptFailed.run();
+                return;
+            }
+            List<HttpRequestUrlProvider> others = new ArrayList<>(providersFromConfig);
+            others.addAll(fallbackProviders);
+            others.remove(primaryProvider);
+            providerHealthService.selectProvider(others)
+                    .filter(providerHealthService::isAvailable)
+                    .ifPresentOrElse(hedgeProvider -> {
+                                log.info("No successful response from {} yet. We send a hedged request to {}",
+                                        primaryProvider.getBaseUrl(), hedgeProvider.getBaseUrl());
+                                requestOnce(hedgeProvider, requestData).whenComplete((result, throwable) -> {
+                                    if (throwable == null) {
+                                        resultFuture.complete(result);
+                                    } else {
+                                        onAttemptFailed.run();
+                                    }
+                                });
+                            },
+                            onAttemptFailed);
+        };
+
+        requestOnce(primaryProvider, requestData).whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                resultFuture.complete(result);
+            } else {
+                onAttemptFailed.run();
+                sendHedgedRequest.run();
+            }
+        });
+        CompletableFuture.delayedExecutor(hedgeDelayMs, TimeUnit.MILLISECONDS).execute(sendHedgedRequest);
+        return resultFuture;
+    }
+
+    /**
+     * Single request to the given provider without failover. Used for hedged requests.
+     */
+    private CompletableFuture<R> requestOnce(HttpRequestUrlProvider provider, T request) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                        BaseHttpClient client = networkService.getHttpClient(provider.getBaseUrl(), userAgent, provider.getTransportType());
+                        try {
+                            return fetch(client, provider, request);
+                        } catch (Exception e) {
+                            Throwable rootCause = ExceptionUtil.getRootCause(e);
+                            log.warn("Encountered exception during HTTP request to provider {}", provider.getBaseUrl(), rootCause);
+                            if (!shutdownStarted && isProviderFailure(rootCause)) {
+                                providerHealthService.onFailure(provider);
+                            }
+                            throw new CompletionException(e);
+                        }
+                    }, executorService)
+                    .orTimeout(conf.getTimeoutInSeconds(), SECONDS)
+                    .whenComplete((result, throwable) -> {
+                        if (throwable != null && ExceptionUtil.getRootCause(throwable) instanceof TimeoutException) {
+                            log.warn("Request to provider {} timed out after {} seconds",
+                                    provider.getBaseUrl(), conf.getTimeoutInSeconds());
+                            providerHealthService.onFailure(provider);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private R fetch(BaseHttpClient client, HttpRequestUrlProvider provider, T request) throws Exception {
+        try {
+            long requestedAt = System.currentTimeMillis();
+            String param = getParam(provider, request);
+            log.info("Start Http request to {}", client.getBaseUrl() + "/" + param);
+
+            String json = client.get(param, Optional.of(new Pair<>("User-Agent", userAgent)));
+
+            long receivedAt = System.currentTimeMillis();
+            String sinceLastResponse = timeSinceLastResponse == 0 ? "" : "Time since last response: " + (receivedAt - timeSinceLastResponse) / 1000 + " sec";
+            log.info("Received response from {} after {} ms. {}",
+                    client.getBaseUrl(), receivedAt - requestedAt, sinceLastResponse);
+            timeSinceLastResponse = receivedAt;
+
+            R result = parseResult(json);
+
+            providerHealthService.onSuccess(provider, receivedAt - requestedAt);
+            mostRecentProvider = Optional.of(provider);
+            return result;
+        } finally {
+            shutdownHttpClient(client);
+        }
+    }
+
+    // 408 (Request Timeout) and 429 (Too Many Requests) are usually transient and should rotate to another provider.
+    // Other client errors are passed to the caller and do not affect the provider health.
+    private static boolean isProviderFailure(Throwable rootCause) {
+        if (rootCause instanceof HttpException httpException) {
+            int responseCode = httpException.getResponseCode();
+            return responseCode >= 500 || responseCode == 408 || responseCode == 429;
+        }
+        return true;
+    }
+
     private boolean shouldRetry(AtomicInteger recursionDepth,
                                 HttpRequestUrlProvider providerForThisRequest,
                                 boolean addToFailed) {
@@ -267,8 +391,8 @@ public abstract class HttpRequestService<T, R> implements Service {
         if (candidates.isEmpty()) {
             fillCandidates(0);
         }
-        // Guard against null return from getRandomElement (can happen if candidates is empty)
-        HttpRequestUrlProvider selected = CollectionUtil.getRandomElement(candidates);
+        // Guard against null return (can happen if candidates is empty)
+        HttpRequestUrlProvider selected = providerHealthService.selectProvider(candidates).orElse(null);
         if (selected == null) {
             log.error("No provider available - candidates list is empty after fillCandidates");
             // Return first available provider from config as fallback
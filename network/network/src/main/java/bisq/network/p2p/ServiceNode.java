@@ -22,6 +22,7 @@ import bisq.common.network.Address;
 import bisq.common.network.TransportType;
 import bisq.common.observable.Observable;
 import bisq.common.platform.MemoryReportService;
+import bisq.common.profiling.StartupProfiler;
 import bisq.common.threading.ExecutorFactory;
 import bisq.network.NetworkExecutors;
 import bisq.network.identity.NetworkId;
@@ -31,9 +32,12 @@ import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Node;
 import bisq.network.p2p.node.NodesById;
 import bisq.network.p2p.node.authorization.AuthorizationService;
+import bisq.network.p2p.node.envelope.DuplicateDataRequestFilter;
 import bisq.network.p2p.node.network_load.NetworkLoadService;
 import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
+import bisq.network.p2p.node.network_load.NetworkTrafficAggregator;
 import bisq.network.p2p.node.transport.TransportService;
+import bisq.network.p2p.services.confidential.ConfidentialMessageRouter;
 import bisq.network.p2p.services.confidential.ConfidentialMessageService;
 import bisq.network.p2p.services.confidential.SendConfidentialMessageResult;
 import bisq.network.p2p.services.confidential.ack.MessageDeliveryStatusService;
@@ -61,6 +65,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
@@ -122,6 +127,8 @@ public class ServiceNode implements Node.Listener {
     private final TransportType transportType;
     private final MemoryReportService memoryReportService;
     private final NetworkLoadSnapshot networkLoadSnapshot;
+    private final NetworkTrafficAggregator networkTrafficAggregator;
+    private final DuplicateDataRequestFilter duplicateDataRequestFilter;
 
     @Getter
     private final NodesById nodesById;
@@ -147,7 +154,7 @@ public class ServiceNode implements Node.Listener {
     private Optional<NetworkLoadService> networkLoadService = Optional.empty();
 
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
-    private final Set<ConfidentialMessageService.Listener> confidentialMessageListeners = new CopyOnWriteArraySet<>();
+    private final ConfidentialMessageRouter confidentialMessageRouter = new ConfidentialMessageRouter();
 
     @Getter
     public final Observable<State> state = new Observable<>(State.NEW);
@@ -177,9 +184,11 @@ public class ServiceNode implements Node.Listener {
         this.memoryReportService = memoryReportService;
 
         this.networkLoadSnapshot = new NetworkLoadSnapshot();
+        networkTrafficAggregator = new NetworkTrafficAggregator();
 
         transportService = TransportService.create(transportType, nodeConfig.getTransportConfig());
-        nodesById = new NodesById(banList, nodeConfig, keyBundleService, transportService, networkLoadSnapshot, authorizationService);
+        duplicateDataRequestFilter = new DuplicateDataRequestFilter();
+        nodesById = new NodesById(banList, nodeConfig, keyBundleService, transportService, networkLoadSnapshot, networkTrafficAggregator, duplicateDataRequestFilter, authorizationService);
         peerGroupService = new PeerGroupService(persistenceService, transportType, peerGroupManagerConfig.getPeerGroupConfig(), seedNodeAddresses, banList);
 
         nodesById.addNodeListener(this);
@@ -192,12 +201,16 @@ public class ServiceNode implements Node.Listener {
 
     @Override
     public void onMessage(EnvelopePayloadMessage envelopePayloadMessage, Connection connection, NetworkId networkId) {
-        confidentialMessageListeners.forEach(listener -> {
-            try {
-                listener.onMessage(envelopePayloadMessage);
-            } catch (Exception e) {
-                log.error("Calling onMessage at messageListener {} failed", listener, e);
-            }
+        confidentialMessageRouter.getRoutes(envelopePayloadMessage.getClass()).forEach(route -> {
+            ConfidentialMessageService.Listener listener = route.getListener();
+            Runnable task = () -> {
+                try {
+                    listener.onMessage(envelopePayloadMessage);
+                } catch (Exception e) {
+                    log.error("Calling onMessage at messageListener {} failed", listener, e);
+                }
+            };
+            route.getExecutor().ifPresentOrElse(executor -> executor.execute(task), task);
         });
     }
 
@@ -228,7 +241,7 @@ public class ServiceNode implements Node.Listener {
                 supportedServices.contains(SupportedService.DATA);
 
         dataNetworkService = dataServiceEnabled ?
-                Optional.of(new DataNetworkService(defaultNode, dataService.orElseThrow())) :
+                Optional.of(new DataNetworkService(defaultNode, dataService.orElseThrow(), duplicateDataRequestFilter)) :
                 Optional.empty();
 
         inventoryService = dataServiceEnabled ?
@@ -236,6 +249,7 @@ public class ServiceNode implements Node.Listener {
                         defaultNode,
                         peerGroupManager.orElseThrow(),
                         dataService.orElseThrow(),
+                        duplicateDataRequestFilter,
                         nodeConfig.getFeatures())) :
                 Optional.empty();
 
@@ -265,16 +279,17 @@ public class ServiceNode implements Node.Listener {
                 Optional.of(new NetworkLoadService(this,
                         dataService.orElseThrow().getStorageService(),
                         networkLoadSnapshot,
+                        networkTrafficAggregator,
                         peerGroupManagerConfig.getPeerGroupConfig().getMaxNumConnectedPeers())) :
                 Optional.empty();
 
         ExecutorService executor = ExecutorFactory.newSingleThreadExecutor(transportType + "-DefaultNode.initialize");
         return supplyAsync(() -> {
             setState(State.INITIALIZING);
-            transportService.initialize();// blocking
-            defaultNode.initializeAsync().join();// blocking
+            StartupProfiler.trace("Network", transportType + " transportService.initialize", transportService::initialize);// blocking
+            StartupProfiler.trace("Network", transportType + " defaultNode.initialize", () -> defaultNode.initializeAsync().join());// blocking
             peerGroupManager.ifPresentOrElse(peerGroupManager -> {
-                        peerGroupManager.initialize();// blocking
+                        StartupProfiler.trace("Network", transportType + " peerGroupManager.initialize", peerGroupManager::initialize);// blocking
                         setState(State.INITIALIZED);
                     },
                     () -> setState(State.INITIALIZED));
@@ -347,12 +362,20 @@ public class ServiceNode implements Node.Listener {
     }
 
     void addConfidentialMessageListener(ConfidentialMessageService.Listener listener) {
-        confidentialMessageListeners.add(listener);
-        confidentialMessageService.ifPresent(service -> service.addListener(listener));
+        addConfidentialMessageListener(EnvelopePayloadMessage.class, listener, Optional.empty());
+    }
+
+    void addConfidentialMessageListener(Class<? extends EnvelopePayloadMessage> messageType,
+                                        ConfidentialMessageService.Listener listener,
+                                        Optional<Executor> executor) {
+        confidentialMessageRouter.addRoute(messageType, listener, executor);
+        confidentialMessageService.ifPresent(service -> executor.ifPresentOrElse(
+                e -> service.addListener(messageType, listener, e),
+                () -> service.addListener(messageType, listener)));
     }
 
     void removeConfidentialMessageListener(ConfidentialMessageService.Listener listener) {
-        confidentialMessageListeners.remove(listener);
+        confidentialMessageRouter.removeRoutes(listener);
         confidentialMessageService.ifPresent(service -> service.removeListener(listener));
     }
 
@@ -29,6 +29,7 @@ import bisq.common.util.CompletableFutureUtils;
 import bisq.network.SendMessageResult;
 import bisq.network.identity.NetworkId;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.node.ConnectionThrottle;
 import bisq.network.p2p.node.Feature;
 import bisq.network.p2p.node.Node;
 import bisq.network.p2p.node.authorization.AuthorizationService;
@@ -58,6 +59,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -80,6 +82,7 @@ public class ServiceNodesByTransport {
                                    Map<TransportType, Set<Address>> seedAddressesByTransport,
                                    InventoryService.Config inventoryServiceConfig,
                                    AuthorizationService.Config authorizationServiceConfig,
+                                   ConnectionThrottle.Config connectionThrottleConfig,
                                    Set<TransportType> supportedTransportTypes,
                                    Set<Feature> features,
                                    KeyBundleService keyBundleService,
@@ -107,7 +110,8 @@ public class ServiceNodesByTransport {
                     transportConfig.getSocketTimeout(),
                     transportConfig.getSendMessageThrottleTime(),
                     transportConfig.getReceiveMessageThrottleTime(),
-                    maxNumConnectedPeers);
+                    maxNumConnectedPeers,
+                    connectionThrottleConfig);
             Set<Address> seedAddresses = seedAddressesByTransport.get(transportType);
             checkNotNull(seedAddresses, "Seed nodes must be setup for %s", transportType);
             PeerGroupManager.Config peerGroupManagerConfig = peerGroupManagerConfigByTransport.get(transportType);
@@ -229,6 +233,12 @@ public class ServiceNodesByTransport {
         map.values().forEach(serviceNode -> serviceNode.addConfidentialMessageListener(listener));
     }
 
+    public void addConfidentialMessageListener(Class<? extends EnvelopePayloadMessage> messageType,
+                                               ConfidentialMessageService.Listener listener,
+                                               Optional<Executor> executor) {
+        map.values().forEach(serviceNode -> serviceNode.addConfidentialMessageListener(messageType, listener, executor));
+    }
+
     public void removeConfidentialMessageListener(ConfidentialMessageService.Listener listener) {
         map.values().forEach(serviceNode -> serviceNode.removeConfidentialMessageListener(listener));
     }
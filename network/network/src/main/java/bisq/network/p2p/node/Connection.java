@@ -33,9 +33,13 @@ import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.message.NetworkEnvelope;
 import bisq.network.p2p.node.authorization.AuthorizationService;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.node.envelope.DuplicateDataRequestFilter;
+import bisq.network.p2p.node.envelope.NetworkEnvelopeFrame;
 import bisq.network.p2p.node.envelope.NetworkEnvelopeSocket;
 import bisq.network.p2p.node.network_load.ConnectionMetrics;
 import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
+import bisq.network.p2p.node.network_load.NetworkTrafficAggregator;
+import bisq.network.p2p.node.network_load.TrafficClass;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
@@ -45,16 +49,25 @@ import javax.annotation.Nullable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
 
 
@@ -109,6 +122,8 @@ public abstract class Connection {
 
     private NetworkEnvelopeSocket networkEnvelopeSocket;
     private final ConnectionThrottle connectionThrottle;
+    private final NetworkTrafficAggregator networkTrafficAggregator;
+    private final DuplicateDataRequestFilter duplicateDataRequestFilter;
     private final Handler handler;
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
     @Nullable
@@ -116,11 +131,21 @@ public abstract class Connection {
     // We use counter value 0 in the handshake, thus we start here with 1 as it's not the first message
     @Getter(AccessLevel.PACKAGE)
     private final AtomicInteger sentMessageCounter = new AtomicInteger(1);
-    private final Object writeLock = new Object();
+    // We use a ReentrantLock instead of synchronized as we block on the socket write while holding the lock,
+    // which would pin the carrier thread if we run on virtual threads.
+    private final ReentrantLock writeLock = new ReentrantLock();
     private volatile boolean shutdownStarted;
     private volatile boolean listeningStopped;
-    private final ThreadPoolExecutor readExecutor;
-    private final ThreadPoolExecutor sendExecutor;
+    private final ExecutorService readExecutor;
+    private final ExecutorService sendExecutor;
+    // Messages waiting for the ConnectionThrottle in FIFO order per traffic class
+    private final Map<TrafficClass, Deque<ThrottledSend>> throttledSendsByTrafficClass = new EnumMap<>(TrafficClass.class);
+    // Traffic classes with a scheduled or running send of a throttled message. Guarded by throttledSendsByTrafficClass.
+    private final Set<TrafficClass> sendingThrottledTrafficClasses = EnumSet.noneOf(TrafficClass.class);
+
+    private record ThrottledSend(EnvelopePayloadMessage envelopePayloadMessage,
+                                 CompletableFuture<Connection> future) {
+    }
 
     protected Connection(AuthorizationService authorizationService,
                          String connectionId,
@@ -128,6 +153,8 @@ public abstract class Connection {
                          Capability peersCapability,
                          NetworkLoadSnapshot peersNetworkLoadSnapshot,
                          ConnectionMetrics connectionMetrics,
+                         NetworkTrafficAggregator networkTrafficAggregator,
+                         DuplicateDataRequestFilter duplicateDataRequestFilter,
                          ConnectionThrottle connectionThrottle,
                          Handler handler,
                          BiConsumer<Connection, Exception> errorHandler) {
@@ -138,6 +165,8 @@ public abstract class Connection {
         this.connectionThrottle = connectionThrottle;
         this.handler = handler;
         this.connectionMetrics = connectionMetrics;
+        this.networkTrafficAggregator = networkTrafficAggregator;
+        this.duplicateDataRequestFilter = duplicateDataRequestFilter;
         requestResponseManager = new RequestResponseManager(connectionMetrics);
 
         readExecutor = createReadExecutor();
@@ -162,16 +191,16 @@ public abstract class Connection {
                         } else {
                             log.debug("Wait for new message from {}", getPeerAddress());
                         }
-                        var proto = networkEnvelopeSocket.receiveNextEnvelope();
+                        NetworkEnvelopeFrame frame = networkEnvelopeSocket.receiveNextFrame();
                         readTs = System.currentTimeMillis();
-                        if (proto == null) {
-                            log.info("Proto from networkEnvelopeSocket.receiveNextEnvelope() is null. " +
+                        if (frame == null) {
+                            log.info("Frame from networkEnvelopeSocket.receiveNextFrame() is null. " +
                                     "This is expected if the input stream has reached EOF. We shut down the connection.");
                             shutdown(CloseReason.EXCEPTION.exception(new EOFException("Input stream reached EOF")));
                             return;
                         }
 
-                        // receiveNextEnvelope might need some time wo we check again if connection is still active
+                        // receiveNextFrame might need some time wo we check again if connection is still active
                         if (!isInputStreamActive()) {
                             return;
                         }
@@ -182,12 +211,22 @@ public abstract class Connection {
                             return;
                         }
                         long ts = System.currentTimeMillis();
-                        NetworkEnvelope networkEnvelope = NetworkEnvelope.fromProto(proto);
+                        // We drop DataRequests we have already processed before we materialize the object graph,
+                        // which is the expensive part (e.g. decoding of the public keys).
+                        if (duplicateDataRequestFilter.isDuplicate(frame)) {
+                            long peekTime = System.currentTimeMillis() - ts;
+                            connectionMetrics.onReceivedDuplicate(frame.getSerializedSize(), peekTime);
+                            networkTrafficAggregator.onReceivedDuplicate(frame.getSerializedSize(), peekTime);
+                            log.debug("Dropped duplicate DataRequest of {} bytes at: {}", frame.getSerializedSize(), this);
+                            continue;
+                        }
+                        NetworkEnvelope networkEnvelope = NetworkEnvelope.fromProto(frame.parse());
                         long deserializeTime = System.currentTimeMillis() - ts;
                         networkEnvelope.verifyVersion();
                         connectionMetrics.onReceived(networkEnvelope, deserializeTime);
 
                         EnvelopePayloadMessage envelopePayloadMessage = networkEnvelope.getEnvelopePayloadMessage();
+                        networkTrafficAggregator.onReceived(envelopePayloadMessage, frame.getSerializedSize(), deserializeTime);
                         log.debug("Received message: {} at: {}",
                                 StringUtils.truncate(envelopePayloadMessage.toString(), 200), this);
                         requestResponseManager.onReceived(envelopePayloadMessage);
@@ -271,13 +310,81 @@ public abstract class Connection {
     /* --------------------------------------------------------------------- */
 
     CompletableFuture<Connection> sendAsync(EnvelopePayloadMessage envelopePayloadMessage) {
-        try {
-            return CompletableFuture.supplyAsync(() -> {
+        TrafficClass trafficClass = TrafficClass.from(envelopePayloadMessage);
+        synchronized (throttledSendsByTrafficClass) {
+            Deque<ThrottledSend> throttledSends = throttledSendsByTrafficClass.computeIfAbsent(trafficClass, key -> new ArrayDeque<>());
+            // If messages of that traffic class are waiting, we queue as well to keep the order
+            if (sendingThrottledTrafficClasses.contains(trafficClass) || connectionThrottle.getSendDelay(trafficClass) > 0) {
+                if (throttledSends.size() >= connectionThrottle.getMaxNumThrottledSends()) {
+                    log.warn("Number of throttled {} messages exceeds the limit of {}. We reject sending {} at {}",
+                            trafficClass, connectionThrottle.getMaxNumThrottledSends(),
+                            envelopePayloadMessage.getClass().getSimpleName(), this);
+                    return CompletableFuture.failedFuture(new ConnectionException("Too many throttled " + trafficClass + " messages"));
+                }
+                ThrottledSend throttledSend = new ThrottledSend(envelopePayloadMessage, new CompletableFuture<>());
+                throttledSends.add(throttledSend);
+                if (sendingThrottledTrafficClasses.add(trafficClass)) {
+                    scheduleThrottledSend(trafficClass, connectionThrottle.getSendDelay(trafficClass));
+                }
+                return throttledSend.future();
+            }
+        }
+        return doSendAsync(envelopePayloadMessage, trafficClass);
+    }
+
+    private void scheduleThrottledSend(TrafficClass trafficClass, long delay) {
+        // We do not block a thread while throttled but schedule the next send after the delay. There is at most one
+        // scheduled send per traffic class.
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                .execute(() -> sendNextThrottledMessage(trafficClass));
+    }
+
+    private void sendNextThrottledMessage(TrafficClass trafficClass) {
+        ThrottledSend throttledSend;
+        synchronized (throttledSendsByTrafficClass) {
+            Deque<ThrottledSend> throttledSends = throttledSendsByTrafficClass.get(trafficClass);
+            if (throttledSends.isEmpty() || isStopped()) {
+                sendingThrottledTrafficClasses.remove(trafficClass);
                 if (isStopped()) {
-                    throw new ConnectionClosedException(this);
+                    failThrottledSends();
                 }
+                return;
+            }
+            // As other messages might have consumed tokens in the meantime we check again
+            long delay = connectionThrottle.getSendDelay(trafficClass);
+            if (delay > 0) {
+                scheduleThrottledSend(trafficClass, delay);
+                return;
+            }
+            throttledSend = throttledSends.poll();
+        }
+        // The throttle gets updated once the message is sent, so we wait for it before we send the next one
+        doSendAsync(throttledSend.envelopePayloadMessage(), trafficClass)
+                .whenComplete((connection, throwable) -> {
+                    if (throwable == null) {
+                        throttledSend.future().complete(connection);
+                    } else {
+                        throttledSend.future().completeExceptionally(throwable);
+                    }
+                    sendNextThrottledMessage(trafficClass);
+                });
+    }
+
+    private void failThrottledSends() {
+        List<ThrottledSend> failed = new ArrayList<>();
+        synchronized (throttledSendsByTrafficClass) {
+            throttledSendsByTrafficClass.values().forEach(throttledSends -> {
+                failed.addAll(throttledSends);
+                throttledSends.clear();
+            });
+        }
+        failed.forEach(throttledSend -> throttledSend.future().completeExceptionally(new ConnectionClosedException(this)));
+    }
 
-                connectionThrottle.throttleSendMessage();
+    private CompletableFuture<Connection> doSendAsync(EnvelopePayloadMessage envelopePayloadMessage,
+                                                      TrafficClass trafficClass) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
                 if (isStopped()) {
                     throw new ConnectionClosedException(this);
                 }
@@ -286,14 +393,20 @@ public abstract class Connection {
                     NetworkEnvelope networkEnvelope;
                     // We want to keep the creation of the AuthorizationToken and the sending synchronized to avoid
                     // out of order issues with sentMessageCounter.
-                    synchronized (writeLock) {
+                    writeLock.lock();
+                    try {
                         AuthorizationToken authorizationToken = createAuthorizationToken(envelopePayloadMessage);
                         networkEnvelope = createNetworkEnvelope(envelopePayloadMessage, authorizationToken);
                         long ts = System.currentTimeMillis();
                         networkEnvelopeSocket.send(networkEnvelope);
                         spentTime = System.currentTimeMillis() - ts;
+                    } finally {
+                        writeLock.unlock();
                     }
                     connectionMetrics.onSent(networkEnvelope, spentTime);
+                    int serializedSize = networkEnvelope.getSerializedSize();
+                    networkTrafficAggregator.onSent(envelopePayloadMessage, serializedSize, spentTime);
+                    connectionThrottle.onMessageSent(trafficClass, serializedSize, connectionMetrics);
                     requestResponseManager.onSent(envelopePayloadMessage);
                     if (envelopePayloadMessage instanceof CloseConnectionMessage) {
                         log.info("Sent {} from {}", StringUtils.truncate(envelopePayloadMessage.toString(), 300), this);
@@ -363,6 +476,7 @@ public abstract class Connection {
         handler.handleConnectionClosed(this, closeReason);
         listeners.forEach(listener -> NetworkExecutors.getNotifyExecutor().submit(() -> listener.onConnectionClosed(closeReason)));
         listeners.clear();
+        failThrottledSends();
 
         ExecutorFactory.shutdownAndAwaitTermination(readExecutor);
         ExecutorFactory.shutdownAndAwaitTermination(sendExecutor);
@@ -384,10 +498,14 @@ public abstract class Connection {
         return !listeningStopped && isRunning();
     }
 
-    private ThreadPoolExecutor createReadExecutor() {
+    private ExecutorService createReadExecutor() {
         int queueCapacity = 100;
-        MaxSizeAwareDeque deque = new MaxSizeAwareDeque(queueCapacity);
         String name = "Connection.read-" + getThreadNameDetails();
+        if (NetworkExecutors.isUseVirtualThreads()) {
+            return ExecutorFactory.newVirtualThreadExecutor(name, executorMaxPoolSize + queueCapacity);
+        }
+
+        MaxSizeAwareDeque deque = new MaxSizeAwareDeque(queueCapacity);
         ThreadPoolExecutor executor = new ThreadPoolExecutor(
                 1,
                 executorMaxPoolSize,
@@ -400,10 +518,14 @@ public abstract class Connection {
         return executor;
     }
 
-    private ThreadPoolExecutor createSendExecutor() {
+    private ExecutorService createSendExecutor() {
         int queueCapacity = 100;
-        MaxSizeAwareQueue queue = new MaxSizeAwareQueue(queueCapacity);
         String name = "Connection.send-" + getThreadNameDetails();
+        if (NetworkExecutors.isUseVirtualThreads()) {
+            return ExecutorFactory.newVirtualThreadExecutor(name, executorMaxPoolSize + queueCapacity);
+        }
+
+        MaxSizeAwareQueue queue = new MaxSizeAwareQueue(queueCapacity);
         ThreadPoolExecutor executor = new ThreadPoolExecutor(
                 1,
                 executorMaxPoolSize,
@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Represents an inbound or outbound connection to a peer node.
@@ -76,7 +77,7 @@ public abstract class ConnectionChannel {
     private volatile boolean listeningStopped;
     @Getter
     private final AtomicInteger sentMessageCounter = new AtomicInteger(0);
-    private final Object writeLock = new Object();
+    private final ReentrantLock writeLock = new ReentrantLock();
 
     protected ConnectionChannel(Capability peersCapability,
                                 NetworkLoadSnapshot peersNetworkLoadSnapshot,
@@ -98,15 +99,16 @@ public abstract class ConnectionChannel {
             NetworkEnvelope networkEnvelope = new NetworkEnvelope(authorizationToken, envelopePayloadMessage);
             boolean sent = false;
             long ts = System.currentTimeMillis();
-            synchronized (writeLock) {
-                try {
-                    networkEnvelopeSocketChannel.send(networkEnvelope);
-                    sent = true;
-                } catch (Throwable throwable) {
-                    if (!isStopped) {
-                        throw throwable;
-                    }
+            writeLock.lock();
+            try {
+                networkEnvelopeSocketChannel.send(networkEnvelope);
+                sent = true;
+            } catch (Throwable throwable) {
+                if (!isStopped) {
+                    throw throwable;
                 }
+            } finally {
+                writeLock.unlock();
             }
             if (sent) {
                 connectionMetrics.onSent(networkEnvelope, System.currentTimeMillis() - ts);
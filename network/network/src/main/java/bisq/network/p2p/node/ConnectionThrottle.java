@@ -17,26 +17,45 @@
 
 package bisq.network.p2p.node;
 
+import bisq.common.data.ByteUnit;
+import bisq.common.timer.Clock;
+import bisq.common.timer.SystemClock;
 import bisq.common.util.MathUtils;
+import bisq.network.p2p.node.network_load.ConnectionMetrics;
 import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
+import bisq.network.p2p.node.network_load.TokenBucket;
+import bisq.network.p2p.node.network_load.TrafficClass;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Checks if time between last send/receive is larger than the throttle time adjusted with the network load.
- * If so we pause the remaining time to ensure only 1 message is sent in that time slot.
- * This should avoid that a node gets flooded (at receive using the peers network load to adjust the throttle time) or
- * flooding their peers (at send using my network load to adjust the throttle time).
- * As larger value in the config for sendMessageTimestamp and receiveMessageTimestamp means it is more likely that
- * message send/receive get paused.
- * Messages are not dropped by we only pause the executing thread. We use lower and upper bounds for the pause, so
- * even with extreme values from the config the throttling should not have severe impacts on the
- * connection (e.g. lead to timeouts).
+ * Sending is shaped by hierarchical token buckets: a global bucket shared by all connections of a node, a bucket per
+ * connection and a bucket per traffic class of the connection. Tokens are bytes and are consumed after a message got
+ * sent. Before sending, the connection asks for the delay until the relevant buckets have no debt. If there is a
+ * delay, it queues the message in FIFO order per traffic class and sends it after the delay, so no thread is blocked.
+ * The queue is limited to maxNumThrottledSends, further sends get rejected.
+ * The rates are set in the connectionThrottle section of the network config.
+ * PRIORITY messages (e.g. trade messages) consume tokens of the connection and global buckets but only wait for their
+ * own class bucket, so they are not delayed by a BULK flood (e.g. inventory). BULK messages wait for all buckets and
+ * their class bucket has only a share of the connection rate.
+ * The connection rate is reduced with the peers network load (a larger sendMessageThrottleTime in the config means
+ * stronger reduction) and is capped by the write throughput measured in ConnectionMetrics, so we do not schedule
+ * more than the link can take.
+ * <p>
+ * At receive, we check if time between last receive is larger than the throttle time adjusted with my network load.
+ * If so we pause the remaining time to ensure only 1 message is received in that time slot. Pausing the read loop
+ * is intended here as it applies back pressure to the peer via TCP flow control.
+ * We use lower and upper bounds for the pause, so even with extreme values from the config the throttling should
+ * not have severe impacts on the connection (e.g. lead to timeouts).
  */
 @Slf4j
 public class ConnectionThrottle {
@@ -44,41 +63,144 @@ public class ConnectionThrottle {
     private static final long MAX_THROTTLE_TIME = 1000;
     private static final long MAX_LOG_FREQUENCY = TimeUnit.SECONDS.toMillis(30);
 
+    // We allow a burst of 1 sec at the configured rate
+    private static final double BURST_SECONDS = 1;
+    // Min. time spent in socket writes in the last minute to consider the measured throughput as meaningful
+    private static final long MIN_MEASURED_SEND_TIME = 500;
+
     // We apply the log throttle globally, so we use static fields
     private static final AtomicLong lastLoggedTs = new AtomicLong();
     private static final List<String> LAST_LOGS = new CopyOnWriteArrayList<>();
 
+    @Getter
+    @ToString
+    public static final class Config {
+        // Rates are in bytes/sec
+        private final double globalSendRate; // Default config value is 4096 KiB/sec
+        private final double connectionSendRate; // Default 512 KiB/sec
+        private final double minConnectionSendRate; // Default 16 KiB/sec
+        private final double prioritySendRate; // Default 128 KiB/sec
+        private final double bulkShare; // Share of the connection send rate for BULK messages. Default 0.5
+        private final int maxNumThrottledSends; // Per traffic class and connection. Default 100
+
+        public static Config from(com.typesafe.config.Config config) {
+            return new Config(ByteUnit.KIB.toBytes(config.getInt("globalSendRateInKibPerSec")),
+                    ByteUnit.KIB.toBytes(config.getInt("connectionSendRateInKibPerSec")),
+                    ByteUnit.KIB.toBytes(config.getInt("minConnectionSendRateInKibPerSec")),
+                    ByteUnit.KIB.toBytes(config.getInt("prioritySendRateInKibPerSec")),
+                    config.getDouble("bulkShare"),
+                    config.getInt("maxNumThrottledSends"));
+        }
+
+        public Config(double globalSendRate,
+                      double connectionSendRate,
+                      double minConnectionSendRate,
+                      double prioritySendRate,
+                      double bulkShare,
+                      int maxNumThrottledSends) {
+            this.globalSendRate = globalSendRate;
+            this.connectionSendRate = connectionSendRate;
+            this.minConnectionSendRate = minConnectionSendRate;
+            this.prioritySendRate = prioritySendRate;
+            this.bulkShare = bulkShare;
+            this.maxNumThrottledSends = maxNumThrottledSends;
+        }
+    }
+
+    private final Config throttleConfig;
     private final NetworkLoadSnapshot peersNetworkLoadSnapshot;
     private final NetworkLoadSnapshot myNetworkLoadSnapshot;
     private final long sendMessageThrottleTime;
     private final long receiveMessageThrottleTime;
-    private final AtomicLong sendMessageTimestamp = new AtomicLong();
     private final AtomicLong receiveMessageTimestamp = new AtomicLong();
+    private final TokenBucket globalSendBucket;
+    private final TokenBucket connectionSendBucket;
+    private final Map<TrafficClass, TokenBucket> sendBucketByTrafficClass = new EnumMap<>(TrafficClass.class);
+
+    public static TokenBucket createGlobalSendBucket(Config throttleConfig) {
+        double rate = throttleConfig.getGlobalSendRate();
+        return new TokenBucket(rate, rate * BURST_SECONDS);
+    }
 
     public ConnectionThrottle(NetworkLoadSnapshot peersNetworkLoadSnapshot,
                               NetworkLoadSnapshot myNetworkLoadSnapshot,
-                              Node.Config config) {
+                              Node.Config config,
+                              TokenBucket globalSendBucket) {
+        this(peersNetworkLoadSnapshot, myNetworkLoadSnapshot, config, globalSendBucket, new SystemClock());
+    }
+
+    ConnectionThrottle(NetworkLoadSnapshot peersNetworkLoadSnapshot,
+                       NetworkLoadSnapshot myNetworkLoadSnapshot,
+                       Node.Config config,
+                       TokenBucket globalSendBucket,
+                       Clock clock) {
         this.peersNetworkLoadSnapshot = peersNetworkLoadSnapshot;
         this.myNetworkLoadSnapshot = myNetworkLoadSnapshot;
+        throttleConfig = config.getConnectionThrottleConfig();
         sendMessageThrottleTime = config.getSendMessageThrottleTime(); // default 200
         receiveMessageThrottleTime = config.getReceiveMessageThrottleTime(); // default 200
+        this.globalSendBucket = globalSendBucket;
+        double connectionSendRate = throttleConfig.getConnectionSendRate();
+        double prioritySendRate = throttleConfig.getPrioritySendRate();
+        double bulkSendRate = connectionSendRate * throttleConfig.getBulkShare();
+        connectionSendBucket = new TokenBucket(clock, connectionSendRate, connectionSendRate * BURST_SECONDS);
+        sendBucketByTrafficClass.put(TrafficClass.PRIORITY,
+                new TokenBucket(clock, prioritySendRate, prioritySendRate * BURST_SECONDS));
+        sendBucketByTrafficClass.put(TrafficClass.DEFAULT,
+                new TokenBucket(clock, connectionSendRate, connectionSendRate * BURST_SECONDS));
+        sendBucketByTrafficClass.put(TrafficClass.BULK,
+                new TokenBucket(clock, bulkSendRate, bulkSendRate * BURST_SECONDS));
+    }
+
+    int getMaxNumThrottledSends() {
+        return throttleConfig.getMaxNumThrottledSends();
+    }
+
+    /**
+     * @return The delay in ms until a message of the given traffic class can be sent, or 0 if it can be sent now.
+     */
+    long getSendDelay(TrafficClass trafficClass) {
+        long classDelay = sendBucketByTrafficClass.get(trafficClass).getDelay();
+        if (trafficClass == TrafficClass.PRIORITY) {
+            return classDelay;
+        }
+        return Math.max(classDelay, Math.max(connectionSendBucket.getDelay(), globalSendBucket.getDelay()));
     }
 
-    void throttleSendMessage() {
-        throttle(sendMessageTimestamp, peersNetworkLoadSnapshot, sendMessageThrottleTime, "send");
+    void onMessageSent(TrafficClass trafficClass, long numBytes, ConnectionMetrics connectionMetrics) {
+        sendBucketByTrafficClass.get(trafficClass).consume(numBytes);
+        connectionSendBucket.consume(numBytes);
+        globalSendBucket.consume(numBytes);
+        updateSendRates(connectionMetrics);
     }
 
     void throttleReceiveMessage() {
         throttle(receiveMessageTimestamp, myNetworkLoadSnapshot, receiveMessageThrottleTime, "receive");
     }
 
+    private void updateSendRates(ConnectionMetrics connectionMetrics) {
+        // With load 1 and the default sendMessageThrottleTime of 200 ms the rate gets reduced to 1/11
+        double load = peersNetworkLoadSnapshot.getRecentNetworkLoad().getLoad();
+        double rate = throttleConfig.getConnectionSendRate() / (1 + load * sendMessageThrottleTime / MIN_THROTTLE_TIME);
+
+        long spentSendTime = connectionMetrics.getSpentSendMessageTimeOfLastMinutes(1);
+        if (spentSendTime >= MIN_MEASURED_SEND_TIME) {
+            double measuredRate = connectionMetrics.getSentBytesOfLastMinutes(1) * 1000d / spentSendTime;
+            rate = Math.min(rate, measuredRate);
+        }
+        rate = Math.max(throttleConfig.getMinConnectionSendRate(), rate);
+        connectionSendBucket.setRatePerSec(rate);
+        sendBucketByTrafficClass.get(TrafficClass.DEFAULT).setRatePerSec(rate);
+        sendBucketByTrafficClass.get(TrafficClass.BULK).setRatePerSec(rate * throttleConfig.getBulkShare());
+    }
+
     private void throttle(AtomicLong timestamp,
                           NetworkLoadSnapshot networkLoadSnapshot,
                           long throttleTime,
                           String direction) {
         long now = System.currentTimeMillis();
         long passed = now - timestamp.get();
-        double load = networkLoadSnapshot.getCurrentNetworkLoad().getLoad();
+        double load = networkLoadSnapshot.getRecentNetworkLoad().getLoad();
         throttleTime = MIN_THROTTLE_TIME + Math.round(throttleTime * load);
         throttleTime = MathUtils.bounded(MIN_THROTTLE_TIME, MAX_THROTTLE_TIME, throttleTime);
         if (passed < throttleTime) {
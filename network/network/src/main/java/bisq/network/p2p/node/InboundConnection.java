@@ -18,8 +18,10 @@
 package bisq.network.p2p.node;
 
 import bisq.network.p2p.node.authorization.AuthorizationService;
+import bisq.network.p2p.node.envelope.DuplicateDataRequestFilter;
 import bisq.network.p2p.node.network_load.ConnectionMetrics;
 import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
+import bisq.network.p2p.node.network_load.NetworkTrafficAggregator;
 import lombok.extern.slf4j.Slf4j;
 
 import java.net.Socket;
@@ -33,6 +35,8 @@ public class InboundConnection extends Connection {
                       Capability peersCapability,
                       NetworkLoadSnapshot peersNetworkLoadSnapshot,
                       ConnectionMetrics connectionMetrics,
+                      NetworkTrafficAggregator networkTrafficAggregator,
+                      DuplicateDataRequestFilter duplicateDataRequestFilter,
                       ConnectionThrottle connectionThrottle,
                       Handler handler,
                       BiConsumer<Connection, Exception> errorHandler) {
@@ -42,6 +46,8 @@ public class InboundConnection extends Connection {
                 peersCapability,
                 peersNetworkLoadSnapshot,
                 connectionMetrics,
+                networkTrafficAggregator,
+                duplicateDataRequestFilter,
                 connectionThrottle,
                 handler,
                 errorHandler);
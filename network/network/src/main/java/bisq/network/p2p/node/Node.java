@@ -34,8 +34,11 @@ import bisq.network.p2p.message.CloseConnectionMessage;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.node.authorization.AuthorizationService;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.node.envelope.DuplicateDataRequestFilter;
 import bisq.network.p2p.node.handshake.ConnectionHandshake;
 import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
+import bisq.network.p2p.node.network_load.NetworkTrafficAggregator;
+import bisq.network.p2p.node.network_load.TokenBucket;
 import bisq.network.p2p.node.transport.ServerSocketResult;
 import bisq.network.p2p.node.transport.TransportService;
 import bisq.network.p2p.services.peer_group.BanList;
@@ -62,11 +65,13 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
 
 import static bisq.network.p2p.node.ConnectionException.Reason.ADDRESS_BANNED;
@@ -123,6 +128,7 @@ public class Node implements Connection.Handler {
         private final int sendMessageThrottleTime;
         private final int receiveMessageThrottleTime;
         private final int maxNumConnectedPeers;
+        private final ConnectionThrottle.Config connectionThrottleConfig;
 
         public Config(TransportType transportType,
                       Set<TransportType> supportedTransportTypes,
@@ -131,7 +137,8 @@ public class Node implements Connection.Handler {
                       int socketTimeout,
                       int sendMessageThrottleTime,
                       int receiveMessageThrottleTime,
-                      int maxNumConnectedPeers) {
+                      int maxNumConnectedPeers,
+                      ConnectionThrottle.Config connectionThrottleConfig) {
             this.transportType = transportType;
             this.supportedTransportTypes = supportedTransportTypes;
             this.features = features;
@@ -140,11 +147,15 @@ public class Node implements Connection.Handler {
             this.sendMessageThrottleTime = sendMessageThrottleTime;
             this.receiveMessageThrottleTime = receiveMessageThrottleTime;
             this.maxNumConnectedPeers = maxNumConnectedPeers;
+            this.connectionThrottleConfig = connectionThrottleConfig;
         }
     }
 
-    private final Object executorLock = new Object();
-    private volatile ThreadPoolExecutor executor;
+    private final ReentrantLock stateLock = new ReentrantLock();
+    // Shared by the ConnectionThrottle of all connections of that node
+    private final TokenBucket globalSendBucket;
+    private final ReentrantLock executorLock = new ReentrantLock();
+    private volatile ExecutorService executor;
     private final BanList banList;
     private final TransportService transportService;
     private final AuthorizationService authorizationService;
@@ -175,6 +186,8 @@ public class Node implements Connection.Handler {
     public final Observable<State> observableState = new Observable<>(State.NEW);
     @Getter
     public final NetworkLoadSnapshot networkLoadSnapshot;
+    private final NetworkTrafficAggregator networkTrafficAggregator;
+    private final DuplicateDataRequestFilter duplicateDataRequestFilter;
     @Getter
     private final String nodeId;
     private final Config config;
@@ -187,6 +200,8 @@ public class Node implements Connection.Handler {
                 KeyBundleService keyBundleService,
                 TransportService transportService,
                 NetworkLoadSnapshot networkLoadSnapshot,
+                NetworkTrafficAggregator networkTrafficAggregator,
+                DuplicateDataRequestFilter duplicateDataRequestFilter,
                 AuthorizationService authorizationService) {
         this.networkId = networkId;
         keyBundle = keyBundleService.getKeyBundle(networkId.getKeyId());
@@ -196,10 +211,13 @@ public class Node implements Connection.Handler {
         supportedTransportTypes = config.getSupportedTransportTypes();
         features = config.getFeatures();
         socketTimeout = config.getSocketTimeout();
+        globalSendBucket = ConnectionThrottle.createGlobalSendBucket(config.getConnectionThrottleConfig());
         this.banList = banList;
         this.transportService = transportService;
         this.authorizationService = authorizationService;
         this.networkLoadSnapshot = networkLoadSnapshot;
+        this.networkTrafficAggregator = networkTrafficAggregator;
+        this.duplicateDataRequestFilter = duplicateDataRequestFilter;
         nodeId = networkId.getId();
     }
 
@@ -227,7 +245,10 @@ public class Node implements Connection.Handler {
                         Thread.currentThread().interrupt(); // Restore interrupted state
                     }
                 }
-                synchronized (state) {
+                // We use a ReentrantLock as createServerAndListen is blocking, which would pin the carrier thread
+                // if we run on virtual threads.
+                stateLock.lock();
+                try {
                     switch (state.get()) {
                         case NEW: {
                             setState(STARTING);
@@ -253,6 +274,8 @@ public class Node implements Connection.Handler {
                             throw new IllegalStateException("Unhandled state " + state.get());
                         }
                     }
+                } finally {
+                    stateLock.unlock();
                 }
                 return this;
             }, getExecutor());
@@ -325,13 +348,15 @@ public class Node implements Connection.Handler {
 
     private InboundConnection createInboundConnection(Socket socket, ConnectionHandshake.Result result) {
         NetworkLoadSnapshot peersNetworkLoadSnapshot = new NetworkLoadSnapshot(result.getPeersNetworkLoad());
-        ConnectionThrottle connectionThrottle = new ConnectionThrottle(peersNetworkLoadSnapshot, networkLoadSnapshot, config);
+        ConnectionThrottle connectionThrottle = new ConnectionThrottle(peersNetworkLoadSnapshot, networkLoadSnapshot, config, globalSendBucket);
         return new InboundConnection(authorizationService,
                 result.getConnectionId(),
                 socket,
                 result.getPeersCapability(),
                 peersNetworkLoadSnapshot,
                 result.getConnectionMetrics(),
+                networkTrafficAggregator,
+                duplicateDataRequestFilter,
                 connectionThrottle,
                 this,
                 this::handleException);
@@ -500,7 +525,7 @@ public class Node implements Connection.Handler {
         OutboundConnection connection = null;
         try {
             NetworkLoadSnapshot peersNetworkLoadSnapshot = new NetworkLoadSnapshot(result.getPeersNetworkLoad());
-            ConnectionThrottle connectionThrottle = new ConnectionThrottle(peersNetworkLoadSnapshot, networkLoadSnapshot, config);
+            ConnectionThrottle connectionThrottle = new ConnectionThrottle(peersNetworkLoadSnapshot, networkLoadSnapshot, config, globalSendBucket);
             connection = new OutboundConnection(authorizationService,
                     result.getConnectionId(),
                     socket,
@@ -508,6 +533,8 @@ public class Node implements Connection.Handler {
                     result.getPeersCapability(),
                     peersNetworkLoadSnapshot,
                     result.getConnectionMetrics(),
+                    networkTrafficAggregator,
+                    duplicateDataRequestFilter,
                     connectionThrottle,
                     this,
                     this::handleException);
@@ -734,11 +761,14 @@ public class Node implements Connection.Handler {
                     listeners.clear();
                     setState(State.TERMINATED);
 
-                    synchronized (executorLock) {
+                    executorLock.lock();
+                    try {
                         if (executor != null) {
                             ExecutorFactory.shutdownAndAwaitTermination(executor);
                             executor = null;
                         }
+                    } finally {
+                        executorLock.unlock();
                     }
                 })
                 .handle((list, throwable) -> throwable == null);
@@ -919,14 +949,18 @@ public class Node implements Connection.Handler {
         }
     }
 
-    private ThreadPoolExecutor createExecutor() {
+    private ExecutorService createExecutor() {
         int queueCapacity = 100;
-        MaxSizeAwareQueue queue = new MaxSizeAwareQueue(queueCapacity);
         // We use maxNumConnectedPeers (default 12) for the max pool size and add some extra tolerance as at startup we
         // create many connections in parallel.
         // After startup, it is expected that pool shrinks to 1-3 threads
         int maximumPoolSize = config.getMaxNumConnectedPeers() + 4;
         String name = "Node-" + printAddresses();
+        if (NetworkExecutors.isUseVirtualThreads()) {
+            return ExecutorFactory.newVirtualThreadExecutor(name, maximumPoolSize + queueCapacity);
+        }
+
+        MaxSizeAwareQueue queue = new MaxSizeAwareQueue(queueCapacity);
         ThreadPoolExecutor executor = new ThreadPoolExecutor(
                 1,
                 maximumPoolSize,
@@ -939,13 +973,16 @@ public class Node implements Connection.Handler {
         return executor;
     }
 
-    private synchronized ThreadPoolExecutor getExecutor() {
-        synchronized (executorLock) {
+    private ExecutorService getExecutor() {
+        executorLock.lock();
+        try {
             if (executor == null) {
                 executor = createExecutor();
             }
+            return executor;
+        } finally {
+            executorLock.unlock();
         }
-        return executor;
     }
 
     private String printAddresses() {
@@ -19,8 +19,10 @@ package bisq.network.p2p.node;
 
 import bisq.common.network.Address;
 import bisq.network.p2p.node.authorization.AuthorizationService;
+import bisq.network.p2p.node.envelope.DuplicateDataRequestFilter;
 import bisq.network.p2p.node.network_load.ConnectionMetrics;
 import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
+import bisq.network.p2p.node.network_load.NetworkTrafficAggregator;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -40,6 +42,8 @@ public class OutboundConnection extends Connection {
                        Capability peersCapability,
                        NetworkLoadSnapshot peersNetworkLoadSnapshot,
                        ConnectionMetrics connectionMetrics,
+                       NetworkTrafficAggregator networkTrafficAggregator,
+                       DuplicateDataRequestFilter duplicateDataRequestFilter,
                        ConnectionThrottle connectionThrottle,
                        Handler handler,
                        BiConsumer<Connection, Exception> errorHandler) {
@@ -49,6 +53,8 @@ public class OutboundConnection extends Connection {
                 peersCapability,
                 peersNetworkLoadSnapshot,
                 connectionMetrics,
+                networkTrafficAggregator,
+                duplicateDataRequestFilter,
                 connectionThrottle,
                 handler,
                 errorHandler);
@@ -0,0 +1,58 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.envelope;
+
+import bisq.common.data.ByteArray;
+import bisq.common.data.ExpiringDedupSet;
+import bisq.network.p2p.services.data.DataRequest;
+import bisq.security.DigestUtil;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the hashes of the serialized DataRequests which have been processed by the storage, either received as
+ * payload of a broadcast or as entry of an inventory. When the same bytes arrive again from another peer the envelope
+ * can be dropped before it gets parsed, as processing it again would result in the same outcome at the storage.
+ * <p>
+ * It is shared by all connections of a service node.
+ */
+public class DuplicateDataRequestFilter {
+    private static final int MAX_SIZE = 20_000;
+    private static final long TTL = TimeUnit.MINUTES.toMillis(10);
+
+    private final ExpiringDedupSet<ByteArray> processedDataRequestHashes;
+
+    public DuplicateDataRequestFilter() {
+        processedDataRequestHashes = new ExpiringDedupSet<>(MAX_SIZE, TTL);
+    }
+
+    public boolean isDuplicate(NetworkEnvelopeFrame frame) {
+        Optional<ByteArray> hash = frame.getDataRequestHash();
+        return hash.isPresent() && processedDataRequestHashes.contains(hash.get());
+    }
+
+    /**
+     * Must only be called after the storage has processed the request. Received requests which did not reach the
+     * storage (e.g. not authorized, or entries of an unsolicited or late inventory response) must not be added,
+     * otherwise a peer could suppress the same DataRequests relayed by other peers.
+     */
+    public void onProcessed(DataRequest dataRequest) {
+        processedDataRequestHashes.add(new ByteArray(DigestUtil.sha256(dataRequest.toDataRequestProto(false).toByteArray())));
+    }
+}
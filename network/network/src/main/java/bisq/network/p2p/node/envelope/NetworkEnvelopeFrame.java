@@ -0,0 +1,207 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.envelope;
+
+import bisq.common.data.ByteArray;
+import bisq.security.DigestUtil;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Holds the raw bytes of a size-delimited NetworkEnvelope in a buffer which is reused for all frames received on a
+ * socket. Before the envelope gets parsed, the payload type and the bytes of DataRequest payloads can be inspected
+ * without allocating the protobuf and Java object graph.
+ * <p>
+ * The peek is strict: If the envelope is not encoded canonically (a repeated networkMessage field or more than one
+ * field in the EnvelopePayloadMessage), we do not report a payload, as the bytes we would look at could differ from
+ * what the protobuf parser merges into the message.
+ * <p>
+ * Not thread safe. A frame is only valid until the next frame is read.
+ */
+@Slf4j
+public class NetworkEnvelopeFrame {
+    public static final int DATA_REQUEST_FIELD_NUMBER = bisq.network.protobuf.EnvelopePayloadMessage.DATAREQUEST_FIELD_NUMBER;
+    public static final int NO_PAYLOAD = 0;
+
+    private static final int INITIAL_CAPACITY = 4096;
+    // Inventory responses can be several MB. We do not keep such a buffer for the lifetime of the connection.
+    private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    @Getter
+    private int serializedSize;
+
+    private boolean peeked;
+    private int payloadFieldNumber;
+    private int payloadOffset;
+    private int payloadLength;
+    private Optional<ByteArray> dataRequestHash;
+
+    /**
+     * @return False if the input stream has reached EOF before a new frame started.
+     */
+    boolean readDelimitedFrom(InputStream inputStream) throws IOException {
+        int firstByte = inputStream.read();
+        if (firstByte == -1) {
+            return false;
+        }
+        int size = CodedInputStream.readRawVarint32(firstByte, inputStream);
+        if (size < 0) {
+            throw new InvalidProtocolBufferException("Negative frame size: " + size);
+        }
+        if (size <= MAX_RETAINED_CAPACITY) {
+            if (buffer.length < size || buffer.length > MAX_RETAINED_CAPACITY) {
+                buffer = new byte[Math.max(INITIAL_CAPACITY, size)];
+            }
+            int numRead = inputStream.readNBytes(buffer, 0, size);
+            if (numRead < size) {
+                throw new EOFException("Input stream reached EOF while reading a frame of " + size + " bytes");
+            }
+        } else {
+            readLargeFrame(inputStream, size);
+        }
+        serializedSize = size;
+        peeked = false;
+        dataRequestHash = null;
+        return true;
+    }
+
+    // The size is sent by the peer, so we must not allocate a buffer of that size upfront. Otherwise, a peer could
+    // cause an OutOfMemoryError with a few bytes. We grow the buffer only with the data we actually received.
+    private void readLargeFrame(InputStream inputStream, int size) throws IOException {
+        byte[] largeBuffer = buffer.length > MAX_RETAINED_CAPACITY ? buffer : new byte[MAX_RETAINED_CAPACITY];
+        int numRead = 0;
+        while (numRead < size) {
+            if (numRead == largeBuffer.length) {
+                largeBuffer = Arrays.copyOf(largeBuffer, (int) Math.min(size, 2L * largeBuffer.length));
+            }
+            int numReadInChunk = inputStream.read(largeBuffer, numRead, Math.min(size, largeBuffer.length) - numRead);
+            if (numReadInChunk < 0) {
+                throw new EOFException("Input stream reached EOF after " + numRead + " bytes while reading a frame of " +
+                        size + " bytes");
+            }
+            numRead += numReadInChunk;
+        }
+        buffer = largeBuffer;
+    }
+
+    /**
+     * Parses the frame into the protobuf NetworkEnvelope. ByteString fields get copied, so the result stays valid after
+     * the buffer gets reused.
+     */
+    public bisq.network.protobuf.NetworkEnvelope parse() throws InvalidProtocolBufferException {
+        try {
+            return bisq.network.protobuf.NetworkEnvelope.parseFrom(CodedInputStream.newInstance(buffer, 0, serializedSize));
+        } catch (InvalidProtocolBufferException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new InvalidProtocolBufferException(e);
+        }
+    }
+
+    /**
+     * @return The field number of the EnvelopePayloadMessage oneof case, or NO_PAYLOAD if the envelope has no payload
+     * or is not encoded canonically.
+     */
+    public int getPayloadFieldNumber() {
+        peek();
+        return payloadFieldNumber;
+    }
+
+    /**
+     * @return The sha256 hash of the raw DataRequest bytes if the payload is a DataRequest.
+     */
+    public Optional<ByteArray> getDataRequestHash() {
+        if (dataRequestHash == null) {
+            dataRequestHash = getPayloadFieldNumber() == DATA_REQUEST_FIELD_NUMBER
+                    ? Optional.of(new ByteArray(DigestUtil.sha256(buffer, payloadOffset, payloadLength)))
+                    : Optional.empty();
+        }
+        return dataRequestHash;
+    }
+
+    private void peek() {
+        if (peeked) {
+            return;
+        }
+        peeked = true;
+        payloadFieldNumber = NO_PAYLOAD;
+        try {
+            Optional<Range> networkMessage = findSingleField(new Range(0, serializedSize),
+                    bisq.network.protobuf.NetworkEnvelope.NETWORKMESSAGE_FIELD_NUMBER);
+            if (networkMessage.isEmpty()) {
+                return;
+            }
+
+            // The EnvelopePayloadMessage has only the oneof field, so we expect exactly one length delimited field
+            // spanning the whole message.
+            CodedInputStream input = CodedInputStream.newInstance(buffer, networkMessage.get().offset(), networkMessage.get().length());
+            int tag = input.readTag();
+            if (tag == 0 || WireFormat.getTagWireType(tag) != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                return;
+            }
+            int length = input.readRawVarint32();
+            int offset = networkMessage.get().offset() + input.getTotalBytesRead();
+            input.skipRawBytes(length);
+            if (!input.isAtEnd()) {
+                return;
+            }
+            payloadFieldNumber = WireFormat.getTagFieldNumber(tag);
+            payloadOffset = offset;
+            payloadLength = length;
+        } catch (IOException e) {
+            // The full parse will report the error
+            log.debug("Could not peek at network envelope", e);
+        }
+    }
+
+    /**
+     * @return The range of the length delimited field with the given field number inside the given message range.
+     * Empty if the field is missing, has an unexpected wire type or is repeated.
+     */
+    private Optional<Range> findSingleField(Range message, int fieldNumber) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(buffer, message.offset(), message.length());
+        Range result = null;
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == fieldNumber) {
+                if (result != null || WireFormat.getTagWireType(tag) != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                    return Optional.empty();
+                }
+                int length = input.readRawVarint32();
+                result = new Range(message.offset() + input.getTotalBytesRead(), length);
+                input.skipRawBytes(length);
+            } else {
+                input.skipField(tag);
+            }
+        }
+        return Optional.ofNullable(result);
+    }
+
+    private record Range(int offset, int length) {
+    }
+}
@@ -21,6 +21,8 @@ import bisq.common.network.PeerSocket;
 import bisq.network.p2p.message.NetworkEnvelope;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
@@ -31,6 +33,7 @@ public class NetworkEnvelopeSocket implements Closeable {
     private final PeerSocket socket;
     private final InputStream inputStream;
     private final OutputStream outputStream;
+    private final NetworkEnvelopeFrame frame = new NetworkEnvelopeFrame();
 
     public NetworkEnvelopeSocket(PeerSocket socket) {
         this.socket = socket;
@@ -47,6 +50,17 @@ public class NetworkEnvelopeSocket implements Closeable {
         return bisq.network.protobuf.NetworkEnvelope.parseDelimitedFrom(inputStream);
     }
 
+    /**
+     * Reads the next size-delimited envelope into the frame of this socket without parsing it. The returned frame is
+     * reused for the next call.
+     *
+     * @return The frame or null if the input stream has reached EOF.
+     */
+    @Nullable
+    public NetworkEnvelopeFrame receiveNextFrame() throws IOException {
+        return frame.readDelimitedFrom(inputStream) ? frame : null;
+    }
+
     @Override
     public void close() throws IOException {
         socket.close();
@@ -21,6 +21,7 @@ import bisq.common.util.ClassUtils;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.message.NetworkEnvelope;
 import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -28,12 +29,17 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Getter
 @ToString
 public class ConnectionMetrics {
+    public interface RttListener {
+        void onRtt(long rtt);
+    }
+
     private final long created;
     private final AtomicLong lastUpdate = new AtomicLong();
     private final TreeMap<Integer, AtomicLong> numMessagesSentPerMinute = new TreeMap<>();
@@ -49,6 +55,9 @@ public class ConnectionMetrics {
 
     private final AtomicLong numMessagesReceived = new AtomicLong();
     private final List<Long> rrtList = new CopyOnWriteArrayList<>();
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final Set<RttListener> rttListeners = new CopyOnWriteArraySet<>();
 
     public ConnectionMetrics() {
         created = System.currentTimeMillis();
@@ -114,8 +123,42 @@ public class ConnectionMetrics {
         }
     }
 
-    public void addRtt(long value) {
+    /**
+     * Duplicates are dropped before they get parsed, thus we only know the size and that it was a DataRequest.
+     */
+    public void onReceivedDuplicate(long numBytes, long peekTime) {
+        long now = System.currentTimeMillis();
+        lastUpdate.set(now);
+
+        int ageInMinutes = getAgeInMinutes(now);
+        receivedBytesPerMinute.computeIfAbsent(ageInMinutes, key -> new AtomicLong())
+                .addAndGet(numBytes);
+
+        numMessagesReceivedPerMinute.computeIfAbsent(ageInMinutes, key -> new AtomicLong())
+                .incrementAndGet();
+
+        deserializeTimePerMinute.computeIfAbsent(ageInMinutes, key -> new AtomicLong())
+                .addAndGet(peekTime);
+
+        numReceivedMessagesByClassName.computeIfAbsent(NetworkTrafficAggregator.DUPLICATE_DATA_REQUEST, key -> new AtomicLong())
+                .incrementAndGet();
+    }
+
+    public synchronized void addRtt(long value) {
         this.rrtList.add(value);
+        rttListeners.forEach(listener -> listener.onRtt(value));
+    }
+
+    /**
+     * The listener gets called with the already measured RTTs (e.g. of the handshake) and then with each new one.
+     */
+    public synchronized void addRttListener(RttListener listener) {
+        rrtList.forEach(listener::onRtt);
+        rttListeners.add(listener);
+    }
+
+    public void removeRttListener(RttListener listener) {
+        rttListeners.remove(listener);
     }
 
     public double getAverageRtt() {
@@ -232,6 +275,7 @@ public class ConnectionMetrics {
         numSentDistributedDataByClassName.clear();
         numReceivedDistributedDataByClassName.clear();
         rrtList.clear();
+        rttListeners.clear();
     }
 
     private long sumOf(TreeMap<Integer, AtomicLong> treeMap) {
@@ -18,206 +18,189 @@
 package bisq.network.p2p.node.network_load;
 
 import bisq.common.data.ByteUnit;
+import bisq.common.observable.Observable;
 import bisq.common.timer.Scheduler;
 import bisq.common.util.MathUtils;
 import bisq.network.p2p.ServiceNode;
 import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Node;
-import bisq.network.p2p.services.data.DataRequest;
 import bisq.network.p2p.services.data.storage.StorageService;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.text.DecimalFormat;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+/**
+ * Calculates the network load from the traffic counters of the {@link NetworkTrafficAggregator}, which are updated
+ * at each sent or received message. Reading the counters does not depend on the number of connections or messages,
+ * so we update the network load every few seconds and publish it via the networkLoad observable for display.
+ * The networkLoadSnapshot is used for the proof of work difficulty and keeps the current and previous network load.
+ * To keep the previous network load a minute old, the snapshot is only updated once a minute together with the
+ * statistics log. The network database size is more expensive to get and is updated at the same cadence.
+ * <br/>
+ * For throttling we update the recent network load of the snapshot at each update from the per-second counters of
+ * the last 30 seconds, so the throttle reacts to load changes within seconds. The traffic of that short window is
+ * extrapolated to 5 minutes, so the same max. values apply.
+ */
 @Slf4j
 public class NetworkLoadService {
     private static final long INITIAL_DELAY = TimeUnit.SECONDS.toSeconds(90);
-    private static final long INTERVAL = TimeUnit.MINUTES.toSeconds(1);
+    private static final long UPDATE_INTERVAL = TimeUnit.SECONDS.toSeconds(5);
+    private static final long STATISTICS_INTERVAL = TimeUnit.MINUTES.toSeconds(1);
+    private static final int NUM_MINUTES = 5;
+    private static final int RECENT_NUM_SECONDS = 30;
     private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("#.####");
 
     private final ServiceNode serviceNode;
     private final NetworkLoadSnapshot networkLoadSnapshot;
+    private final NetworkTrafficAggregator networkTrafficAggregator;
     private final int maxNumConnectedPeers;
     private final StorageService storageService;
-    private final Map<String, ConnectionMetrics> connectionMetricsByConnectionId = new HashMap<>();
     @Setter
-    private double difficultyAdjustmentFactor = NetworkLoad.DEFAULT_DIFFICULTY_ADJUSTMENT;
-    private final Scheduler scheduler;
-    private final Object lock = new Object();
-
-    @Getter
-    private long sentBytesOfLast5Minutes, spentSendMessageTimeOfLast5Minutes, numMessagesSentOfLast5Minutes,
-            receivedBytesOfLast5Minutes, deserializeTimeOfLast5Minutes, numMessagesReceivedOfLast5Minutes;
+    private volatile double difficultyAdjustmentFactor = NetworkLoad.DEFAULT_DIFFICULTY_ADJUSTMENT;
+    private volatile long networkDatabaseSize = -1;
     @Getter
-    private TreeMap<String, AtomicLong> numSentMessagesByClassName, numReceivedMessagesByClassName,
-            numSentDistributedDataByClassName, numReceivedDistributedDataByClassName;
+    private final Observable<NetworkLoad> networkLoad = new Observable<>(NetworkLoad.INITIAL_NETWORK_LOAD);
+    private final Scheduler updateScheduler;
+    private final Scheduler statisticsScheduler;
+
+    private record Traffic(long sentBytes,
+                           long spentSendMessageTime,
+                           long numMessagesSent,
+                           long receivedBytes,
+                           long deserializeTime,
+                           long numMessagesReceived) {
+    }
 
     public NetworkLoadService(ServiceNode serviceNode,
                               StorageService storageService,
                               NetworkLoadSnapshot networkLoadSnapshot,
+                              NetworkTrafficAggregator networkTrafficAggregator,
                               int maxNumConnectedPeers) {
         this.serviceNode = serviceNode;
         this.storageService = storageService;
         this.networkLoadSnapshot = networkLoadSnapshot;
+        this.networkTrafficAggregator = networkTrafficAggregator;
         this.maxNumConnectedPeers = maxNumConnectedPeers;
 
-        scheduler = Scheduler.run(this::updateNetworkLoad)
+        statisticsScheduler = Scheduler.run(this::updateStatistics)
+                .host(this)
+                .runnableName("updateStatistics")
+                .periodically(INITIAL_DELAY, STATISTICS_INTERVAL, TimeUnit.SECONDS);
+        updateScheduler = Scheduler.run(this::updateNetworkLoad)
                 .host(this)
                 .runnableName("updateNetworkLoad")
-                .periodically(INITIAL_DELAY, INTERVAL, TimeUnit.SECONDS);
+                .periodically(INITIAL_DELAY, UPDATE_INTERVAL, TimeUnit.SECONDS);
     }
 
     public void shutdown() {
-        scheduler.stop();
-        synchronized (lock) {
-            connectionMetricsByConnectionId.clear();
-        }
+        updateScheduler.stop();
+        statisticsScheduler.stop();
     }
 
+    /**
+     * Updates the networkLoad observable and the recent network load used for throttling. The current network load
+     * of the networkLoadSnapshot is not updated here, as that would shorten the time span to the previous network load.
+     */
     public NetworkLoad updateNetworkLoad() {
-        Map<String, ConnectionMetrics> currentConnections = getConnectionMetricsByConnectionId();
-        Set<ConnectionMetrics> allConnectionMetrics;
-        synchronized (lock) {
-            // We remove all metrics older than 1 hour. In case the connection is still alive we get it added
-            // again in the putAll call.
-            long maxAge = TimeUnit.HOURS.toMillis(1);
-            Set<String> outDated = connectionMetricsByConnectionId.entrySet().stream()
-                    .filter(e -> e.getValue().getAge() > maxAge)
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toSet());
-            outDated.forEach(connectionMetricsByConnectionId::remove);
-
-            this.connectionMetricsByConnectionId.putAll(currentConnections);
-            allConnectionMetrics = new HashSet<>(connectionMetricsByConnectionId.values());
-        }
-
-        double load = calculateLoad(allConnectionMetrics);
-        NetworkLoad networkLoad = new NetworkLoad(load, difficultyAdjustmentFactor);
-        networkLoadSnapshot.updateNetworkLoad(networkLoad);
+        NetworkLoad networkLoad = new NetworkLoad(calculateLoad(getTrafficOfLast5Minutes(), false), difficultyAdjustmentFactor);
+        this.networkLoad.set(networkLoad);
+        networkLoadSnapshot.updateRecentNetworkLoad(new NetworkLoad(calculateLoad(getRecentTraffic(), false), difficultyAdjustmentFactor));
         return networkLoad;
     }
 
-    private double calculateLoad(Set<ConnectionMetrics> allConnectionMetrics) {
-        // For metrics of last 5 minutes we use metrics from the accumulated connections (closed of past 5 minutes).
-        sentBytesOfLast5Minutes = allConnectionMetrics.stream()
-                .mapToLong(ConnectionMetrics::getSentBytesOfLast5Minutes)
-                .sum();
-        spentSendMessageTimeOfLast5Minutes = allConnectionMetrics.stream()
-                .mapToLong(ConnectionMetrics::getSpentSendMessageTimeOfLast5Minutes)
-                .sum();
-        numMessagesSentOfLast5Minutes = allConnectionMetrics.stream()
-                .mapToLong(ConnectionMetrics::getNumMessagesSentOfLast5Minutes)
-                .sum();
-        receivedBytesOfLast5Minutes = allConnectionMetrics.stream()
-                .mapToLong(ConnectionMetrics::getReceivedBytesOfLast5Minutes)
-                .sum();
-        deserializeTimeOfLast5Minutes = allConnectionMetrics.stream()
-                .mapToLong(ConnectionMetrics::getDeserializeTimeOfLast5Minutes)
-                .sum();
-        numMessagesReceivedOfLast5Minutes = allConnectionMetrics.stream()
-                .mapToLong(ConnectionMetrics::getNumMessagesReceivedOfLast5Minutes)
-                .sum();
-
-        numSentMessagesByClassName = new TreeMap<>();
-        allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getNumSentMessagesByClassName)
-                .forEach(map -> map.forEach((name, value) ->
-                        numSentMessagesByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                                .addAndGet(value.get())));
-        StringBuilder numSentMessagesByClassNameBuilder = new StringBuilder();
-        numSentMessagesByClassName.forEach((key, value) -> {
-            numSentMessagesByClassNameBuilder.append("\n    - ");
-            numSentMessagesByClassNameBuilder.append(key);
-            numSentMessagesByClassNameBuilder.append(": ");
-            numSentMessagesByClassNameBuilder.append(value.get());
-        });
-
-        numReceivedMessagesByClassName = new TreeMap<>();
-        allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getNumReceivedMessagesByClassName)
-                .forEach(map -> map.forEach((name, value) ->
-                        numReceivedMessagesByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                                .addAndGet(value.get())));
-        StringBuilder numReceivedMessagesByClassNameBuilder = new StringBuilder();
-        numReceivedMessagesByClassName.forEach((key, value) -> {
-            numReceivedMessagesByClassNameBuilder.append("\n    - ");
-            numReceivedMessagesByClassNameBuilder.append(key);
-            numReceivedMessagesByClassNameBuilder.append(": ");
-            numReceivedMessagesByClassNameBuilder.append(value.get());
-        });
-
-        numSentDistributedDataByClassName = new TreeMap<>();
-        allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getNumSentDistributedDataByClassName)
-                .forEach(map -> map.forEach((name, value) ->
-                        numSentDistributedDataByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                                .addAndGet(value.get())));
-        StringBuilder numSentDistributedDataByClassNameBuilder = new StringBuilder();
-        numSentDistributedDataByClassName.forEach((key, value) -> {
-            numSentDistributedDataByClassNameBuilder.append("\n    - ");
-            numSentDistributedDataByClassNameBuilder.append(key);
-            numSentDistributedDataByClassNameBuilder.append(": ");
-            numSentDistributedDataByClassNameBuilder.append(value.get());
-        });
-
-        numReceivedDistributedDataByClassName = new TreeMap<>();
-        allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getNumReceivedDistributedDataByClassName)
-                .forEach(map -> map.forEach((name, value) ->
-                        numReceivedDistributedDataByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                                .addAndGet(value.get())));
-        StringBuilder numReceivedDistributedDataByClassNameBuilder = new StringBuilder();
-        numReceivedDistributedDataByClassName.forEach((key, value) -> {
-            numReceivedDistributedDataByClassNameBuilder.append("\n    - ");
-            numReceivedDistributedDataByClassNameBuilder.append(key);
-            numReceivedDistributedDataByClassNameBuilder.append(": ");
-            numReceivedDistributedDataByClassNameBuilder.append(value.get());
-        });
-
-        String transportType = serviceNode.getTransportType().name();
-
-        List<Connection> currentConnections = getAllCurrentConnections().toList();
-        String nodes = currentConnections.stream()
-                .map(Connection::getPeerAddress)
-                .map(address -> "- " + address)
-                .collect(Collectors.joining("\n    "));
-        long numConnections = currentConnections.size();
-        long networkDatabaseSize = storageService.getNetworkDatabaseSize(); // takes about 50 ms
+    public long getSentBytesOfLast5Minutes() {
+        return networkTrafficAggregator.getSentBytes().getSlidingSumOfLastMinutes(NUM_MINUTES);
+    }
 
-        StringBuilder sb = new StringBuilder("\n\n/* --------------------------------------------------------------------- */\n");
-        sb.append(transportType).append(" network statistics")
-                .append(("\n/* --------------------------------------------------------------------- */"))
-                .append("\nSize of network DB: ").append(ByteUnit.BYTE.toMB(networkDatabaseSize)).append(" MB")
-                .append("\nNumber of Connections: ").append(numConnections)
-                .append("\nPeer addresses:\n    ").append(nodes)
+    public long getSpentSendMessageTimeOfLast5Minutes() {
+        return networkTrafficAggregator.getSpentSendMessageTime().getSlidingSumOfLastMinutes(NUM_MINUTES);
+    }
 
-                .append("\nSent messages:")
-                .append("\nData sent in last 5 min.: ").append(ByteUnit.BYTE.toMB(sentBytesOfLast5Minutes)).append(" MB")
-                .append("\nTime for message sending in last 5 min.: ").append(spentSendMessageTimeOfLast5Minutes / 1000d).append(" sec.")
-                .append("\nNumber of messages sent in last 5 min.: ").append(numMessagesSentOfLast5Minutes)
-                .append("\nNumber of messages sent by class name:").append(numSentMessagesByClassNameBuilder)
-                .append("\nNumber of distributed data sent by class name:").append(numSentDistributedDataByClassNameBuilder)
+    public long getNumMessagesSentOfLast5Minutes() {
+        return networkTrafficAggregator.getNumMessagesSent().getSlidingSumOfLastMinutes(NUM_MINUTES);
+    }
 
-                .append("\nReceived messages:")
-                .append("\nData received in last 5 min.: ").append(ByteUnit.BYTE.toMB(receivedBytesOfLast5Minutes)).append(" MB")
-                .append("\nTime for message deserializing in last 5 min.: ").append(deserializeTimeOfLast5Minutes / 1000d).append(" sec.")
-                .append("\nNumber of messages received in last 5 min.: ").append(numMessagesReceivedOfLast5Minutes)
-                .append("\nNumber of messages received by class name:").append(numReceivedMessagesByClassNameBuilder)
-                .append("\nNumber of distributed data received by class name:").append(numReceivedDistributedDataByClassNameBuilder)
+    public long getReceivedBytesOfLast5Minutes() {
+        return networkTrafficAggregator.getReceivedBytes().getSlidingSumOfLastMinutes(NUM_MINUTES);
+    }
 
-                .append("\n/* --------------------------------------------------------------------- */");
+    public long getDeserializeTimeOfLast5Minutes() {
+        return networkTrafficAggregator.getDeserializeTime().getSlidingSumOfLastMinutes(NUM_MINUTES);
+    }
+
+    public long getNumMessagesReceivedOfLast5Minutes() {
+        return networkTrafficAggregator.getNumMessagesReceived().getSlidingSumOfLastMinutes(NUM_MINUTES);
+    }
+
+    public TreeMap<String, AtomicLong> getNumSentMessagesByClassName() {
+        return NetworkTrafficAggregator.getSumsOfLastHour(networkTrafficAggregator.getNumSentMessagesByClassName());
+    }
+
+    public TreeMap<String, AtomicLong> getNumReceivedMessagesByClassName() {
+        return NetworkTrafficAggregator.getSumsOfLastHour(networkTrafficAggregator.getNumReceivedMessagesByClassName());
+    }
+
+    public TreeMap<String, AtomicLong> getNumSentDistributedDataByClassName() {
+        return NetworkTrafficAggregator.getSumsOfLastHour(networkTrafficAggregator.getNumSentDistributedDataByClassName());
+    }
+
+    public TreeMap<String, AtomicLong> getNumReceivedDistributedDataByClassName() {
+        return NetworkTrafficAggregator.getSumsOfLastHour(networkTrafficAggregator.getNumReceivedDistributedDataByClassName());
+    }
+
+    private void updateStatistics() {
+        updateNetworkDatabaseSize();
+        NetworkLoad networkLoad = new NetworkLoad(calculateLoad(getTrafficOfLast5Minutes(), true), difficultyAdjustmentFactor);
+        networkLoadSnapshot.updateNetworkLoad(networkLoad);
+        this.networkLoad.set(networkLoad);
+    }
+
+    private void updateNetworkDatabaseSize() {
+        networkDatabaseSize = storageService.getNetworkDatabaseSize(); // takes about 50 ms
+    }
+
+    private Traffic getTrafficOfLast5Minutes() {
+        return new Traffic(getSentBytesOfLast5Minutes(),
+                getSpentSendMessageTimeOfLast5Minutes(),
+                getNumMessagesSentOfLast5Minutes(),
+                getReceivedBytesOfLast5Minutes(),
+                getDeserializeTimeOfLast5Minutes(),
+                getNumMessagesReceivedOfLast5Minutes());
+    }
+
+    // Traffic of the last RECENT_NUM_SECONDS extrapolated to NUM_MINUTES
+    private Traffic getRecentTraffic() {
+        long factor = TimeUnit.MINUTES.toSeconds(NUM_MINUTES) / RECENT_NUM_SECONDS;
+        return new Traffic(networkTrafficAggregator.getSentBytes().getSumOfLastSeconds(RECENT_NUM_SECONDS) * factor,
+                networkTrafficAggregator.getSpentSendMessageTime().getSumOfLastSeconds(RECENT_NUM_SECONDS) * factor,
+                networkTrafficAggregator.getNumMessagesSent().getSumOfLastSeconds(RECENT_NUM_SECONDS) * factor,
+                networkTrafficAggregator.getReceivedBytes().getSumOfLastSeconds(RECENT_NUM_SECONDS) * factor,
+                networkTrafficAggregator.getDeserializeTime().getSumOfLastSeconds(RECENT_NUM_SECONDS) * factor,
+                networkTrafficAggregator.getNumMessagesReceived().getSumOfLastSeconds(RECENT_NUM_SECONDS) * factor);
+    }
+
+    private double calculateLoad(Traffic traffic, boolean logStatistics) {
+        if (networkDatabaseSize < 0) {
+            // Before the first statistics update we would ignore the database size
+            updateNetworkDatabaseSize();
+        }
+        long sentBytesOfLast5Minutes = traffic.sentBytes();
+        long spentSendMessageTimeOfLast5Minutes = traffic.spentSendMessageTime();
+        long numMessagesSentOfLast5Minutes = traffic.numMessagesSent();
+        long receivedBytesOfLast5Minutes = traffic.receivedBytes();
+        long deserializeTimeOfLast5Minutes = traffic.deserializeTime();
+        long numMessagesReceivedOfLast5Minutes = traffic.numMessagesReceived();
+        long numConnections = serviceNode.getNodesById().getAllNodes().stream()
+                .flatMap(Node::getAllConnections)
+                .count();
 
         // We apply a factor to each max value based on the maxNumConnectedPeers to reflect higher expected load
         // This is mainly important for seed nodes which are configured with higher maxNumConnectedPeers.
@@ -267,36 +250,83 @@ public class NetworkLoadService {
                 deserializeTimeImpact +
                 numMessagesReceivedImpact +
                 networkDatabaseSizeImpact;
-        sb.append("\n\n----------------------------------------------------------------------------------------------------")
-                .append("\nCalculated network load:")
-                .append(("\n----------------------------------------------------------------------------------------------------"))
-                .append("\nnumConnectionsImpact=").append(DECIMAL_FORMAT.format(numConnectionsImpact))
-                .append("\nsentBytesImpact=").append(DECIMAL_FORMAT.format(sentBytesImpact))
-                .append("\nspentSendTimeImpact=").append(DECIMAL_FORMAT.format(spentSendTimeImpact))
-                .append("\nnumMessagesSentImpact=").append(DECIMAL_FORMAT.format(numMessagesSentImpact))
-                .append("\nreceivedBytesImpact=").append(DECIMAL_FORMAT.format(receivedBytesImpact))
-                .append("\ndeserializeTimeImpact=").append(DECIMAL_FORMAT.format(deserializeTimeImpact))
-                .append("\nnumMessagesReceivedImpact=").append(DECIMAL_FORMAT.format(numMessagesReceivedImpact))
-                .append("\nnetworkDatabaseSizeImpact=").append(DECIMAL_FORMAT.format(networkDatabaseSizeImpact))
-                .append("\nNetwork load=").append(DECIMAL_FORMAT.format(load))
-                .append("\n----------------------------------------------------------------------------------------------------\n");
-        log.info(sb.toString());
+        if (logStatistics) {
+            logStatistics(sentBytesOfLast5Minutes,
+                    spentSendMessageTimeOfLast5Minutes,
+                    numMessagesSentOfLast5Minutes,
+                    receivedBytesOfLast5Minutes,
+                    deserializeTimeOfLast5Minutes,
+                    numMessagesReceivedOfLast5Minutes,
+                    Map.of("numConnectionsImpact", numConnectionsImpact,
+                            "sentBytesImpact", sentBytesImpact,
+                            "spentSendTimeImpact", spentSendTimeImpact,
+                            "numMessagesSentImpact", numMessagesSentImpact,
+                            "receivedBytesImpact", receivedBytesImpact,
+                            "deserializeTimeImpact", deserializeTimeImpact,
+                            "numMessagesReceivedImpact", numMessagesReceivedImpact,
+                            "networkDatabaseSizeImpact", networkDatabaseSizeImpact),
+                    load);
+        }
 
         return MathUtils.bounded(0, 1, load);
     }
 
-    private Set<? extends DataRequest> getAllDataRequests() {
-        return storageService.getAllDataRequestMapEntries()
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toSet());
-    }
+    private void logStatistics(long sentBytesOfLast5Minutes,
+                               long spentSendMessageTimeOfLast5Minutes,
+                               long numMessagesSentOfLast5Minutes,
+                               long receivedBytesOfLast5Minutes,
+                               long deserializeTimeOfLast5Minutes,
+                               long numMessagesReceivedOfLast5Minutes,
+                               Map<String, Double> impacts,
+                               double load) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+
+        List<Connection> currentConnections = serviceNode.getNodesById().getAllNodes().stream()
+                .flatMap(Node::getAllConnections)
+                .toList();
+        String nodes = currentConnections.stream()
+                .map(Connection::getPeerAddress)
+                .map(address -> "- " + address)
+                .collect(Collectors.joining("\n    "));
 
-    private Map<String, ConnectionMetrics> getConnectionMetricsByConnectionId() {
-        return getAllCurrentConnections().collect(Collectors.toMap(Connection::getId, Connection::getConnectionMetrics));
+        StringBuilder sb = new StringBuilder("\n\n/* --------------------------------------------------------------------- */\n");
+        sb.append(serviceNode.getTransportType().name()).append(" network statistics")
+                .append(("\n/* --------------------------------------------------------------------- */"))
+                .append("\nSize of network DB: ").append(ByteUnit.BYTE.toMB(networkDatabaseSize)).append(" MB")
+                .append("\nNumber of Connections: ").append(currentConnections.size())
+                .append("\nPeer addresses:\n    ").append(nodes)
+
+                .append("\nSent messages:")
+                .append("\nData sent in last 5 min.: ").append(ByteUnit.BYTE.toMB(sentBytesOfLast5Minutes)).append(" MB")
+                .append("\nTime for message sending in last 5 min.: ").append(spentSendMessageTimeOfLast5Minutes / 1000d).append(" sec.")
+                .append("\nNumber of messages sent in last 5 min.: ").append(numMessagesSentOfLast5Minutes)
+                .append("\nNumber of messages sent by class name:").append(toString(getNumSentMessagesByClassName()))
+                .append("\nNumber of distributed data sent by class name:").append(toString(getNumSentDistributedDataByClassName()))
+
+                .append("\nReceived messages:")
+                .append("\nData received in last 5 min.: ").append(ByteUnit.BYTE.toMB(receivedBytesOfLast5Minutes)).append(" MB")
+                .append("\nTime for message deserializing in last 5 min.: ").append(deserializeTimeOfLast5Minutes / 1000d).append(" sec.")
+                .append("\nNumber of messages received in last 5 min.: ").append(numMessagesReceivedOfLast5Minutes)
+                .append("\nNumber of messages received by class name:").append(toString(getNumReceivedMessagesByClassName()))
+                .append("\nNumber of distributed data received by class name:").append(toString(getNumReceivedDistributedDataByClassName()))
+
+                .append("\n/* --------------------------------------------------------------------- */");
+
+        sb.append("\n\n----------------------------------------------------------------------------------------------------")
+                .append("\nCalculated network load:")
+                .append(("\n----------------------------------------------------------------------------------------------------"));
+        new TreeMap<>(impacts).forEach((name, impact) ->
+                sb.append("\n").append(name).append("=").append(DECIMAL_FORMAT.format(impact)));
+        sb.append("\nNetwork load=").append(DECIMAL_FORMAT.format(load))
+                .append("\n----------------------------------------------------------------------------------------------------\n");
+        log.info(sb.toString());
     }
 
-    private Stream<Connection> getAllCurrentConnections() {
-        return serviceNode.getNodesById().getAllNodes().stream()
-                .flatMap(Node::getAllConnections);
+    private static String toString(TreeMap<String, AtomicLong> numMessagesByClassName) {
+        StringBuilder sb = new StringBuilder();
+        numMessagesByClassName.forEach((key, value) -> sb.append("\n    - ").append(key).append(": ").append(value.get()));
+        return sb.toString();
     }
-}
\ No newline at end of file
+}
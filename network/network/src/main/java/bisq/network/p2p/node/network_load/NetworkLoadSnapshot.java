@@ -32,13 +32,17 @@ public final class NetworkLoadSnapshot {
     private NetworkLoad currentNetworkLoad;
     private Optional<NetworkLoad> previousNetworkLoad = Optional.empty();
     private long lastUpdated = 0;
+    // Updated more frequently than currentNetworkLoad and from a shorter time window, so that throttling can react
+    // to load changes within seconds. Does not affect the previous network load used for the proof of work.
+    private volatile NetworkLoad recentNetworkLoad;
 
     public NetworkLoadSnapshot() {
-        currentNetworkLoad = new NetworkLoad();
+        this(new NetworkLoad());
     }
 
     public NetworkLoadSnapshot(NetworkLoad networkLoad) {
         currentNetworkLoad = networkLoad;
+        recentNetworkLoad = networkLoad;
     }
 
     public void updateNetworkLoad(NetworkLoad networkLoad) {
@@ -46,6 +50,11 @@ public final class NetworkLoadSnapshot {
             lastUpdated = System.currentTimeMillis();
             previousNetworkLoad = Optional.of(currentNetworkLoad);
             currentNetworkLoad = networkLoad;
+            recentNetworkLoad = networkLoad;
         }
     }
+
+    public void updateRecentNetworkLoad(NetworkLoad networkLoad) {
+        recentNetworkLoad = networkLoad;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import bisq.common.data.RollingCounter;
+import bisq.common.timer.Clock;
+import bisq.common.timer.SystemClock;
+import bisq.common.util.ClassUtils;
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregates the traffic of all connections of a service node. Each sent and received message updates rolling
+ * counters, so the traffic of the last seconds, minutes or hour can be read at any time without iterating over the
+ * connections.
+ */
+@Getter
+public class NetworkTrafficAggregator {
+    public static final String DUPLICATE_DATA_REQUEST = "DuplicateDataRequest";
+
+    private final Clock clock;
+    private final RollingCounter sentBytes;
+    private final RollingCounter numMessagesSent;
+    private final RollingCounter spentSendMessageTime;
+    private final RollingCounter receivedBytes;
+    private final RollingCounter numMessagesReceived;
+    private final RollingCounter deserializeTime;
+    private final Map<String, RollingCounter> numSentMessagesByClassName = new ConcurrentHashMap<>();
+    private final Map<String, RollingCounter> numReceivedMessagesByClassName = new ConcurrentHashMap<>();
+    private final Map<String, RollingCounter> numSentDistributedDataByClassName = new ConcurrentHashMap<>();
+    private final Map<String, RollingCounter> numReceivedDistributedDataByClassName = new ConcurrentHashMap<>();
+
+    public NetworkTrafficAggregator() {
+        this(new SystemClock());
+    }
+
+    public NetworkTrafficAggregator(Clock clock) {
+        this.clock = clock;
+        sentBytes = new RollingCounter(clock);
+        numMessagesSent = new RollingCounter(clock);
+        spentSendMessageTime = new RollingCounter(clock);
+        receivedBytes = new RollingCounter(clock);
+        numMessagesReceived = new RollingCounter(clock);
+        deserializeTime = new RollingCounter(clock);
+    }
+
+    public void onSent(EnvelopePayloadMessage envelopePayloadMessage, long numBytes, long spentTime) {
+        sentBytes.add(numBytes);
+        numMessagesSent.increment();
+        spentSendMessageTime.add(spentTime);
+        countByClassName(envelopePayloadMessage, numSentMessagesByClassName, numSentDistributedDataByClassName);
+    }
+
+    public void onReceived(EnvelopePayloadMessage envelopePayloadMessage, long numBytes, long deserializeTime) {
+        receivedBytes.add(numBytes);
+        numMessagesReceived.increment();
+        this.deserializeTime.add(deserializeTime);
+        countByClassName(envelopePayloadMessage, numReceivedMessagesByClassName, numReceivedDistributedDataByClassName);
+    }
+
+    /**
+     * Duplicates are dropped before they get parsed, thus we count them under DUPLICATE_DATA_REQUEST instead of their
+     * class name. They still contribute to the received bytes and messages, as they are part of the network load.
+     */
+    public void onReceivedDuplicate(long numBytes, long peekTime) {
+        receivedBytes.add(numBytes);
+        numMessagesReceived.increment();
+        deserializeTime.add(peekTime);
+        numReceivedMessagesByClassName.computeIfAbsent(DUPLICATE_DATA_REQUEST, key -> new RollingCounter(clock)).increment();
+    }
+
+    /**
+     * @return The number of messages per class name of the last hour, sorted by class name.
+     */
+    public static TreeMap<String, AtomicLong> getSumsOfLastHour(Map<String, RollingCounter> countersByClassName) {
+        TreeMap<String, AtomicLong> result = new TreeMap<>();
+        countersByClassName.forEach((className, counter) -> {
+            long sum = counter.getSumOfLastMinutes(RollingCounter.MAX_NUM_MINUTES);
+            if (sum > 0) {
+                result.put(className, new AtomicLong(sum));
+            }
+        });
+        return result;
+    }
+
+    private void countByClassName(EnvelopePayloadMessage envelopePayloadMessage,
+                                  Map<String, RollingCounter> messagesByClassName,
+                                  Map<String, RollingCounter> distributedDataByClassName) {
+        String name = ClassUtils.getClassName(envelopePayloadMessage.getClass());
+        messagesByClassName.computeIfAbsent(name, key -> new RollingCounter(clock)).increment();
+
+        if (envelopePayloadMessage instanceof AddAuthenticatedDataRequest addAuthenticatedDataRequest) {
+            String distributedDataName = addAuthenticatedDataRequest.getDistributedData().getClassName();
+            distributedDataByClassName.computeIfAbsent(distributedDataName, key -> new RollingCounter(clock)).increment();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import bisq.common.timer.Clock;
+import bisq.common.timer.SystemClock;
+import lombok.Getter;
+
+/**
+ * Token bucket for byte rates. Tokens are consumed after the bytes have been sent, so the balance can become negative.
+ * A negative balance is a debt which has to be paid off before the next message can be sent; getDelay returns the
+ * time until the debt is paid. Nothing blocks here, the caller decides how to schedule the send.
+ */
+public class TokenBucket {
+    private final Clock clock;
+    @Getter
+    private volatile double ratePerSec;
+    @Getter
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double ratePerSec, double capacity) {
+        this(new SystemClock(), ratePerSec, capacity);
+    }
+
+    public TokenBucket(Clock clock, double ratePerSec, double capacity) {
+        this.clock = clock;
+        this.ratePerSec = ratePerSec;
+        this.capacity = capacity;
+        tokens = capacity;
+        lastRefill = clock.now();
+    }
+
+    public synchronized void setRatePerSec(double ratePerSec) {
+        refill();
+        this.ratePerSec = ratePerSec;
+    }
+
+    public synchronized void consume(long numBytes) {
+        refill();
+        tokens -= numBytes;
+    }
+
+    /**
+     * @return Time in ms until the bucket has no debt anymore, or 0 if we can send now.
+     */
+    public synchronized long getDelay() {
+        refill();
+        if (tokens >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-tokens * 1000 / ratePerSec);
+    }
+
+    public synchronized double getTokens() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = clock.now();
+        long passed = now - lastRefill;
+        if (passed > 0) {
+            tokens = Math.min(capacity, tokens + passed * ratePerSec / 1000);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import bisq.network.p2p.message.CloseConnectionMessage;
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.services.confidential.ConfidentialMessage;
+import bisq.network.p2p.services.data.inventory.InventoryRequest;
+import bisq.network.p2p.services.data.inventory.InventoryResponse;
+import bisq.network.p2p.services.peer_group.keep_alive.Ping;
+import bisq.network.p2p.services.peer_group.keep_alive.Pong;
+
+/**
+ * Traffic class used for bandwidth shaping of sent messages.
+ * PRIORITY messages (confidential messages like trade protocol messages and connection control messages) are
+ * small and latency-sensitive. BULK messages (inventory) are large and not latency-sensitive.
+ */
+public enum TrafficClass {
+    PRIORITY,
+    DEFAULT,
+    BULK;
+
+    public static TrafficClass from(EnvelopePayloadMessage message) {
+        if (message instanceof ConfidentialMessage ||
+                message instanceof CloseConnectionMessage ||
+                message instanceof Ping ||
+                message instanceof Pong) {
+            return PRIORITY;
+        }
+        if (message instanceof InventoryRequest || message instanceof InventoryResponse) {
+            return BULK;
+        }
+        return DEFAULT;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.confidential;
+
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+
+/**
+ * Registry of the listeners by the message type they are interested in. The matching routes are resolved once per
+ * concrete message class and cached, so that the costs for dispatching a received message do not depend on the
+ * number of registered listeners.
+ */
+public class ConfidentialMessageRouter {
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    public static final class Route {
+        private final Class<? extends EnvelopePayloadMessage> messageType;
+        private final ConfidentialMessageService.Listener listener;
+        // If not present we use the NetworkExecutors.notifyExecutor
+        private final Optional<Executor> executor;
+
+        private Route(Class<? extends EnvelopePayloadMessage> messageType,
+                      ConfidentialMessageService.Listener listener,
+                      Optional<Executor> executor) {
+            this.messageType = messageType;
+            this.listener = listener;
+            this.executor = executor;
+        }
+
+        boolean matches(Class<? extends EnvelopePayloadMessage> messageClass) {
+            return messageType.isAssignableFrom(messageClass);
+        }
+    }
+
+    private final Set<Route> routes = new CopyOnWriteArraySet<>();
+    private final Map<Class<? extends EnvelopePayloadMessage>, List<Route>> routesByMessageClass = new ConcurrentHashMap<>();
+
+    public synchronized void addRoute(Class<? extends EnvelopePayloadMessage> messageType,
+                  ConfidentialMessageService.Listener listener,
+                  Optional<Executor> executor) {
+        if (routes.add(new Route(messageType, listener, executor))) {
+            routesByMessageClass.clear();
+        }
+    }
+
+    public synchronized void removeRoutes(ConfidentialMessageService.Listener listener) {
+        if (routes.removeIf(route -> route.getListener().equals(listener))) {
+            routesByMessageClass.clear();
+        }
+    }
+
+    public List<Route> getRoutes(Class<? extends EnvelopePayloadMessage> messageClass) {
+        List<Route> cached = routesByMessageClass.get(messageClass);
+        if (cached != null) {
+            return cached;
+        }
+        // We synchronize the cache miss to not add a stale entry if the routes got changed in the meantime.
+        synchronized (this) {
+            return routesByMessageClass.computeIfAbsent(messageClass, key -> routes.stream()
+                    .filter(route -> route.matches(key))
+                    .toList());
+        }
+    }
+
+    public synchronized void clear() {
+        routes.clear();
+        routesByMessageClass.clear();
+    }
+}
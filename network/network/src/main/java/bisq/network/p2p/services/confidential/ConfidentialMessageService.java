@@ -17,6 +17,7 @@
 
 package bisq.network.p2p.services.confidential;
 
+import bisq.common.data.ExpiringDedupSet;
 import bisq.common.network.Address;
 import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.CompletableFutureUtils;
@@ -41,7 +42,6 @@ import bisq.security.HybridEncryption;
 import bisq.security.keys.KeyBundleService;
 import bisq.security.keys.KeyGeneration;
 import bisq.security.keys.PubKey;
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.security.GeneralSecurityException;
@@ -50,7 +50,7 @@ import java.security.PublicKey;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -60,6 +60,8 @@ import static java.util.concurrent.CompletableFuture.supplyAsync;
 @Slf4j
 public class ConfidentialMessageService implements Node.Listener, DataService.Listener {
     private static final ExecutorService EXECUTOR = ExecutorFactory.newSingleThreadExecutor("ConfidentialMessageService");
+    private static final int MAX_PROCESSED_MESSAGES = 10_000;
+    private static final long PROCESSED_MESSAGES_TTL = TimeUnit.HOURS.toMillis(1);
 
     public interface Listener {
         void onMessage(EnvelopePayloadMessage envelopePayloadMessage);
@@ -72,9 +74,11 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
     private final KeyBundleService keyBundleService;
     private final Optional<DataService> dataService;
     private final Optional<MessageDeliveryStatusService> messageDeliveryStatusService;
-    private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
-    @Getter
-    private final Set<EnvelopePayloadMessage> processedEnvelopePayloadMessages = new CopyOnWriteArraySet<>();
+    private final ConfidentialMessageRouter router = new ConfidentialMessageRouter();
+    // Services which register their listener after messages have been processed request the processed messages at
+    // initialisation. The TTL has to cover the startup phase.
+    private final ExpiringDedupSet<EnvelopePayloadMessage> processedEnvelopePayloadMessages =
+            new ExpiringDedupSet<>(MAX_PROCESSED_MESSAGES, PROCESSED_MESSAGES_TTL);
     private volatile boolean isShutdownInProgress;
 
     public ConfidentialMessageService(NodesById nodesById,
@@ -100,7 +104,7 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
         isShutdownInProgress = true;
         nodesById.removeNodeListener(this);
         dataService.ifPresent(service -> service.removeListener(this));
-        listeners.clear();
+        router.clear();
         processedEnvelopePayloadMessages.clear();
     }
 
@@ -369,12 +373,31 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
         }
     }
 
+    public Set<EnvelopePayloadMessage> getProcessedEnvelopePayloadMessages() {
+        return processedEnvelopePayloadMessages.getElements();
+    }
+
     public void addListener(Listener listener) {
-        listeners.add(listener);
+        addListener(EnvelopePayloadMessage.class, listener);
+    }
+
+    /**
+     * The listener only gets called for messages of the given type or its subtypes.
+     */
+    public void addListener(Class<? extends EnvelopePayloadMessage> messageType, Listener listener) {
+        router.addRoute(messageType, listener, Optional.empty());
+    }
+
+    /**
+     * The listener only gets called for messages of the given type or its subtypes and gets called on the given
+     * executor instead of the shared NetworkExecutors.notifyExecutor.
+     */
+    public void addListener(Class<? extends EnvelopePayloadMessage> messageType, Listener listener, Executor executor) {
+        router.addRoute(messageType, listener, Optional.of(executor));
     }
 
     public void removeListener(Listener listener) {
-        listeners.remove(listener);
+        router.removeRoutes(listener);
     }
 
 
@@ -495,13 +518,30 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
             // For backward compatibility we send 2 versions of mailbox data, thus we will receive each
             // mailbox data 2 times. We do not want that client code need to deal with duplications,
             // thus we filter here out the duplicated message.
-            boolean wasNotPresent = processedEnvelopePayloadMessages.add(decryptedEnvelopePayloadMessage);
+            // Mailbox messages can be delivered again as long as the mailbox data is in the network, thus we keep
+            // them until their TTL expires.
+            long timeToLive = decryptedEnvelopePayloadMessage instanceof MailboxMessage mailboxMessage
+                    ? Math.max(PROCESSED_MESSAGES_TTL, mailboxMessage.getMetaData().getTtl())
+                    : PROCESSED_MESSAGES_TTL;
+            boolean wasNotPresent = processedEnvelopePayloadMessages.add(decryptedEnvelopePayloadMessage, timeToLive);
             if (wasNotPresent) {
                 PublicKey senderPublicKey = KeyGeneration.generatePublic(confidentialData.getSenderPublicKey());
                 log.info("Decrypted confidentialMessage. decryptedEnvelopePayloadMessage={}", decryptedEnvelopePayloadMessage.getClass().getSimpleName());
-                listeners.forEach(listener -> {
-                    NetworkExecutors.getNotifyExecutor().submit(() -> listener.onMessage(decryptedEnvelopePayloadMessage));
-                    NetworkExecutors.getNotifyExecutor().submit(() -> listener.onConfidentialMessage(decryptedEnvelopePayloadMessage, senderPublicKey));
+                router.getRoutes(decryptedEnvelopePayloadMessage.getClass()).forEach(route -> {
+                    Executor executor = route.getExecutor().orElseGet(NetworkExecutors::getNotifyExecutor);
+                    Listener listener = route.getListener();
+                    executor.execute(() -> {
+                        try {
+                            listener.onMessage(decryptedEnvelopePayloadMessage);
+                        } catch (Exception e) {
+                            log.error("Calling onMessage at listener {} failed", listener, e);
+                        }
+                        try {
+                            listener.onConfidentialMessage(decryptedEnvelopePayloadMessage, senderPublicKey);
+                        } catch (Exception e) {
+                            log.error("Calling onConfidentialMessage at listener {} failed", listener, e);
+                        }
+                    });
                 });
             }
             return true;
@@ -22,6 +22,7 @@ import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.node.CloseReason;
 import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Node;
+import bisq.network.p2p.node.envelope.DuplicateDataRequestFilter;
 import bisq.network.p2p.services.data.broadcast.Broadcaster;
 import lombok.extern.slf4j.Slf4j;
 
@@ -33,11 +34,13 @@ import lombok.extern.slf4j.Slf4j;
 public class DataNetworkService implements Node.Listener {
     private final Node node;
     private final DataService dataService;
+    private final DuplicateDataRequestFilter duplicateDataRequestFilter;
     private final Broadcaster broadcaster;
 
-    public DataNetworkService(Node node, DataService dataService) {
+    public DataNetworkService(Node node, DataService dataService, DuplicateDataRequestFilter duplicateDataRequestFilter) {
         this.node = node;
         this.dataService = dataService;
+        this.duplicateDataRequestFilter = duplicateDataRequestFilter;
         broadcaster = new Broadcaster(node);
         node.addListener(this);
         dataService.addBroadcaster(broadcaster);
@@ -55,10 +58,12 @@ public class DataNetworkService implements Node.Listener {
 
     @Override
     public void onMessage(EnvelopePayloadMessage envelopePayloadMessage, Connection connection, NetworkId networkId) {
-        if (envelopePayloadMessage instanceof AddDataRequest) {
-            dataService.processAddDataRequest((AddDataRequest) envelopePayloadMessage, true);
-        } else if (envelopePayloadMessage instanceof RemoveDataRequest) {
-            dataService.processRemoveDataRequest((RemoveDataRequest) envelopePayloadMessage, true);
+        if (envelopePayloadMessage instanceof AddDataRequest addDataRequest) {
+            dataService.processAddDataRequest(addDataRequest, true)
+                    .thenRun(() -> duplicateDataRequestFilter.onProcessed(addDataRequest));
+        } else if (envelopePayloadMessage instanceof RemoveDataRequest removeDataRequest) {
+            dataService.processRemoveDataRequest(removeDataRequest, true)
+                    .thenRun(() -> duplicateDataRequestFilter.onProcessed(removeDataRequest));
         }
     }
 
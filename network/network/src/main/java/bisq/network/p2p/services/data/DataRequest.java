@@ -59,6 +59,13 @@ public interface DataRequest extends BroadcastMessage {
 
     boolean isExpired();
 
+    /**
+     * @return The date after which the request is expired. Requests which never expire return Long.MAX_VALUE.
+     */
+    default long getExpirationDate() {
+        return Long.MAX_VALUE;
+    }
+
     long getCreated();
 
     int getMaxMapSize();
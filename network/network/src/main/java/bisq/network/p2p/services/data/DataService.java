@@ -38,6 +38,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.PublicKey;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -374,21 +375,29 @@ public class DataService implements StorageService.Listener {
     // Private
     /* --------------------------------------------------------------------- */
 
-    public void processAddDataRequest(AddDataRequest addDataRequest, boolean allowReBroadcast) {
-        storageService.onAddDataRequest(addDataRequest)
+    /**
+     * @return True if the request changed our data.
+     */
+    public CompletableFuture<Boolean> processAddDataRequest(AddDataRequest addDataRequest, boolean allowReBroadcast) {
+        return storageService.onAddDataRequest(addDataRequest)
                 .whenComplete((optionalData, throwable) -> optionalData.ifPresent(storageData -> {
                     if (allowReBroadcast) {
                         broadcasters.forEach(e -> e.reBroadcast(addDataRequest));
                     }
-                }));
+                }))
+                .thenApply(Optional::isPresent);
     }
 
-    public void processRemoveDataRequest(RemoveDataRequest removeDataRequest, boolean allowReBroadcast) {
-        storageService.onRemoveDataRequest(removeDataRequest)
+    /**
+     * @return True if the request changed our data.
+     */
+    public CompletableFuture<Boolean> processRemoveDataRequest(RemoveDataRequest removeDataRequest, boolean allowReBroadcast) {
+        return storageService.onRemoveDataRequest(removeDataRequest)
                 .whenComplete((optionalData, throwable) -> optionalData.ifPresent(storageData -> {
                     if (allowReBroadcast) {
                         broadcasters.forEach(e -> e.reBroadcast(removeDataRequest));
                     }
-                }));
+                }))
+                .thenApply(Optional::isPresent);
     }
 }
\ No newline at end of file
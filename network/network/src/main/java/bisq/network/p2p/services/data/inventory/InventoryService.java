@@ -28,12 +28,14 @@ import bisq.network.p2p.node.CloseReason;
 import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Feature;
 import bisq.network.p2p.node.Node;
+import bisq.network.p2p.node.envelope.DuplicateDataRequestFilter;
 import bisq.network.p2p.services.data.AddDataRequest;
 import bisq.network.p2p.services.data.DataService;
 import bisq.network.p2p.services.data.RemoveDataRequest;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilter;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilterType;
 import bisq.network.p2p.services.peer_group.PeerGroupManager;
+import bisq.network.p2p.services.peer_group.PeerGroupService;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -101,9 +103,11 @@ public class InventoryService extends RequestResponseHandler<InventoryRequest, I
     }
 
     private final DataService dataService;
+    private final DuplicateDataRequestFilter duplicateDataRequestFilter;
     private final InventoryFilterFactory inventoryFilterFactory;
     private final InventoryRequestModel model;
     private final InventoryRequestPolicy policy;
+    private final PeerGroupService peerGroupService;
 
     private Optional<Scheduler> periodicRequestScheduler = Optional.empty();
     private volatile boolean shutdownInProgress;
@@ -114,11 +118,14 @@ public class InventoryService extends RequestResponseHandler<InventoryRequest, I
                             Node node,
                             PeerGroupManager peerGroupManager,
                             DataService dataService,
+                            DuplicateDataRequestFilter duplicateDataRequestFilter,
                             Set<Feature> myFeatures) {
 
         super(node, TIMEOUT);
         this.dataService = dataService;
+        this.duplicateDataRequestFilter = duplicateDataRequestFilter;
         this.config = config;
+        peerGroupService = peerGroupManager.getPeerGroupService();
 
         inventoryFilterFactory = new InventoryFilterFactory(myFeatures, dataService, config);
         model = new InventoryRequestModel(this);
@@ -269,13 +276,22 @@ public class InventoryService extends RequestResponseHandler<InventoryRequest, I
                 })
                 .thenApply(response -> {
                     Inventory inventory = response.getInventory();
+                    List<CompletableFuture<Boolean>> results = new ArrayList<>();
+                    // Only responses matching our request get here. Their entries are added to the duplicate filter once
+                    // the storage has processed them.
                     inventory.getEntries().forEach(dataRequest -> {
-                        if (dataRequest instanceof AddDataRequest) {
-                            dataService.processAddDataRequest((AddDataRequest) dataRequest, false);
-                        } else if (dataRequest instanceof RemoveDataRequest) {
-                            dataService.processRemoveDataRequest((RemoveDataRequest) dataRequest, false);
+                        CompletableFuture<Boolean> result;
+                        if (dataRequest instanceof AddDataRequest addDataRequest) {
+                            result = dataService.processAddDataRequest(addDataRequest, false);
+                        } else if (dataRequest instanceof RemoveDataRequest removeDataRequest) {
+                            result = dataService.processRemoveDataRequest(removeDataRequest, false);
+                        } else {
+                            return;
                         }
+                        result.thenRun(() -> duplicateDataRequestFilter.onProcessed(dataRequest));
+                        results.add(result);
                     });
+                    updatePeerScore(connection, inventory, results);
                     return inventory;
                 });
     }
@@ -304,6 +320,19 @@ public class InventoryService extends RequestResponseHandler<InventoryRequest, I
                 });
     }
 
+    // The number of new items per byte is used as inventory usefulness at the peer score
+    private void updatePeerScore(Connection connection, Inventory inventory, List<CompletableFuture<Boolean>> results) {
+        int numBytes = inventory.getCachedSerializedSize().orElse(0);
+        CompletableFutureUtils.allOf(results)
+                .whenComplete((list, throwable) -> {
+                    if (throwable != null || shutdownInProgress) {
+                        return;
+                    }
+                    int numNewItems = (int) list.stream().filter(Boolean::booleanValue).count();
+                    peerGroupService.onInventoryReceived(connection.getPeerAddress(), numNewItems, numBytes);
+                });
+    }
+
     private void updateNumPendingRequests() {
         model.getNumPendingRequestsObservable().set(getNumPendingRequests());
     }
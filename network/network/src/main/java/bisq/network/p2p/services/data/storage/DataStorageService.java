@@ -18,6 +18,7 @@
 package bisq.network.p2p.services.data.storage;
 
 import bisq.common.data.ByteArray;
+import bisq.common.data.ExpiryIndex;
 import bisq.common.observable.collection.ObservableSet;
 import bisq.network.p2p.services.data.DataRequest;
 import bisq.network.p2p.services.data.storage.append.AddAppendOnlyDataRequest;
@@ -35,13 +36,15 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 public abstract class DataStorageService<T extends DataRequest> extends RateLimitedPersistenceClient<DataStore<T>> {
     public static final String STORE_POST_FIX = "Store";
+    private static final int PRUNE_BATCH_SIZE = 100;
 
     @Getter
     protected final Persistence<DataStore<T>> persistence;
@@ -54,6 +57,9 @@ public abstract class DataStorageService<T extends DataRequest> extends RateLimi
     @Getter
     protected final ObservableSet<DataRequest> prunedAndExpiredDataRequests = new ObservableSet<>();
     protected Optional<Integer> maxMapSize = Optional.empty();
+    // Keys of the map by the expiration date of their request, so that pruning does not need to scan the whole map.
+    // Needs to be updated at each change of the map.
+    protected final ExpiryIndex<ByteArray> expiryIndex = new ExpiryIndex<>();
 
     public DataStorageService(PersistenceService persistenceService, String storeName, String storeKey) {
         super();
@@ -62,16 +68,19 @@ public abstract class DataStorageService<T extends DataRequest> extends RateLimi
         String storageFileName = storeKey + STORE_POST_FIX;
         DbSubDirectory dbSubDirectory = DbSubDirectory.NETWORK_DB;
         subDirPath = dbSubDirectory.getDbPath().resolve(storeName);
-        persistence = persistenceService.getOrCreatePersistence(this,
+        persistence = persistenceService.getOrCreateSegmentedPersistence(this,
                 subDirPath,
                 storageFileName,
                 persistableStore,
-                MaxBackupSize.from(dbSubDirectory));
+                MaxBackupSize.from(dbSubDirectory),
+                bisq.network.protobuf.EnvelopePayloadMessage.parser(),
+                proto -> resolvePersisted(proto.getDataRequest()));
     }
 
     public void shutdown() {
         prunedAndExpiredDataRequests.clear();
         maxMapSize = Optional.empty();
+        expiryIndex.clear();
     }
 
     @Override
@@ -82,23 +91,34 @@ public abstract class DataStorageService<T extends DataRequest> extends RateLimi
         }
 
         int maxSize = getMaxMapSize();
-        Map<ByteArray, T> pruned = map.entrySet().stream()
-                .filter(entry -> {
-                    T dataRequest = entry.getValue();
-                    boolean isExpired = dataRequest.isExpired();
-                    if (isExpired) {
-                        prunedAndExpiredDataRequests.add(dataRequest);
-                    }
-                    return !isExpired;
-                })
-                .sorted((o1, o2) -> Long.compare(o2.getValue().getCreated(), o1.getValue().getCreated()))
-                .limit(maxSize)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-        map.clear();
-        map.putAll(pruned);
+        // We only keep the keys and creation dates, as the map is decoded lazily if read from the segmented store
+        List<ByteArray> expiredKeys = new ArrayList<>();
+        List<Map.Entry<ByteArray, Long>> createdByKey = new ArrayList<>(map.size());
+        map.forEach((key, dataRequest) -> {
+            if (dataRequest.isExpired()) {
+                prunedAndExpiredDataRequests.add(dataRequest);
+                expiredKeys.add(key);
+            } else {
+                createdByKey.add(Map.entry(key, dataRequest.getCreated()));
+            }
+        });
+        expiredKeys.forEach(map::remove);
+        if (createdByKey.size() > maxSize) {
+            // We keep the newest entries
+            createdByKey.sort(Map.Entry.<ByteArray, Long>comparingByValue().reversed());
+            createdByKey.subList(maxSize, createdByKey.size()).forEach(entry -> map.remove(entry.getKey()));
+        }
         return persisted;
     }
 
+    /**
+     * Resolves a request read from the segmented store. Called each time a not yet accessed request gets decoded.
+     */
+    @SuppressWarnings("unchecked")
+    protected T resolvePersisted(bisq.network.protobuf.DataRequest proto) {
+        return (T) DataRequest.fromProto(proto);
+    }
+
     protected int getMaxMapSize() {
         if (maxMapSize.isEmpty()) {
             int size = persistableStore.getMap().values().stream()
@@ -111,6 +131,61 @@ public abstract class DataStorageService<T extends DataRequest> extends RateLimi
         return maxMapSize.get();
     }
 
+    protected void rebuildExpiryIndex() {
+        expiryIndex.clear();
+        persistableStore.getMap().forEach(this::updateExpiryIndex);
+    }
+
+    protected void updateExpiryIndex(ByteArray key, T request) {
+        long expirationDate = request.getExpirationDate();
+        if (expirationDate == Long.MAX_VALUE) {
+            expiryIndex.remove(key);
+        } else {
+            expiryIndex.put(key, expirationDate);
+        }
+    }
+
+    /**
+     * Removes the expired requests found in the expiry index from the map. The expired keys are processed in small
+     * batches and the mapAccessLock is only held while a batch is removed.
+     *
+     * @return The removed requests.
+     */
+    protected List<T> pruneExpiredRequests(Object mapAccessLock) {
+        Map<ByteArray, T> map = persistableStore.getMap();
+        long now = System.currentTimeMillis();
+        List<T> expiredRequests = new ArrayList<>();
+        // Requests which got replaced by a not yet expired one. We add them back after polling to not poll them again.
+        List<Map.Entry<ByteArray, T>> notExpired = new ArrayList<>();
+        List<ByteArray> keys;
+        while (!(keys = expiryIndex.pollExpired(now, PRUNE_BATCH_SIZE)).isEmpty()) {
+            synchronized (mapAccessLock) {
+                for (ByteArray key : keys) {
+                    T request = map.get(key);
+                    if (request == null) {
+                        continue;
+                    }
+                    if (request.isExpired()) {
+                        map.remove(key);
+                        expiredRequests.add(request);
+                    } else {
+                        notExpired.add(Map.entry(key, request));
+                    }
+                }
+            }
+        }
+        synchronized (mapAccessLock) {
+            notExpired.forEach(entry -> {
+                // Only if not changed in the meantime, otherwise the index got updated already
+                if (map.get(entry.getKey()) == entry.getValue()) {
+                    updateExpiryIndex(entry.getKey(), entry.getValue());
+                }
+            });
+        }
+        expiredRequests.forEach(prunedAndExpiredDataRequests::add);
+        return expiredRequests;
+    }
+
     protected boolean isExceedingMapSize() {
         int size = persistableStore.getMap().size();
         boolean isExceeding = size > getMaxMapSize();
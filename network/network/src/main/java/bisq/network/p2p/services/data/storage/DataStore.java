@@ -22,6 +22,8 @@ import bisq.common.proto.ProtoResolver;
 import bisq.common.proto.UnresolvableProtobufMessageException;
 import bisq.network.p2p.services.data.DataRequest;
 import bisq.persistence.PersistableStore;
+import bisq.persistence.segmented.LazyDecodingMap;
+import bisq.persistence.segmented.SegmentedPersistableStore;
 import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -39,14 +41,19 @@ import java.util.stream.Collectors;
 @NoArgsConstructor(access = AccessLevel.PACKAGE)
 @Slf4j
 @ToString
-public final class DataStore<T extends DataRequest> implements PersistableStore<DataStore<T>> {
+public final class DataStore<T extends DataRequest> implements SegmentedPersistableStore<DataStore<T>, T> {
+    // Either a ConcurrentHashMap or, once the persisted data are applied, the LazyDecodingMap of the segmented store
     @Getter(AccessLevel.PUBLIC)
-    private final Map<ByteArray, T> map = new ConcurrentHashMap<>();
+    private volatile Map<ByteArray, T> map = new ConcurrentHashMap<>();
 
     DataStore(Map<ByteArray, T> map) {
         this.map.putAll(map);
     }
 
+    private DataStore(LazyDecodingMap<T, ?> map) {
+        this.map = map;
+    }
+
     @Override
     public bisq.network.protobuf.DataStore toProto(boolean serializeForHash) {
         return unsafeToProto(serializeForHash);
@@ -89,15 +96,36 @@ public final class DataStore<T extends DataRequest> implements PersistableStore<
         };
     }
 
+    @Override
+    public DataStore<T> createStore(Map<ByteArray, T> map) {
+        return map instanceof LazyDecodingMap<T, ?> lazyDecodingMap
+                ? new DataStore<>(lazyDecodingMap)
+                : new DataStore<>(map);
+    }
+
     @Override
     public void applyPersisted(DataStore<T> persisted) {
-        map.clear();
-        map.putAll(persisted.getMap());
+        if (persisted.isLazilyDecoded()) {
+            // We adopt the map to not decode all entries
+            map = persisted.getMap();
+        } else {
+            map.clear();
+            map.putAll(persisted.getMap());
+        }
     }
 
+    /**
+     * A lazily decoded map is shared with the clone, as it copies its state when it gets persisted.
+     */
     @Override
     public DataStore<T> getClone() {
-        return new DataStore<>(Map.copyOf(map));
+        return map instanceof LazyDecodingMap<T, ?> lazyDecodingMap
+                ? new DataStore<>(lazyDecodingMap)
+                : new DataStore<>(Map.copyOf(map));
+    }
+
+    public boolean isLazilyDecoded() {
+        return map instanceof LazyDecodingMap;
     }
 
     // This is only temporary to not risk that we get an exception if a client mutates
@@ -42,6 +42,7 @@ import bisq.network.p2p.services.data.storage.mailbox.RemoveMailboxRequest;
 import bisq.persistence.DbSubDirectory;
 import bisq.persistence.Persistence;
 import bisq.persistence.PersistenceService;
+import bisq.persistence.segmented.SegmentedPersistence;
 import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
 
@@ -615,8 +616,10 @@ public class StorageService {
     private Set<String> getExistingStoreKeys(Path dirPath) {
         return NetworkStorageWhiteList.getClassNames().stream()
                 .filter(className -> {
-                    String storageFileName = StringUtils.camelCaseToSnakeCase(className + DataStorageService.STORE_POST_FIX) + Persistence.EXTENSION;
-                    return Files.exists(dirPath.resolve(storageFileName));
+                    String storageFileName = StringUtils.camelCaseToSnakeCase(className + DataStorageService.STORE_POST_FIX);
+                    // Stores which have not been migrated to the segmented layout yet are single files
+                    return Files.exists(dirPath.resolve(storageFileName + SegmentedPersistence.DIRECTORY_POST_FIX)) ||
+                            Files.exists(dirPath.resolve(storageFileName + Persistence.EXTENSION));
                 })
                 .collect(Collectors.toSet());
     }
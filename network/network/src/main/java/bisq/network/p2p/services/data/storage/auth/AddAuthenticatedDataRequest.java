@@ -195,6 +195,11 @@ public final class AddAuthenticatedDataRequest implements AuthenticatedDataReque
         return authenticatedSequentialData.isExpired();
     }
 
+    @Override
+    public long getExpirationDate() {
+        return authenticatedSequentialData.getExpirationDate();
+    }
+
     public DistributedData getDistributedData() {
         return authenticatedSequentialData.getDistributedData();
     }
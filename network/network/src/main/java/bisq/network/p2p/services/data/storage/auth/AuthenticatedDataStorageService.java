@@ -35,6 +35,7 @@ import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -71,9 +72,19 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
 
     @Override
     public void onPersistedApplied(DataStore<AuthenticatedDataRequest> persisted) {
+        rebuildExpiryIndex();
         maybeLogMapState("onPersistedApplied", persisted);
         pruneInvalidAuthorizedData();
-        handlePersistedPublishDateAware(persisted);
+        if (!persisted.isLazilyDecoded()) {
+            persisted.getMap().values().forEach(this::handlePersistedPublishDateAware);
+        }
+    }
+
+    @Override
+    protected AuthenticatedDataRequest resolvePersisted(bisq.network.protobuf.DataRequest proto) {
+        AuthenticatedDataRequest authenticatedDataRequest = super.resolvePersisted(proto);
+        handlePersistedPublishDateAware(authenticatedDataRequest);
+        return authenticatedDataRequest;
     }
 
     @Override
@@ -142,6 +153,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
             }
 
             map.put(byteArray, request);
+            updateExpiryIndex(byteArray, request);
 
             // In case we only updated the seq number we still want to broadcast and update the listeners.
             // It is a valid use case that we have both an add and remove data request, and we get repeated sequences
@@ -174,6 +186,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 // We don't have any entry, but it might be that we would receive later an add request, so we need to keep
                 // track of the sequence number
                 map.put(byteArray, request);
+                updateExpiryIndex(byteArray, request);
                 persist();
                 return new DataStorageResult(true).noEntry();
             }
@@ -184,6 +197,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 if (!request.isSequenceNrInvalid(requestFromMap.getSequenceNumber())) {
                     // We update the map with the new request with the fresh sequence number.
                     map.put(byteArray, request);
+                    updateExpiryIndex(byteArray, request);
                     persist();
                 }
                 return new DataStorageResult(true).alreadyRemoved();
@@ -227,6 +241,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
             }
 
             map.put(byteArray, request);
+            updateExpiryIndex(byteArray, request);
         }
 
         persist();
@@ -291,6 +306,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                     addRequestFromMap.getOwnerPublicKey());
 
             map.put(byteArray, updatedRequest);
+            updateExpiryIndex(byteArray, updatedRequest);
         }
 
         persist();
@@ -327,22 +343,12 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
     }
 
     private void pruneExpired() {
-        Set<Map.Entry<ByteArray, AuthenticatedDataRequest>> expiredEntries = persistableStore.getMap().entrySet().stream()
-                .filter(entry -> {
-                    AuthenticatedDataRequest dataRequest = entry.getValue();
-                    boolean isExpired = dataRequest.isExpired();
-                    if (isExpired) {
-                        prunedAndExpiredDataRequests.add(dataRequest);
-                    }
-                    return isExpired;
-                })
-                .collect(Collectors.toSet());
-        if (!expiredEntries.isEmpty()) {
-            log.info("We remove {} expired entries from our {} map", expiredEntries.size(), getStoreKey());
-            expiredEntries.forEach(entry -> {
-                persistableStore.getMap().remove(entry.getKey());
-                if (entry.getValue() instanceof AddAuthenticatedDataRequest) {
-                    AuthenticatedData data = ((AddAuthenticatedDataRequest) entry.getValue()).getAuthenticatedSequentialData().getAuthenticatedData();
+        List<AuthenticatedDataRequest> expiredRequests = pruneExpiredRequests(mapAccessLock);
+        if (!expiredRequests.isEmpty()) {
+            log.info("We removed {} expired entries from our {} map", expiredRequests.size(), getStoreKey());
+            expiredRequests.forEach(request -> {
+                if (request instanceof AddAuthenticatedDataRequest addRequest) {
+                    AuthenticatedData data = addRequest.getAuthenticatedSequentialData().getAuthenticatedData();
                     listeners.forEach(listener -> {
                         try {
                             listener.onRemoved(data);
@@ -373,46 +379,45 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 log.warn("We prune the AddAuthenticatedDataRequest with an invalid AuthorizedData. {}",
                         StringUtils.truncate(value.toString(), 3000));
                 persistableStore.getMap().remove(key);
+                expiryIndex.remove(key);
             });
             persist();
         }
     }
 
-    private void handlePersistedPublishDateAware(DataStore<AuthenticatedDataRequest> persisted) {
-        persisted.getMap().values().forEach(authenticatedDataRequest -> {
-            // We do not handle RefreshAuthenticatedDataRequest as we would receive a new
-            // AddAuthenticatedDataRequest from inventoryRequest anyway as RefreshAuthenticatedDataRequests are
-            // not included in inventoryRequests.
-            if (authenticatedDataRequest instanceof AddAuthenticatedDataRequest request) {
-                DistributedData distributedData = request.getDistributedData();
-                if (distributedData instanceof PublishDateAware publishDateAware) {
-                    publishDateAware.setPublishDate(authenticatedDataRequest.getCreated());
-                }
+    // Lazily decoded requests get handled when they are decoded, as changes at iterated requests would get lost.
+    private void handlePersistedPublishDateAware(AuthenticatedDataRequest authenticatedDataRequest) {
+        // We do not handle RefreshAuthenticatedDataRequest as we would receive a new
+        // AddAuthenticatedDataRequest from inventoryRequest anyway as RefreshAuthenticatedDataRequests are
+        // not included in inventoryRequests.
+        if (authenticatedDataRequest instanceof AddAuthenticatedDataRequest request) {
+            DistributedData distributedData = request.getDistributedData();
+            if (distributedData instanceof PublishDateAware publishDateAware) {
+                publishDateAware.setPublishDate(authenticatedDataRequest.getCreated());
             }
-        });
+        }
     }
 
     // Useful for debugging state of the store
     private void maybeLogMapState(String methodName, DataStore<AuthenticatedDataRequest> dataStore) {
         if (DevMode.isDevMode() || methodName.equals("onPersistedApplied")) {
-            var dataSize = dataStore.getMap().values().stream()
-                    .mapToLong(authenticatedDataRequest -> authenticatedDataRequest.serializeForHash().length)
-                    .sum();
-            var added = dataStore.getMap().values().stream()
-                    .filter(authenticatedDataRequest -> authenticatedDataRequest instanceof AddAuthenticatedDataRequest)
-                    .map(authenticatedDataRequest -> (AddAuthenticatedDataRequest) authenticatedDataRequest)
-                    .map(e -> e.getDistributedData().getClass().getSimpleName())
-                    .collect(Collectors.toList());
-            var removed = dataStore.getMap().values().stream()
-                    .filter(authenticatedDataRequest -> authenticatedDataRequest instanceof RemoveAuthenticatedDataRequest)
-                    .map(authenticatedDataRequest -> (RemoveAuthenticatedDataRequest) authenticatedDataRequest)
-                    .map(RemoveAuthenticatedDataRequest::getClassName)
-                    .collect(Collectors.toList());
+            // Single pass over the map as it can be large
+            long dataSize = 0;
+            int numAddRequests = 0;
+            int numRemoveRequests = 0;
+            for (AuthenticatedDataRequest authenticatedDataRequest : dataStore.getMap().values()) {
+                dataSize += authenticatedDataRequest.serializeForHash().length;
+                if (authenticatedDataRequest instanceof AddAuthenticatedDataRequest) {
+                    numAddRequests++;
+                } else if (authenticatedDataRequest instanceof RemoveAuthenticatedDataRequest) {
+                    numRemoveRequests++;
+                }
+            }
             log.info("Method: {}; map entry: {}; num AddRequests: {}; num RemoveRequests={}; map size:{}, data size: {}, Max size: {}",
                     methodName,
                     storeKey,
-                    added.size(),
-                    removed.size(),
+                    numAddRequests,
+                    numRemoveRequests,
                     dataStore.getMap().size(),
                     DataSizeFormatter.format(dataSize),
                     getMaxMapSize());
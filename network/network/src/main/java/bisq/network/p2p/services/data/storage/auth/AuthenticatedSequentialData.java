@@ -92,6 +92,10 @@ public final class AuthenticatedSequentialData implements NetworkProto {
         return (System.currentTimeMillis() - created) > authenticatedData.getMetaData().getTtl();
     }
 
+    public long getExpirationDate() {
+        return created + authenticatedData.getMetaData().getTtl();
+    }
+
     public boolean isSequenceNrInvalid(long seqNumberFromMap) {
         return sequenceNumber <= seqNumberFromMap;
     }
@@ -206,6 +206,11 @@ public final class RemoveAuthenticatedDataRequest implements AuthenticatedDataRe
         return (System.currentTimeMillis() - created) > getMetaData().getTtl();
     }
 
+    @Override
+    public long getExpirationDate() {
+        return created + getMetaData().getTtl();
+    }
+
     @Override
     public int getMaxMapSize() {
         return getMetaData().getMaxMapSize();
@@ -173,6 +173,11 @@ public final class AddMailboxRequest implements MailboxRequest, AddDataRequest {
         return mailboxSequentialData.isExpired();
     }
 
+    @Override
+    public long getExpirationDate() {
+        return mailboxSequentialData.getExpirationDate();
+    }
+
     @Override
     public int getMaxMapSize() {
         return mailboxSequentialData.getMailboxData().getMetaData().getMaxMapSize();
@@ -29,6 +29,7 @@ import bisq.persistence.PersistenceService;
 import bisq.security.DigestUtil;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -60,6 +61,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
 
     @Override
     public void onPersistedApplied(DataStore<MailboxRequest> persisted) {
+        rebuildExpiryIndex();
         maybeLogMapState("onPersistedApplied", persisted);
     }
 
@@ -109,6 +111,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
                 return new DataStorageResult(false).signatureInvalid();
             }
             map.put(byteArray, request);
+            updateExpiryIndex(byteArray, request);
         }
 
         persist();
@@ -136,6 +139,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
                 // We don't have any entry, but it might be that we would receive later an add request, so we need to keep
                 // track of the sequence number
                 map.put(byteArray, request);
+                updateExpiryIndex(byteArray, request);
                 persist();
                 return new DataStorageResult(true).noEntry();
             }
@@ -145,6 +149,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
                 if (!request.isSequenceNrInvalid(requestFromMap.getSequenceNumber())) {
                     // We update the request, so we have the latest sequence number.
                     map.put(byteArray, request);
+                    updateExpiryIndex(byteArray, request);
                     persist();
                 }
                 return new DataStorageResult(true).alreadyRemoved();
@@ -183,6 +188,8 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
             }
 
             map.put(byteArray, request);
+            updateExpiryIndex(byteArray, request);
+
             listeners.forEach(listener -> {
                 try {
                     listener.onRemoved(sequentialDataFromMap.getMailboxData());
@@ -235,43 +242,32 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
     }
 
     private void pruneExpired() {
-        Set<Map.Entry<ByteArray, MailboxRequest>> expiredEntries = persistableStore.getMap().entrySet().stream()
-                .filter(entry -> {
-                    MailboxRequest dataRequest = entry.getValue();
-                    boolean isExpired = dataRequest.isExpired();
-                    if (isExpired) {
-                        prunedAndExpiredDataRequests.add(dataRequest);
-                    }
-                    return isExpired;
-                })
-                .collect(Collectors.toSet());
-        if (!expiredEntries.isEmpty()) {
-            log.info("We remove {} expired entries from our {} map", expiredEntries.size(), getStoreKey());
-            expiredEntries.forEach(entry -> persistableStore.getMap().remove(entry.getKey()));
+        List<MailboxRequest> expiredRequests = pruneExpiredRequests(mapAccessLock);
+        if (!expiredRequests.isEmpty()) {
+            log.info("We removed {} expired entries from our {} map", expiredRequests.size(), getStoreKey());
         }
     }
 
     // Useful for debugging state of the store
     private void maybeLogMapState(String methodName, DataStore<MailboxRequest> dataStore) {
         if (DevMode.isDevMode() || methodName.equals("onPersistedApplied")) {
-            var dataSize = dataStore.getMap().values().stream()
-                    .mapToLong(authenticatedDataRequest -> authenticatedDataRequest.serializeForHash().length)
-                    .sum();
-            var added = dataStore.getMap().values().stream()
-                    .filter(authenticatedDataRequest -> authenticatedDataRequest instanceof AddMailboxRequest)
-                    .map(authenticatedDataRequest -> (AddMailboxRequest) authenticatedDataRequest)
-                    .map(e -> e.getMailboxSequentialData().getMailboxData().getClassName())
-                    .toList();
-            var removed = dataStore.getMap().values().stream()
-                    .filter(authenticatedDataRequest -> authenticatedDataRequest instanceof RemoveMailboxRequest)
-                    .map(authenticatedDataRequest -> (RemoveMailboxRequest) authenticatedDataRequest)
-                    .map(RemoveMailboxRequest::getClassName)
-                    .toList();
+            // Single pass over the map as it can be large
+            long dataSize = 0;
+            int numAddRequests = 0;
+            int numRemoveRequests = 0;
+            for (MailboxRequest mailboxRequest : dataStore.getMap().values()) {
+                dataSize += mailboxRequest.serializeForHash().length;
+                if (mailboxRequest instanceof AddMailboxRequest) {
+                    numAddRequests++;
+                } else if (mailboxRequest instanceof RemoveMailboxRequest) {
+                    numRemoveRequests++;
+                }
+            }
             log.info("Method: {}; map entry: {}; num AddRequests: {}; num RemoveRequests={}; map size:{}, data size: {}, Max size: {}",
                     methodName,
                     storeKey,
-                    added.size(),
-                    removed.size(),
+                    numAddRequests,
+                    numRemoveRequests,
                     dataStore.getMap().size(),
                     DataSizeFormatter.format(dataSize),
                     getMaxMapSize());
@@ -139,6 +139,10 @@ public final class MailboxSequentialData implements NetworkProto {
                 Math.min(MailboxData.MAX_TLL, mailboxData.getMetaData().getTtl());
     }
 
+    public long getExpirationDate() {
+        return created + Math.min(MailboxData.MAX_TLL, mailboxData.getMetaData().getTtl());
+    }
+
     @Override
     public String toString() {
         return "MailboxSequentialData{" +
@@ -193,6 +193,11 @@ public final class RemoveMailboxRequest implements MailboxRequest, RemoveDataReq
         return (System.currentTimeMillis() - created) > Math.min(MailboxData.MAX_TLL, getMetaData().getTtl());
     }
 
+    @Override
+    public long getExpirationDate() {
+        return created + Math.min(MailboxData.MAX_TLL, getMetaData().getTtl());
+    }
+
     @Override
     public int getMaxMapSize() {
         return getMetaData().getMaxMapSize();
@@ -28,6 +28,7 @@ import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.node.CloseReason;
 import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Node;
+import bisq.network.p2p.node.network_load.ConnectionMetrics;
 import bisq.network.p2p.services.peer_group.exchange.PeerExchangeService;
 import bisq.network.p2p.services.peer_group.keep_alive.KeepAliveService;
 import bisq.network.p2p.services.peer_group.network_load.NetworkLoadExchangeService;
@@ -52,12 +53,15 @@ import java.util.stream.Collectors;
 import static bisq.network.p2p.services.peer_group.PeerGroupManager.State.STOPPING;
 import static bisq.network.p2p.services.peer_group.PeerGroupManager.State.TERMINATED;
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.DAYS;
 import static java.util.concurrent.TimeUnit.HOURS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 @Slf4j
 public class PeerGroupManager implements Node.Listener {
+    private static final long MAX_PEER_SCORE_AGE = DAYS.toMillis(5);
+
     public enum State {
         NEW,
         INITIALIZING,
@@ -210,10 +214,15 @@ public class PeerGroupManager implements Node.Listener {
 
     @Override
     public void onConnection(Connection connection) {
+        // Each RTT sample of the connection feeds into the peer score once
+        Address peerAddress = connection.getPeerAddress();
+        connection.getConnectionMetrics().addRttListener(rtt -> peerGroupService.onRtt(peerAddress, rtt));
     }
 
     @Override
     public void onDisconnect(Connection connection, CloseReason closeReason) {
+        peerGroupService.onConnectionClosed(connection.getPeerAddress(), connection.getConnectionMetrics().getAge());
+
         maybeCreateConnectionsScheduler.ifPresent(Scheduler::shutdownNow);
         maybeCreateConnectionsScheduler = Optional.of(Scheduler.run(this::maybeCreateConnections)
                 .host(this)
@@ -301,6 +310,7 @@ public class PeerGroupManager implements Node.Listener {
             maybeCreateConnections();
             maybeRemoveReportedPeers();
             maybeRemovePersistedPeers();
+            prunePeerScores();
         } catch (InterruptedException e) {
             log.warn("Thread got interrupted at doHouseKeeping method", e);
             Thread.currentThread().interrupt(); // Restore interrupted state
@@ -412,7 +422,8 @@ public class PeerGroupManager implements Node.Listener {
         List<Peer> reportedPeers = new ArrayList<>(peerGroupService.getReportedPeers());
         int exceeding = reportedPeers.size() - config.getMaxReported();
         if (exceeding > 0) {
-            reportedPeers.sort(Comparator.comparing(Peer::getDate));
+            // Lowest score first, and for the same score the oldest first
+            reportedPeers.sort(peerGroupService.comparingPeersByScore().reversed());
             List<Peer> outDated = reportedPeers.subList(0, Math.min(exceeding, reportedPeers.size()));
             log.info("Remove {} reported peers: {}", outDated.size(), StringUtils.truncate(outDated.toString(), 500));
             peerGroupService.removeReportedPeers(outDated);
@@ -421,7 +432,7 @@ public class PeerGroupManager implements Node.Listener {
 
     private void maybeRemovePersistedPeers() {
         List<Peer> outDated = peerGroupService.getPersistedPeers().stream()
-                .sorted()
+                .sorted(peerGroupService.comparingPeersByScore())
                 .skip(config.getMaxPersisted())
                 .collect(Collectors.toList());
         List<Peer> outDatedTorPeers = outDated.stream().filter(e -> e.getAddress().isTorAddress()).collect(Collectors.toList());
@@ -446,6 +457,10 @@ public class PeerGroupManager implements Node.Listener {
         }
     }
 
+    private void prunePeerScores() {
+        peerGroupService.pruneScores(MAX_PEER_SCORE_AGE, 2 * config.getMaxPersisted());
+    }
+
     public void addListener(PeerGroupManager.Listener listener) {
         listeners.add(listener);
     }
@@ -467,10 +482,12 @@ public class PeerGroupManager implements Node.Listener {
     // Utils
     /* --------------------------------------------------------------------- */
 
-    // Used for Stream.skip, therefor we sort by descending numPendingRequests and descending creationDate so that we close
-    // the oldest connections which have the least pending requests first.
+    // Used for Stream.skip, therefor we sort by descending numPendingRequests, descending peer score and descending
+    // creationDate so that we close the connections with the least pending requests, the lowest score and the oldest
+    // creation date first.
     private Comparator<Connection> comparingForSkip() {
         return Connection.comparingNumPendingRequests().reversed()
+                .thenComparing(peerGroupService.comparingConnectionsByScore())
                 .thenComparing(Connection.comparingDate().reversed());
     }
 
@@ -31,12 +31,16 @@ import com.google.common.base.Joiner;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -222,6 +226,106 @@ public class PeerGroupService extends RateLimitedPersistenceClient<PeerGroupStor
     }
 
 
+    /* --------------------------------------------------------------------- */
+    // Peer scores
+    /* --------------------------------------------------------------------- */
+
+    public Optional<PeerScore> findPeerScore(Address address) {
+        return Optional.ofNullable(getPeerScoreByAddress().get(address));
+    }
+
+    public double getScore(Address address) {
+        PeerScore peerScore = getPeerScoreByAddress().get(address);
+        return peerScore != null ? peerScore.getScore() : PeerScore.UNKNOWN_PEER_SCORE;
+    }
+
+    public double getScore(Peer peer) {
+        return getScore(peer.getAddress());
+    }
+
+    /**
+     * Highest score first, and for the same score the most recent peer first.
+     * The scores are taken once per comparator instance, so that concurrent score updates cannot violate the
+     * contract of the sort. The comparator must therefore not be reused across sort operations.
+     */
+    public Comparator<Peer> comparingPeersByScore() {
+        Map<Address, Double> scoreSnapshot = new HashMap<>();
+        return Comparator.comparingDouble((Peer peer) -> scoreSnapshot.computeIfAbsent(peer.getAddress(), this::getScore))
+                .reversed()
+                .thenComparing(Comparator.naturalOrder());
+    }
+
+    /**
+     * Highest score first. As with comparingPeersByScore the comparator must not be reused across sort operations.
+     */
+    public Comparator<Connection> comparingConnectionsByScore() {
+        Map<Address, Double> scoreSnapshot = new HashMap<>();
+        return Comparator.comparingDouble((Connection connection) -> scoreSnapshot.computeIfAbsent(connection.getPeerAddress(), this::getScore))
+                .reversed();
+    }
+
+    public void onConnectionSucceeded(Address address) {
+        long now = System.currentTimeMillis();
+        getOrCreatePeerScore(address, now).onConnectionSucceeded(now);
+        persist();
+    }
+
+    public void onConnectionFailed(Address address) {
+        long now = System.currentTimeMillis();
+        getOrCreatePeerScore(address, now).onConnectionFailed(now);
+        persist();
+    }
+
+    public void onRtt(Address address, double rtt) {
+        long now = System.currentTimeMillis();
+        getOrCreatePeerScore(address, now).onRtt(rtt, now);
+        persist();
+    }
+
+    public void onInventoryReceived(Address address, int numNewItems, int numBytes) {
+        long now = System.currentTimeMillis();
+        getOrCreatePeerScore(address, now).onInventoryReceived(numNewItems, numBytes, now);
+        persist();
+    }
+
+    public void onConnectionClosed(Address address, long uptime) {
+        long now = System.currentTimeMillis();
+        getOrCreatePeerScore(address, now).onUptime(uptime, now);
+        persist();
+    }
+
+    /**
+     * Removes scores which have not been updated since maxAge, and if we still exceed maxNumScores the scores of
+     * the least recently updated peers.
+     */
+    public void pruneScores(long maxAge, int maxNumScores) {
+        Map<Address, PeerScore> peerScoreByAddress = getPeerScoreByAddress();
+        long minDate = System.currentTimeMillis() - maxAge;
+        List<PeerScore> sortedByLastUpdated = peerScoreByAddress.values().stream()
+                .sorted(Comparator.comparingLong(PeerScore::getLastUpdated).reversed())
+                .toList();
+        List<PeerScore> toRemove = new ArrayList<>();
+        for (int i = 0; i < sortedByLastUpdated.size(); i++) {
+            PeerScore peerScore = sortedByLastUpdated.get(i);
+            if (i >= maxNumScores || peerScore.getLastUpdated() < minDate) {
+                toRemove.add(peerScore);
+            }
+        }
+        if (!toRemove.isEmpty()) {
+            toRemove.forEach(peerScore -> peerScoreByAddress.remove(peerScore.getAddress()));
+            persist();
+        }
+    }
+
+    private Map<Address, PeerScore> getPeerScoreByAddress() {
+        return persistableStore.getPeerScoreByAddress();
+    }
+
+    private PeerScore getOrCreatePeerScore(Address address, long now) {
+        return getPeerScoreByAddress().computeIfAbsent(address, key -> new PeerScore(key, now));
+    }
+
+
     /* --------------------------------------------------------------------- */
     // Connections
     /* --------------------------------------------------------------------- */
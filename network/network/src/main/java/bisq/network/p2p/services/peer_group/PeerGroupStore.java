@@ -36,9 +36,12 @@ import java.util.stream.Collectors;
 final class PeerGroupStore implements PersistableStore<PeerGroupStore> {
     @Getter(AccessLevel.PACKAGE)
     private final Map<Address, Peer> persistedPeersByAddress = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.PACKAGE)
+    private final Map<Address, PeerScore> peerScoreByAddress = new ConcurrentHashMap<>();
 
-    private PeerGroupStore(Map<Address, Peer> persistedPeersByAddress) {
+    private PeerGroupStore(Map<Address, Peer> persistedPeersByAddress, Map<Address, PeerScore> peerScoreByAddress) {
         this.persistedPeersByAddress.putAll(persistedPeersByAddress);
+        this.peerScoreByAddress.putAll(peerScoreByAddress);
     }
 
     @Override
@@ -48,16 +51,23 @@ final class PeerGroupStore implements PersistableStore<PeerGroupStore> {
 
     @Override
     public bisq.network.protobuf.PeerGroupStore.Builder getBuilder(boolean serializeForHash) {
-        return bisq.network.protobuf.PeerGroupStore.newBuilder().addAllPersistedPeers(persistedPeersByAddress.values().stream()
-                .map(peer -> peer.toProto(serializeForHash))
-                .collect(Collectors.toSet()));
+        return bisq.network.protobuf.PeerGroupStore.newBuilder()
+                .addAllPersistedPeers(persistedPeersByAddress.values().stream()
+                        .map(peer -> peer.toProto(serializeForHash))
+                        .collect(Collectors.toSet()))
+                .addAllPeerScores(peerScoreByAddress.values().stream()
+                        .map(peerScore -> peerScore.toProto(serializeForHash))
+                        .collect(Collectors.toList()));
     }
 
     public static PeerGroupStore fromProto(bisq.network.protobuf.PeerGroupStore proto) {
         Map<Address, Peer> persistedPeersById = proto.getPersistedPeersList().stream()
                 .map(Peer::fromProto)
                 .collect(Collectors.toMap(Peer::getAddress, e -> e));
-        return new PeerGroupStore(persistedPeersById);
+        Map<Address, PeerScore> peerScoreByAddress = proto.getPeerScoresList().stream()
+                .map(PeerScore::fromProto)
+                .collect(Collectors.toMap(PeerScore::getAddress, e -> e, (a, b) -> a));
+        return new PeerGroupStore(persistedPeersById, peerScoreByAddress);
     }
 
     @Override
@@ -73,12 +83,16 @@ final class PeerGroupStore implements PersistableStore<PeerGroupStore> {
 
     @Override
     public PeerGroupStore getClone() {
-        return new PeerGroupStore(Map.copyOf(persistedPeersByAddress));
+        return new PeerGroupStore(Map.copyOf(persistedPeersByAddress),
+                peerScoreByAddress.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().copy())));
     }
 
     @Override
     public void applyPersisted(PeerGroupStore persisted) {
         persistedPeersByAddress.clear();
         persistedPeersByAddress.putAll(persisted.getPersistedPeersByAddress());
+        peerScoreByAddress.clear();
+        peerScoreByAddress.putAll(persisted.getPeerScoreByAddress());
     }
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.peer_group;
+
+import bisq.common.network.Address;
+import bisq.common.proto.PersistableProto;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import static java.util.concurrent.TimeUnit.HOURS;
+
+/**
+ * Score of a peer derived from what we observed from it: round trip time, success rate of connection attempts
+ * (connect and handshake), usefulness of the inventory it delivered (new items per KB) and accumulated uptime of our
+ * connections to it. RTT, success rate and usefulness are tracked as exponentially weighted moving averages, so that
+ * recent observations dominate.
+ * <p>
+ * Each component is mapped to a value between 0 and 1 and the score is the weighted sum of those.
+ * Components without samples use a neutral prior, so that unknown peers rank below peers with good results but
+ * above peers which failed repeatedly.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class PeerScore implements PersistableProto {
+    static final double ALPHA = 0.3;
+    // Typical RTT at Tor is 1-3 sec. A peer with REFERENCE_RTT gets a latency value of 0.5.
+    static final double REFERENCE_RTT = 1000;
+    // A peer delivering 1 new item per KB of inventory data gets a usefulness value of 0.5.
+    static final double REFERENCE_USEFULNESS = 1;
+    // A peer we have been connected to for 1 day in total gets an uptime value of 0.5.
+    static final double REFERENCE_UPTIME = HOURS.toMillis(24);
+
+    static final double WEIGHT_LATENCY = 0.3;
+    static final double WEIGHT_RELIABILITY = 0.35;
+    static final double WEIGHT_USEFULNESS = 0.15;
+    static final double WEIGHT_UPTIME = 0.2;
+
+    static final double PRIOR_LATENCY = 0.5;
+    static final double PRIOR_RELIABILITY = 0.75;
+    static final double PRIOR_USEFULNESS = 0.5;
+
+    public static final double UNKNOWN_PEER_SCORE = WEIGHT_LATENCY * PRIOR_LATENCY +
+            WEIGHT_RELIABILITY * PRIOR_RELIABILITY +
+            WEIGHT_USEFULNESS * PRIOR_USEFULNESS;
+
+    private final Address address;
+    private volatile double ewmaRtt;
+    private volatile double connectionSuccessRate;
+    private volatile long numConnectionAttempts;
+    private volatile double ewmaUsefulness;
+    private volatile long numInventoryResponses;
+    private volatile long accumulatedUptime;
+    private volatile long lastUpdated;
+
+    PeerScore(Address address, long now) {
+        this(address, 0, PRIOR_RELIABILITY, 0, 0, 0, 0, now);
+    }
+
+    private PeerScore(Address address,
+                      double ewmaRtt,
+                      double connectionSuccessRate,
+                      long numConnectionAttempts,
+                      double ewmaUsefulness,
+                      long numInventoryResponses,
+                      long accumulatedUptime,
+                      long lastUpdated) {
+        this.address = address;
+        this.ewmaRtt = ewmaRtt;
+        this.connectionSuccessRate = connectionSuccessRate;
+        this.numConnectionAttempts = numConnectionAttempts;
+        this.ewmaUsefulness = ewmaUsefulness;
+        this.numInventoryResponses = numInventoryResponses;
+        this.accumulatedUptime = accumulatedUptime;
+        this.lastUpdated = lastUpdated;
+    }
+
+    @Override
+    public bisq.network.protobuf.PeerScore toProto(boolean serializeForHash) {
+        return unsafeToProto(serializeForHash);
+    }
+
+    @Override
+    public synchronized bisq.network.protobuf.PeerScore.Builder getBuilder(boolean serializeForHash) {
+        return bisq.network.protobuf.PeerScore.newBuilder()
+                .setAddress(address.toProto(serializeForHash))
+                .setEwmaRtt(ewmaRtt)
+                .setConnectionSuccessRate(connectionSuccessRate)
+                .setNumConnectionAttempts(numConnectionAttempts)
+                .setEwmaUsefulness(ewmaUsefulness)
+                .setNumInventoryResponses(numInventoryResponses)
+                .setAccumulatedUptime(accumulatedUptime)
+                .setLastUpdated(lastUpdated);
+    }
+
+    public static PeerScore fromProto(bisq.network.protobuf.PeerScore proto) {
+        return new PeerScore(Address.fromProto(proto.getAddress()),
+                proto.getEwmaRtt(),
+                proto.getConnectionSuccessRate(),
+                proto.getNumConnectionAttempts(),
+                proto.getEwmaUsefulness(),
+                proto.getNumInventoryResponses(),
+                proto.getAccumulatedUptime(),
+                proto.getLastUpdated());
+    }
+
+    synchronized void onConnectionSucceeded(long now) {
+        connectionSuccessRate = ALPHA + (1 - ALPHA) * connectionSuccessRate;
+        numConnectionAttempts++;
+        lastUpdated = now;
+    }
+
+    synchronized void onConnectionFailed(long now) {
+        connectionSuccessRate = (1 - ALPHA) * connectionSuccessRate;
+        numConnectionAttempts++;
+        lastUpdated = now;
+    }
+
+    synchronized void onRtt(double rtt, long now) {
+        if (rtt <= 0) {
+            return;
+        }
+        ewmaRtt = ewmaRtt == 0 ? rtt : ALPHA * rtt + (1 - ALPHA) * ewmaRtt;
+        lastUpdated = now;
+    }
+
+    synchronized void onInventoryReceived(int numNewItems, int numBytes, long now) {
+        double kb = Math.max(1, numBytes) / 1024d;
+        double usefulness = numNewItems / kb;
+        ewmaUsefulness = numInventoryResponses == 0 ? usefulness : ALPHA * usefulness + (1 - ALPHA) * ewmaUsefulness;
+        numInventoryResponses++;
+        lastUpdated = now;
+    }
+
+    synchronized void onUptime(long uptime, long now) {
+        if (uptime <= 0) {
+            return;
+        }
+        accumulatedUptime += uptime;
+        lastUpdated = now;
+    }
+
+    public synchronized double getScore() {
+        double latency = ewmaRtt > 0 ? REFERENCE_RTT / (REFERENCE_RTT + ewmaRtt) : PRIOR_LATENCY;
+        double usefulness = numInventoryResponses > 0 ? ewmaUsefulness / (ewmaUsefulness + REFERENCE_USEFULNESS) : PRIOR_USEFULNESS;
+        double uptime = accumulatedUptime / (accumulatedUptime + REFERENCE_UPTIME);
+        return WEIGHT_LATENCY * latency +
+                WEIGHT_RELIABILITY * connectionSuccessRate +
+                WEIGHT_USEFULNESS * usefulness +
+                WEIGHT_UPTIME * uptime;
+    }
+
+    synchronized PeerScore copy() {
+        return new PeerScore(address,
+                ewmaRtt,
+                connectionSuccessRate,
+                numConnectionAttempts,
+                ewmaUsefulness,
+                numInventoryResponses,
+                accumulatedUptime,
+                lastUpdated);
+    }
+}
@@ -47,7 +47,8 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * <ul>
  *   <li><b>Address Selection:</b> Provides prioritized lists of peer addresses for initial peer exchange, retry attempts,
  *       and extending the peer group. These lists combine seed nodes, reported peers, persisted peers, and currently connected peers,
- *       filtered and shuffled to maximize connection diversity and efficiency.</li>
+ *       filtered and sorted by peer score (see {@link bisq.network.p2p.services.peer_group.PeerScore}), so that peers
+ *       with low latency, reliable connections, useful inventory and long uptime are preferred.</li>
  *   <li><b>Address Usage Tracking:</b> Maintains a set of addresses already used in peer exchange attempts to avoid redundant retries.
  *       If no new candidates are available, the set is cleared to allow retrying previously used peers, assuming network state changes.</li>
  *   <li><b>Retry and Extension Conditions:</b> Determines whether to extend the peer group after initial exchange based on
@@ -283,7 +284,7 @@ class PeerExchangePolicy {
         return peerGroupService.getPersistedPeers().stream()
                 .filter(this::isValidNonSeedPeer)
                 .filter(this::isNotOutDated)
-                .sorted()
+                .sorted(peerGroupService.comparingPeersByScore())
                 .limit(config.getNumPersistedPeersAtBootstrap())
                 .map(Peer::getAddress)
                 .collect(Collectors.toList());
@@ -336,13 +337,13 @@ class PeerExchangePolicy {
     private Stream<Peer> getSortedAllConnectedPeers() {
         return peerGroupService.getAllConnectedPeers(node)
                 .filter(this::isValidNonSeedPeer)
-                .sorted();
+                .sorted(peerGroupService.comparingPeersByScore());
     }
 
     private Stream<Peer> getSortedReportedPeers() {
         return peerGroupService.getReportedPeers().stream()
                 .filter(this::isValidNonSeedPeer)
                 .filter(this::isNotOutDated)
-                .sorted();
+                .sorted(peerGroupService.comparingPeersByScore());
     }
 }
@@ -223,6 +223,14 @@ public class PeerExchangeService extends RequestResponseHandler<PeerExchangeRequ
 
     private CompletableFuture<PeerExchangeResponse> requestPeerExchange(Address peerAddress) {
         return node.getOrCreateConnectionAsync(peerAddress)
+                .whenComplete((connection, throwable) -> {
+                    // Connect and handshake results feed into the peer score used for selecting peers
+                    if (throwable == null) {
+                        peerGroupService.onConnectionSucceeded(peerAddress);
+                    } else if (!isShutdownInProgress) {
+                        peerGroupService.onConnectionFailed(peerAddress);
+                    }
+                })
                 .thenCompose(this::requestPeerExchange);
     }
 
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.http;
+
+import bisq.common.network.TransportType;
+import bisq.persistence.PersistenceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpProviderHealthServiceTest {
+    private final HttpRequestUrlProvider fast = new HttpRequestUrlProvider("http://fast", "", "", TransportType.CLEAR);
+    private final HttpRequestUrlProvider slow = new HttpRequestUrlProvider("http://slow", "", "", TransportType.CLEAR);
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private HttpProviderHealthService service;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        service = new HttpProviderHealthService(new PersistenceService(tempDir), now::get);
+    }
+
+    @Test
+    void testPreferFastProvider() {
+        for (int i = 0; i < 5; i++) {
+            service.onSuccess(fast, 100);
+            service.onSuccess(slow, 2000);
+        }
+
+        Map<HttpRequestUrlProvider, Integer> numSelected = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            service.selectProvider(List.of(fast, slow)).ifPresent(provider -> numSelected.merge(provider, 1, Integer::sum));
+        }
+        // Expected ratio is 20:1
+        assertTrue(numSelected.get(fast) > 8_000);
+        assertTrue(numSelected.getOrDefault(slow, 0) > 0);
+    }
+
+    @Test
+    void testCircuitBreaker() {
+        service.onSuccess(fast, 100);
+        for (int i = 0; i < HttpProviderHealth.FAILURE_THRESHOLD - 1; i++) {
+            service.onFailure(fast);
+        }
+        assertTrue(service.isAvailable(fast));
+
+        service.onFailure(fast);
+        assertFalse(service.isAvailable(fast));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(slow, service.selectProvider(List.of(fast, slow)).orElseThrow());
+        }
+
+        // Half-open after the open duration
+        now.addAndGet(HttpProviderHealth.BASE_OPEN_DURATION);
+        assertTrue(service.isAvailable(fast));
+
+        // Failure in half-open state opens the circuit again with doubled duration
+        service.onFailure(fast);
+        assertFalse(service.isAvailable(fast));
+        now.addAndGet(HttpProviderHealth.BASE_OPEN_DURATION);
+        assertFalse(service.isAvailable(fast));
+        now.addAndGet(HttpProviderHealth.BASE_OPEN_DURATION);
+        assertTrue(service.isAvailable(fast));
+
+        service.onSuccess(fast, 100);
+        assertEquals(0, service.findHealth(fast).orElseThrow().getNumConsecutiveFailures());
+    }
+
+    @Test
+    void testAllCircuitsOpen() {
+        for (int i = 0; i < HttpProviderHealth.FAILURE_THRESHOLD; i++) {
+            service.onFailure(fast);
+        }
+        now.addAndGet(1000);
+        for (int i = 0; i < HttpProviderHealth.FAILURE_THRESHOLD; i++) {
+            service.onFailure(slow);
+        }
+        // The provider which reopens first is used
+        assertEquals(fast, service.selectProvider(List.of(fast, slow)).orElseThrow());
+    }
+
+    @Test
+    void testProtoRoundTrip() {
+        service.onSuccess(fast, 150);
+        service.onFailure(fast);
+        HttpProviderHealthStore store = service.getPersistableStore().getClone();
+        HttpProviderHealthStore fromProto = (HttpProviderHealthStore) HttpProviderHealthStore.fromProto(store.toProto(false));
+        assertEquals(store.getHealthByProviderKey(), fromProto.getHealthByProviderKey());
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.http;
+
+import bisq.common.network.TransportType;
+import bisq.common.threading.ExecutorFactory;
+import bisq.network.NetworkService;
+import bisq.persistence.PersistenceService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HttpRequestServiceTest {
+    private final List<HttpServer> servers = new ArrayList<>();
+    private final Map<HttpRequestUrlProvider, AtomicInteger> numRequestsByProvider = new HashMap<>();
+    private HttpProviderHealthService providerHealthService;
+    private NetworkService networkService;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        providerHealthService = new HttpProviderHealthService(new PersistenceService(tempDir));
+        networkService = mock(NetworkService.class);
+        when(networkService.getHttpProviderHealthService()).thenReturn(providerHealthService);
+        when(networkService.getSupportedTransportTypes()).thenReturn(Set.of(TransportType.CLEAR));
+        when(networkService.getHttpClient(anyString(), anyString(), eq(TransportType.CLEAR)))
+                .thenAnswer(invocation -> new ClearNetHttpClient(invocation.getArgument(0), invocation.getArgument(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        servers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void testHedgedRequestToSlowPrimary() throws Exception {
+        HttpRequestUrlProvider slow = startServer("slow", 200, 3000);
+        HttpRequestUrlProvider fast = startServer("fast", 200, 0);
+        TestHttpRequestService service = new TestHttpRequestService(networkService, slow, fast);
+
+        long ts = System.currentTimeMillis();
+        assertEquals("fast", service.requestHedged(null, 200).get(10, SECONDS));
+        assertTrue(System.currentTimeMillis() - ts < 2500);
+        assertEquals(1, numRequestsByProvider.get(slow).get());
+        service.shutdown().join();
+    }
+
+    @Test
+    void testHedgedRequestToFailingPrimary() throws Exception {
+        HttpRequestUrlProvider failing = startServer("error", 500, 0);
+        HttpRequestUrlProvider fast = startServer("fast", 200, 0);
+        TestHttpRequestService service = new TestHttpRequestService(networkService, failing, fast);
+
+        // The hedged request is sent as soon as the primary request failed, not only after the hedge delay
+        long ts = System.currentTimeMillis();
+        assertEquals("fast", service.requestHedged(null, 20_000).get(10, SECONDS));
+        assertTrue(System.currentTimeMillis() - ts < 10_000);
+        assertEquals(1, providerHealthService.findHealth(failing).orElseThrow().getNumConsecutiveFailures());
+        service.shutdown().join();
+    }
+
+    @Test
+    void testNoHedgedRequestIfPrimaryRespondsInTime() throws Exception {
+        HttpRequestUrlProvider primary = startServer("primary", 200, 0);
+        HttpRequestUrlProvider other = startServer("other", 200, 0);
+        TestHttpRequestService service = new TestHttpRequestService(networkService, primary, other);
+
+        assertEquals("primary", service.requestHedged(null, 1000).get(10, SECONDS));
+        // Wait until the hedge delay has passed
+        Thread.sleep(1500);
+        assertEquals(0, numRequestsByProvider.get(other).get());
+        service.shutdown().join();
+    }
+
+    private HttpRequestUrlProvider startServer(String response, int responseCode, long delayMs) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        HttpRequestUrlProvider provider = new HttpRequestUrlProvider(baseUrl, "", "api", TransportType.CLEAR);
+        AtomicInteger numRequests = new AtomicInteger();
+        numRequestsByProvider.put(provider, numRequests);
+        server.createContext("/", exchange -> {
+            numRequests.incrementAndGet();
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(responseCode, bytes.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(bytes);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        servers.add(server);
+        return provider;
+    }
+
+    private static class TestHttpRequestService extends HttpRequestService<Void, String> {
+        // The primary provider is the only one from config, thus it gets selected first
+        TestHttpRequestService(NetworkService networkService, HttpRequestUrlProvider primary, HttpRequestUrlProvider fallback) {
+            super(new HttpRequestServiceConfig(5, Set.of(primary), Set.of(fallback)),
+                    networkService,
+                    ExecutorFactory.newCachedThreadPool("TestHttpRequestService", 1, 3, 60));
+        }
+
+        @Override
+        protected String parseResult(String json) {
+            return json;
+        }
+
+        @Override
+        protected String getParam(HttpRequestUrlProvider provider, Void requestData) {
+            return provider.getApiPath();
+        }
+    }
+}
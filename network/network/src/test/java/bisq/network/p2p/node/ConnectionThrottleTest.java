@@ -0,0 +1,121 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import bisq.common.network.TransportType;
+import bisq.network.p2p.node.network_load.ConnectionMetrics;
+import bisq.network.p2p.node.network_load.NetworkLoad;
+import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
+import bisq.network.p2p.node.network_load.TokenBucket;
+import bisq.network.p2p.node.network_load.TrafficClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConnectionThrottleTest {
+    private static final int BULK_MESSAGE_SIZE = 64 * 1024;
+    private static final int PRIORITY_MESSAGE_SIZE = 2 * 1024;
+    private static final int PRIORITY_MESSAGE_INTERVAL = 100;
+    private static final int DURATION = 10_000;
+    private static final ConnectionThrottle.Config THROTTLE_CONFIG =
+            new ConnectionThrottle.Config(4096 * 1024, 512 * 1024, 16 * 1024, 128 * 1024, 0.5, 100);
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final ConnectionMetrics connectionMetrics = new ConnectionMetrics();
+    private NetworkLoadSnapshot networkLoadSnapshot;
+    private ConnectionThrottle connectionThrottle;
+
+    @BeforeEach
+    void setUp() {
+        networkLoadSnapshot = new NetworkLoadSnapshot(new NetworkLoad(0, NetworkLoad.DEFAULT_DIFFICULTY_ADJUSTMENT));
+        Node.Config config = new Node.Config(TransportType.CLEAR, Set.of(TransportType.CLEAR), Set.of(), null, 120_000, 200, 200, 12, THROTTLE_CONFIG);
+        TokenBucket globalSendBucket = new TokenBucket(now::get, THROTTLE_CONFIG.getGlobalSendRate(), THROTTLE_CONFIG.getGlobalSendRate());
+        connectionThrottle = new ConnectionThrottle(networkLoadSnapshot, networkLoadSnapshot, config, globalSendBucket, now::get);
+    }
+
+    @Test
+    void testPriorityLatencyBoundedDuringBulkFlood() {
+        long bulkBytesSent = 0;
+        long maxPriorityLatency = 0;
+        long pendingPrioritySince = -1;
+        // Simulate in 1 ms steps. The bulk queue is never empty.
+        for (int t = 0; t < DURATION; t++) {
+            if (t % PRIORITY_MESSAGE_INTERVAL == 0 && pendingPrioritySince < 0) {
+                pendingPrioritySince = now.get();
+            }
+            if (pendingPrioritySince >= 0 && connectionThrottle.getSendDelay(TrafficClass.PRIORITY) == 0) {
+                maxPriorityLatency = Math.max(maxPriorityLatency, now.get() - pendingPrioritySince);
+                connectionThrottle.onMessageSent(TrafficClass.PRIORITY, PRIORITY_MESSAGE_SIZE, connectionMetrics);
+                pendingPrioritySince = -1;
+            }
+            if (connectionThrottle.getSendDelay(TrafficClass.BULK) == 0) {
+                connectionThrottle.onMessageSent(TrafficClass.BULK, BULK_MESSAGE_SIZE, connectionMetrics);
+                bulkBytesSent += BULK_MESSAGE_SIZE;
+            }
+            now.incrementAndGet();
+        }
+
+        assertEquals(0, maxPriorityLatency);
+
+        // Bulk saturates its share of the connection rate, but does not exceed it (plus the initial burst)
+        double bulkRate = THROTTLE_CONFIG.getConnectionSendRate() * THROTTLE_CONFIG.getBulkShare();
+        double expected = bulkRate * DURATION / 1000;
+        assertTrue(bulkBytesSent > expected * 0.9, "bulkBytesSent=" + bulkBytesSent);
+        assertTrue(bulkBytesSent < expected + bulkRate + 2 * BULK_MESSAGE_SIZE, "bulkBytesSent=" + bulkBytesSent);
+    }
+
+    @Test
+    void testPriorityNotDelayedByConnectionDebt() {
+        // Saturate the connection with default traffic
+        for (int i = 0; i < 20; i++) {
+            connectionThrottle.onMessageSent(TrafficClass.DEFAULT, BULK_MESSAGE_SIZE, connectionMetrics);
+        }
+        long defaultDelay = connectionThrottle.getSendDelay(TrafficClass.DEFAULT);
+        assertTrue(defaultDelay > 0);
+        assertTrue(connectionThrottle.getSendDelay(TrafficClass.BULK) >= defaultDelay);
+        assertEquals(0, connectionThrottle.getSendDelay(TrafficClass.PRIORITY));
+
+        // After the delay the debt is paid
+        now.addAndGet(defaultDelay);
+        assertEquals(0, connectionThrottle.getSendDelay(TrafficClass.DEFAULT));
+    }
+
+    @Test
+    void testRecentNetworkLoadReducesSendRate() {
+        for (int i = 0; i < 10; i++) {
+            connectionThrottle.onMessageSent(TrafficClass.DEFAULT, BULK_MESSAGE_SIZE, connectionMetrics);
+        }
+        long delayWithoutLoad = connectionThrottle.getSendDelay(TrafficClass.DEFAULT);
+        assertTrue(delayWithoutLoad > 0);
+        now.addAndGet(delayWithoutLoad);
+
+        // The recent network load is applied at the next send without waiting for the update of the current network load
+        networkLoadSnapshot.updateRecentNetworkLoad(new NetworkLoad(1, NetworkLoad.DEFAULT_DIFFICULTY_ADJUSTMENT));
+        assertTrue(networkLoadSnapshot.getPreviousNetworkLoad().isEmpty());
+        for (int i = 0; i < 10; i++) {
+            connectionThrottle.onMessageSent(TrafficClass.DEFAULT, BULK_MESSAGE_SIZE, connectionMetrics);
+        }
+        long delayWithLoad = connectionThrottle.getSendDelay(TrafficClass.DEFAULT);
+        assertTrue(delayWithLoad > 5 * delayWithoutLoad, "delayWithLoad=" + delayWithLoad);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.envelope;
+
+import bisq.common.data.ByteArray;
+import bisq.network.protobuf.AddAuthenticatedDataRequest;
+import bisq.network.protobuf.DataRequest;
+import bisq.network.protobuf.EnvelopePayloadMessage;
+import bisq.network.protobuf.Inventory;
+import bisq.network.protobuf.InventoryResponse;
+import bisq.network.protobuf.MetaData;
+import bisq.network.protobuf.NetworkEnvelope;
+import bisq.network.protobuf.Ping;
+import bisq.network.protobuf.RemoveAuthenticatedDataRequest;
+import bisq.security.DigestUtil;
+import bisq.security.SignatureUtil;
+import bisq.security.keys.KeyGeneration;
+import com.google.common.primitives.Bytes;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NetworkEnvelopeFrameTest {
+    @Test
+    void peeksAtPayloadWithoutParsing() throws IOException {
+        DataRequest dataRequest = createDataRequest(1);
+        DataRequest entry1 = createDataRequest(2);
+        DataRequest entry2 = createDataRequest(3);
+        NetworkEnvelope dataRequestEnvelope = createEnvelope(EnvelopePayloadMessage.newBuilder().setDataRequest(dataRequest));
+        NetworkEnvelope inventoryEnvelope = createEnvelope(EnvelopePayloadMessage.newBuilder()
+                .setInventoryResponse(InventoryResponse.newBuilder()
+                        .setInventory(Inventory.newBuilder().addEntries(entry1).addEntries(entry2))
+                        .setRequestNonce(42)));
+        NetworkEnvelope pingEnvelope = createEnvelope(EnvelopePayloadMessage.newBuilder().setPing(Ping.newBuilder().setNonce(7)));
+        InputStream inputStream = toInputStream(dataRequestEnvelope, inventoryEnvelope, pingEnvelope);
+        NetworkEnvelopeFrame frame = new NetworkEnvelopeFrame();
+
+        assertTrue(frame.readDelimitedFrom(inputStream));
+        assertEquals(NetworkEnvelopeFrame.DATA_REQUEST_FIELD_NUMBER, frame.getPayloadFieldNumber());
+        assertEquals(hash(dataRequest), frame.getDataRequestHash().orElseThrow());
+        assertEquals(dataRequestEnvelope, frame.parse());
+        assertEquals(dataRequestEnvelope.getSerializedSize(), frame.getSerializedSize());
+
+        assertTrue(frame.readDelimitedFrom(inputStream));
+        assertEquals(EnvelopePayloadMessage.INVENTORYRESPONSE_FIELD_NUMBER, frame.getPayloadFieldNumber());
+        assertTrue(frame.getDataRequestHash().isEmpty());
+        assertEquals(inventoryEnvelope, frame.parse());
+
+        assertTrue(frame.readDelimitedFrom(inputStream));
+        assertEquals(EnvelopePayloadMessage.PING_FIELD_NUMBER, frame.getPayloadFieldNumber());
+        assertTrue(frame.getDataRequestHash().isEmpty());
+        assertEquals(pingEnvelope, frame.parse());
+
+        assertFalse(frame.readDelimitedFrom(inputStream));
+    }
+
+    @Test
+    void ignoresNonCanonicalEnvelope() throws IOException {
+        // Protobuf merges repeated message fields, so the parsed envelope would not match the first payload we see
+        NetworkEnvelope first = createEnvelope(EnvelopePayloadMessage.newBuilder().setDataRequest(createDataRequest(1)));
+        NetworkEnvelope second = NetworkEnvelope.newBuilder()
+                .setNetworkMessage(EnvelopePayloadMessage.newBuilder().setDataRequest(createDataRequest(2)))
+                .build();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] concatenated = Bytes.concat(first.toByteArray(), second.toByteArray());
+        CodedOutputStream codedOutputStream = CodedOutputStream.newInstance(outputStream);
+        codedOutputStream.writeUInt32NoTag(concatenated.length);
+        codedOutputStream.writeRawBytes(concatenated);
+        codedOutputStream.flush();
+
+        NetworkEnvelopeFrame frame = new NetworkEnvelopeFrame();
+        assertTrue(frame.readDelimitedFrom(new ByteArrayInputStream(outputStream.toByteArray())));
+        assertEquals(NetworkEnvelopeFrame.NO_PAYLOAD, frame.getPayloadFieldNumber());
+        assertTrue(frame.getDataRequestHash().isEmpty());
+    }
+
+    @Test
+    void readsLargeFrameWithoutAllocatingClaimedSizeUpfront() throws IOException {
+        NetworkEnvelope large = createEnvelope(EnvelopePayloadMessage.newBuilder().setDataRequest(DataRequest.newBuilder()
+                .setAddAuthenticatedDataRequest(AddAuthenticatedDataRequest.newBuilder()
+                        .setSignature(ByteString.copyFrom(new byte[3 * 1024 * 1024])))));
+        NetworkEnvelope small = createEnvelope(EnvelopePayloadMessage.newBuilder().setPing(Ping.newBuilder().setNonce(7)));
+        InputStream inputStream = toInputStream(large, small);
+        NetworkEnvelopeFrame frame = new NetworkEnvelopeFrame();
+        assertTrue(frame.readDelimitedFrom(inputStream));
+        assertEquals(large, frame.parse());
+        assertTrue(frame.readDelimitedFrom(inputStream));
+        assertEquals(small, frame.parse());
+
+        // A peer claims a frame of almost 2 GB but sends only a few bytes
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        CodedOutputStream codedOutputStream = CodedOutputStream.newInstance(outputStream);
+        codedOutputStream.writeUInt32NoTag(Integer.MAX_VALUE);
+        codedOutputStream.writeRawBytes(new byte[]{1, 2, 3});
+        codedOutputStream.flush();
+        assertThrows(EOFException.class,
+                () -> new NetworkEnvelopeFrame().readDelimitedFrom(new ByteArrayInputStream(outputStream.toByteArray())));
+    }
+
+    @Test
+    void filtersDataRequestsProcessedByStorage() throws Exception {
+        DataRequest processed = createValidDataRequest();
+        DataRequest received = createValidDataRequest();
+        NetworkEnvelope processedEnvelope = createEnvelope(EnvelopePayloadMessage.newBuilder().setDataRequest(processed));
+        NetworkEnvelope receivedEnvelope = createEnvelope(EnvelopePayloadMessage.newBuilder().setDataRequest(received));
+        InputStream inputStream = toInputStream(processedEnvelope, receivedEnvelope);
+        NetworkEnvelopeFrame frame = new NetworkEnvelopeFrame();
+        DuplicateDataRequestFilter filter = new DuplicateDataRequestFilter();
+
+        // Processed requests are identified by the serialized domain object, which must match the received bytes
+        filter.onProcessed(bisq.network.p2p.services.data.DataRequest.fromProto(processed));
+        frame.readDelimitedFrom(inputStream);
+        assertTrue(filter.isDuplicate(frame));
+
+        // Requests which have only been received are not filtered
+        frame.readDelimitedFrom(inputStream);
+        assertFalse(filter.isDuplicate(frame));
+    }
+
+    private static DataRequest createDataRequest(int seed) {
+        return DataRequest.newBuilder()
+                .setAddAuthenticatedDataRequest(AddAuthenticatedDataRequest.newBuilder()
+                        .setSignature(ByteString.copyFrom(new byte[]{(byte) seed, 1, 2, 3}))
+                        .setOwnerPublicKeyBytes(ByteString.copyFrom(new byte[]{(byte) seed, 4, 5, 6})))
+                .build();
+    }
+
+    private static DataRequest createValidDataRequest() throws GeneralSecurityException {
+        KeyPair keyPair = KeyGeneration.generateDefaultEcKeyPair();
+        byte[] hash = DigestUtil.hash(keyPair.getPublic().getEncoded());
+        return DataRequest.newBuilder()
+                .setRemoveAuthenticatedDataRequest(RemoveAuthenticatedDataRequest.newBuilder()
+                        .setMetaData(MetaData.newBuilder().setTtl(1000).setClassName("Test").setMaxMapSize(100))
+                        .setHash(ByteString.copyFrom(hash))
+                        .setOwnerPublicKeyBytes(ByteString.copyFrom(keyPair.getPublic().getEncoded()))
+                        .setSequenceNumber(1)
+                        .setSignature(ByteString.copyFrom(SignatureUtil.sign(hash, keyPair.getPrivate())))
+                        .setCreated(System.currentTimeMillis()))
+                .build();
+    }
+
+    private static NetworkEnvelope createEnvelope(EnvelopePayloadMessage.Builder payload) {
+        return NetworkEnvelope.newBuilder()
+                .setVersion(1)
+                .setNetworkMessage(payload)
+                .build();
+    }
+
+    private static ByteArray hash(DataRequest dataRequest) {
+        return new ByteArray(DigestUtil.sha256(dataRequest.toByteArray()));
+    }
+
+    private static InputStream toInputStream(NetworkEnvelope... envelopes) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        for (NetworkEnvelope envelope : envelopes) {
+            envelope.writeDelimitedTo(outputStream);
+        }
+        return new ByteArrayInputStream(outputStream.toByteArray());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ConnectionMetricsTest {
+    @Test
+    void rttListenerGetsEachSampleOnce() {
+        ConnectionMetrics connectionMetrics = new ConnectionMetrics();
+        connectionMetrics.addRtt(100);
+
+        List<Long> samples = new ArrayList<>();
+        ConnectionMetrics.RttListener listener = samples::add;
+        connectionMetrics.addRttListener(listener);
+        assertEquals(List.of(100L), samples);
+
+        connectionMetrics.addRtt(200);
+        connectionMetrics.addRtt(300);
+        assertEquals(List.of(100L, 200L, 300L), samples);
+
+        connectionMetrics.removeRttListener(listener);
+        connectionMetrics.addRtt(400);
+        assertEquals(List.of(100L, 200L, 300L), samples);
+        assertEquals(250, connectionMetrics.getAverageRtt());
+    }
+}
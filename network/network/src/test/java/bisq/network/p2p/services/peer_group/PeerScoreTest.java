@@ -0,0 +1,80 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.peer_group;
+
+import bisq.common.network.Address;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PeerScoreTest {
+    private final Address address = Address.from("127.0.0.1", 8000);
+
+    @Test
+    void testUnknownPeerUsesPrior() {
+        assertEquals(PeerScore.UNKNOWN_PEER_SCORE, new PeerScore(address, 0).getScore(), 1e-9);
+    }
+
+    @Test
+    void testFastReliablePeerScoresHigherThanSlowOrFaulty() {
+        PeerScore fast = new PeerScore(address, 0);
+        PeerScore slow = new PeerScore(address, 0);
+        PeerScore faulty = new PeerScore(address, 0);
+        for (int i = 0; i < 5; i++) {
+            fast.onConnectionSucceeded(i);
+            fast.onRtt(300, i);
+            slow.onConnectionSucceeded(i);
+            slow.onRtt(6000, i);
+            faulty.onConnectionFailed(i);
+        }
+
+        double unknown = PeerScore.UNKNOWN_PEER_SCORE;
+        assertTrue(fast.getScore() > unknown);
+        assertTrue(slow.getScore() < fast.getScore());
+        assertTrue(faulty.getScore() < unknown);
+        assertTrue(faulty.getScore() < slow.getScore());
+    }
+
+    @Test
+    void testUsefulnessAndUptime() {
+        PeerScore useful = new PeerScore(address, 0);
+        PeerScore useless = new PeerScore(address, 0);
+        useful.onInventoryReceived(100, 50 * 1024, 1);
+        useless.onInventoryReceived(0, 50 * 1024, 1);
+        assertTrue(useful.getScore() > useless.getScore());
+
+        double before = useful.getScore();
+        useful.onUptime(3_600_000, 2);
+        assertTrue(useful.getScore() > before);
+        assertEquals(2, useful.getLastUpdated());
+    }
+
+    @Test
+    void testProtoRoundTrip() {
+        PeerScore peerScore = new PeerScore(address, 0);
+        peerScore.onConnectionSucceeded(1);
+        peerScore.onRtt(500, 1);
+        peerScore.onInventoryReceived(10, 2048, 2);
+        peerScore.onUptime(1000, 3);
+
+        PeerScore fromProto = PeerScore.fromProto(peerScore.toProto(false));
+        assertEquals(peerScore, fromProto);
+        assertEquals(peerScore.getScore(), fromProto.getScore(), 1e-9);
+    }
+}
@@ -54,8 +54,9 @@ public class MuSigOfferbookService implements Service, DataService.Listener {
     /* --------------------------------------------------------------------- */
 
     public CompletableFuture<Boolean> initialize() {
+        // We apply the persisted offers in one batch, so that observers get notified once instead of once per offer
         networkService.getDataService().ifPresent(dataService ->
-                dataService.getAuthenticatedData().forEach(this::onAuthenticatedDataAdded));
+                offers.batch(() -> dataService.getAuthenticatedData().forEach(this::onAuthenticatedDataAdded)));
         networkService.addDataServiceListener(this);
         return CompletableFuture.completedFuture(true);
     }
@@ -33,6 +33,7 @@ import java.util.List;
 @Slf4j
 public class PersistableStoreFileManager {
     public static final String TEMP_FILE_PREFIX = "temp_";
+    public static final String RESTORED_FILE_PREFIX = "restored_";
 
     @Getter
     private final Path storeFilePath;
@@ -40,6 +41,8 @@ public class PersistableStoreFileManager {
     private final BackupService backupService;
     @Getter
     private final Path tempFilePath;
+    @Getter
+    private final Path restoredFilePath;
 
     public PersistableStoreFileManager(Path storeFilePath) {
         this(storeFilePath, MaxBackupSize.ZERO);
@@ -49,6 +52,7 @@ public class PersistableStoreFileManager {
         this.storeFilePath = storeFilePath;
         this.parentDirectoryPath = storeFilePath.getParent();
         this.tempFilePath = createTempFilePath();
+        this.restoredFilePath = parentDirectoryPath.resolve(RESTORED_FILE_PREFIX + storeFilePath.getFileName());
         Path dataDirPath = storeFilePath.getParent().getParent().getParent();
         backupService = new BackupService(dataDirPath, storeFilePath, maxBackupSize);
     }
@@ -91,6 +95,14 @@ public class PersistableStoreFileManager {
         return List.copyOf(backupService.getBackups());
     }
 
+    public boolean isChunkedBackup(Path backupFilePath) {
+        return backupService.isChunkedBackup(backupFilePath);
+    }
+
+    public void restoreBackup(Path backupFilePath, Path targetPath) throws IOException {
+        backupService.restore(backupFilePath, targetPath);
+    }
+
     private Path createTempFilePath() {
         String tempFileName = TEMP_FILE_PREFIX + storeFilePath.getFileName();
         return parentDirectoryPath.resolve(tempFileName);
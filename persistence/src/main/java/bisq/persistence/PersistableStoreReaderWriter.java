@@ -90,7 +90,28 @@ public class PersistableStoreReaderWriter<T extends PersistableStore<T>> {
         if (optionalStore.isPresent()) {
             return optionalStore;
         } else {
-            return restoreService.tryToRestoreFromBackup(storeFileManager.getBackups(), this::readStore);
+            return restoreService.tryToRestoreFromBackup(storeFileManager.getBackups(), this::readBackup);
+        }
+    }
+
+    private Optional<T> readBackup(Path backupFilePath) {
+        if (!storeFileManager.isChunkedBackup(backupFilePath)) {
+            return readStore(backupFilePath);
+        }
+
+        Path restoredFilePath = storeFileManager.getRestoredFilePath();
+        try {
+            storeFileManager.restoreBackup(backupFilePath, restoredFilePath);
+            return readStore(restoredFilePath);
+        } catch (IOException e) {
+            log.error("Couldn't restore backup {}.", backupFilePath, e);
+            return Optional.empty();
+        } finally {
+            try {
+                Files.deleteIfExists(restoredFilePath);
+            } catch (IOException e) {
+                log.error("Couldn't delete {}.", restoredFilePath, e);
+            }
         }
     }
 
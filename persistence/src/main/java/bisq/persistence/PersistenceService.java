@@ -17,17 +17,29 @@
 
 package bisq.persistence;
 
+import bisq.common.profiling.Span;
+import bisq.common.profiling.StartupProfiler;
 import bisq.common.proto.PersistableProto;
+import bisq.common.proto.Proto;
 import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.CompletableFutureUtils;
+import bisq.persistence.archive.AppendOnlyArchive;
 import bisq.persistence.backup.BackupFileInfo;
+import bisq.persistence.backup.BackupService;
 import bisq.persistence.backup.MaxBackupSize;
 import bisq.persistence.backup.RestoreService;
+import bisq.persistence.segmented.SegmentedPersistableStore;
+import bisq.persistence.segmented.SegmentedPersistence;
+import bisq.persistence.segmented.SegmentedStore;
 import com.google.common.base.Joiner;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -45,6 +57,7 @@ public class PersistenceService {
     @Getter
     protected final List<PersistenceClient<? extends PersistableProto>> clients = new CopyOnWriteArrayList<>();
     protected final List<Persistence<? extends PersistableProto>> persistenceInstances = new CopyOnWriteArrayList<>();
+    private final List<AppendOnlyArchive<?, ?>> archives = new CopyOnWriteArrayList<>();
     @Getter
     private final RestoreService restoreService = new RestoreService();
 
@@ -111,19 +124,82 @@ public class PersistenceService {
         return persistence;
     }
 
+    /**
+     * Creates a persistence which stores the map of the store in a {@link SegmentedStore}. An existing single file
+     * store is migrated at the first read.
+     */
+    public <T extends SegmentedPersistableStore<T, V>, V extends Proto, P extends Message>
+    SegmentedPersistence<T, V, P> getOrCreateSegmentedPersistence(PersistenceClient<T> client,
+                                                                  Path subDirPath,
+                                                                  String fileName,
+                                                                  T persistableStore,
+                                                                  MaxBackupSize maxBackupSize,
+                                                                  Parser<P> parser,
+                                                                  SegmentedStore.ProtoResolver<V, P> protoResolver) {
+        PersistableStoreResolver.addResolver(persistableStore.getResolver());
+        clients.add(client);
+        Path normalizedPath = subDirPath.normalize();
+        if (normalizedPath.isAbsolute()) {
+            throw new IllegalArgumentException("subDir must be relative to appDataDirPath");
+        }
+        SegmentedPersistence<T, V, P> persistence = new SegmentedPersistence<>(appDataDirPath.resolve(normalizedPath),
+                fileName,
+                maxBackupSize,
+                restoreService,
+                persistableStore,
+                parser,
+                protoResolver);
+        persistenceInstances.add(persistence);
+        return persistence;
+    }
+
+    public <T extends PersistableProto, P extends Message> AppendOnlyArchive<T, P> createArchive(DbSubDirectory dbSubDirectory,
+                                                                                                 String fileName,
+                                                                                                 Parser<P> parser,
+                                                                                                 AppendOnlyArchive.ProtoResolver<T, P> protoResolver) {
+        AppendOnlyArchive<T, P> archive = new AppendOnlyArchive<>(appDataDirPath,
+                appDataDirPath.resolve(dbSubDirectory.getDbPath()),
+                fileName,
+                MaxBackupSize.from(dbSubDirectory),
+                parser,
+                protoResolver);
+        archives.add(archive);
+        return archive;
+    }
+
     public CompletableFuture<Void> pruneAllBackups() {
         List<CompletableFuture<Void>> list = clients.stream()
                 .map(PersistenceClient::getPersistence)
                 .map(Persistence::pruneBackups)
-                .collect(Collectors.toList());
+                .collect(Collectors.toCollection(ArrayList::new));
+        archives.stream()
+                .map(AppendOnlyArchive::pruneBackupsAsync)
+                .forEach(list::add);
         return CompletableFutureUtils.allOf(list).thenApply(l -> null);
     }
 
     public List<BackupFileInfo> getAllBackups() {
-        return clients.stream()
+        List<BackupFileInfo> backups = clients.stream()
                 .map(PersistenceClient::getPersistence)
                 .flatMap(p -> p.getBackups().stream())
-                .toList();
+                .collect(Collectors.toCollection(ArrayList::new));
+        archives.forEach(archive -> backups.addAll(archive.getBackups()));
+        return backups;
+    }
+
+    /**
+     * Writes a full copy of the backup to targetDirPath.
+     *
+     * @return The path of the exported file
+     */
+    public CompletableFuture<Path> exportBackup(Path backupFilePath, Path targetDirPath) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return BackupService.export(backupFilePath, targetDirPath);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, EXECUTOR);
     }
 
     public CompletableFuture<Boolean> readAllPersisted() {
@@ -135,13 +211,14 @@ public class PersistenceService {
                     .collect(Collectors.toList());
             log.debug("Read persisted data from:\n{}", Joiner.on("\n").join(storagePaths));
         }
-        return CompletableFuture.supplyAsync(() -> {
+        return StartupProfiler.traceAsync("Persistence", "readAllPersisted", () -> CompletableFuture.supplyAsync(() -> {
             // We read sequentially as we need to ensure that low level data is present before higher level data
             // potentially access it.
             long ts = System.currentTimeMillis();
             AtomicBoolean result = new AtomicBoolean(true);
             clients.forEach(client -> {
                 String storagePath = client.getPersistence().getStorePath().toAbsolutePath().toString();
+                Span span = StartupProfiler.begin("Persistence", "read " + client.getPersistence().getStorePath().getFileName());
                 try {
                     Optional<? extends PersistableProto> optionalResult = client.readPersisted();
                     if (optionalResult.isPresent()) {
@@ -152,11 +229,13 @@ public class PersistenceService {
                 } catch (Exception e) {
                     log.error("Error at read persisted data from: {}", storagePath, e);
                     result.set(false);
+                } finally {
+                    span.end();
                 }
             });
             log.info("Reading all persisted data took {} ms", System.currentTimeMillis() - ts);
             return result.get();
-        }, EXECUTOR);
+        }, EXECUTOR));
     }
 
     public CompletableFuture<Boolean> persistAllClients() {
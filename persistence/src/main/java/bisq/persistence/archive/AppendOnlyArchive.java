@@ -0,0 +1,328 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.persistence.archive;
+
+import bisq.common.file.FileMutatorUtils;
+import bisq.common.proto.PersistableProto;
+import bisq.common.threading.ExecutorFactory;
+import bisq.common.util.StringUtils;
+import bisq.persistence.Persistence;
+import bisq.persistence.backup.BackupFileInfo;
+import bisq.persistence.backup.BackupService;
+import bisq.persistence.backup.MaxBackupSize;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * File based archive for data which is only added and rarely read, like the history of closed trades.
+ * <br/>
+ * Items are appended as size-delimited protobuf records, so adding an item does not require to rewrite or even read
+ * the existing data. Nothing is read at startup. At the first read access we build an index of the record positions
+ * by skipping over the records without parsing them, thus a page of items can be read without deserializing the
+ * whole archive.
+ * <br/>
+ * If the last record is incomplete (e.g. the app got terminated while appending) it gets truncated when the index is
+ * built. The index is also built before the first append, so that new records never get appended after an incomplete
+ * one. Updating items (e.g. for redacting data) is done via a temp file which replaces the archive file.
+ * <br/>
+ * Before each modification we back up a copy of the archive file with the same retention strategy as used for the
+ * persisted stores.
+ */
+@Slf4j
+public class AppendOnlyArchive<T extends PersistableProto, P extends Message> {
+    private static final ExecutorService EXECUTOR = ExecutorFactory.newSingleThreadExecutor("AppendOnlyArchive");
+
+    @FunctionalInterface
+    public interface ProtoResolver<T, P> {
+        T fromProto(P proto) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface ItemUpdater<T> {
+        /**
+         * @return The item to write back to the archive, or an empty Optional if the item is not changed.
+         */
+        Optional<T> update(T item);
+    }
+
+    @Getter
+    private final Path archivePath;
+    private final Path tempFilePath;
+    private final Parser<P> parser;
+    private final ProtoResolver<T, P> protoResolver;
+    private final BackupService backupService;
+    // Start positions of the records in the archive file. Null until the first read access.
+    private List<Long> recordPositions;
+
+    public AppendOnlyArchive(Path directoryPath, String fileName, Parser<P> parser, ProtoResolver<T, P> protoResolver) {
+        this(directoryPath, directoryPath, fileName, MaxBackupSize.ZERO, parser, protoResolver);
+    }
+
+    public AppendOnlyArchive(Path dataDirPath,
+                             Path directoryPath,
+                             String fileName,
+                             MaxBackupSize maxBackupSize,
+                             Parser<P> parser,
+                             ProtoResolver<T, P> protoResolver) {
+        String archiveFileName = StringUtils.camelCaseToSnakeCase(fileName) + Persistence.EXTENSION;
+        archivePath = directoryPath.resolve(archiveFileName);
+        tempFilePath = directoryPath.resolve("temp_" + archiveFileName);
+        this.parser = parser;
+        this.protoResolver = protoResolver;
+        backupService = new BackupService(dataDirPath, archivePath, maxBackupSize);
+    }
+
+    public CompletableFuture<Void> appendAsync(T item) {
+        return appendAllAsync(List.of(item));
+    }
+
+    public CompletableFuture<Void> appendAllAsync(Collection<T> items) {
+        List<T> copy = List.copyOf(items);
+        return CompletableFuture.runAsync(() -> appendAll(copy), EXECUTOR);
+    }
+
+    /**
+     * Appends the items and forces the data to the storage device before returning, so callers can safely remove
+     * the items from other stores afterwards.
+     */
+    public synchronized void appendAll(Collection<T> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        // Building the index truncates an incomplete last record. Otherwise, the new records would get dropped together
+        // with the incomplete record when the index gets built at the next start.
+        List<Long> positions = getRecordPositions();
+        backupService.maybeBackupCopy();
+        try {
+            createFileIfNotExisting();
+            try (FileChannel channel = FileChannel.open(archivePath, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                OutputStream outputStream = Channels.newOutputStream(channel);
+                long position = channel.size();
+                for (T item : items) {
+                    Message proto = item.completeProto();
+                    proto.writeDelimitedTo(outputStream);
+                    positions.add(position);
+                    position += getDelimitedSize(proto);
+                }
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            // We do not know which records have been written, so we rebuild the index at next read.
+            recordPositions = null;
+            throw new ArchiveException("Couldn't append to archive " + archivePath, e);
+        }
+    }
+
+    public synchronized int size() {
+        return getRecordPositions().size();
+    }
+
+    /**
+     * @param offset The index of the first item in the order the items have been appended.
+     * @param limit  The max. number of items to read.
+     * @return The successfully parsed items. Items which could not be parsed are skipped.
+     */
+    public synchronized List<T> readPage(int offset, int limit) {
+        List<Long> positions = getRecordPositions();
+        if (offset < 0 || offset >= positions.size() || limit <= 0) {
+            return List.of();
+        }
+        int numItems = Math.min(limit, positions.size() - offset);
+        List<T> result = new ArrayList<>(numItems);
+        try (FileChannel channel = FileChannel.open(archivePath, StandardOpenOption.READ)) {
+            channel.position(positions.get(offset));
+            InputStream inputStream = new BufferedInputStream(Channels.newInputStream(channel));
+            for (int i = 0; i < numItems; i++) {
+                P proto = parser.parseDelimitedFrom(inputStream);
+                resolve(proto).ifPresent(result::add);
+            }
+        } catch (IOException e) {
+            throw new ArchiveException("Couldn't read from archive " + archivePath, e);
+        }
+        return result;
+    }
+
+    public synchronized List<T> readAll() {
+        return readPage(0, Integer.MAX_VALUE);
+    }
+
+    public CompletableFuture<List<T>> readAllAsync() {
+        return CompletableFuture.supplyAsync(this::readAll, EXECUTOR);
+    }
+
+    public CompletableFuture<Integer> updateAsync(ItemUpdater<T> updater) {
+        return CompletableFuture.supplyAsync(() -> update(updater), EXECUTOR);
+    }
+
+    /**
+     * Applies the updater to all items and replaces the archive file if at least one item got changed. As appends
+     * use the same lock, no item can get added while the update is in progress. Records which cannot be resolved are
+     * written back unchanged.
+     *
+     * @return The number of changed items.
+     */
+    public synchronized int update(ItemUpdater<T> updater) {
+        List<Long> positions = getRecordPositions();
+        if (positions.isEmpty()) {
+            return 0;
+        }
+        int numUpdated = 0;
+        try {
+            Files.deleteIfExists(tempFilePath);
+            FileMutatorUtils.createFile(tempFilePath);
+            List<Long> newPositions = new ArrayList<>(positions.size());
+            try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(archivePath));
+                 FileChannel channel = FileChannel.open(tempFilePath, StandardOpenOption.WRITE)) {
+                CodedInputStream codedInputStream = CodedInputStream.newInstance(inputStream);
+                codedInputStream.setSizeLimit(Integer.MAX_VALUE);
+                CodedOutputStream codedOutputStream = CodedOutputStream.newInstance(Channels.newOutputStream(channel));
+                long position = 0;
+                for (int i = 0; i < positions.size(); i++) {
+                    byte[] record = codedInputStream.readByteArray();
+                    Optional<T> updated = parse(record).flatMap(updater::update);
+                    if (updated.isPresent()) {
+                        record = updated.get().completeProto().toByteArray();
+                        numUpdated++;
+                    }
+                    codedOutputStream.writeByteArrayNoTag(record);
+                    newPositions.add(position);
+                    position += CodedOutputStream.computeUInt32SizeNoTag(record.length) + record.length;
+                }
+                codedOutputStream.flush();
+                channel.force(true);
+            }
+            if (numUpdated == 0) {
+                Files.delete(tempFilePath);
+                return 0;
+            }
+            backupService.maybeBackupCopy();
+            Files.move(tempFilePath, archivePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            recordPositions = newPositions;
+            return numUpdated;
+        } catch (IOException e) {
+            recordPositions = null;
+            throw new ArchiveException("Couldn't update archive " + archivePath, e);
+        }
+    }
+
+    public CompletableFuture<Void> pruneBackupsAsync() {
+        return CompletableFuture.runAsync(backupService::prune, EXECUTOR);
+    }
+
+    public List<BackupFileInfo> getBackups() {
+        return backupService.getBackups();
+    }
+
+    private static long getDelimitedSize(Message proto) {
+        int serializedSize = proto.getSerializedSize();
+        return CodedOutputStream.computeUInt32SizeNoTag(serializedSize) + serializedSize;
+    }
+
+    private Optional<T> parse(byte[] record) {
+        try {
+            return resolve(parser.parseFrom(record));
+        } catch (IOException e) {
+            log.error("Could not parse archived item", e);
+            return Optional.empty();
+        }
+    }
+
+    private Optional<T> resolve(P proto) {
+        try {
+            return Optional.of(protoResolver.fromProto(proto));
+        } catch (Exception e) {
+            log.error("Could not resolve archived item from proto {}", proto, e);
+            return Optional.empty();
+        }
+    }
+
+    private List<Long> getRecordPositions() {
+        if (recordPositions == null) {
+            recordPositions = buildRecordPositions();
+        }
+        return recordPositions;
+    }
+
+    private List<Long> buildRecordPositions() {
+        List<Long> positions = new ArrayList<>();
+        if (!Files.exists(archivePath)) {
+            return positions;
+        }
+        long validLength = 0;
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(archivePath))) {
+            long fileSize = Files.size(archivePath);
+            CodedInputStream codedInputStream = CodedInputStream.newInstance(inputStream);
+            codedInputStream.setSizeLimit(Integer.MAX_VALUE);
+            while (!codedInputStream.isAtEnd()) {
+                long position = codedInputStream.getTotalBytesRead();
+                int recordSize = codedInputStream.readRawVarint32();
+                long recordEnd = codedInputStream.getTotalBytesRead() + recordSize;
+                if (recordSize < 0 || recordEnd > fileSize) {
+                    break;
+                }
+                codedInputStream.skipRawBytes(recordSize);
+                positions.add(position);
+                validLength = recordEnd;
+            }
+        } catch (IOException e) {
+            log.warn("Reading record positions of {} stopped at position {}", archivePath, validLength, e);
+        }
+        maybeTruncate(validLength);
+        return positions;
+    }
+
+    private void maybeTruncate(long validLength) {
+        try (FileChannel channel = FileChannel.open(archivePath, StandardOpenOption.WRITE)) {
+            if (channel.size() > validLength) {
+                log.warn("Archive {} has an incomplete record at its end. We truncate it from {} to {} bytes.",
+                        archivePath, channel.size(), validLength);
+                channel.truncate(validLength);
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            throw new ArchiveException("Couldn't truncate archive " + archivePath, e);
+        }
+    }
+
+    private void createFileIfNotExisting() throws IOException {
+        if (!Files.exists(archivePath)) {
+            FileMutatorUtils.createDirectories(archivePath.getParent());
+            FileMutatorUtils.createFile(archivePath);
+        }
+    }
+}
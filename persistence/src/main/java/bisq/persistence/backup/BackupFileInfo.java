@@ -36,6 +36,9 @@ public class BackupFileInfo implements Comparable<BackupFileInfo> {
     public static Optional<BackupFileInfo> from(String fileName, Path path) {
         String fileNameWithDate = path.getFileName().toString();
         String formattedDate = fileNameWithDate.replace(fileName + "_", "");
+        if (formattedDate.endsWith(BackupService.MANIFEST_EXTENSION)) {
+            formattedDate = formattedDate.substring(0, formattedDate.length() - BackupService.MANIFEST_EXTENSION.length());
+        }
         try {
             LocalDateTime localDateTime = LocalDateTime.parse(formattedDate, BackupService.DATE_FORMAT);
             return Optional.of(new BackupFileInfo(localDateTime, path));
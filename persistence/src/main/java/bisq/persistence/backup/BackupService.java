@@ -36,6 +36,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -62,11 +63,21 @@ import java.util.stream.Collectors;
  * If it is 1MB (typical size for user_profile_store.protobuf) it would result in 40-50 MB.
  * To avoid too much growth of backups we use the MaxBackupSize and drop old backups once the limit is reached.
  * We check as well for the totalMaxBackupSize (sum of all backups of all storage files) and once reached drop backups.
+ *
+ * Backups are stored as manifests of content defined chunks (see {@link ChunkedBackupStore}). The chunks are compressed
+ * and shared by all backups of the same store, thus the backups kept in the different retention slots only add the
+ * chunks which have changed. Each backup counts only with the size of the manifest and the chunks not already counted
+ * by a newer backup. Manifests use the MANIFEST_EXTENSION, so they cannot be mistaken for a full copy of the store file
+ * by previous versions or by users copying a backup manually. A full copy of a backup can be created with
+ * {@link #export}. Full copy backups from previous versions are migrated at the first prune and can still be restored
+ * if the migration failed. If writing the chunked backup fails we fall back to a full copy.
  */
 @Slf4j
 @ToString
 public class BackupService {
     static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HHmm");
+    static final String CHUNKS_DIR_NAME = "chunks";
+    static final String MANIFEST_EXTENSION = ".chunks";
     private static final Map<String, Long> accumulatedFileSizeByStore = new ConcurrentHashMap<>();
     @Setter
     private static double totalMaxBackupSize = ByteUnit.MB.toBytes(100);
@@ -76,9 +87,15 @@ public class BackupService {
     final Path dirPath;
     private final Path storeFilePath;
     private final MaxBackupSize maxBackupSize;
+    private final ChunkedBackupStore chunkedBackupStore;
 
     private final Map<String, Long> fileSizeByBackupFileInfo = new HashMap<>();
+    private final Map<String, Set<String>> chunkHashesByBackupFileInfo = new HashMap<>();
+    private final Set<String> countedChunkHashes = new HashSet<>();
     private long accumulatedFileSize;
+    private boolean fullCopyBackupsMigrated;
+    // At the first prune we check for unreferenced chunks as well, as they could be left over from a crash
+    private boolean hasUnreferencedChunks = true;
 
     public BackupService(Path dataDir, Path storeFilePath, MaxBackupSize maxBackupSize) {
         this.storeFilePath = storeFilePath;
@@ -86,6 +103,7 @@ public class BackupService {
 
         fileName = storeFilePath.getFileName().toString();
         dirPath = resolveDirPath(dataDir, storeFilePath);
+        chunkedBackupStore = new ChunkedBackupStore(dirPath.resolve(CHUNKS_DIR_NAME));
     }
 
     public void maybeMigrateLegacyBackupFile() {
@@ -108,7 +126,19 @@ public class BackupService {
         }
     }
 
-    public boolean maybeBackup() {
+    public synchronized boolean maybeBackup() {
+        return maybeBackup(false);
+    }
+
+    /**
+     * Backs up the store file without removing it. Used for files which are modified in place instead of being
+     * replaced at each write, like archives.
+     */
+    public synchronized boolean maybeBackupCopy() {
+        return maybeBackup(true);
+    }
+
+    private boolean maybeBackup(boolean keepStoreFile) {
         if (maxBackupSize == MaxBackupSize.ZERO) {
             return false;
         }
@@ -124,40 +154,175 @@ public class BackupService {
         }
 
         try {
-            return backup(getBackupFilePath());
+            return backup(getBackupFilePath(), keepStoreFile);
         } catch (IOException ex) {
             log.error("Backup failed", ex);
             return false;
         }
     }
 
+    /**
+     * @param backupFilePath The path of a full copy backup. The chunked backup is written to the same path with the
+     *                       MANIFEST_EXTENSION appended.
+     */
     @VisibleForTesting
     boolean backup(Path backupFilePath) throws IOException {
-        boolean success = FileMutatorUtils.renameFile(storeFilePath, backupFilePath);
-        if (!success) {
-            log.error("Could not rename {} to {}", storeFilePath, backupFilePath);
+        return backup(backupFilePath, false);
+    }
+
+    @VisibleForTesting
+    boolean backup(Path backupFilePath, boolean keepStoreFile) throws IOException {
+        Path manifestPath = getManifestPath(backupFilePath);
+        invalidateCachedFileInfo(backupFilePath);
+        invalidateCachedFileInfo(manifestPath);
+        if (Files.exists(manifestPath)) {
+            // Backups within the same minute overwrite the previous one, which might leave chunks unreferenced
+            hasUnreferencedChunks = true;
+        }
+        try {
+            chunkedBackupStore.write(Files.readAllBytes(storeFilePath), manifestPath);
+            if (!keepStoreFile) {
+                // The caller expects the same semantics as with renaming the store file to the backup file
+                Files.delete(storeFilePath);
+            }
+            // A full copy from a failed chunked backup within the same minute gets replaced as well
+            Files.deleteIfExists(backupFilePath);
+            return true;
+        } catch (IOException e) {
+            log.warn("Chunked backup of {} failed. We fall back to a full copy.", storeFilePath, e);
+        }
+
+        boolean success = keepStoreFile ? copyFile(backupFilePath) : FileMutatorUtils.renameFile(storeFilePath, backupFilePath);
+        if (success) {
+            Files.deleteIfExists(manifestPath);
+        } else {
+            log.error("Could not back up {} to {}", storeFilePath, backupFilePath);
         }
         return success;
     }
 
+    private boolean copyFile(Path backupFilePath) {
+        try {
+            FileMutatorUtils.copyFile(storeFilePath, backupFilePath);
+            return true;
+        } catch (IOException e) {
+            log.error("Could not copy {} to {}", storeFilePath, backupFilePath, e);
+            return false;
+        }
+    }
+
     public void prune() {
+        prune(LocalDateTime.now());
+    }
+
+    @VisibleForTesting
+    synchronized void prune(LocalDateTime now) {
         if (maxBackupSize == MaxBackupSize.ZERO) {
             return;
         }
 
         // TODO Consider to let that run in a background thread
-        accumulatedFileSize = 0;
+        maybeMigrateFullCopyBackups();
+
+        resetAccumulatedFileSize();
         List<BackupFileInfo> backupFileInfoList = getBackups();
-        LocalDateTime now = LocalDateTime.now();
         List<BackupFileInfo> outdatedBackupFileInfos = findOutdatedBackups(new ArrayList<>(backupFileInfoList), now, this::isMaxFileSizeReached);
         outdatedBackupFileInfos.forEach(backupFileInfo -> {
             try {
                 Files.deleteIfExists(backupFileInfo.getPath());
+                invalidateCachedFileInfo(backupFileInfo.getPath());
+                hasUnreferencedChunks = true;
                 log.debug("Deleted outdated backup {}", backupFileInfo.getPath().getFileName());
             } catch (Exception e) {
                 log.error("Failed to prune backups", e);
             }
         });
+
+        if (hasUnreferencedChunks) {
+            removeUnreferencedChunks();
+        }
+    }
+
+    public boolean isChunkedBackup(Path backupFilePath) {
+        return backupFilePath.getFileName().toString().endsWith(MANIFEST_EXTENSION);
+    }
+
+    /**
+     * Writes the data of the backup to targetPath. Chunked backups get verified by their hashes.
+     */
+    public void restore(Path backupFilePath, Path targetPath) throws IOException {
+        if (isChunkedBackup(backupFilePath)) {
+            FileMutatorUtils.writeToPath(chunkedBackupStore.restore(backupFilePath), targetPath);
+        } else {
+            FileMutatorUtils.copyFile(backupFilePath, targetPath);
+        }
+    }
+
+    /**
+     * Writes a full copy of the backup to targetDirPath, so it can be used like a backup of previous versions for
+     * restoring the store file manually.
+     *
+     * @return The path of the exported file
+     */
+    public static Path export(Path backupFilePath, Path targetDirPath) throws IOException {
+        String fileName = backupFilePath.getFileName().toString();
+        if (fileName.endsWith(MANIFEST_EXTENSION)) {
+            Path targetPath = targetDirPath.resolve(fileName.substring(0, fileName.length() - MANIFEST_EXTENSION.length()));
+            ChunkedBackupStore chunkedBackupStore = new ChunkedBackupStore(backupFilePath.resolveSibling(CHUNKS_DIR_NAME));
+            FileMutatorUtils.writeToPath(chunkedBackupStore.restore(backupFilePath), targetPath);
+            return targetPath;
+        } else {
+            Path targetPath = targetDirPath.resolve(fileName);
+            FileMutatorUtils.copyFile(backupFilePath, targetPath);
+            return targetPath;
+        }
+    }
+
+    private void maybeMigrateFullCopyBackups() {
+        if (fullCopyBackupsMigrated) {
+            return;
+        }
+        fullCopyBackupsMigrated = true;
+
+        for (BackupFileInfo backupFileInfo : getBackups()) {
+            Path path = backupFileInfo.getPath();
+            if (isChunkedBackup(path)) {
+                continue;
+            }
+            try {
+                // The full copy gets deleted only after the manifest has been verified
+                Path manifestPath = getManifestPath(path);
+                chunkedBackupStore.write(Files.readAllBytes(path), manifestPath);
+                Files.delete(path);
+                invalidateCachedFileInfo(path);
+                invalidateCachedFileInfo(manifestPath);
+                log.debug("Migrated full copy backup {} to chunked backup", path.getFileName());
+            } catch (IOException e) {
+                log.warn("Could not migrate full copy backup {}", path, e);
+            }
+        }
+    }
+
+    private void removeUnreferencedChunks() {
+        Set<String> referencedChunkHashes = new HashSet<>();
+        for (BackupFileInfo backupFileInfo : getBackups()) {
+            Optional<Set<String>> chunkHashes = findChunkHashes(backupFileInfo.getPath());
+            if (chunkHashes.isEmpty()) {
+                // We do not risk to delete chunks of a backup we could not read
+                log.warn("Skip removal of unreferenced chunks as reading {} failed", backupFileInfo.getPath());
+                return;
+            }
+            referencedChunkHashes.addAll(chunkHashes.get());
+        }
+        try {
+            int numRemoved = chunkedBackupStore.retainChunks(referencedChunkHashes);
+            hasUnreferencedChunks = false;
+            if (numRemoved > 0) {
+                log.debug("Removed {} unreferenced backup chunks of {}", numRemoved, fileName);
+            }
+        } catch (IOException e) {
+            log.error("Failed to remove unreferenced backup chunks", e);
+        }
     }
 
     @VisibleForTesting
@@ -216,7 +381,7 @@ public class BackupService {
     }
 
     private long updateAndGetAccumulatedFileSize() {
-        accumulatedFileSize = 0;
+        resetAccumulatedFileSize();
         getBackups().forEach(this::addAndGetAccumulatedFileSize);
         return accumulatedFileSize;
     }
@@ -227,6 +392,12 @@ public class BackupService {
         return accumulatedFileSize > maxBackupSize.getSizeInBytes() || totalAccumulatedFileSize > totalMaxBackupSize;
     }
 
+    private void resetAccumulatedFileSize() {
+        accumulatedFileSize = 0;
+        countedChunkHashes.clear();
+    }
+
+    // For chunked backups we add the size of the chunks which have not been counted already by another backup.
     private long getFileSize(BackupFileInfo backupFileInfo) {
         Path path = backupFileInfo.getPath();
         String key = path.toAbsolutePath().toString();
@@ -238,7 +409,44 @@ public class BackupService {
                 return 0L;
             }
         });
-        return fileSizeByBackupFileInfo.get(key);
+        long fileSize = fileSizeByBackupFileInfo.get(key);
+        for (String chunkHash : findChunkHashes(path).orElse(Set.of())) {
+            if (countedChunkHashes.add(chunkHash)) {
+                fileSize += chunkedBackupStore.getStoredChunkSize(chunkHash);
+            }
+        }
+        return fileSize;
+    }
+
+    /**
+     * @return The chunk hashes of a chunked backup, an empty set for a full copy backup, or an empty Optional if
+     * the backup could not be read.
+     */
+    private Optional<Set<String>> findChunkHashes(Path path) {
+        String key = path.toAbsolutePath().toString();
+        Set<String> chunkHashes = chunkHashesByBackupFileInfo.get(key);
+        if (chunkHashes == null) {
+            if (!Files.exists(path)) {
+                return Optional.empty();
+            }
+            if (!isChunkedBackup(path)) {
+                return Optional.of(Set.of());
+            }
+            try {
+                chunkHashes = chunkedBackupStore.readChunkHashes(path);
+                chunkHashesByBackupFileInfo.put(key, chunkHashes);
+            } catch (IOException e) {
+                log.error("Failed to read chunk hashes of {}", path.toAbsolutePath(), e);
+                return Optional.empty();
+            }
+        }
+        return Optional.of(chunkHashes);
+    }
+
+    private void invalidateCachedFileInfo(Path path) {
+        String key = path.toAbsolutePath().toString();
+        fileSizeByBackupFileInfo.remove(key);
+        chunkHashesByBackupFileInfo.remove(key);
     }
 
     public List<BackupFileInfo> getBackups() {
@@ -295,6 +503,11 @@ public class BackupService {
         return backupFilePath;
     }
 
+    @VisibleForTesting
+    static Path getManifestPath(Path backupFilePath) {
+        return backupFilePath.resolveSibling(backupFilePath.getFileName() + MANIFEST_EXTENSION);
+    }
+
     @VisibleForTesting
     static List<BackupFileInfo> createBackupFileInfo(String fileName, Collection<Path> paths) {
         List<BackupFileInfo> result = paths.stream()
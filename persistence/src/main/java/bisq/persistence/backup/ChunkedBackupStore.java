@@ -0,0 +1,316 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.backup;
+
+import bisq.common.encoding.Hex;
+import bisq.common.file.FileMutatorUtils;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores backups as a manifest file listing the hashes of content defined chunks (see {@link ContentDefinedChunker}).
+ * The chunks are stored deflate compressed in a chunk directory and are addressed by the SHA-256 hash of their
+ * uncompressed content, thus backups of different points in time share all chunks which did not change.
+ * <p>
+ * Manifest format: MAGIC, VERSION, size and SHA-256 hash of the backed up data, number of chunks, and per chunk the
+ * SHA-256 hash and the uncompressed length. The manifest starts with MAGIC, so it cannot be confused with a full copy
+ * backup of a store file, which starts with the varint length of the delimited Any proto followed by its field tag.
+ * <p>
+ * Each written backup is verified by restoring it before it replaces an existing file, and each restore verifies the
+ * hashes of all chunks and of the whole data.
+ */
+@Slf4j
+final class ChunkedBackupStore {
+    private static final byte[] MAGIC = {'B', 'Q', 'C', 'H', 'U', 'N', 'K', 'S'};
+    private static final int VERSION = 1;
+    private static final int HASH_LENGTH = 32;
+    private static final String TEMP_FILE_PREFIX = "temp_";
+
+    @Getter
+    private final Path chunksDirPath;
+    private final Map<String, Long> storedSizeByChunkHash = new ConcurrentHashMap<>();
+
+    ChunkedBackupStore(Path chunksDirPath) {
+        this.chunksDirPath = chunksDirPath;
+    }
+
+    static boolean isManifest(Path path) {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            return Arrays.equals(MAGIC, inputStream.readNBytes(MAGIC.length));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    void write(byte[] data, Path manifestPath) throws IOException {
+        FileMutatorUtils.createDirectories(chunksDirPath);
+        List<byte[]> chunkHashes = new ArrayList<>();
+        List<Integer> chunkLengths = new ArrayList<>();
+        List<Integer> writtenChunkIndices = new ArrayList<>();
+        int offset = 0;
+        while (offset < data.length) {
+            int length = ContentDefinedChunker.nextChunkLength(data, offset);
+            byte[] chunkHash = sha256(data, offset, length);
+            if (writeChunkIfMissing(Hex.encode(chunkHash), data, offset, length)) {
+                writtenChunkIndices.add(chunkHashes.size());
+            }
+            chunkHashes.add(chunkHash);
+            chunkLengths.add(length);
+            offset += length;
+        }
+
+        ByteArrayOutputStream manifest = new ByteArrayOutputStream(32 + chunkHashes.size() * (HASH_LENGTH + 4));
+        try (DataOutputStream outputStream = new DataOutputStream(manifest)) {
+            outputStream.write(MAGIC);
+            outputStream.writeInt(VERSION);
+            outputStream.writeLong(data.length);
+            outputStream.write(sha256(data, 0, data.length));
+            outputStream.writeInt(chunkHashes.size());
+            for (int i = 0; i < chunkHashes.size(); i++) {
+                outputStream.write(chunkHashes.get(i));
+                outputStream.writeInt(chunkLengths.get(i));
+            }
+        }
+
+        // We write to a temp file in the chunks directory, so that the backup directory only contains complete
+        // backups, and we only replace the target after the new manifest has been verified.
+        // Chunks which existed already have been verified when they got written, so we only read back the manifest
+        // and the new chunks instead of restoring the whole data.
+        Path tempManifestPath = chunksDirPath.resolve(TEMP_FILE_PREFIX + manifestPath.getFileName());
+        try {
+            byte[] manifestBytes = manifest.toByteArray();
+            Files.write(tempManifestPath, manifestBytes);
+            if (!Arrays.equals(manifestBytes, Files.readAllBytes(tempManifestPath))) {
+                throw new IOException("Written manifest does not match");
+            }
+            int chunkOffset = 0;
+            int writtenChunkIndex = 0;
+            for (int i = 0; i < chunkHashes.size() && writtenChunkIndex < writtenChunkIndices.size(); i++) {
+                int length = chunkLengths.get(i);
+                if (writtenChunkIndices.get(writtenChunkIndex) == i) {
+                    verifyChunk(chunkHashes.get(i), data, chunkOffset, length);
+                    writtenChunkIndex++;
+                }
+                chunkOffset += length;
+            }
+            Files.move(tempManifestPath, manifestPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempManifestPath);
+        }
+    }
+
+    byte[] restore(Path manifestPath) throws IOException {
+        try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(manifestPath)))) {
+            readHeader(inputStream, manifestPath);
+            long size = inputStream.readLong();
+            if (size < 0 || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid size " + size + " in manifest " + manifestPath);
+            }
+            byte[] expectedHash = inputStream.readNBytes(HASH_LENGTH);
+            int numChunks = inputStream.readInt();
+            byte[] data = new byte[(int) size];
+            int offset = 0;
+            for (int i = 0; i < numChunks; i++) {
+                byte[] chunkHash = inputStream.readNBytes(HASH_LENGTH);
+                int length = inputStream.readInt();
+                if (length < 0 || offset + length > size) {
+                    throw new IOException("Invalid chunk length " + length + " in manifest " + manifestPath);
+                }
+                readChunk(Hex.encode(chunkHash), data, offset, length);
+                if (!Arrays.equals(chunkHash, sha256(data, offset, length))) {
+                    throw new IOException("Hash mismatch of chunk " + Hex.encode(chunkHash));
+                }
+                offset += length;
+            }
+            if (offset != size || !Arrays.equals(expectedHash, sha256(data, 0, data.length))) {
+                throw new IOException("Restored data of " + manifestPath + " do not match the hash in the manifest");
+            }
+            return data;
+        }
+    }
+
+    Set<String> readChunkHashes(Path manifestPath) throws IOException {
+        try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(manifestPath)))) {
+            readHeader(inputStream, manifestPath);
+            inputStream.skipNBytes(8 + HASH_LENGTH);
+            int numChunks = inputStream.readInt();
+            Set<String> chunkHashes = new HashSet<>();
+            for (int i = 0; i < numChunks; i++) {
+                chunkHashes.add(Hex.encode(inputStream.readNBytes(HASH_LENGTH)));
+                inputStream.skipNBytes(4);
+            }
+            return chunkHashes;
+        }
+    }
+
+    /**
+     * @return The compressed size of the chunk on disk, or 0 if it does not exist.
+     */
+    long getStoredChunkSize(String chunkHash) {
+        return storedSizeByChunkHash.computeIfAbsent(chunkHash, hash -> {
+            try {
+                return Files.size(getChunkPath(hash));
+            } catch (IOException e) {
+                return 0L;
+            }
+        });
+    }
+
+    /**
+     * Deletes all chunks not contained in referencedChunkHashes.
+     *
+     * @return The number of deleted chunks.
+     */
+    int retainChunks(Set<String> referencedChunkHashes) throws IOException {
+        if (!Files.exists(chunksDirPath)) {
+            return 0;
+        }
+        List<Path> unreferenced;
+        try (Stream<Path> stream = Files.walk(chunksDirPath, 2)) {
+            unreferenced = stream.filter(Files::isRegularFile)
+                    .filter(path -> !referencedChunkHashes.contains(path.getFileName().toString()))
+                    .toList();
+        }
+        for (Path path : unreferenced) {
+            Files.deleteIfExists(path);
+            storedSizeByChunkHash.remove(path.getFileName().toString());
+        }
+        return unreferenced.size();
+    }
+
+    /**
+     * @return True if the chunk has been written, false if it existed already.
+     */
+    private boolean writeChunkIfMissing(String chunkHash, byte[] data, int offset, int length) throws IOException {
+        Path chunkPath = getChunkPath(chunkHash);
+        if (Files.exists(chunkPath)) {
+            return false;
+        }
+        FileMutatorUtils.createDirectories(chunkPath.getParent());
+        Path tempChunkPath = chunkPath.resolveSibling(TEMP_FILE_PREFIX + chunkHash);
+        try {
+            Files.write(tempChunkPath, compress(data, offset, length));
+            Files.move(tempChunkPath, chunkPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempChunkPath);
+        }
+        return true;
+    }
+
+    private void verifyChunk(byte[] chunkHash, byte[] data, int offset, int length) throws IOException {
+        String chunkHashAsHex = Hex.encode(chunkHash);
+        byte[] restored = new byte[length];
+        try {
+            readChunk(chunkHashAsHex, restored, 0, length);
+            if (!Arrays.equals(restored, 0, length, data, offset, offset + length)) {
+                throw new IOException("Restored chunk " + chunkHashAsHex + " does not match the backed up data");
+            }
+        } catch (IOException e) {
+            // We must not keep a broken chunk as following backups would reference it
+            Files.deleteIfExists(getChunkPath(chunkHashAsHex));
+            throw e;
+        }
+    }
+
+    private void readChunk(String chunkHash, byte[] target, int offset, int length) throws IOException {
+        byte[] compressed = Files.readAllBytes(getChunkPath(chunkHash));
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int numRead = 0;
+            while (numRead < length && !inflater.finished()) {
+                int numInflated = inflater.inflate(target, offset + numRead, length - numRead);
+                if (numInflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                numRead += numInflated;
+            }
+            if (numRead != length || !inflater.finished()) {
+                throw new IOException("Chunk " + chunkHash + " is truncated or longer than expected");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Chunk " + chunkHash + " is corrupted", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] compress(byte[] data, int offset, int length) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(data, offset, length);
+            deflater.finish();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                outputStream.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private Path getChunkPath(String chunkHash) {
+        return chunksDirPath.resolve(chunkHash.substring(0, 2)).resolve(chunkHash);
+    }
+
+    private static void readHeader(DataInputStream inputStream, Path manifestPath) throws IOException {
+        byte[] magic = inputStream.readNBytes(MAGIC.length);
+        if (!Arrays.equals(MAGIC, magic)) {
+            throw new IOException(manifestPath + " is not a chunked backup manifest");
+        }
+        int version = inputStream.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported chunked backup version " + version + " at " + manifestPath);
+        }
+    }
+
+    private static byte[] sha256(byte[] data, int offset, int length) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(data, offset, length);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
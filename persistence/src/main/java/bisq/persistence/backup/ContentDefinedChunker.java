@@ -0,0 +1,71 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.backup;
+
+import java.util.SplittableRandom;
+
+/**
+ * Splits data into chunks at content defined boundaries using a gear rolling hash (as in FastCDC).
+ * As boundaries depend only on the content of the last 64 bytes, an insertion or deletion changes only the chunks
+ * around it, and the other chunks of the modified data are identical to the ones of the previous version.
+ * <p>
+ * We use normalized chunking: below the average size a boundary requires more zero bits of the hash than above it,
+ * which narrows the distribution of the chunk sizes around the average.
+ */
+final class ContentDefinedChunker {
+    static final int MIN_CHUNK_SIZE = 2 * 1024;
+    static final int AVG_CHUNK_SIZE = 8 * 1024;
+    static final int MAX_CHUNK_SIZE = 64 * 1024;
+
+    // 15 and 11 of the high bits for an average size of 8 KB (2^13)
+    private static final long MASK_SMALL = 0xFFFE_0000_0000_0000L;
+    private static final long MASK_LARGE = 0xFFE0_0000_0000_0000L;
+
+    // The seed must not change, otherwise the chunks of existing backups would not be reused anymore
+    private static final long[] GEAR = new SplittableRandom(0x6269_7371_3262_6b70L).longs(256).toArray();
+
+    private ContentDefinedChunker() {
+    }
+
+    /**
+     * @return The length of the chunk starting at offset.
+     */
+    static int nextChunkLength(byte[] data, int offset) {
+        int remaining = data.length - offset;
+        if (remaining <= MIN_CHUNK_SIZE) {
+            return remaining;
+        }
+        int end = offset + Math.min(remaining, MAX_CHUNK_SIZE);
+        int normalizedEnd = Math.min(end, offset + AVG_CHUNK_SIZE);
+        long hash = 0;
+        int i = offset + MIN_CHUNK_SIZE;
+        for (; i < normalizedEnd; i++) {
+            hash = (hash << 1) + GEAR[data[i] & 0xFF];
+            if ((hash & MASK_SMALL) == 0) {
+                return i - offset + 1;
+            }
+        }
+        for (; i < end; i++) {
+            hash = (hash << 1) + GEAR[data[i] & 0xFF];
+            if ((hash & MASK_LARGE) == 0) {
+                return i - offset + 1;
+            }
+        }
+        return end - offset;
+    }
+}
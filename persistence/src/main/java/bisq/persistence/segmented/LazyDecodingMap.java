@@ -0,0 +1,252 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.segmented;
+
+import bisq.common.data.ByteArray;
+import bisq.common.proto.Proto;
+import com.google.protobuf.Message;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Map view on a {@link SegmentedStore}. Persisted values are decoded at their first access by {@link #get(Object)}
+ * and kept in memory afterwards. Iterating does not cache the decoded values, thus iterating a large store does not
+ * materialize the whole map.
+ * <br/>
+ * Changes are kept in memory until {@link #persist()} writes a new generation of the store. Entries which have not
+ * been decoded are copied as raw bytes when persisting. Iterators are weakly consistent like the ones of
+ * {@link ConcurrentHashMap}.
+ */
+public class LazyDecodingMap<T extends Proto, P extends Message> extends AbstractMap<ByteArray, T> {
+    private final SegmentedStore<T, P> store;
+    // All keys of the map. Keys which are not in values are in the store.
+    private final Set<ByteArray> keys = ConcurrentHashMap.newKeySet();
+    // Decoded persisted values and values added since the last persist
+    private final Map<ByteArray, T> values = new ConcurrentHashMap<>();
+    private final Object persistLock = new Object();
+
+    public LazyDecodingMap(SegmentedStore<T, P> store) {
+        this.store = store;
+        keys.addAll(store.keySet());
+    }
+
+    public boolean isBackedBy(SegmentedStore<?, ?> store) {
+        return this.store == store;
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return keys.contains(key);
+    }
+
+    @Override
+    public T get(Object key) {
+        T value = values.get(key);
+        if (value != null || !keys.contains(key)) {
+            return value;
+        }
+        ByteArray byteArray = (ByteArray) key;
+        T decoded = store.read(byteArray).orElse(null);
+        if (decoded == null) {
+            return null;
+        }
+        synchronized (this) {
+            // The key might have been removed while decoding
+            if (!keys.contains(byteArray)) {
+                return null;
+            }
+            T previous = values.putIfAbsent(byteArray, decoded);
+            return previous != null ? previous : decoded;
+        }
+    }
+
+    @Override
+    public synchronized T put(ByteArray key, T value) {
+        T previous = get(key);
+        values.put(key, value);
+        keys.add(key);
+        return previous;
+    }
+
+    @Override
+    public synchronized T remove(Object key) {
+        if (!keys.contains(key)) {
+            return null;
+        }
+        T previous = get(key);
+        keys.remove(key);
+        values.remove(key);
+        return previous;
+    }
+
+    @Override
+    public synchronized void clear() {
+        keys.clear();
+        values.clear();
+    }
+
+    @Override
+    public Set<ByteArray> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<ByteArray> iterator() {
+                return new KeyIterator();
+            }
+
+            @Override
+            public int size() {
+                return keys.size();
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return keys.contains(key);
+            }
+
+            @Override
+            public boolean remove(Object key) {
+                boolean contained = keys.contains(key);
+                LazyDecodingMap.this.remove(key);
+                return contained;
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<ByteArray, T>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<ByteArray, T>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return keys.size();
+            }
+        };
+    }
+
+    /**
+     * Writes the current content as a new generation of the store. The map is only locked while the keys and the
+     * decoded values are copied, so the map can be changed while the new generation is written.
+     */
+    public void persist() {
+        synchronized (persistLock) {
+            List<ByteArray> keysSnapshot;
+            Map<ByteArray, T> valuesSnapshot;
+            synchronized (this) {
+                keysSnapshot = new ArrayList<>(keys);
+                valuesSnapshot = new HashMap<>(values);
+            }
+            // Keys without a decoded value are in the current generation, as values are only dropped together with
+            // their key. The store switches to the new generation only after all values have been copied.
+            store.write(keysSnapshot, key -> {
+                T value = valuesSnapshot.get(key);
+                if (value != null) {
+                    return ByteBuffer.wrap(value.completeProto().toByteArray());
+                }
+                return store.readSerialized(key).orElseThrow();
+            });
+        }
+    }
+
+    private class KeyIterator implements Iterator<ByteArray> {
+        private final Iterator<ByteArray> iterator = keys.iterator();
+        private ByteArray lastKey;
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public ByteArray next() {
+            lastKey = iterator.next();
+            return lastKey;
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            LazyDecodingMap.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+
+    /**
+     * Persisted values which have not been accessed by {@link #get(Object)} are decoded for the returned entry only.
+     * Entries which cannot be decoded are skipped.
+     */
+    private class EntryIterator implements Iterator<Map.Entry<ByteArray, T>> {
+        private final Iterator<ByteArray> iterator = keys.iterator();
+        private Map.Entry<ByteArray, T> next;
+        private ByteArray lastKey;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && iterator.hasNext()) {
+                ByteArray key = iterator.next();
+                T value = values.get(key);
+                if (value != null) {
+                    next = Map.entry(key, value);
+                } else {
+                    next = store.read(key).map(decoded -> Map.entry(key, decoded)).orElse(null);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<ByteArray, T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<ByteArray, T> result = next;
+            next = null;
+            lastKey = result.getKey();
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            LazyDecodingMap.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+}
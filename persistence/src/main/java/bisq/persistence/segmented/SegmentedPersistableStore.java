@@ -0,0 +1,37 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.segmented;
+
+import bisq.common.data.ByteArray;
+import bisq.common.proto.Proto;
+import bisq.persistence.PersistableStore;
+
+import java.util.Map;
+
+/**
+ * PersistableStore whose content is a single map which can be persisted with {@link SegmentedPersistence}.
+ */
+public interface SegmentedPersistableStore<T, V extends Proto> extends PersistableStore<T> {
+    Map<ByteArray, V> getMap();
+
+    /**
+     * @return A new store backed by the given map. The map must not be copied, as it is a {@link LazyDecodingMap}
+     * when the store is read from a {@link SegmentedStore}.
+     */
+    T createStore(Map<ByteArray, V> map);
+}
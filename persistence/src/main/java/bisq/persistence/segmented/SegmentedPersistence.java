@@ -0,0 +1,132 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.segmented;
+
+import bisq.common.data.ByteArray;
+import bisq.common.proto.Proto;
+import bisq.common.util.StringUtils;
+import bisq.persistence.Persistence;
+import bisq.persistence.backup.MaxBackupSize;
+import bisq.persistence.backup.RestoreService;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persists the map of the store in a {@link SegmentedStore} instead of a single protobuf file. The read store is backed
+ * by a {@link LazyDecodingMap}, so only the index is read at startup and values are decoded when accessed.
+ * <br/>
+ * If there is no segmented store yet, but a single file store from a previous version, the single file store is read
+ * and migrated to the segmented layout. The single file is deleted after the migration. Its backups are kept and are
+ * pruned as before. The segmented store itself is not backed up, but a new generation only replaces the previous one
+ * once it has been written completely.
+ */
+@Slf4j
+public class SegmentedPersistence<T extends SegmentedPersistableStore<T, V>, V extends Proto, P extends Message>
+        extends Persistence<T> {
+    public static final String DIRECTORY_POST_FIX = "_segments";
+
+    @Getter
+    private final Path segmentedStorePath;
+    private final T persistableStore;
+    private final Parser<P> parser;
+    private final SegmentedStore.ProtoResolver<V, P> protoResolver;
+    private volatile SegmentedStore<V, P> segmentedStore;
+
+    public SegmentedPersistence(Path directoryPath,
+                                String fileName,
+                                MaxBackupSize maxBackupSize,
+                                RestoreService restoreService,
+                                T persistableStore,
+                                Parser<P> parser,
+                                SegmentedStore.ProtoResolver<V, P> protoResolver) {
+        super(directoryPath, fileName, maxBackupSize, restoreService);
+        segmentedStorePath = directoryPath.resolve(StringUtils.camelCaseToSnakeCase(fileName) + DIRECTORY_POST_FIX);
+        this.persistableStore = persistableStore;
+        this.parser = parser;
+        this.protoResolver = protoResolver;
+    }
+
+    @Override
+    public synchronized Optional<T> read() {
+        SegmentedStore<V, P> store = getSegmentedStore();
+        if (!store.exists()) {
+            Optional<T> singleFileStore = super.read();
+            if (singleFileStore.isEmpty()) {
+                return Optional.empty();
+            }
+            if (!writeAll(store, singleFileStore.get().getMap())) {
+                // We keep the single file and try again at the next persist
+                return singleFileStore;
+            }
+            log.info("Migrated {} entries from {} to {}",
+                    store.size(), getStorePath().getFileName(), segmentedStorePath.getFileName());
+        }
+        return Optional.of(persistableStore.createStore(new LazyDecodingMap<>(store)));
+    }
+
+    @Override
+    protected void persist(T persistableStore) {
+        Map<ByteArray, V> map = persistableStore.getMap();
+        SegmentedStore<V, P> store = getSegmentedStore();
+        if (map instanceof LazyDecodingMap<?, ?> lazyDecodingMap && lazyDecodingMap.isBackedBy(store)) {
+            try {
+                lazyDecodingMap.persist();
+            } catch (Exception e) {
+                log.error("Couldn't write {} to disk.", segmentedStorePath, e);
+            }
+        } else {
+            // Nothing has been read from the segmented store yet, or the migration failed
+            writeAll(store, map);
+        }
+    }
+
+    private boolean writeAll(SegmentedStore<V, P> store, Map<ByteArray, V> map) {
+        try {
+            store.writeAll(map);
+        } catch (Exception e) {
+            log.error("Couldn't write {} to disk.", segmentedStorePath, e);
+            return false;
+        }
+        try {
+            Files.deleteIfExists(getStorePath());
+        } catch (IOException e) {
+            log.warn("Couldn't delete {} after writing the segmented store.", getStorePath(), e);
+        }
+        return true;
+    }
+
+    // We create the store at first access, as it reads the index when it gets created.
+    private SegmentedStore<V, P> getSegmentedStore() {
+        if (segmentedStore == null) {
+            synchronized (this) {
+                if (segmentedStore == null) {
+                    segmentedStore = new SegmentedStore<>(segmentedStorePath, parser, protoResolver);
+                }
+            }
+        }
+        return segmentedStore;
+    }
+}
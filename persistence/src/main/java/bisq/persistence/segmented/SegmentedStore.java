@@ -0,0 +1,380 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.segmented;
+
+import bisq.common.data.ByteArray;
+import bisq.common.file.FileMutatorUtils;
+import bisq.common.proto.Proto;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Segmented on-disk layout for large key/value stores like the network data stores.
+ * <br/>
+ * The serialized values are stored in segment files of at most {@link #MAX_SEGMENT_SIZE} bytes which are
+ * memory-mapped read-only. A separate index file holds for each key the segment, offset and length of its value.
+ * Opening the store only reads the index, values are decoded from the mapped segments when they are accessed.
+ * Pages of the segments which are never accessed are never read from disk.
+ * <br/>
+ * Writing creates a new generation of segment and index files. The index is written last, so a crash while writing
+ * leaves the previous generation intact. Files of older generations are deleted after the new one is in place.
+ */
+@Slf4j
+public class SegmentedStore<T extends Proto, P extends Message> {
+    static final int MAX_SEGMENT_SIZE = 256 * 1024 * 1024;
+    private static final int MAGIC = 0x42534753; // "BSGS"
+    private static final int VERSION = 1;
+    private static final String INDEX_EXTENSION = ".idx";
+    private static final String SEGMENT_EXTENSION = ".seg";
+
+    @FunctionalInterface
+    public interface ProtoResolver<T, P> {
+        T fromProto(P proto) throws Exception;
+    }
+
+    record Location(int segment, int offset, int length) {
+    }
+
+    private record Generation(long number, Map<ByteArray, Location> index, List<MappedByteBuffer> segments) {
+        private static final Generation EMPTY = new Generation(0, Map.of(), List.of());
+    }
+
+    @Getter
+    private final Path directoryPath;
+    private final Parser<P> parser;
+    private final ProtoResolver<T, P> protoResolver;
+    private volatile Generation generation;
+
+    public SegmentedStore(Path directoryPath, Parser<P> parser, ProtoResolver<T, P> protoResolver) {
+        this.directoryPath = directoryPath;
+        this.parser = parser;
+        this.protoResolver = protoResolver;
+        generation = readLatestGeneration();
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Read
+    /* --------------------------------------------------------------------- */
+
+    /**
+     * @return True if a generation has been written to the directory.
+     */
+    public boolean exists() {
+        return generation.number() > 0;
+    }
+
+    public int size() {
+        return generation.index().size();
+    }
+
+    public boolean containsKey(ByteArray key) {
+        return generation.index().containsKey(key);
+    }
+
+    public Set<ByteArray> keySet() {
+        return Collections.unmodifiableSet(generation.index().keySet());
+    }
+
+    /**
+     * Decodes the value of the given key from the mapped segment. Results are not cached.
+     */
+    public Optional<T> read(ByteArray key) {
+        Generation current = generation;
+        Location location = current.index().get(key);
+        if (location == null) {
+            return Optional.empty();
+        }
+        try {
+            P proto = parser.parseFrom(slice(current, location));
+            return Optional.of(protoResolver.fromProto(proto));
+        } catch (Exception e) {
+            log.error("Could not resolve value for key {} in {}", key, directoryPath, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Streams the decoded values in index order without keeping them in memory.
+     */
+    public Stream<Map.Entry<ByteArray, T>> stream() {
+        return keySet().stream()
+                .map(key -> read(key).map(value -> Map.entry(key, value)))
+                .flatMap(Optional::stream);
+    }
+
+    /**
+     * @return A read-only view on the serialized value, or empty if the key is not in the store.
+     */
+    Optional<ByteBuffer> readSerialized(ByteArray key) {
+        Generation current = generation;
+        return Optional.ofNullable(current.index().get(key))
+                .map(location -> slice(current, location));
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Write
+    /* --------------------------------------------------------------------- */
+
+    public synchronized void writeAll(Map<ByteArray, T> map) {
+        write(map.keySet(), key -> ByteBuffer.wrap(map.get(key).completeProto().toByteArray()));
+    }
+
+    /**
+     * Writes a new generation containing the given keys.
+     *
+     * @param serializedValueProvider Provides the serialized value of a key. Values of the current generation can be
+     *                                passed as returned by {@link #readSerialized(ByteArray)}, so unchanged
+     *                                entries are copied without decoding them.
+     */
+    synchronized void write(Collection<ByteArray> keys, Function<ByteArray, ByteBuffer> serializedValueProvider) {
+        Generation previous = generation;
+        long number = previous.number() + 1;
+        Map<ByteArray, Location> index = new HashMap<>(keys.size());
+        List<Path> segmentPaths = new ArrayList<>();
+        try {
+            FileMutatorUtils.createDirectories(directoryPath);
+            SegmentWriter writer = null;
+            try {
+                for (ByteArray key : keys) {
+                    ByteBuffer value = serializedValueProvider.apply(key).duplicate();
+                    int length = value.remaining();
+                    if (writer == null || (writer.size > 0 && writer.size + length > MAX_SEGMENT_SIZE)) {
+                        if (writer != null) {
+                            writer.close();
+                        }
+                        Path segmentPath = getSegmentPath(number, segmentPaths.size());
+                        segmentPaths.add(segmentPath);
+                        writer = new SegmentWriter(segmentPath);
+                    }
+                    index.put(key, new Location(segmentPaths.size() - 1, writer.size, length));
+                    writer.write(value);
+                }
+            } finally {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+
+            writeIndex(number, segmentPaths.size(), index);
+            generation = new Generation(number, index, mapSegments(segmentPaths));
+        } catch (IOException e) {
+            throw new SegmentedStoreException("Couldn't write generation " + number + " to " + directoryPath, e);
+        }
+        deleteOtherGenerations(number);
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private static ByteBuffer slice(Generation generation, Location location) {
+        return generation.segments().get(location.segment())
+                .slice(location.offset(), location.length())
+                .asReadOnlyBuffer();
+    }
+
+    private Generation readLatestGeneration() {
+        List<Long> numbers = getGenerationNumbers();
+        // Newest first. If the newest index is corrupted we fall back to an older generation.
+        for (int i = numbers.size() - 1; i >= 0; i--) {
+            long number = numbers.get(i);
+            try {
+                return readGeneration(number);
+            } catch (Exception e) {
+                log.warn("Could not read generation {} of {}", number, directoryPath, e);
+            }
+        }
+        return Generation.EMPTY;
+    }
+
+    private Generation readGeneration(long number) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(getIndexPath(number)));
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Unexpected header in index file of generation " + number);
+        }
+        int numSegments = buffer.getInt();
+        int numEntries = buffer.getInt();
+        Map<ByteArray, Location> index = new HashMap<>(numEntries);
+        for (int i = 0; i < numEntries; i++) {
+            byte[] key = new byte[buffer.getInt()];
+            buffer.get(key);
+            index.put(new ByteArray(key), new Location(buffer.getInt(), buffer.getInt(), buffer.getInt()));
+        }
+        List<Path> segmentPaths = new ArrayList<>(numSegments);
+        for (int i = 0; i < numSegments; i++) {
+            segmentPaths.add(getSegmentPath(number, i));
+        }
+        List<MappedByteBuffer> segments = mapSegments(segmentPaths);
+        for (Location location : index.values()) {
+            if (location.segment() >= numSegments ||
+                    (long) location.offset() + location.length() > segments.get(location.segment()).capacity()) {
+                throw new IOException("Index entry " + location + " is out of the bounds of generation " + number);
+            }
+        }
+        return new Generation(number, index, segments);
+    }
+
+    private void writeIndex(long number, int numSegments, Map<ByteArray, Location> index) throws IOException {
+        Path indexPath = getIndexPath(number);
+        Path tempIndexPath = directoryPath.resolve(indexPath.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempIndexPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            outputStream.writeInt(MAGIC);
+            outputStream.writeInt(VERSION);
+            outputStream.writeInt(numSegments);
+            outputStream.writeInt(index.size());
+            for (Map.Entry<ByteArray, Location> entry : index.entrySet()) {
+                byte[] key = entry.getKey().getBytes();
+                Location location = entry.getValue();
+                outputStream.writeInt(key.length);
+                outputStream.write(key);
+                outputStream.writeInt(location.segment());
+                outputStream.writeInt(location.offset());
+                outputStream.writeInt(location.length());
+            }
+            outputStream.flush();
+            channel.force(true);
+        }
+        Files.move(tempIndexPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static List<MappedByteBuffer> mapSegments(List<Path> segmentPaths) throws IOException {
+        List<MappedByteBuffer> segments = new ArrayList<>(segmentPaths.size());
+        for (Path segmentPath : segmentPaths) {
+            try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+                // The mapping stays valid after the channel is closed
+                segments.add(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+        return segments;
+    }
+
+    private void deleteOtherGenerations(long number) {
+        try (Stream<Path> paths = Files.list(directoryPath)) {
+            paths.filter(path -> parseGenerationNumber(path).filter(n -> n != number).isPresent())
+                    .forEach(path -> {
+                        try {
+                            Files.deleteIfExists(path);
+                        } catch (IOException e) {
+                            // On Windows a file cannot be deleted while it is mapped. We retry at the next write.
+                            log.debug("Could not delete {}", path, e);
+                        }
+                    });
+        } catch (IOException e) {
+            log.warn("Could not list files in {}", directoryPath, e);
+        }
+    }
+
+    private List<Long> getGenerationNumbers() {
+        if (!Files.isDirectory(directoryPath)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.list(directoryPath)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(INDEX_EXTENSION))
+                    .map(SegmentedStore::parseGenerationNumber)
+                    .flatMap(Optional::stream)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new SegmentedStoreException("Couldn't list files in " + directoryPath, e);
+        }
+    }
+
+    // File names are "<generation>.idx" and "<generation>_<segment>.seg"
+    private static Optional<Long> parseGenerationNumber(Path path) {
+        String fileName = path.getFileName().toString();
+        if (!fileName.endsWith(INDEX_EXTENSION) && !fileName.endsWith(SEGMENT_EXTENSION)) {
+            return Optional.empty();
+        }
+        String baseName = fileName.substring(0, fileName.lastIndexOf('.'));
+        int separatorIndex = baseName.indexOf('_');
+        try {
+            return Optional.of(Long.parseLong(separatorIndex < 0 ? baseName : baseName.substring(0, separatorIndex)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Path getIndexPath(long number) {
+        return directoryPath.resolve(number + INDEX_EXTENSION);
+    }
+
+    private Path getSegmentPath(long number, int segment) {
+        return directoryPath.resolve(number + "_" + segment + SEGMENT_EXTENSION);
+    }
+
+    private static final class SegmentWriter {
+        private final FileChannel channel;
+        private final OutputStream outputStream;
+        private int size;
+
+        private SegmentWriter(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            outputStream = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+        }
+
+        private void write(ByteBuffer value) throws IOException {
+            int length = value.remaining();
+            if (value.hasArray()) {
+                outputStream.write(value.array(), value.arrayOffset() + value.position(), length);
+            } else {
+                byte[] bytes = new byte[length];
+                value.get(bytes);
+                outputStream.write(bytes);
+            }
+            size += length;
+        }
+
+        private void close() throws IOException {
+            try (channel) {
+                outputStream.flush();
+                channel.force(true);
+            }
+        }
+    }
+}
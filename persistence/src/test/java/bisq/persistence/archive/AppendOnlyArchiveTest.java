@@ -0,0 +1,170 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.persistence.archive;
+
+import bisq.common.data.StringLongPair;
+import bisq.persistence.backup.BackupFileInfo;
+import bisq.persistence.backup.BackupService;
+import bisq.persistence.backup.MaxBackupSize;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AppendOnlyArchiveTest {
+
+    @Test
+    void appendAndReadPages(@TempDir Path tempDirPath) {
+        AppendOnlyArchive<StringLongPair, bisq.common.protobuf.StringLongPair> archive = createArchive(tempDirPath);
+        assertThat(archive.size()).isZero();
+        assertThat(archive.readAll()).isEmpty();
+
+        archive.appendAll(createItems(0, 10));
+        archive.appendAsync(new StringLongPair("10", 10L)).join();
+        assertThat(archive.size()).isEqualTo(11);
+
+        assertThat(keys(archive.readPage(0, 3))).containsExactly("0", "1", "2");
+        assertThat(keys(archive.readPage(9, 5))).containsExactly("9", "10");
+        assertThat(archive.readPage(11, 5)).isEmpty();
+
+        // A new instance builds the index from the file
+        AppendOnlyArchive<StringLongPair, bisq.common.protobuf.StringLongPair> reopened = createArchive(tempDirPath);
+        assertThat(reopened.size()).isEqualTo(11);
+        assertThat(keys(reopened.readPage(5, 2))).containsExactly("5", "6");
+    }
+
+    @Test
+    void update(@TempDir Path tempDirPath) {
+        AppendOnlyArchive<StringLongPair, bisq.common.protobuf.StringLongPair> archive = createArchive(tempDirPath);
+        archive.appendAll(createItems(0, 5));
+        int numUpdated = archive.update(item -> item.getValue() % 2 == 0
+                ? Optional.of(new StringLongPair(item.getKey(), item.getValue() + 100))
+                : Optional.empty());
+        assertThat(numUpdated).isEqualTo(3);
+        assertThat(values(archive.readAll())).containsExactly(100L, 1L, 102L, 3L, 104L);
+        assertThat(archive.update(item -> Optional.empty())).isZero();
+
+        archive.appendAll(createItems(5, 1));
+        assertThat(values(createArchive(tempDirPath).readAll())).containsExactly(100L, 1L, 102L, 3L, 104L, 5L);
+    }
+
+    @Test
+    void updateKeepsUnresolvableRecords(@TempDir Path tempDirPath) {
+        AppendOnlyArchive<StringLongPair, bisq.common.protobuf.StringLongPair> archive = createArchive(tempDirPath);
+        archive.appendAll(createItems(0, 3));
+
+        // Simulates an item which cannot be resolved, e.g. because it was written by a newer version
+        AppendOnlyArchive<StringLongPair, bisq.common.protobuf.StringLongPair> restricted = new AppendOnlyArchive<>(tempDirPath,
+                "TestArchive",
+                bisq.common.protobuf.StringLongPair.parser(),
+                proto -> {
+                    if (proto.getKey().equals("1")) {
+                        throw new IllegalArgumentException("Unresolvable");
+                    }
+                    return StringLongPair.fromProto(proto);
+                });
+        assertThat(restricted.update(item -> Optional.of(new StringLongPair(item.getKey(), item.getValue() + 100))))
+                .isEqualTo(2);
+
+        assertThat(values(createArchive(tempDirPath).readAll())).containsExactly(100L, 1L, 102L);
+    }
+
+    @Test
+    void truncateIncompleteLastRecord(@TempDir Path tempDirPath) throws Exception {
+        AppendOnlyArchive<StringLongPair, bisq.common.protobuf.StringLongPair> archive = createArchive(tempDirPath);
+        archive.appendAll(createItems(0, 3));
+        try (FileChannel channel = FileChannel.open(archive.getArchivePath(), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 2);
+        }
+
+        AppendOnlyArchive<StringLongPair, bisq.common.protobuf.StringLongPair> reopened = createArchive(tempDirPath);
+        assertThat(keys(reopened.readAll())).containsExactly("0", "1");
+
+        reopened.appendAll(createItems(3, 1));
+        assertThat(keys(createArchive(tempDirPath).readAll())).containsExactly("0", "1", "3");
+    }
+
+    @Test
+    void appendAfterIncompleteLastRecord(@TempDir Path tempDirPath) throws Exception {
+        AppendOnlyArchive<StringLongPair, bisq.common.protobuf.StringLongPair> archive = createArchive(tempDirPath);
+        archive.appendAll(createItems(0, 3));
+        try (FileChannel channel = FileChannel.open(archive.getArchivePath(), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 2);
+        }
+
+        // After a restart the first access is an append, not a read
+        AppendOnlyArchive<StringLongPair, bisq.common.protobuf.StringLongPair> reopened = createArchive(tempDirPath);
+        reopened.appendAll(createItems(3, 2));
+        assertThat(keys(reopened.readAll())).containsExactly("0", "1", "3", "4");
+        assertThat(keys(createArchive(tempDirPath).readAll())).containsExactly("0", "1", "3", "4");
+    }
+
+    @Test
+    void backupBeforeModification(@TempDir Path tempDirPath) throws Exception {
+        Path dbDirPath = tempDirPath.resolve("db").resolve("private");
+        AppendOnlyArchive<StringLongPair, bisq.common.protobuf.StringLongPair> archive = new AppendOnlyArchive<>(tempDirPath,
+                dbDirPath,
+                "TestArchive",
+                MaxBackupSize.HUNDRED_MB,
+                bisq.common.protobuf.StringLongPair.parser(),
+                StringLongPair::fromProto);
+        archive.appendAll(createItems(0, 3));
+        assertThat(archive.getBackups()).isEmpty();
+
+        archive.appendAll(createItems(3, 1));
+        // The backup is a copy, so the archive file is still complete
+        assertThat(keys(archive.readAll())).containsExactly("0", "1", "2", "3");
+        List<BackupFileInfo> backups = archive.getBackups();
+        assertThat(backups).hasSize(1);
+
+        Path restoredDirPath = tempDirPath.resolve("restored");
+        Files.createDirectories(restoredDirPath);
+        new BackupService(tempDirPath, archive.getArchivePath(), MaxBackupSize.HUNDRED_MB)
+                .restore(backups.get(0).getPath(), restoredDirPath.resolve(archive.getArchivePath().getFileName()));
+        assertThat(keys(createArchive(restoredDirPath).readAll())).containsExactly("0", "1", "2");
+    }
+
+    private static AppendOnlyArchive<StringLongPair, bisq.common.protobuf.StringLongPair> createArchive(Path dirPath) {
+        return new AppendOnlyArchive<>(dirPath,
+                "TestArchive",
+                bisq.common.protobuf.StringLongPair.parser(),
+                StringLongPair::fromProto);
+    }
+
+    private static List<StringLongPair> createItems(int start, int numItems) {
+        return IntStream.range(start, start + numItems)
+                .mapToObj(i -> new StringLongPair(String.valueOf(i), (long) i))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Long> values(List<StringLongPair> items) {
+        return items.stream().map(StringLongPair::getValue).collect(Collectors.toList());
+    }
+
+    private static List<String> keys(List<StringLongPair> items) {
+        return items.stream().map(StringLongPair::getKey).collect(Collectors.toList());
+    }
+}
@@ -27,6 +27,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
@@ -39,7 +40,9 @@ import java.util.List;
 import java.util.function.Predicate;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -150,8 +153,83 @@ public class BackupServiceTest {
         Path backupFilePath = backupService.getBackupFilePath();
         assertThat(backupFilePath).doesNotExist();
         backupService.backup(backupFilePath);
-        assertThat(backupFilePath).exists();
+        // The chunked backup uses a distinct extension, so it cannot be mistaken for a full copy
+        Path manifestPath = BackupService.getManifestPath(backupFilePath);
+        assertThat(manifestPath).exists();
+        assertThat(backupFilePath).doesNotExist();
         assertThat(storeFilePath).doesNotExist();
+        assertTrue(backupService.isChunkedBackup(manifestPath));
+        assertEquals(List.of(manifestPath), backupService.getBackups().stream().map(BackupFileInfo::getPath).toList());
+    }
+
+    @Test
+    void testMigrateFullCopyBackupAndRestore() throws IOException {
+        byte[] data = "full copy backup of a previous version".getBytes();
+        Path legacyBackupFilePath = backupService.getBackupFilePath(LocalDateTime.now().minusMinutes(5));
+        FileMutatorUtils.writeToPath(data, legacyBackupFilePath);
+        assertFalse(backupService.isChunkedBackup(legacyBackupFilePath));
+
+        backupService.prune();
+        Path manifestPath = BackupService.getManifestPath(legacyBackupFilePath);
+        assertThat(legacyBackupFilePath).doesNotExist();
+        assertTrue(backupService.isChunkedBackup(manifestPath));
+
+        Path restoredFilePath = dataDirPath.resolve("restored");
+        backupService.restore(manifestPath, restoredFilePath);
+        assertArrayEquals(data, Files.readAllBytes(restoredFilePath));
+    }
+
+    @Test
+    void testPruneMigratesFullCopyBackupsOnce() throws IOException {
+        byte[] data1 = "first full copy backup".getBytes();
+        byte[] data2 = "second full copy backup".getBytes();
+        Path fullCopy1 = backupService.getBackupFilePath(LocalDateTime.now().minusMinutes(10));
+        Path fullCopy2 = backupService.getBackupFilePath(LocalDateTime.now().minusMinutes(5));
+        FileMutatorUtils.writeToPath(data1, fullCopy1);
+        FileMutatorUtils.writeToPath(data2, fullCopy2);
+        FileMutatorUtils.writeToPath("chunked backup", storeFilePath);
+        Path backupFilePath = backupService.getBackupFilePath(LocalDateTime.now().minusMinutes(1));
+        backupService.backup(backupFilePath);
+        Path chunkedBackup = BackupService.getManifestPath(backupFilePath);
+        byte[] chunkedBackupData = Files.readAllBytes(chunkedBackup);
+
+        backupService.prune();
+        assertThat(backupService.getBackups()).hasSize(3)
+                .allMatch(backupFileInfo -> backupService.isChunkedBackup(backupFileInfo.getPath()));
+        // Already chunked backups are not touched
+        assertArrayEquals(chunkedBackupData, Files.readAllBytes(chunkedBackup));
+        Path restoredFilePath = dataDirPath.resolve("restored");
+        backupService.restore(BackupService.getManifestPath(fullCopy1), restoredFilePath);
+        assertArrayEquals(data1, Files.readAllBytes(restoredFilePath));
+        backupService.restore(BackupService.getManifestPath(fullCopy2), restoredFilePath);
+        assertArrayEquals(data2, Files.readAllBytes(restoredFilePath));
+
+        // The migration runs only at the first prune, a full copy written later (e.g. as fallback) is kept
+        Path fullCopy3 = backupService.getBackupFilePath(LocalDateTime.now().minusMinutes(2));
+        FileMutatorUtils.writeToPath(data1, fullCopy3);
+        backupService.prune();
+        assertThat(fullCopy3).exists();
+        assertThat(backupService.getBackups()).hasSize(4);
+    }
+
+    @Test
+    void testExport() throws IOException {
+        FileMutatorUtils.writeToPath("test", storeFilePath);
+        Path backupFilePath = backupService.getBackupFilePath();
+        backupService.backup(backupFilePath);
+        Path manifestPath = BackupService.getManifestPath(backupFilePath);
+
+        Path exportDirPath = dataDirPath.resolve("export");
+        FileMutatorUtils.createDirectories(exportDirPath);
+        Path exportedFilePath = BackupService.export(manifestPath, exportDirPath);
+        // The exported file has the name of a full copy backup
+        assertEquals(exportDirPath.resolve(backupFilePath.getFileName()), exportedFilePath);
+        assertEquals("test", Files.readString(exportedFilePath));
+
+        // Full copy backups are copied
+        Path fullCopy = backupService.getBackupFilePath(LocalDateTime.now().minusMinutes(5));
+        FileMutatorUtils.writeToPath("full copy", fullCopy);
+        assertEquals("full copy", Files.readString(BackupService.export(fullCopy, exportDirPath)));
     }
 
     @Test
@@ -0,0 +1,122 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.backup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkedBackupStoreTest {
+    @Test
+    void writeAndRestore(@TempDir Path tempDir) throws IOException {
+        ChunkedBackupStore store = new ChunkedBackupStore(tempDir.resolve("chunks"));
+        byte[] data = createData(300_000, 1);
+        Path manifestPath = tempDir.resolve("backup_1");
+        store.write(data, manifestPath);
+
+        assertTrue(ChunkedBackupStore.isManifest(manifestPath));
+        assertArrayEquals(data, store.restore(manifestPath));
+
+        Path emptyManifestPath = tempDir.resolve("backup_empty");
+        store.write(new byte[0], emptyManifestPath);
+        assertArrayEquals(new byte[0], store.restore(emptyManifestPath));
+    }
+
+    @Test
+    void unchangedChunksAreShared(@TempDir Path tempDir) throws IOException {
+        ChunkedBackupStore store = new ChunkedBackupStore(tempDir.resolve("chunks"));
+        byte[] data = createData(500_000, 2);
+        Path manifestPath1 = tempDir.resolve("backup_1");
+        store.write(data, manifestPath1);
+        Set<String> chunkHashes1 = store.readChunkHashes(manifestPath1);
+
+        // Insert a few bytes in the middle, which shifts all following bytes
+        byte[] changed = new byte[data.length + 3];
+        System.arraycopy(data, 0, changed, 0, 250_000);
+        changed[250_000] = 1;
+        changed[250_001] = 2;
+        changed[250_002] = 3;
+        System.arraycopy(data, 250_000, changed, 250_003, data.length - 250_000);
+        Path manifestPath2 = tempDir.resolve("backup_2");
+        store.write(changed, manifestPath2);
+        Set<String> chunkHashes2 = store.readChunkHashes(manifestPath2);
+
+        Set<String> newChunkHashes = new HashSet<>(chunkHashes2);
+        newChunkHashes.removeAll(chunkHashes1);
+        assertTrue(newChunkHashes.size() <= 2, "Expected at most 2 new chunks but got " + newChunkHashes.size());
+        assertEquals(chunkHashes1.size() + newChunkHashes.size(), countChunkFiles(store));
+        assertArrayEquals(data, store.restore(manifestPath1));
+        assertArrayEquals(changed, store.restore(manifestPath2));
+
+        Files.delete(manifestPath1);
+        store.retainChunks(chunkHashes2);
+        assertEquals(chunkHashes2.size(), countChunkFiles(store));
+        assertArrayEquals(changed, store.restore(manifestPath2));
+    }
+
+    @Test
+    void corruptedChunkIsDetected(@TempDir Path tempDir) throws IOException {
+        ChunkedBackupStore store = new ChunkedBackupStore(tempDir.resolve("chunks"));
+        byte[] data = createData(100_000, 3);
+        Path manifestPath = tempDir.resolve("backup_1");
+        store.write(data, manifestPath);
+
+        String chunkHash = store.readChunkHashes(manifestPath).iterator().next();
+        Path chunkPath = store.getChunksDirPath().resolve(chunkHash.substring(0, 2)).resolve(chunkHash);
+        byte[] otherData = createData(20_000, 4);
+        ChunkedBackupStore otherStore = new ChunkedBackupStore(tempDir.resolve("other_chunks"));
+        otherStore.write(otherData, tempDir.resolve("other_backup"));
+        String otherChunkHash = otherStore.readChunkHashes(tempDir.resolve("other_backup")).iterator().next();
+        Files.copy(otherStore.getChunksDirPath().resolve(otherChunkHash.substring(0, 2)).resolve(otherChunkHash),
+                chunkPath,
+                StandardCopyOption.REPLACE_EXISTING);
+
+        assertThrows(IOException.class, () -> store.restore(manifestPath));
+        assertFalse(ChunkedBackupStore.isManifest(tempDir.resolve("not_existing")));
+    }
+
+    private static long countChunkFiles(ChunkedBackupStore store) throws IOException {
+        try (Stream<Path> stream = Files.walk(store.getChunksDirPath(), 2)) {
+            return stream.filter(Files::isRegularFile).count();
+        }
+    }
+
+    // Semi compressible data similar to serialized protobuf stores
+    private static byte[] createData(int size, long seed) {
+        Random random = new Random(seed);
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = random.nextInt(4) == 0 ? (byte) random.nextInt(256) : (byte) ('a' + random.nextInt(8));
+        }
+        return data;
+    }
+}
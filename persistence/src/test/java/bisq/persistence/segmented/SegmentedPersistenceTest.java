@@ -0,0 +1,112 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.segmented;
+
+import bisq.common.data.StringLongPair;
+import bisq.persistence.PersistableStoreResolver;
+import bisq.persistence.Persistence;
+import bisq.persistence.backup.MaxBackupSize;
+import bisq.persistence.backup.RestoreService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static bisq.persistence.segmented.SegmentedTimestampStore.key;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SegmentedPersistenceTest {
+    private static final String FILE_NAME = "SegmentedTimestampStore";
+
+    @BeforeAll
+    static void setup() {
+        PersistableStoreResolver.addResolver(new SegmentedTimestampStore().getResolver());
+    }
+
+    @Test
+    void migrateSingleFileStore(@TempDir Path tempDirPath) {
+        SegmentedTimestampStore singleFileStore = new SegmentedTimestampStore();
+        singleFileStore.getMap().put(key("A"), new StringLongPair("A", 1L));
+        singleFileStore.getMap().put(key("B"), new StringLongPair("B", 2L));
+        Persistence<SegmentedTimestampStore> singleFilePersistence =
+                new Persistence<>(tempDirPath, FILE_NAME, MaxBackupSize.ZERO, new RestoreService());
+        singleFilePersistence.persistAsync(singleFileStore).join();
+        assertThat(singleFilePersistence.getStorePath()).exists();
+
+        SegmentedPersistence<SegmentedTimestampStore, StringLongPair, bisq.common.protobuf.StringLongPair> persistence =
+                createPersistence(tempDirPath);
+        SegmentedTimestampStore migrated = persistence.read().orElseThrow();
+        assertThat(migrated.getMap()).isInstanceOf(LazyDecodingMap.class);
+        assertThat(migrated.getMap()).hasSize(2);
+        assertThat(migrated.getMap().get(key("B")).getValue()).isEqualTo(2L);
+        assertThat(singleFilePersistence.getStorePath()).doesNotExist();
+        assertThat(persistence.getSegmentedStorePath()).isDirectory();
+
+        SegmentedTimestampStore reopened = createPersistence(tempDirPath).read().orElseThrow();
+        assertThat(reopened.getMap()).containsOnlyKeys(key("A"), key("B"));
+    }
+
+    @Test
+    void persistChangesOfLazyDecodingMap(@TempDir Path tempDirPath) {
+        SegmentedPersistence<SegmentedTimestampStore, StringLongPair, bisq.common.protobuf.StringLongPair> persistence =
+                createPersistence(tempDirPath);
+        assertThat(persistence.read()).isEmpty();
+
+        SegmentedTimestampStore store = new SegmentedTimestampStore();
+        for (int i = 0; i < 10; i++) {
+            store.getMap().put(key(String.valueOf(i)), new StringLongPair(String.valueOf(i), (long) i));
+        }
+        persistence.persistAsync(store.getClone()).join();
+
+        persistence = createPersistence(tempDirPath);
+        store.applyPersisted(persistence.read().orElseThrow());
+        store.getMap().remove(key("3"));
+        store.getMap().put(key("4"), new StringLongPair("4", 40L));
+        store.getMap().put(key("10"), new StringLongPair("10", 10L));
+        persistence.persistAsync(store.getClone()).join();
+        // Changes after the persist are kept in memory
+        store.getMap().remove(key("5"));
+        assertThat(store.getMap()).hasSize(9).doesNotContainKey(key("5"));
+
+        SegmentedTimestampStore reopened = createPersistence(tempDirPath).read().orElseThrow();
+        assertThat(reopened.getMap()).hasSize(10).doesNotContainKey(key("3"));
+        assertThat(reopened.getMap().get(key("4")).getValue()).isEqualTo(40L);
+        assertThat(reopened.getMap().get(key("5")).getValue()).isEqualTo(5L);
+        assertThat(reopened.getMap().get(key("10")).getValue()).isEqualTo(10L);
+    }
+
+    @Test
+    void readWithoutAnyPersistedData(@TempDir Path tempDirPath) throws Exception {
+        assertThat(createPersistence(tempDirPath).read()).isEmpty();
+        try (var paths = Files.list(tempDirPath)) {
+            assertThat(paths).isEmpty();
+        }
+    }
+
+    private static SegmentedPersistence<SegmentedTimestampStore, StringLongPair, bisq.common.protobuf.StringLongPair> createPersistence(Path dirPath) {
+        return new SegmentedPersistence<>(dirPath,
+                FILE_NAME,
+                MaxBackupSize.ZERO,
+                new RestoreService(),
+                new SegmentedTimestampStore(),
+                bisq.common.protobuf.StringLongPair.parser(),
+                StringLongPair::fromProto);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.segmented;
+
+import bisq.common.data.ByteArray;
+import bisq.common.data.StringLongPair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SegmentedStoreTest {
+
+    @Test
+    void writeAndReopen(@TempDir Path tempDirPath) {
+        SegmentedStore<StringLongPair, bisq.common.protobuf.StringLongPair> store = createStore(tempDirPath);
+        assertThat(store.size()).isZero();
+
+        store.writeAll(createItems(0, 100));
+        assertThat(store.size()).isEqualTo(100);
+        assertThat(store.read(key(42)).orElseThrow().getValue()).isEqualTo(42L);
+
+        SegmentedStore<StringLongPair, bisq.common.protobuf.StringLongPair> reopened = createStore(tempDirPath);
+        assertThat(reopened.size()).isEqualTo(100);
+        assertThat(reopened.read(key(99)).orElseThrow().getKey()).isEqualTo("99");
+        assertThat(reopened.read(key(100))).isEmpty();
+        assertThat(reopened.stream().count()).isEqualTo(100);
+    }
+
+    @Test
+    void olderGenerationsAreDeleted(@TempDir Path tempDirPath) throws Exception {
+        SegmentedStore<StringLongPair, bisq.common.protobuf.StringLongPair> store = createStore(tempDirPath);
+        store.writeAll(createItems(0, 10));
+        store.writeAll(createItems(10, 5));
+
+        try (Stream<Path> paths = Files.list(tempDirPath)) {
+            assertThat(paths.map(path -> path.getFileName().toString()).collect(Collectors.toSet()))
+                    .containsExactlyInAnyOrder("2.idx", "2_0.seg");
+        }
+        assertThat(createStore(tempDirPath).keySet()).containsExactlyInAnyOrderElementsOf(createItems(10, 5).keySet());
+    }
+
+    @Test
+    void fallBackToPreviousGenerationIfIndexIsCorrupted(@TempDir Path tempDirPath) throws Exception {
+        SegmentedStore<StringLongPair, bisq.common.protobuf.StringLongPair> store = createStore(tempDirPath);
+        store.writeAll(createItems(0, 10));
+        Files.copy(tempDirPath.resolve("1.idx"), tempDirPath.resolve("1.idx.bak"));
+        Files.copy(tempDirPath.resolve("1_0.seg"), tempDirPath.resolve("1_0.seg.bak"));
+        store.writeAll(createItems(0, 20));
+        Files.move(tempDirPath.resolve("1.idx.bak"), tempDirPath.resolve("1.idx"));
+        Files.move(tempDirPath.resolve("1_0.seg.bak"), tempDirPath.resolve("1_0.seg"));
+        Files.write(tempDirPath.resolve("2.idx"), new byte[]{1, 2, 3});
+
+        assertThat(createStore(tempDirPath).size()).isEqualTo(10);
+    }
+
+    @Test
+    void lazyDecodingMap(@TempDir Path tempDirPath) {
+        SegmentedStore<StringLongPair, bisq.common.protobuf.StringLongPair> store = createStore(tempDirPath);
+        store.writeAll(createItems(0, 10));
+
+        LazyDecodingMap<StringLongPair, bisq.common.protobuf.StringLongPair> map = new LazyDecodingMap<>(store);
+        assertThat(map.size()).isEqualTo(10);
+        assertThat(map.get(key(3)).getValue()).isEqualTo(3L);
+        assertThat(map.get(key(10))).isNull();
+
+        map.remove(key(3));
+        map.put(key(10), new StringLongPair("10", 10L));
+        map.put(key(4), new StringLongPair("4", 40L));
+        assertThat(map.size()).isEqualTo(10);
+        assertThat(map.containsKey(key(3))).isFalse();
+        assertThat(map.entrySet().stream().map(Map.Entry::getKey).collect(Collectors.toSet()))
+                .hasSize(10)
+                .contains(key(10))
+                .doesNotContain(key(3));
+
+        map.persist();
+        LazyDecodingMap<StringLongPair, bisq.common.protobuf.StringLongPair> reopened =
+                new LazyDecodingMap<>(createStore(tempDirPath));
+        assertThat(reopened.size()).isEqualTo(10);
+        assertThat(reopened.get(key(3))).isNull();
+        assertThat(reopened.get(key(4)).getValue()).isEqualTo(40L);
+        assertThat(reopened.get(key(10)).getValue()).isEqualTo(10L);
+        assertThat(reopened).isEqualTo(new HashMap<>(map));
+    }
+
+    private static SegmentedStore<StringLongPair, bisq.common.protobuf.StringLongPair> createStore(Path dirPath) {
+        return new SegmentedStore<>(dirPath,
+                bisq.common.protobuf.StringLongPair.parser(),
+                StringLongPair::fromProto);
+    }
+
+    private static Map<ByteArray, StringLongPair> createItems(int start, int numItems) {
+        Map<ByteArray, StringLongPair> items = new HashMap<>();
+        for (int i = start; i < start + numItems; i++) {
+            items.put(key(i), new StringLongPair(String.valueOf(i), (long) i));
+        }
+        return items;
+    }
+
+    private static ByteArray key(int i) {
+        return new ByteArray(String.valueOf(i).getBytes(StandardCharsets.UTF_8));
+    }
+}
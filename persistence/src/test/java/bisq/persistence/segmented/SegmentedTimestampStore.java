@@ -0,0 +1,95 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.segmented;
+
+import bisq.common.data.ByteArray;
+import bisq.common.data.StringLongPair;
+import bisq.common.proto.ProtoResolver;
+import bisq.common.proto.UnresolvableProtobufMessageException;
+import bisq.persistence.PersistableStore;
+import com.google.protobuf.InvalidProtocolBufferException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+final class SegmentedTimestampStore implements SegmentedPersistableStore<SegmentedTimestampStore, StringLongPair> {
+    @Getter
+    private volatile Map<ByteArray, StringLongPair> map = new ConcurrentHashMap<>();
+
+    private SegmentedTimestampStore(Map<ByteArray, StringLongPair> map) {
+        this.map = map;
+    }
+
+    static ByteArray key(String key) {
+        return new ByteArray(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public bisq.persistence.protobuf.SegmentedTimestampStore toProto(boolean serializeForHash) {
+        return unsafeToProto(serializeForHash);
+    }
+
+    @Override
+    public bisq.persistence.protobuf.SegmentedTimestampStore.Builder getBuilder(boolean serializeForHash) {
+        return bisq.persistence.protobuf.SegmentedTimestampStore.newBuilder()
+                .addAllStringLongPairs(map.values().stream()
+                        .map(e -> e.toProto(serializeForHash))
+                        .collect(Collectors.toList()));
+    }
+
+    public static SegmentedTimestampStore fromProto(bisq.persistence.protobuf.SegmentedTimestampStore proto) {
+        return new SegmentedTimestampStore(proto.getStringLongPairsList().stream()
+                .map(StringLongPair::fromProto)
+                .collect(Collectors.toConcurrentMap(pair -> key(pair.getKey()), Function.identity())));
+    }
+
+    @Override
+    public ProtoResolver<PersistableStore<?>> getResolver() {
+        return any -> {
+            try {
+                return fromProto(any.unpack(bisq.persistence.protobuf.SegmentedTimestampStore.class));
+            } catch (InvalidProtocolBufferException e) {
+                throw new UnresolvableProtobufMessageException(e);
+            }
+        };
+    }
+
+    @Override
+    public SegmentedTimestampStore createStore(Map<ByteArray, StringLongPair> map) {
+        return new SegmentedTimestampStore(map);
+    }
+
+    @Override
+    public SegmentedTimestampStore getClone() {
+        return map instanceof LazyDecodingMap
+                ? new SegmentedTimestampStore(map)
+                : new SegmentedTimestampStore(Map.copyOf(map));
+    }
+
+    @Override
+    public void applyPersisted(SegmentedTimestampStore persisted) {
+        map = persisted.getMap();
+    }
+}
@@ -37,29 +37,44 @@ public class AesGcm {
     private static final int MAX_TAG_LENGTH = 128;
     private static final int RECOMMENDED_IV_LENGTH = 12;
 
-    public static byte[] encrypt(SecretKey secretKey, byte[] iv, byte[] plainText) throws NoSuchPaddingException, NoSuchAlgorithmException, NoSuchProviderException, InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
-        Cipher cipher = Cipher.getInstance(AES_GCM_NO_PADDING_CIPHER_NAME, BouncyCastleProvider.PROVIDER_NAME);
-        GCMParameterSpec spec = new GCMParameterSpec(MAX_TAG_LENGTH, iv);
-        cipher.init(Cipher.ENCRYPT_MODE, secretKey, spec);
-        return cipher.doFinal(plainText);
+    // BC rejects encrypting twice with the same key and IV on the same Cipher instance. As we use a new IV for each
+    // message this does not affect us.
+    private static final ThreadLocalCryptoPrimitive<Cipher> CIPHER =
+            new ThreadLocalCryptoPrimitive<>(() -> Cipher.getInstance(AES_GCM_NO_PADDING_CIPHER_NAME, BouncyCastleProvider.PROVIDER_NAME));
+    private static final ThreadLocalCryptoPrimitive<KeyAgreement> KEY_AGREEMENT =
+            new ThreadLocalCryptoPrimitive<>(() -> KeyAgreement.getInstance(KeyGeneration.ECDH, BouncyCastleProvider.PROVIDER_NAME));
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    public static byte[] encrypt(SecretKey secretKey, byte[] iv, byte[] plainText) throws GeneralSecurityException {
+        return CIPHER.apply(cipher -> {
+            GCMParameterSpec spec = new GCMParameterSpec(MAX_TAG_LENGTH, iv);
+            cipher.init(Cipher.ENCRYPT_MODE, secretKey, spec);
+            return cipher.doFinal(plainText);
+        });
     }
 
-    public static byte[] decrypt(SecretKey secretKey, byte[] iv, byte[] cipherText) throws NoSuchPaddingException, NoSuchAlgorithmException, NoSuchProviderException, InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
-        Cipher cipher = Cipher.getInstance(AES_GCM_NO_PADDING_CIPHER_NAME, BouncyCastleProvider.PROVIDER_NAME);
-        GCMParameterSpec spec = new GCMParameterSpec(MAX_TAG_LENGTH, iv);
-        cipher.init(Cipher.DECRYPT_MODE, secretKey, spec);
-        return cipher.doFinal(cipherText);
+    public static byte[] decrypt(SecretKey secretKey, byte[] iv, byte[] cipherText) throws GeneralSecurityException {
+        return CIPHER.apply(cipher -> {
+            GCMParameterSpec spec = new GCMParameterSpec(MAX_TAG_LENGTH, iv);
+            cipher.init(Cipher.DECRYPT_MODE, secretKey, spec);
+            return cipher.doFinal(cipherText);
+        });
     }
 
     public static SecretKey generateSharedAesSecretKey(PrivateKey privateKey, PublicKey publicKey) throws GeneralSecurityException {
-        KeyAgreement keyAgreement = KeyAgreement.getInstance(KeyGeneration.ECDH, BouncyCastleProvider.PROVIDER_NAME);
-        keyAgreement.init(privateKey);
-        keyAgreement.doPhase(publicKey, true);
-        return keyAgreement.generateSecret(AES);
+        return KEY_AGREEMENT.apply(keyAgreement -> {
+            keyAgreement.init(privateKey);
+            keyAgreement.doPhase(publicKey, true);
+            return keyAgreement.generateSecret(AES);
+        });
     }
 
     public static IvParameterSpec generateIv() {
-        return new IvParameterSpec(new SecureRandom().generateSeed(RECOMMENDED_IV_LENGTH));
+        // generateSeed would use the entropy source of the SecureRandom on each call, which is much slower and might
+        // block. A nonce for GCM only needs to be unique, for which the output of the SecureRandom is sufficient.
+        byte[] iv = new byte[RECOMMENDED_IV_LENGTH];
+        SECURE_RANDOM.nextBytes(iv);
+        return new IvParameterSpec(iv);
     }
 
 
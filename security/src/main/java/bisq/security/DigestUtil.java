@@ -19,10 +19,15 @@ package bisq.security;
 
 import org.bouncycastle.crypto.digests.RIPEMD160Digest;
 
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 public class DigestUtil {
+    private static final ThreadLocalCryptoPrimitive<MessageDigest> SHA256 =
+            new ThreadLocalCryptoPrimitive<>(() -> MessageDigest.getInstance("SHA-256"));
+    private static final ThreadLocalCryptoPrimitive<MessageDigest> SHA512 =
+            new ThreadLocalCryptoPrimitive<>(() -> MessageDigest.getInstance("SHA-512"));
+
     public static byte[] hash(byte[] input) {
         // RIPEMD160 is slow on large input, so we use fast sha256 first. Is twice as fast with 1kb data.
         return RIPEMD160(sha256(input));
@@ -37,19 +42,28 @@ public class DigestUtil {
     }
 
     public static byte[] sha256(byte[] input) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            return digest.digest(input);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        }
+        return sha256(input, 0, input.length);
+    }
+
+    public static byte[] sha256(byte[] input, int offset, int length) {
+        return digest(SHA256, input, offset, length);
     }
 
     public static byte[] sha512(byte[] input) {
+        return digest(SHA512, input, 0, input.length);
+    }
+
+    private static byte[] digest(ThreadLocalCryptoPrimitive<MessageDigest> messageDigest,
+                                 byte[] input,
+                                 int offset,
+                                 int length) {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-512");
-            return digest.digest(input);
-        } catch (NoSuchAlgorithmException e) {
+            // digest() resets the MessageDigest after completion
+            return messageDigest.apply(digest -> {
+                digest.update(input, offset, length);
+                return digest.digest();
+            });
+        } catch (GeneralSecurityException e) {
             throw new RuntimeException(e);
         }
     }
@@ -37,6 +37,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.SignatureException;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -58,6 +61,59 @@ public class PgPUtils {
         }
     }
 
+    /**
+     * Verifies the signature with each of the given public key files. The data file is read only once and the read
+     * data are passed to the verifiers of all keys.
+     *
+     * @return The verification result by public key file path, in the order of the given paths.
+     */
+    public static Map<Path, Boolean> isSignatureValid(List<Path> pubKeyFilePaths, Path sigFilePath, Path dataFilePath) {
+        Map<Path, Boolean> resultByPubKeyFilePath = new LinkedHashMap<>();
+        Map<Path, PGPSignature> pgpSignatureByPubKeyFilePath = new LinkedHashMap<>();
+        for (Path pubKeyFilePath : pubKeyFilePaths) {
+            try {
+                PGPPublicKeyRing pgpPublicKeyRing = readPgpPublicKeyRing(pubKeyFilePath);
+                // Each verifier needs its own signature instance as the signature keeps the digest state
+                PGPSignature pgpSignature = readPgpSignature(sigFilePath);
+                long keyIdFromSignature = pgpSignature.getKeyID();
+                PGPPublicKey publicKey = checkNotNull(pgpPublicKeyRing.getPublicKey(keyIdFromSignature), "No public key found for key ID from signature");
+                checkArgument(pgpSignature.getKeyID() == publicKey.getKeyID(), "Key ID from signature not matching key ID from pub Key");
+                pgpSignature.init(new BcPGPContentVerifierBuilderProvider(), publicKey);
+                pgpSignatureByPubKeyFilePath.put(pubKeyFilePath, pgpSignature);
+            } catch (Exception e) {
+                log.error("Signature verification failed. \npubKeyFilePath={} \nsigFilePath={} \ndataFilePath={}.",
+                        pubKeyFilePath, sigFilePath, dataFilePath, e);
+            }
+            resultByPubKeyFilePath.put(pubKeyFilePath, false);
+        }
+        if (pgpSignatureByPubKeyFilePath.isEmpty()) {
+            return resultByPubKeyFilePath;
+        }
+
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(dataFilePath))) {
+            byte[] buffer = new byte[64 * 1024];
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer)) != -1) {
+                for (PGPSignature pgpSignature : pgpSignatureByPubKeyFilePath.values()) {
+                    pgpSignature.update(buffer, 0, bytesRead);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Reading data file failed. dataFilePath={}.", dataFilePath, e);
+            return resultByPubKeyFilePath;
+        }
+
+        pgpSignatureByPubKeyFilePath.forEach((pubKeyFilePath, pgpSignature) -> {
+            try {
+                resultByPubKeyFilePath.put(pubKeyFilePath, pgpSignature.verify());
+            } catch (PGPException e) {
+                log.error("Signature verification failed. \npubKeyFilePath={} \nsigFilePath={} \ndataFilePath={}.",
+                        pubKeyFilePath, sigFilePath, dataFilePath, e);
+            }
+        });
+        return resultByPubKeyFilePath;
+    }
+
     public static PGPPublicKeyRing readPgpPublicKeyRing(Path pubKeyFilePath) throws IOException, PGPException {
         try (InputStream inputStream = PGPUtil.getDecoderStream(Files.newInputStream(pubKeyFilePath))) {
             PGPPublicKeyRingCollection publicKeyRingCollection = new PGPPublicKeyRingCollection(inputStream, new JcaKeyFingerprintCalculator());
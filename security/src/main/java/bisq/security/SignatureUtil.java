@@ -25,11 +25,15 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.security.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SignatureUtil {
     public static final String SHA256withECDSA = "SHA256withECDSA";
     public static final String SHA256withDSA = "SHA256withDSA";
 
+    private static final Map<String, ThreadLocalCryptoPrimitive<Signature>> SIGNATURE_BY_ALGORITHM = new ConcurrentHashMap<>();
+
     static {
         if (java.security.Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
             Security.addProvider(new BouncyCastleProvider());
@@ -41,10 +45,11 @@ public class SignatureUtil {
     }
 
     public static byte[] sign(byte[] message, PrivateKey privateKey, String algorithm) throws GeneralSecurityException {
-        Signature signature = Signature.getInstance(algorithm, "BC");
-        signature.initSign(privateKey);
-        signature.update(message);
-        return signature.sign();
+        return getSignature(algorithm).apply(signature -> {
+            signature.initSign(privateKey);
+            signature.update(message);
+            return signature.sign();
+        });
     }
 
     public static boolean verify(byte[] message, byte[] signature, PublicKey publicKey) throws GeneralSecurityException {
@@ -52,10 +57,16 @@ public class SignatureUtil {
     }
 
     public static boolean verify(byte[] message, byte[] signature, PublicKey publicKey, String algorithm) throws GeneralSecurityException {
-        Signature sig = Signature.getInstance(algorithm, "BC");
-        sig.initVerify(publicKey);
-        sig.update(message);
-        return sig.verify(signature);
+        return getSignature(algorithm).apply(sig -> {
+            sig.initVerify(publicKey);
+            sig.update(message);
+            return sig.verify(signature);
+        });
+    }
+
+    private static ThreadLocalCryptoPrimitive<Signature> getSignature(String algorithm) {
+        return SIGNATURE_BY_ALGORITHM.computeIfAbsent(algorithm,
+                key -> new ThreadLocalCryptoPrimitive<>(() -> Signature.getInstance(key, "BC")));
     }
 
     // input: a base-64 bitcoin sig
@@ -0,0 +1,64 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.security;
+
+import java.security.GeneralSecurityException;
+
+/**
+ * Thread confined reusable JCA instance like MessageDigest, Signature, Cipher or KeyAgreement, which would otherwise
+ * go through the provider lookup on each getInstance call.
+ * <p>
+ * Reset protocol: Each operation has to fully initialize the instance (e.g. init, initSign, initVerify) or to
+ * complete it (e.g. MessageDigest.digest), which resets the instance to a defined state. While an operation runs, the
+ * instance is taken out of the thread local, so that a nested call on the same thread gets its own instance. The
+ * instance is only put back if the operation completed without an exception, otherwise it is discarded, so that a
+ * half-used instance is never reused.
+ * <p>
+ * A Cipher, Signature or KeyAgreement still holds the key of its last operation until it gets re-initialized, but it
+ * is never visible to other threads and gets garbage collected together with its thread.
+ */
+final class ThreadLocalCryptoPrimitive<T> {
+    @FunctionalInterface
+    interface Factory<T> {
+        T create() throws GeneralSecurityException;
+    }
+
+    @FunctionalInterface
+    interface Operation<T, R> {
+        R apply(T instance) throws GeneralSecurityException;
+    }
+
+    private final Factory<T> factory;
+    private final ThreadLocal<T> threadLocal = new ThreadLocal<>();
+
+    ThreadLocalCryptoPrimitive(Factory<T> factory) {
+        this.factory = factory;
+    }
+
+    <R> R apply(Operation<T, R> operation) throws GeneralSecurityException {
+        T instance = threadLocal.get();
+        if (instance == null) {
+            instance = factory.create();
+        } else {
+            threadLocal.remove();
+        }
+        R result = operation.apply(instance);
+        threadLocal.set(instance);
+        return result;
+    }
+}
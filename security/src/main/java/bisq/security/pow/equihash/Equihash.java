@@ -30,6 +30,8 @@ import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -65,6 +67,9 @@ import static java.math.BigInteger.ONE;
  * bits each and <i>n</i> bits in total. This allows working with 32-bit integers
  * throughout, for efficiency.
  * <p>
+ * Solutions are found with the parallel {@link EquihashSolver}. The original single-threaded implementation of
+ * Wagner's Algorithm is kept as reference for tests and benchmarks.
+ * <p>
  * Author: <a href="https://github.com/stejbac">stejbac</a>
  */
 // Borrowed from: https://github.com/bisq-network/bisq
@@ -84,8 +89,13 @@ public class Equihash {
     private final int tableCapacity;
     private final int inputNum, inputBits;
     private final int[] hashUpperBound;
+    private final EquihashSolver solver;
 
     public Equihash(int n, int k, double difficulty) {
+        this(n, k, difficulty, ForkJoinPool.commonPool());
+    }
+
+    public Equihash(int n, int k, double difficulty, ForkJoinPool pool) {
         checkArgument(k > 0 && k < HASH_BIT_LENGTH / 32,
                 "Tree depth k must be a positive integer less than %s.",
                 HASH_BIT_LENGTH / 32);
@@ -101,6 +111,7 @@ public class Equihash {
         N = 1 << inputBits;
         tableCapacity = (int) (N * 1.1);
         hashUpperBound = hashUpperBound(difficulty);
+        solver = new EquihashSolver(k, N, pool);
     }
 
     @VisibleForTesting
@@ -152,6 +163,16 @@ public class Equihash {
                 return withHashPrefix(seed, nonce).verify(inputs);
             }
 
+            @VisibleForTesting
+            boolean verifyWithReferenceVerifier() {
+                return withHashPrefix(seed, nonce).verifyWithReferenceVerifier(inputs);
+            }
+
+            @VisibleForTesting
+            int[] getInputs() {
+                return inputs;
+            }
+
             public byte[] serialize() {
                 int bitLen = 64 + inputNum * inputBits;
                 int byteLen = (bitLen + 7) / 8;
@@ -214,6 +235,21 @@ public class Equihash {
             }
         }
 
+        @VisibleForTesting
+        Solution findSolutionWithReferenceSolver() {
+            Optional<int[]> inputs;
+            for (int nonce = 0; ; nonce++) {
+                if ((inputs = withHashPrefix(seed, nonce).streamInputsHitsWithReferenceSolver().findFirst()).isPresent()) {
+                    return new Solution(nonce, inputs.get());
+                }
+            }
+        }
+
+        @VisibleForTesting
+        Solution solution(long nonce, int... inputs) {
+            return new Solution(nonce, inputs);
+        }
+
         @VisibleForTesting
         int countAllSolutionsForNonce(long nonce) {
             return (int) withHashPrefix(seed, nonce).streamInputsHits()
@@ -221,6 +257,20 @@ public class Equihash {
                     .distinct()
                     .count();
         }
+
+        @VisibleForTesting
+        Set<ImmutableIntArray> findAllSolutionsForNonce(long nonce) {
+            return withHashPrefix(seed, nonce).streamInputsHits()
+                    .map(ImmutableIntArray::copyOf)
+                    .collect(Collectors.toSet());
+        }
+
+        @VisibleForTesting
+        Set<ImmutableIntArray> findAllSolutionsForNonceWithReferenceSolver(long nonce) {
+            return withHashPrefix(seed, nonce).streamInputsHitsWithReferenceSolver()
+                    .map(ImmutableIntArray::copyOf)
+                    .collect(Collectors.toSet());
+        }
     }
 
     private WithHashPrefix withHashPrefix(byte[] seed, long nonce) {
@@ -245,6 +295,13 @@ public class Equihash {
         }
 
         Stream<int[]> streamInputsHits() {
+            return solver.solve(prefixBytes).stream()
+                    .filter(Equihash::hasDistinctInputs)
+                    .map(Equihash::sortInputs)
+                    .filter(this::testDifficultyCondition);
+        }
+
+        Stream<int[]> streamInputsHitsWithReferenceSolver() {
             var table = computeAllHashes();
             for (int i = 0; i < k; i++) {
                 table = findCollisions(table, i + 1 < k);
@@ -276,6 +333,40 @@ public class Equihash {
         }
 
         boolean verify(int[] inputs) {
+            if (inputs.length != inputNum) {
+                return false;
+            }
+            for (int input : inputs) {
+                if (input < 0 || input >= N) {
+                    return false;
+                }
+            }
+            // As the inputs are distinct, the canonical order only depends on the first input of each sub-block
+            if (!hasDistinctInputs(inputs) || !isInCanonicalOrder(inputs)) {
+                return false;
+            }
+            if (!testDifficultyCondition(inputs)) {
+                return false;
+            }
+            var digest = new Blake2bDigest(HASH_BIT_LENGTH);
+            byte[] outputBytes = new byte[HASH_BIT_LENGTH / 8];
+            int[] hash = new int[k + 1];
+            int[] hashBlockSums = new int[k + 1];
+            for (int i = 0; i < inputs.length; i++) {
+                EquihashSolver.hashInput(digest, prefixBytes, inputs[i], k, N / 2 - 1, outputBytes, hash, 0);
+                for (int j = 0; j <= k; j++) {
+                    hashBlockSums[j] ^= hash[j];
+                }
+                for (int ii = i + 1 + inputNum, j = 0; (ii & 1) == 0; ii /= 2, j++) {
+                    if (hashBlockSums[j] != 0) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        boolean verifyWithReferenceVerifier(int[] inputs) {
             if (inputs.length != inputNum || Arrays.stream(inputs).distinct().count() < inputNum) {
                 return false;
             }
@@ -304,6 +395,28 @@ public class Equihash {
         }
     }
 
+    private static boolean hasDistinctInputs(int[] inputs) {
+        int[] sorted = inputs.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] == sorted[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isInCanonicalOrder(int[] inputs) {
+        for (int size = 1; size < inputs.length; size *= 2) {
+            for (int i = 0; i < inputs.length; i += 2 * size) {
+                if (inputs[i] >= inputs[i + size]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     private static class XorTable {
         private final int hashWidth, indexTupleWidth, rowWidth, numRows;
         private final ImmutableIntArray values;
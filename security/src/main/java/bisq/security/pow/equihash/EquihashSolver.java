@@ -0,0 +1,275 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.security.pow.equihash;
+
+import org.bouncycastle.crypto.digests.Blake2bDigest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Wagner's Algorithm for {@link Equihash} over primitive int arrays.
+ * <p>
+ * Each round sorts the rows of the table into buckets by the colliding block with a counting sort and creates the
+ * rows of the next table from all pairs inside a bucket. Instead of the growing tuples of input indices we only keep
+ * the indices of the two parent rows per round and reconstruct the inputs of the few full collisions at the end.
+ * Thus, a table never uses more than (k + 3) ints per row.
+ * <p>
+ * Hashing and pair generation are split into chunks which run on a {@link ForkJoinPool}. The number of rows per
+ * table is bounded by MAX_ROWS_FACTOR * N and the number of rows per bucket by MAX_BUCKET_SIZE, which only drops
+ * rows in very unlikely cases, as the expected number of rows is N and the expected bucket size is 2.
+ */
+final class EquihashSolver {
+    static final int HASH_BIT_LENGTH = 256;
+    private static final int MAX_ROWS_FACTOR = 2;
+    private static final int MAX_BUCKET_SIZE = 16;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int k;
+    private final int N;
+    private final int numBuckets;
+    private final int maxRows;
+    private final ForkJoinPool pool;
+
+    private record Table(int width, int numRows, int[] blocks, int[] leftParents, int[] rightParents) {
+    }
+
+    EquihashSolver(int k, int N, ForkJoinPool pool) {
+        this.k = k;
+        this.N = N;
+        this.pool = pool;
+        numBuckets = N / 2;
+        maxRows = MAX_ROWS_FACTOR * N;
+    }
+
+    /**
+     * @return The input tuples of all full collisions. The inputs are not sorted and might contain duplicates.
+     */
+    List<int[]> solve(byte[] prefixBytes) {
+        Table[] tables = new Table[k + 1];
+        tables[0] = computeAllHashes(prefixBytes);
+        for (int round = 1; round <= k; round++) {
+            tables[round] = findCollisions(tables[round - 1], round == k);
+        }
+
+        Table lastTable = tables[k];
+        List<int[]> result = new ArrayList<>(lastTable.numRows());
+        for (int row = 0; row < lastTable.numRows(); row++) {
+            int[] inputs = new int[1 << k];
+            collectInputs(tables, k, row, inputs, 0);
+            result.add(inputs);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the k + 1 masked hash blocks of the input to blocks at offset. The digest is reset afterwards and can
+     * be reused. As the prefix is shorter than a BLAKE2b block, hashing it again is cheaper than copying a digest.
+     */
+    static void hashInput(Blake2bDigest digest,
+                          byte[] prefixBytes,
+                          int input,
+                          int k,
+                          int mask,
+                          byte[] outputBytes,
+                          int[] blocks,
+                          int offset) {
+        digest.update(prefixBytes, 0, prefixBytes.length);
+        digest.update((byte) (input >>> 24));
+        digest.update((byte) (input >>> 16));
+        digest.update((byte) (input >>> 8));
+        digest.update((byte) input);
+        digest.doFinal(outputBytes, 0);
+        for (int j = 0; j <= k; j++) {
+            int i = j * 4;
+            int block = (outputBytes[i] & 0xFF) << 24 |
+                    (outputBytes[i + 1] & 0xFF) << 16 |
+                    (outputBytes[i + 2] & 0xFF) << 8 |
+                    (outputBytes[i + 3] & 0xFF);
+            blocks[offset + j] = block & mask;
+        }
+    }
+
+    private Table computeAllHashes(byte[] prefixBytes) {
+        int width = k + 1;
+        int[] blocks = new int[N * width];
+        int mask = numBuckets - 1;
+        forEachChunk(N, (from, to) -> {
+            Blake2bDigest digest = new Blake2bDigest(HASH_BIT_LENGTH);
+            byte[] outputBytes = new byte[HASH_BIT_LENGTH / 8];
+            for (int input = from; input < to; input++) {
+                hashInput(digest, prefixBytes, input, k, mask, outputBytes, blocks, input * width);
+            }
+        });
+        return new Table(width, N, blocks, null, null);
+    }
+
+    // Apply a single iteration of Wagner's Algorithm, colliding on the first block of the table.
+    private Table findCollisions(Table table, boolean isLast) {
+        int width = table.width();
+        int[] blocks = table.blocks();
+
+        // Counting sort of the rows by the first block
+        int[] bucketStart = new int[numBuckets + 1];
+        for (int row = 0; row < table.numRows(); row++) {
+            bucketStart[blocks[row * width] + 1]++;
+        }
+        for (int bucket = 0; bucket < numBuckets; bucket++) {
+            bucketStart[bucket + 1] += bucketStart[bucket];
+        }
+        int[] sortedRows = new int[table.numRows()];
+        int[] position = Arrays.copyOf(bucketStart, numBuckets);
+        for (int row = 0; row < table.numRows(); row++) {
+            sortedRows[position[blocks[row * width]]++] = row;
+        }
+
+        // First pass counts the new rows per chunk of buckets, so that the second pass can write to fixed offsets
+        int numChunks = getNumChunks(numBuckets);
+        int[] numRowsByChunk = new int[numChunks + 1];
+        forEachChunk(numBuckets, numChunks, (chunk, from, to) ->
+                numRowsByChunk[chunk + 1] = forEachPair(table, bucketStart, sortedRows, from, to, isLast, null));
+        for (int chunk = 0; chunk < numChunks; chunk++) {
+            numRowsByChunk[chunk + 1] += numRowsByChunk[chunk];
+        }
+        int numRows = Math.min(numRowsByChunk[numChunks], maxRows);
+
+        int newWidth = isLast ? 0 : width - 1;
+        Table newTable = new Table(newWidth, numRows, new int[numRows * newWidth], new int[numRows], new int[numRows]);
+        forEachChunk(numBuckets, numChunks, (chunk, from, to) -> {
+            if (numRowsByChunk[chunk] < numRows) {
+                forEachPair(table, bucketStart, sortedRows, from, to, isLast, new PairWriter(newTable, numRowsByChunk[chunk]));
+            }
+        });
+        return newTable;
+    }
+
+    /**
+     * Calls the writer (if not null) for each colliding pair of rows in the buckets from - to.
+     *
+     * @return The number of colliding pairs.
+     */
+    private static int forEachPair(Table table,
+                                   int[] bucketStart,
+                                   int[] sortedRows,
+                                   int fromBucket,
+                                   int toBucket,
+                                   boolean isLast,
+                                   PairWriter writer) {
+        int width = table.width();
+        int[] blocks = table.blocks();
+        int numPairs = 0;
+        for (int bucket = fromBucket; bucket < toBucket; bucket++) {
+            int start = bucketStart[bucket];
+            int end = Math.min(bucketStart[bucket + 1], start + MAX_BUCKET_SIZE);
+            for (int i = start; i < end; i++) {
+                int leftRow = sortedRows[i];
+                for (int j = i + 1; j < end; j++) {
+                    int rightRow = sortedRows[j];
+                    // At the last round we require a full collision on the remaining block as well
+                    if (isLast && blocks[leftRow * width + 1] != blocks[rightRow * width + 1]) {
+                        continue;
+                    }
+                    if (writer != null && !writer.write(table, leftRow, rightRow)) {
+                        return numPairs;
+                    }
+                    numPairs++;
+                }
+            }
+        }
+        return numPairs;
+    }
+
+    private static final class PairWriter {
+        private final Table newTable;
+        private int row;
+
+        private PairWriter(Table newTable, int row) {
+            this.newTable = newTable;
+            this.row = row;
+        }
+
+        /**
+         * @return False if the new table is full.
+         */
+        boolean write(Table table, int leftRow, int rightRow) {
+            if (row >= newTable.numRows()) {
+                return false;
+            }
+            int width = table.width();
+            int newWidth = newTable.width();
+            int[] blocks = table.blocks();
+            int[] newBlocks = newTable.blocks();
+            for (int j = 0; j < newWidth; j++) {
+                newBlocks[row * newWidth + j] = blocks[leftRow * width + j + 1] ^ blocks[rightRow * width + j + 1];
+            }
+            newTable.leftParents()[row] = leftRow;
+            newTable.rightParents()[row] = rightRow;
+            row++;
+            return true;
+        }
+    }
+
+    private static void collectInputs(Table[] tables, int round, int row, int[] inputs, int offset) {
+        if (round == 0) {
+            inputs[offset] = row;
+            return;
+        }
+        Table table = tables[round];
+        collectInputs(tables, round - 1, table.leftParents()[row], inputs, offset);
+        collectInputs(tables, round - 1, table.rightParents()[row], inputs, offset + (1 << (round - 1)));
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Parallel execution
+    /* --------------------------------------------------------------------- */
+
+    private interface ChunkTask {
+        void run(int chunk, int from, int to);
+    }
+
+    private interface RangeTask {
+        void run(int from, int to);
+    }
+
+    private int getNumChunks(int size) {
+        return Math.max(1, Math.min(size, pool.getParallelism() * CHUNKS_PER_THREAD));
+    }
+
+    private void forEachChunk(int size, RangeTask task) {
+        forEachChunk(size, getNumChunks(size), (chunk, from, to) -> task.run(from, to));
+    }
+
+    private void forEachChunk(int size, int numChunks, ChunkTask task) {
+        if (numChunks == 1) {
+            task.run(0, 0, size);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(numChunks);
+        for (int chunk = 0; chunk < numChunks; chunk++) {
+            int from = (int) ((long) size * chunk / numChunks);
+            int to = (int) ((long) size * (chunk + 1) / numChunks);
+            int finalChunk = chunk;
+            tasks.add(pool.submit(() -> task.run(finalChunk, from, to)));
+        }
+        tasks.forEach(ForkJoinTask::join);
+    }
+}
@@ -33,7 +33,9 @@ import java.io.OutputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.SignatureException;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -91,6 +93,22 @@ public class PgPUtilsTest {
         }
     }
 
+    @Test
+    public void testIsSignatureValidWithMultipleKeys() {
+        try {
+            Path keyPath = getDataAsFilePath("387C8307.asc");
+            Path keyCopyPath = Paths.get("temp", "copy_387C8307.asc");
+            FileMutatorUtils.copyFile(keyPath, keyCopyPath);
+            Path sigPath = getDataAsFilePath("testData.txt.asc");
+            Path dataPath = getDataAsFilePath("testData.txt");
+            Map<Path, Boolean> resultByPubKeyFilePath = PgPUtils.isSignatureValid(List.of(keyPath, keyCopyPath), sigPath, dataPath);
+            assertEquals(Map.of(keyPath, true, keyCopyPath, true), resultByPubKeyFilePath);
+        } catch (Exception e) {
+            log.error(e.toString());
+            fail();
+        }
+    }
+
     private PGPPublicKeyRing getPGPPublicKeyRing(String fileName) throws IOException, PGPException {
         Path filePath = Paths.get("temp", fileName);
         try {
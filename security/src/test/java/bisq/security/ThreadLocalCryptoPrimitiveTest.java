@@ -0,0 +1,102 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.security;
+
+import bisq.security.keys.KeyGeneration;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThreadLocalCryptoPrimitiveTest {
+    @Test
+    public void testInstanceIsReusedOnlyAfterSuccess() throws GeneralSecurityException {
+        AtomicInteger numCreated = new AtomicInteger();
+        ThreadLocalCryptoPrimitive<MessageDigest> primitive = new ThreadLocalCryptoPrimitive<>(() -> {
+            numCreated.incrementAndGet();
+            return MessageDigest.getInstance("SHA-256");
+        });
+        byte[] input = "hello".getBytes();
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(input);
+
+        assertArrayEquals(expected, primitive.apply(digest -> digest.digest(input)));
+        assertArrayEquals(expected, primitive.apply(digest -> digest.digest(input)));
+        assertEquals(1, numCreated.get());
+
+        // A failed operation leaves the instance with partial input, so it must not be reused
+        assertThrows(SignatureException.class, () -> primitive.apply(digest -> {
+            digest.update(input);
+            throw new SignatureException();
+        }));
+        assertArrayEquals(expected, primitive.apply(digest -> digest.digest(input)));
+        assertEquals(2, numCreated.get());
+    }
+
+    @Test
+    public void testNestedUseGetsOwnInstance() throws GeneralSecurityException {
+        AtomicInteger numCreated = new AtomicInteger();
+        ThreadLocalCryptoPrimitive<MessageDigest> primitive = new ThreadLocalCryptoPrimitive<>(() -> {
+            numCreated.incrementAndGet();
+            return MessageDigest.getInstance("SHA-256");
+        });
+        byte[] input = "hello".getBytes();
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(input);
+
+        byte[] result = primitive.apply(outer -> {
+            outer.update(input);
+            assertArrayEquals(expected, primitive.apply(inner -> inner.digest(input)));
+            return outer.digest();
+        });
+        assertArrayEquals(expected, result);
+        assertEquals(2, numCreated.get());
+    }
+
+    @Test
+    public void testConcurrentUse() throws Exception {
+        KeyPair senderKeyPair = KeyGeneration.generateDefaultEcKeyPair();
+        KeyPair receiverKeyPair = KeyGeneration.generateDefaultEcKeyPair();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                byte[] message = ("message " + i).getBytes();
+                futures.add(executor.submit(() -> {
+                    ConfidentialData confidentialData = HybridEncryption.encryptAndSign(message, receiverKeyPair.getPublic(), senderKeyPair);
+                    assertArrayEquals(message, HybridEncryption.decryptAndVerify(confidentialData, receiverKeyPair));
+                    assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(message), DigestUtil.sha256(message));
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
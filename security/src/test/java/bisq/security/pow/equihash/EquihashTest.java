@@ -0,0 +1,94 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.security.pow.equihash;
+
+import bisq.common.facades.FacadeProvider;
+import bisq.common.facades.android.AndroidGuavaFacade;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EquihashTest {
+    private static final byte[] SEED = "equihash test seed".getBytes(StandardCharsets.UTF_8);
+
+    @BeforeAll
+    public static void setUp() {
+        // The reference solver uses the Guava facade
+        FacadeProvider.setGuavaFacade(new AndroidGuavaFacade());
+    }
+
+    @Test
+    public void testSolverFindsSameSolutionsAsReferenceSolver() {
+        assertSameSolutions(new Equihash(48, 3, 1.0), 20);
+        assertSameSolutions(new Equihash(60, 4, 1.0), 10);
+        assertSameSolutions(new Equihash(60, 4, 1.0, new ForkJoinPool(4)), 10);
+    }
+
+    @Test
+    public void testVerifyMatchesReferenceVerifier() {
+        Equihash.Puzzle puzzle = new Equihash(60, 4, 1.0).puzzle(SEED);
+        Equihash.Puzzle.Solution solution = puzzle.findSolution();
+        assertTrue(solution.verify());
+        assertTrue(solution.verifyWithReferenceVerifier());
+
+        int[] inputs = solution.getInputs();
+        Equihash.Puzzle.Solution deserialized = puzzle.deserializeSolution(solution.serialize());
+        assertArrayEquals(inputs, deserialized.getInputs());
+        assertTrue(deserialized.verify());
+
+        // Swapped halves are not in canonical order
+        int[] swapped = new int[inputs.length];
+        System.arraycopy(inputs, inputs.length / 2, swapped, 0, inputs.length / 2);
+        System.arraycopy(inputs, 0, swapped, inputs.length / 2, inputs.length / 2);
+        assertInvalid(puzzle.solution(0, swapped));
+
+        int[] duplicated = inputs.clone();
+        duplicated[1] = duplicated[0];
+        assertInvalid(puzzle.solution(0, duplicated));
+
+        int[] changed = inputs.clone();
+        changed[changed.length - 1] ^= 1;
+        assertInvalid(puzzle.solution(0, changed));
+
+        int[] outOfRange = inputs.clone();
+        outOfRange[outOfRange.length - 1] = -1;
+        assertInvalid(puzzle.solution(0, outOfRange));
+
+        assertInvalid(puzzle.solution(0, 1, 2));
+    }
+
+    private static void assertSameSolutions(Equihash equihash, int numNonces) {
+        Equihash.Puzzle puzzle = equihash.puzzle(SEED);
+        int numSolutions = 0;
+        for (int nonce = 0; nonce < numNonces; nonce++) {
+            var expected = puzzle.findAllSolutionsForNonceWithReferenceSolver(nonce);
+            assertEquals(expected, puzzle.findAllSolutionsForNonce(nonce));
+            numSolutions += expected.size();
+        }
+        assertTrue(numSolutions > 0);
+    }
+
+    private static void assertInvalid(Equihash.Puzzle.Solution solution) {
+        assertFalse(solution.verify());
+        assertFalse(solution.verifyWithReferenceVerifier());
+    }
+}
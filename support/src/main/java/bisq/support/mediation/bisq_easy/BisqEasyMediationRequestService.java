@@ -92,7 +92,7 @@ public class BisqEasyMediationRequestService implements Service, ConfidentialMes
         networkService.getConfidentialMessageServices().stream()
                 .flatMap(service -> service.getProcessedEnvelopePayloadMessages().stream())
                 .forEach(this::onMessage);
-        networkService.addConfidentialMessageListener(this);
+        networkService.addConfidentialMessageListener(BisqEasyMediatorsResponse.class, this);
         return CompletableFuture.completedFuture(true);
     }
 
@@ -86,7 +86,7 @@ public class BisqEasyMediatorService extends RateLimitedPersistenceClient<Mediat
         networkService.getConfidentialMessageServices().stream()
                 .flatMap(service -> service.getProcessedEnvelopePayloadMessages().stream())
                 .forEach(this::onMessage);
-        networkService.addConfidentialMessageListener(this);
+        networkService.addConfidentialMessageListener(BisqEasyMediationRequest.class, this);
         return CompletableFuture.completedFuture(true);
     }
 
@@ -93,7 +93,8 @@ public class MuSigMediationRequestService implements Service, ConfidentialMessag
         networkService.getConfidentialMessageServices().stream()
                 .flatMap(service -> service.getProcessedEnvelopePayloadMessages().stream())
                 .forEach(this::onMessage);
-        networkService.addConfidentialMessageListener(this);
+        networkService.addConfidentialMessageListener(MuSigMediatorsResponse.class, this);
+        networkService.addConfidentialMessageListener(MuSigMediationStateChangeMessage.class, this);
         return CompletableFuture.completedFuture(true);
     }
 
@@ -90,7 +90,8 @@ public class MuSigMediatorService extends RateLimitedPersistenceClient<MuSigMedi
         networkService.getConfidentialMessageServices().stream()
                 .flatMap(service -> service.getProcessedEnvelopePayloadMessages().stream())
                 .forEach(this::onMessage);
-        networkService.addConfidentialMessageListener(this);
+        networkService.addConfidentialMessageListener(MuSigMediationRequest.class, this);
+        networkService.addConfidentialMessageListener(MuSigPaymentDetailsResponse.class, this);
         return CompletableFuture.completedFuture(true);
     }
 
@@ -116,7 +116,7 @@ public class ModeratorService extends RateLimitedPersistenceClient<ModeratorStor
         networkService.getConfidentialMessageServices().stream()
                 .flatMap(service -> service.getProcessedEnvelopePayloadMessages().stream())
                 .forEach(this::onMessage);
-        networkService.addConfidentialMessageListener(this);
+        networkService.addConfidentialMessageListener(ReportToModeratorMessage.class, this);
 
         addObserverIfModerator();
 
@@ -30,6 +30,7 @@ import bisq.common.observable.Pin;
 import bisq.common.observable.collection.CollectionObserver;
 import bisq.common.observable.collection.ObservableSet;
 import bisq.common.platform.Version;
+import bisq.common.threading.ExecutorFactory;
 import bisq.common.timer.Scheduler;
 import bisq.common.util.StringUtils;
 import bisq.contract.bisq_easy.BisqEasyContract;
@@ -45,6 +46,7 @@ import bisq.offer.price.spec.PriceSpec;
 import bisq.persistence.DbSubDirectory;
 import bisq.persistence.Persistence;
 import bisq.persistence.RateLimitedPersistenceClient;
+import bisq.persistence.archive.AppendOnlyArchive;
 import bisq.settings.SettingsService;
 import bisq.trade.ServiceProvider;
 import bisq.trade.bisq_easy.protocol.BisqEasyBuyerAsMakerProtocol;
@@ -65,6 +67,7 @@ import bisq.trade.bisq_easy.protocol.events.BisqEasyTakeOfferEvent;
 import bisq.trade.bisq_easy.protocol.events.BisqEasyTradeEvent;
 import bisq.trade.bisq_easy.protocol.messages.BisqEasyTakeOfferRequest;
 import bisq.trade.bisq_easy.protocol.messages.BisqEasyTradeMessage;
+import bisq.trade.protocol.messages.PendingTradeMessages;
 import bisq.user.banned.BannedUserService;
 import bisq.user.contact_list.ContactListService;
 import bisq.user.contact_list.ContactReason;
@@ -74,13 +77,19 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
@@ -111,7 +120,19 @@ public class BisqEasyTradeService extends RateLimitedPersistenceClient<BisqEasyT
     private Pin authorizedAlertDataSetPin, numDaysAfterRedactingTradeDataPin;
     @Nullable
     private Scheduler numDaysAfterRedactingTradeDataScheduler;
-    private final Set<BisqEasyTradeMessage> pendingMessages = new CopyOnWriteArraySet<>();
+    private final PendingTradeMessages<BisqEasyTradeMessage> pendingMessages = new PendingTradeMessages<>();
+    // Closed trades are only loaded from the archive at the first access. Trades closed in the current session are
+    // always contained in closedTrades.
+    private final AppendOnlyArchive<BisqEasyClosedTrade, bisq.trade.protobuf.BisqEasyClosedTrade> closedTradeArchive;
+    private final ObservableSet<BisqEasyClosedTrade> closedTrades = new ObservableSet<>();
+    private final Object closedTradesLock = new Object();
+    private volatile boolean closedTradesLoaded;
+    // Guarded by closedTradesLock. The redaction of the archived trades runs on the archive executor. Trades which get
+    // archived while it is in progress are tracked here, so that their dates are not lost when the result is applied.
+    private boolean archiveRedactionInProgress;
+    private long oldestPendingArchivedTradeDate = Long.MAX_VALUE;
+    // Trade messages are processed in order on a dedicated thread, independent of the shared network notify executor.
+    private ExecutorService messageExecutor;
 
     public BisqEasyTradeService(ServiceProvider serviceProvider, AppType appType) {
         this.serviceProvider = serviceProvider;
@@ -124,6 +145,10 @@ public class BisqEasyTradeService extends RateLimitedPersistenceClient<BisqEasyT
         userProfileService = serviceProvider.getUserService().getUserProfileService();
 
         persistence = serviceProvider.getPersistenceService().getOrCreatePersistence(this, DbSubDirectory.PRIVATE, persistableStore);
+        closedTradeArchive = serviceProvider.getPersistenceService().createArchive(DbSubDirectory.PRIVATE,
+                "BisqEasyClosedTradeArchive",
+                bisq.trade.protobuf.BisqEasyClosedTrade.parser(),
+                BisqEasyClosedTrade::fromProto);
         this.appType = appType;
     }
 
@@ -133,12 +158,16 @@ public class BisqEasyTradeService extends RateLimitedPersistenceClient<BisqEasyT
     /* --------------------------------------------------------------------- */
 
     public CompletableFuture<Boolean> initialize() {
+        maybeArchiveUnarchivedClosedTrades();
+
         persistableStore.getTrades().forEach(this::createAndAddTradeProtocol);
 
         networkService.getConfidentialMessageServices().stream()
                 .flatMap(service -> service.getProcessedEnvelopePayloadMessages().stream())
                 .forEach(this::onMessage);
-        networkService.addConfidentialMessageListener(this);
+        pendingMessages.processAll(tradeId -> findProtocol(tradeId).isPresent(), this::handleBisqEasyTradeMessage);
+        messageExecutor = ExecutorFactory.newSingleThreadExecutor("BisqEasyTradeService.messages");
+        networkService.addConfidentialMessageListener(BisqEasyTradeMessage.class, this, messageExecutor);
 
         authorizedAlertDataSetPin = alertService.getAuthorizedAlertDataSet().addObserver(new CollectionObserver<>() {
             @Override
@@ -201,6 +230,10 @@ public class BisqEasyTradeService extends RateLimitedPersistenceClient<BisqEasyT
         }
 
         networkService.removeConfidentialMessageListener(this);
+        if (messageExecutor != null) {
+            ExecutorFactory.shutdownAndAwaitTermination(messageExecutor, 100);
+            messageExecutor = null;
+        }
         return CompletableFuture.completedFuture(true);
     }
 
@@ -244,7 +277,7 @@ public class BisqEasyTradeService extends RateLimitedPersistenceClient<BisqEasyT
         findProtocol(tradeId).ifPresentOrElse(protocol -> handleBisqEasyTradeMessage(message, protocol),
                 () -> {
                     log.info("Protocol with tradeId {} not found. We add the message to pendingMessages for " +
-                            "re-processing when the next message arrives. message={}", tradeId, message);
+                            "re-processing when the protocol gets created. message={}", tradeId, message);
                     pendingMessages.add(message);
                 });
     }
@@ -252,15 +285,10 @@ public class BisqEasyTradeService extends RateLimitedPersistenceClient<BisqEasyT
     private void handleBisqEasyTradeMessage(BisqEasyTradeMessage message, BisqEasyProtocol protocol) {
         protocol.handle(message);
 
-        if (pendingMessages.contains(message)) {
-            log.info("We remove message {} from pendingMessages.", message);
-            pendingMessages.remove(message);
-        }
+        pendingMessages.remove(message);
 
-        if (!pendingMessages.isEmpty()) {
-            log.info("We have pendingMessages. We try to re-process them now.");
-            pendingMessages.forEach(this::handleBisqEasyTradeMessage);
-        }
+        // We only re-process the pending messages of that trade
+        pendingMessages.process(message.getTradeId(), this::handleBisqEasyTradeMessage);
     }
 
 
@@ -381,17 +409,79 @@ public class BisqEasyTradeService extends RateLimitedPersistenceClient<BisqEasyT
     }
 
     public ObservableSet<BisqEasyTrade> getAllTrades() {
-        return persistableStore.getAllTrades();
+        ObservableSet<BisqEasyTrade> allTrades = new ObservableSet<>();
+        allTrades.addAll(getTrades());
+        allTrades.addAll(getClosedTrades().stream().map(BisqEasyClosedTrade::trade).collect(Collectors.toSet()));
+        return allTrades;
     }
 
+    /**
+     * Loads all closed trades from the archive at the first call. As that blocks until the archive has been read, it
+     * must not be called from the UI thread. Use {@link #loadClosedTrades()} instead. For reading only a subset use
+     * {@link #getClosedTrades(int, int)}.
+     */
     public ObservableSet<BisqEasyClosedTrade> getClosedTrades() {
-        return persistableStore.getClosedTrades();
+        if (!closedTradesLoaded) {
+            addLoadedClosedTrades(closedTradeArchive.readAll());
+        }
+        return closedTrades;
+    }
+
+    /**
+     * Loads all closed trades from the archive at the first call without blocking the caller.
+     */
+    public CompletableFuture<ObservableSet<BisqEasyClosedTrade>> loadClosedTrades() {
+        if (closedTradesLoaded) {
+            return CompletableFuture.completedFuture(closedTrades);
+        }
+        return closedTradeArchive.readAllAsync()
+                .thenApply(archivedClosedTrades -> {
+                    addLoadedClosedTrades(archivedClosedTrades);
+                    return closedTrades;
+                });
+    }
+
+    /**
+     * @param offset The index of the first closed trade in the order the trades have been closed.
+     * @param limit  The max. number of closed trades to read.
+     */
+    public List<BisqEasyClosedTrade> getClosedTrades(int offset, int limit) {
+        return closedTradeArchive.readPage(offset, limit);
+    }
+
+    public int getNumClosedTrades() {
+        return closedTradeArchive.size();
     }
 
     public void removeTrade(BisqEasyTrade trade, UserProfile myUserProfile, UserProfile peerUserProfile) {
-        persistableStore.removeTrade(trade, myUserProfile, peerUserProfile);
+        BisqEasyClosedTrade closedTrade = new BisqEasyClosedTrade(trade, myUserProfile, peerUserProfile);
+        if (hasDataToRedact(trade)) {
+            long redactionReferenceDate = getRedactionReferenceDate(trade);
+            synchronized (closedTradesLock) {
+                oldestPendingArchivedTradeDate = Math.min(oldestPendingArchivedTradeDate, redactionReferenceDate);
+                persistableStore.getOldestUnredactedArchivedTradeDate().ifPresent(date ->
+                        persistableStore.setOldestUnredactedArchivedTradeDate(Optional.of(Math.min(date, redactionReferenceDate))));
+            }
+        }
+        // Only writing to the archive is done asynchronously. Until it got archived, the closed trade is kept in the
+        // store, so it does not get lost if archiving fails or the app gets terminated before. In that case it gets
+        // archived at the next startup.
+        persistableStore.removeTrade(trade);
         tradeProtocolById.remove(trade.getId());
+        persistableStore.addUnarchivedClosedTrade(closedTrade);
+        synchronized (closedTradesLock) {
+            closedTrades.add(closedTrade);
+        }
         persist();
+        closedTradeArchive.appendAsync(closedTrade)
+                .whenComplete((nil, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Archiving closed trade {} failed. We retry at the next startup.", trade.getShortId(), throwable);
+                        return;
+                    }
+                    persistableStore.removeUnarchivedClosedTrades(List.of(closedTrade));
+                    persist();
+                });
     }
 
 
@@ -437,9 +527,20 @@ public class BisqEasyTradeService extends RateLimitedPersistenceClient<BisqEasyT
         }
         trade.setProtocolVersion(tradeProtocol.getVersion());
         tradeProtocolById.put(id, tradeProtocol);
+        processPendingMessages(id);
         return tradeProtocol;
     }
 
+    // Messages of the trade might have arrived before the protocol got created. Out-of-order messages get queued by
+    // the protocol until they can be applied.
+    private void processPendingMessages(String tradeId) {
+        if (messageExecutor != null) {
+            messageExecutor.submit(() -> pendingMessages.process(tradeId, this::handleBisqEasyTradeMessage));
+        } else {
+            pendingMessages.process(tradeId, this::handleBisqEasyTradeMessage);
+        }
+    }
+
     private void verifyTradingNotOnHalt() {
         checkArgument(!haltTrading, "Trading is on halt for security reasons. " +
                 "The Bisq security manager has published an emergency alert with haltTrading set to true");
@@ -454,6 +555,57 @@ public class BisqEasyTradeService extends RateLimitedPersistenceClient<BisqEasyT
     }
 
 
+    /* --------------------------------------------------------------------- */
+    // Closed trade archive
+    /* --------------------------------------------------------------------- */
+
+    // Older versions kept the closed trades in the BisqEasyTradeStore. Closed trades are also kept there until they got
+    // archived. We move them to the archive and persist the store only after the archive has been written.
+    private void maybeArchiveUnarchivedClosedTrades() {
+        Set<BisqEasyClosedTrade> unarchivedClosedTrades = Set.copyOf(persistableStore.getUnarchivedClosedTrades());
+        if (unarchivedClosedTrades.isEmpty()) {
+            return;
+        }
+        // If the store did not get persisted after archiving, some trades might be archived already.
+        Set<String> archivedTradeIds = closedTradeArchive.readAll().stream()
+                .map(closedTrade -> closedTrade.trade().getId())
+                .collect(Collectors.toSet());
+        List<BisqEasyClosedTrade> toArchive = unarchivedClosedTrades.stream()
+                .filter(closedTrade -> !archivedTradeIds.contains(closedTrade.trade().getId()))
+                .sorted(Comparator.comparingLong(closedTrade -> closedTrade.trade().getContract().getTakeOfferDate()))
+                .collect(Collectors.toList());
+        try {
+            closedTradeArchive.appendAll(toArchive);
+            log.info("Moved {} closed trades from BisqEasyTradeStore to the closed trade archive", toArchive.size());
+            persistableStore.removeUnarchivedClosedTrades(unarchivedClosedTrades);
+            // The archived trades might contain data to redact, so the archive needs to be checked again.
+            persistableStore.setOldestUnredactedArchivedTradeDate(Optional.empty());
+            persist();
+        } catch (Exception e) {
+            log.error("Archiving of closed trades failed. We keep them in the BisqEasyTradeStore.", e);
+        }
+    }
+
+    // Adds the archived closed trades and the closed trades not archived yet, which are not already contained in
+    // closedTrades. Trades closed in the current session are added at removeTrade and might be archived already.
+    private void addLoadedClosedTrades(List<BisqEasyClosedTrade> archivedClosedTrades) {
+        synchronized (closedTradesLock) {
+            if (closedTradesLoaded) {
+                return;
+            }
+            Set<String> tradeIds = closedTrades.stream()
+                    .map(closedTrade -> closedTrade.trade().getId())
+                    .collect(Collectors.toCollection(HashSet::new));
+            List<BisqEasyClosedTrade> toAdd = Stream.concat(archivedClosedTrades.stream(),
+                            persistableStore.getUnarchivedClosedTrades().stream())
+                    .filter(closedTrade -> tradeIds.add(closedTrade.trade().getId()))
+                    .collect(Collectors.toList());
+            closedTrades.addAll(toAdd);
+            closedTradesLoaded = true;
+        }
+    }
+
+
     /* --------------------------------------------------------------------- */
     // Redact sensible data
     /* --------------------------------------------------------------------- */
@@ -465,22 +617,82 @@ public class BisqEasyTradeService extends RateLimitedPersistenceClient<BisqEasyT
         // We use a more constrained duration of 45-90 days.
         int numDaysForNotCompletedTrades = Math.max(45, Math.min(90, numDays));
         long redactDateForNotCompletedTrades = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(numDaysForNotCompletedTrades);
-        long numChanges = getAllTrades().stream()
-                .filter(trade -> {
-                    if (StringUtils.isEmpty(trade.getPaymentAccountData().get())) {
-                        return false;
-                    }
-                    boolean doRedaction = trade.getTradeCompletedDate().map(date -> date < redactDate)
-                            .orElseGet(() -> trade.getContract().getTakeOfferDate() < redactDateForNotCompletedTrades);
-                    if (doRedaction) {
-                        trade.getPaymentAccountData().set(Res.get("data.redacted"));
-                    }
-                    return doRedaction;
-                })
+        long numChanges = getTrades().stream()
+                .filter(trade -> maybeRedactData(trade, redactDate, redactDateForNotCompletedTrades))
                 .count();
         if (numChanges > 0) {
             persist();
         }
+
+        // The closed trades in memory are copies of the archived trades, which get redacted in the archive below.
+        closedTrades.forEach(closedTrade -> maybeRedactData(closedTrade.trade(), redactDate, redactDateForNotCompletedTrades));
+        maybeRedactDataOfArchivedTrades(redactDate, redactDateForNotCompletedTrades);
+    }
+
+    private void maybeRedactDataOfArchivedTrades(long redactDate, long redactDateForNotCompletedTrades) {
+        synchronized (closedTradesLock) {
+            if (archiveRedactionInProgress) {
+                return;
+            }
+            // We only read the archive if it contains a trade which might be due for redaction.
+            Optional<Long> oldestUnredactedArchivedTradeDate = persistableStore.getOldestUnredactedArchivedTradeDate();
+            if (oldestUnredactedArchivedTradeDate.isPresent() &&
+                    oldestUnredactedArchivedTradeDate.get() >= Math.max(redactDate, redactDateForNotCompletedTrades)) {
+                return;
+            }
+            archiveRedactionInProgress = true;
+            oldestPendingArchivedTradeDate = Long.MAX_VALUE;
+        }
+
+        // The updater is called on the archive executor, and the result is used only after the update completed.
+        AtomicLong oldestUnredactedDate = new AtomicLong(Long.MAX_VALUE);
+        closedTradeArchive.updateAsync(closedTrade -> {
+                    BisqEasyTrade trade = closedTrade.trade();
+                    if (maybeRedactData(trade, redactDate, redactDateForNotCompletedTrades)) {
+                        return Optional.of(closedTrade);
+                    }
+                    if (hasDataToRedact(trade)) {
+                        oldestUnredactedDate.accumulateAndGet(getRedactionReferenceDate(trade), Math::min);
+                    }
+                    return Optional.empty();
+                })
+                .whenComplete((numRedacted, throwable) -> {
+                    synchronized (closedTradesLock) {
+                        archiveRedactionInProgress = false;
+                        if (throwable != null) {
+                            log.error("Redacting data of archived trades failed", throwable);
+                            return;
+                        }
+                        long oldestDate = Math.min(oldestUnredactedDate.get(), oldestPendingArchivedTradeDate);
+                        persistableStore.setOldestUnredactedArchivedTradeDate(Optional.of(oldestDate));
+                    }
+                    if (numRedacted > 0) {
+                        log.info("Redacted data of {} archived trades", numRedacted);
+                    }
+                    persist();
+                });
+    }
+
+    private boolean maybeRedactData(BisqEasyTrade trade, long redactDate, long redactDateForNotCompletedTrades) {
+        if (!hasDataToRedact(trade)) {
+            return false;
+        }
+        boolean doRedaction = trade.getTradeCompletedDate().map(date -> date < redactDate)
+                .orElseGet(() -> trade.getContract().getTakeOfferDate() < redactDateForNotCompletedTrades);
+        if (doRedaction) {
+            trade.getPaymentAccountData().set(Res.get("data.redacted"));
+        }
+        return doRedaction;
+    }
+
+    private static boolean hasDataToRedact(BisqEasyTrade trade) {
+        String paymentAccountData = trade.getPaymentAccountData().get();
+        return StringUtils.isNotEmpty(paymentAccountData) && !paymentAccountData.equals(Res.get("data.redacted"));
+    }
+
+    // The date which is compared with the redaction date. Trades which are not completed use the take offer date.
+    private static long getRedactionReferenceDate(BisqEasyTrade trade) {
+        return trade.getTradeCompletedDate().orElseGet(() -> trade.getContract().getTakeOfferDate());
     }
 
 
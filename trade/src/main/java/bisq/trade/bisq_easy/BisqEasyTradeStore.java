@@ -22,17 +22,20 @@ import bisq.common.proto.ProtoResolver;
 import bisq.common.proto.UnresolvableProtobufMessageException;
 import bisq.persistence.PersistableStore;
 import bisq.trade.bisq_easy.protocol.BisqEasyClosedTrade;
-import bisq.user.profile.UserProfile;
 import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Getter(AccessLevel.PACKAGE)
@@ -40,20 +43,34 @@ import java.util.stream.Collectors;
 @Slf4j
 final class BisqEasyTradeStore implements PersistableStore<BisqEasyTradeStore> {
     private final ObservableSet<BisqEasyTrade> trades = new ObservableSet<>();
+    // Index of the open trades for lookup by tradeId. Not persisted, derived from trades.
+    private final Map<String, BisqEasyTrade> tradeById = new ConcurrentHashMap<>();
 
     // We keep track of all trades by storing the trade IDs to avoid that the same trade can be taken again.
     private final ObservableSet<String> tradeIds = new ObservableSet<>();
-    private final ObservableSet<BisqEasyClosedTrade> closedTrades = new ObservableSet<>();
-
-    private BisqEasyTradeStore(Set<BisqEasyTrade> trades, Set<String> tradeIds, Set<BisqEasyClosedTrade> closedTrades) {
+    // Closed trades are kept in the closed trade archive. Closed trades which are not archived yet are kept here until
+    // they got written to the archive. Those which are still here at startup (e.g. persisted by older versions or
+    // when archiving failed) are archived at startup.
+    private final Set<BisqEasyClosedTrade> unarchivedClosedTrades = ConcurrentHashMap.newKeySet();
+    // The oldest redaction reference date of the archived closed trades which still contain data to redact.
+    // Long.MAX_VALUE if there is no such trade. Empty if not known, which requires to check all archived trades.
+    @Setter(AccessLevel.PACKAGE)
+    private volatile Optional<Long> oldestUnredactedArchivedTradeDate = Optional.empty();
+
+    private BisqEasyTradeStore(Set<BisqEasyTrade> trades,
+                               Set<String> tradeIds,
+                               Set<BisqEasyClosedTrade> unarchivedClosedTrades,
+                               Optional<Long> oldestUnredactedArchivedTradeDate) {
         this.trades.setAll(trades);
+        trades.forEach(trade -> tradeById.put(trade.getId(), trade));
         this.tradeIds.setAll(tradeIds);
-        this.closedTrades.setAll(closedTrades);
+        this.unarchivedClosedTrades.addAll(unarchivedClosedTrades);
+        this.oldestUnredactedArchivedTradeDate = oldestUnredactedArchivedTradeDate;
     }
 
     @Override
     public bisq.trade.protobuf.BisqEasyTradeStore.Builder getBuilder(boolean serializeForHash) {
-        return bisq.trade.protobuf.BisqEasyTradeStore.newBuilder()
+        bisq.trade.protobuf.BisqEasyTradeStore.Builder builder = bisq.trade.protobuf.BisqEasyTradeStore.newBuilder()
                 .addAllTrades(trades.stream()
                         .map(trade -> {
                             try {
@@ -66,7 +83,7 @@ final class BisqEasyTradeStore implements PersistableStore<BisqEasyTradeStore> {
                         .filter(Objects::nonNull)
                         .collect(Collectors.toList()))
                 .addAllTradeIds(tradeIds)
-                .addAllBisqEasyClosedTrades(closedTrades.stream()
+                .addAllBisqEasyClosedTrades(unarchivedClosedTrades.stream()
                         .map(closedTrade -> {
                             try {
                                 return closedTrade.toProto(serializeForHash);
@@ -78,6 +95,8 @@ final class BisqEasyTradeStore implements PersistableStore<BisqEasyTradeStore> {
                         .filter(Objects::nonNull)
                         .collect(Collectors.toList())
                 );
+        oldestUnredactedArchivedTradeDate.ifPresent(builder::setOldestUnredactedArchivedTradeDate);
+        return builder;
     }
 
     @Override
@@ -110,7 +129,10 @@ final class BisqEasyTradeStore implements PersistableStore<BisqEasyTradeStore> {
                 })
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
-        return new BisqEasyTradeStore(trades, new HashSet<>(proto.getTradeIdsList()), closedTrades);
+        Optional<Long> oldestUnredactedArchivedTradeDate = proto.hasOldestUnredactedArchivedTradeDate()
+                ? Optional.of(proto.getOldestUnredactedArchivedTradeDate())
+                : Optional.empty();
+        return new BisqEasyTradeStore(trades, new HashSet<>(proto.getTradeIdsList()), closedTrades, oldestUnredactedArchivedTradeDate);
     }
 
     @Override
@@ -126,35 +148,41 @@ final class BisqEasyTradeStore implements PersistableStore<BisqEasyTradeStore> {
 
     @Override
     public BisqEasyTradeStore getClone() {
-        return new BisqEasyTradeStore(Set.copyOf(trades), Set.copyOf(tradeIds), Set.copyOf(closedTrades));
+        return new BisqEasyTradeStore(Set.copyOf(trades), Set.copyOf(tradeIds), Set.copyOf(unarchivedClosedTrades), oldestUnredactedArchivedTradeDate);
     }
 
     @Override
     public void applyPersisted(BisqEasyTradeStore persisted) {
         trades.setAll(persisted.getTrades());
+        tradeById.clear();
+        trades.forEach(trade -> tradeById.put(trade.getId(), trade));
         tradeIds.setAll(persisted.getTradeIds());
-        closedTrades.setAll(persisted.getClosedTrades());
-    }
-
-    ObservableSet<BisqEasyTrade> getAllTrades() {
-        ObservableSet<BisqEasyTrade> allTrades = new ObservableSet<>();
-        allTrades.addAll(trades);
-        allTrades.addAll(closedTrades.stream().map(BisqEasyClosedTrade::trade).collect(Collectors.toSet()));
-        return allTrades;
+        unarchivedClosedTrades.clear();
+        unarchivedClosedTrades.addAll(persisted.getUnarchivedClosedTrades());
+        oldestUnredactedArchivedTradeDate = persisted.getOldestUnredactedArchivedTradeDate();
     }
 
     void addTrade(BisqEasyTrade trade) {
+        tradeById.put(trade.getId(), trade);
         trades.add(trade);
         tradeIds.add(trade.getId());
     }
 
-    void removeTrade(BisqEasyTrade trade, UserProfile myUserProfile, UserProfile peerUserProfile) {
+    void removeTrade(BisqEasyTrade trade) {
+        tradeById.remove(trade.getId());
         trades.remove(trade);
-        closedTrades.add(new BisqEasyClosedTrade(trade, myUserProfile, peerUserProfile));
+    }
+
+    void addUnarchivedClosedTrade(BisqEasyClosedTrade closedTrade) {
+        unarchivedClosedTrades.add(closedTrade);
+    }
+
+    void removeUnarchivedClosedTrades(Collection<BisqEasyClosedTrade> closedTrades) {
+        unarchivedClosedTrades.removeAll(closedTrades);
     }
 
     Optional<BisqEasyTrade> findTrade(String tradeId) {
-        return trades.stream().filter(trade -> trade.getId().equals(tradeId)).findAny();
+        return Optional.ofNullable(tradeById.get(tradeId));
     }
 
     boolean tradeExists(String tradeId) {
@@ -19,12 +19,13 @@ package bisq.trade.bisq_easy.protocol;
 
 import bisq.common.fsm.Event;
 import bisq.common.fsm.EventHandler;
+import bisq.common.fsm.EventHandlerFactory;
 import bisq.common.fsm.FsmException;
 import bisq.trade.ServiceProvider;
 import bisq.trade.bisq_easy.BisqEasyTrade;
 import bisq.trade.protocol.TradeProtocol;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Constructor;
 
 public abstract class BisqEasyProtocol extends TradeProtocol<BisqEasyTrade> {
     public static final String VERSION = "1.0.0";
@@ -34,11 +35,14 @@ public abstract class BisqEasyProtocol extends TradeProtocol<BisqEasyTrade> {
     }
 
     @Override
-    protected <E extends Event> EventHandler<E> newEventHandlerFromClass(Class<? extends EventHandler<E>> handlerClass) {
+    protected EventHandlerFactory resolveEventHandlerFactory(Class<? extends EventHandler<? extends Event>> handlerClass) {
         try {
-            return handlerClass.getDeclaredConstructor(ServiceProvider.class, BisqEasyTrade.class).newInstance(serviceProvider, model);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                 NoSuchMethodException e) {
+            Constructor<? extends EventHandler<? extends Event>> constructor = handlerClass.getDeclaredConstructor(ServiceProvider.class, BisqEasyTrade.class);
+            return fsm -> {
+                BisqEasyProtocol protocol = (BisqEasyProtocol) fsm;
+                return constructor.newInstance(protocol.getServiceProvider(), protocol.getModel());
+            };
+        } catch (NoSuchMethodException e) {
             throw new RuntimeException(e);
         }
     }
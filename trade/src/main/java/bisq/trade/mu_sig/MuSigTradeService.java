@@ -77,6 +77,7 @@ import bisq.trade.mu_sig.protocol.MuSigSellerAsMakerProtocol;
 import bisq.trade.mu_sig.protocol.MuSigSellerAsTakerProtocol;
 import bisq.trade.protobuf.MusigGrpc;
 import bisq.trade.protobuf.SubscribeTxConfirmationStatusRequest;
+import bisq.trade.protocol.messages.PendingTradeMessages;
 import bisq.user.banned.BannedUserService;
 import bisq.user.contact_list.ContactListService;
 import bisq.user.contact_list.ContactReason;
@@ -92,7 +93,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -146,7 +146,7 @@ public final class MuSigTradeService extends RateLimitedPersistenceClient<MuSigT
 
     private Pin authorizedAlertDataSetPin, numDaysAfterRedactingTradeDataPin;
     private Scheduler numDaysAfterRedactingTradeDataScheduler;
-    private final Set<MuSigTradeMessage> pendingMessages = new CopyOnWriteArraySet<>();
+    private final PendingTradeMessages<MuSigTradeMessage> pendingMessages = new PendingTradeMessages<>();
     private final Map<String, Scheduler> closeTradeTimeoutSchedulerByTradeId = new ConcurrentHashMap<>();
     private final Map<String, CompletableFuture<Void>> observeDepositTxConfirmationStatusFutureByTradeId = new ConcurrentHashMap<>();
 
@@ -186,6 +186,7 @@ public final class MuSigTradeService extends RateLimitedPersistenceClient<MuSigT
                     networkService.getConfidentialMessageServices().stream()
                             .flatMap(service -> service.getProcessedEnvelopePayloadMessages().stream())
                             .forEach(this::onMessage);
+                    pendingMessages.processAll(tradeId -> findProtocol(tradeId).isPresent(), this::handleMuSigTradeMessage);
                     networkService.addConfidentialMessageListener(this);
 
                     // At startup we observe all unconfirmed deposit txs
@@ -326,7 +327,7 @@ public final class MuSigTradeService extends RateLimitedPersistenceClient<MuSigT
         findProtocol(tradeId).ifPresentOrElse(protocol -> handleMuSigTradeMessage(message, protocol),
                 () -> {
                     log.info("Protocol with tradeId {} not found. We add the message to pendingMessages for " +
-                            "re-processing when the next message arrives. message={}", tradeId, message);
+                            "re-processing when the protocol gets created. message={}", tradeId, message);
                     pendingMessages.add(message);
                 });
     }
@@ -336,15 +337,10 @@ public final class MuSigTradeService extends RateLimitedPersistenceClient<MuSigT
             CompletableFuture.runAsync(() -> {
                 protocol.handle(message);
 
-                if (pendingMessages.contains(message)) {
-                    log.info("We remove message {} from pendingMessages.", message);
-                    pendingMessages.remove(message);
-                }
+                pendingMessages.remove(message);
 
-                if (!pendingMessages.isEmpty()) {
-                    log.info("We have pendingMessages. We try to re-process them now.");
-                    pendingMessages.forEach(this::handleMuSigTradeMessage);
-                }
+                // We only re-process the pending messages of that trade
+                pendingMessages.process(message.getTradeId(), this::handleMuSigTradeMessage);
             }, executor);
         } catch (RejectedExecutionException e) {
             log.error("Executor rejected task at handleMuSigTradeMessage", e);
@@ -642,6 +638,8 @@ public final class MuSigTradeService extends RateLimitedPersistenceClient<MuSigT
         }
         trade.setProtocolVersion(tradeProtocol.getVersion());
         tradeProtocolById.put(id, tradeProtocol);
+        // Messages of the trade might have arrived before the protocol got created. They get handled on the executor.
+        pendingMessages.process(id, this::handleMuSigTradeMessage);
         return tradeProtocol;
     }
 
@@ -19,13 +19,14 @@ package bisq.trade.mu_sig.protocol;
 
 import bisq.common.fsm.Event;
 import bisq.common.fsm.EventHandler;
+import bisq.common.fsm.EventHandlerFactory;
 import bisq.common.fsm.FsmException;
 import bisq.trade.ServiceProvider;
 import bisq.trade.mu_sig.MuSigTrade;
 import bisq.trade.protocol.TradeProtocol;
 import lombok.extern.slf4j.Slf4j;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Constructor;
 
 @Slf4j
 public abstract class MuSigProtocol extends TradeProtocol<MuSigTrade> {
@@ -36,11 +37,14 @@ public abstract class MuSigProtocol extends TradeProtocol<MuSigTrade> {
     }
 
     @Override
-    protected <E extends Event> EventHandler<E> newEventHandlerFromClass(Class<? extends EventHandler<E>> handlerClass) {
+    protected EventHandlerFactory resolveEventHandlerFactory(Class<? extends EventHandler<? extends Event>> handlerClass) {
         try {
-            return handlerClass.getDeclaredConstructor(ServiceProvider.class, MuSigTrade.class).newInstance(serviceProvider, model);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                 NoSuchMethodException e) {
+            Constructor<? extends EventHandler<? extends Event>> constructor = handlerClass.getDeclaredConstructor(ServiceProvider.class, MuSigTrade.class);
+            return fsm -> {
+                MuSigProtocol protocol = (MuSigProtocol) fsm;
+                return constructor.newInstance(protocol.getServiceProvider(), protocol.getModel());
+            };
+        } catch (NoSuchMethodException e) {
             throw new MuSigProtocolException(e);
         }
     }
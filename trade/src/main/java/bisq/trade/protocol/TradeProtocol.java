@@ -37,4 +37,10 @@ public abstract class TradeProtocol<M extends Trade<?, ?, ?>> extends Fsm<M> {
         this.version = version;
         this.serviceProvider = serviceProvider;
     }
+
+    // The transition config of a protocol class does not depend on the trade, so we compile it only once per class.
+    @Override
+    protected boolean isTransitionTableShared() {
+        return true;
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.trade.protocol.messages;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Buffers trade messages for which we do not have a protocol yet, keyed by tradeId.
+ * The buffered messages of a trade get re-processed when its protocol got created, when a message of that trade got
+ * handled and once at startup after the protocols got restored.
+ * Messages of a trade are kept in the order they have been received.
+ */
+@Slf4j
+public class PendingTradeMessages<M extends TradeMessage> {
+    // The sets are only accessed inside the compute functions of the map, which serialize access per tradeId.
+    private final Map<String, Set<M>> messagesByTradeId = new ConcurrentHashMap<>();
+
+    public void add(M message) {
+        messagesByTradeId.compute(message.getTradeId(), (tradeId, messages) -> {
+            Set<M> result = messages == null ? new LinkedHashSet<>() : messages;
+            result.add(message);
+            return result;
+        });
+    }
+
+    public void remove(M message) {
+        messagesByTradeId.computeIfPresent(message.getTradeId(), (tradeId, messages) -> {
+            if (messages.remove(message)) {
+                log.info("We removed message {} from pendingMessages.", message);
+            }
+            return messages.isEmpty() ? null : messages;
+        });
+    }
+
+    /**
+     * Removes and returns all pending messages of the given trade.
+     */
+    public List<M> drain(String tradeId) {
+        Set<M> messages = messagesByTradeId.remove(tradeId);
+        return messages == null ? List.of() : new ArrayList<>(messages);
+    }
+
+    /**
+     * Removes the pending messages of the given trade and passes them to the handler.
+     */
+    public void process(String tradeId, Consumer<M> handler) {
+        List<M> messages = drain(tradeId);
+        if (!messages.isEmpty()) {
+            log.info("We have {} pendingMessages for trade {}. We try to re-process them now.", messages.size(), tradeId);
+            messages.forEach(handler);
+        }
+    }
+
+    /**
+     * Processes the pending messages of all trades for which hasProtocol returns true.
+     */
+    public void processAll(Predicate<String> hasProtocol, Consumer<M> handler) {
+        new ArrayList<>(messagesByTradeId.keySet()).stream()
+                .filter(hasProtocol)
+                .forEach(tradeId -> process(tradeId, handler));
+    }
+
+    public boolean isEmpty() {
+        return messagesByTradeId.isEmpty();
+    }
+
+    public void clear() {
+        messagesByTradeId.clear();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.trade.protocol.messages;
+
+import bisq.trade.bisq_easy.protocol.messages.BisqEasyTradeMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PendingTradeMessagesTest {
+    private final PendingTradeMessages<BisqEasyTradeMessage> pendingMessages = new PendingTradeMessages<>();
+    private final Set<String> tradeIdsWithProtocol = new HashSet<>();
+    private final List<BisqEasyTradeMessage> handledMessages = new ArrayList<>();
+
+    @Test
+    void messagesReceivedBeforeProtocolAreHandledWhenProtocolGetsCreated() {
+        BisqEasyTradeMessage first = createMessage("trade1");
+        BisqEasyTradeMessage second = createMessage("trade1");
+        BisqEasyTradeMessage otherTrade = createMessage("trade2");
+        onMessage(first);
+        onMessage(second);
+        onMessage(otherTrade);
+        assertTrue(handledMessages.isEmpty());
+
+        createProtocol("trade1");
+        assertEquals(List.of(first, second), handledMessages);
+
+        // Handled messages are not handled again and the messages of the other trade stay pending
+        createProtocol("trade1");
+        assertEquals(List.of(first, second), handledMessages);
+        assertFalse(pendingMessages.isEmpty());
+
+        createProtocol("trade2");
+        assertEquals(List.of(first, second, otherTrade), handledMessages);
+        assertTrue(pendingMessages.isEmpty());
+    }
+
+    @Test
+    void processAllHandlesOnlyTradesWithProtocol() {
+        BisqEasyTradeMessage withProtocol = createMessage("trade1");
+        BisqEasyTradeMessage withoutProtocol = createMessage("trade2");
+        onMessage(withProtocol);
+        onMessage(withoutProtocol);
+
+        // At startup the protocols get restored before the pending messages are processed
+        tradeIdsWithProtocol.add("trade1");
+        pendingMessages.processAll(tradeIdsWithProtocol::contains, this::onMessage);
+
+        assertEquals(List.of(withProtocol), handledMessages);
+        assertEquals(List.of(withoutProtocol), pendingMessages.drain("trade2"));
+    }
+
+    // Mirrors the handling in the trade services
+    private void onMessage(BisqEasyTradeMessage message) {
+        if (tradeIdsWithProtocol.contains(message.getTradeId())) {
+            handledMessages.add(message);
+            pendingMessages.remove(message);
+            pendingMessages.process(message.getTradeId(), this::onMessage);
+        } else {
+            pendingMessages.add(message);
+        }
+    }
+
+    private void createProtocol(String tradeId) {
+        tradeIdsWithProtocol.add(tradeId);
+        pendingMessages.process(tradeId, this::onMessage);
+    }
+
+    private static BisqEasyTradeMessage createMessage(String tradeId) {
+        BisqEasyTradeMessage message = mock(BisqEasyTradeMessage.class);
+        when(message.getTradeId()).thenReturn(tradeId);
+        return message;
+    }
+}
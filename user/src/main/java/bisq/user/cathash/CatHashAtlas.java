@@ -0,0 +1,288 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.user.cathash;
+
+import bisq.common.data.ByteArray;
+import bisq.common.file.FileMutatorUtils;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A single memory-mapped file with a fixed number of fixed-size slots holding the raw pixels of cat hash icons.
+ * Slots are addressed by the cat hash input (proof of work solution concatenated with the pubKeyHash) using
+ * open addressing with a bounded number of probes. Only the pages of accessed slots are paged in, and a lookup
+ * costs a hash computation and a memory copy instead of a file open and read per icon.
+ * <p>
+ * If all probed slots are taken by other icons the oldest written one gets overwritten, thus the atlas never grows
+ * beyond its initial size. The pixel format is opaque to the atlas, it only requires a fixed length per icon.
+ */
+@Slf4j
+public class CatHashAtlas implements AutoCloseable {
+    private static final int MAGIC = 0x43484154;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int SEQUENCE_POSITION = 16;
+
+    // Proof of work solution (8 bytes) and pubKeyHash (20 bytes) fit with some headroom
+    public static final int MAX_KEY_LENGTH = 32;
+    private static final int MAX_PROBES = 16;
+
+    // Slot header: state (1 byte), key length (1 byte), padding (6 bytes), sequence (8 bytes), key (MAX_KEY_LENGTH bytes)
+    private static final int SLOT_HEADER_SIZE = 16 + MAX_KEY_LENGTH;
+    private static final byte EMPTY = 0;
+    private static final byte USED = 1;
+    private static final byte FREE = 2;
+
+    @Getter
+    private final Path atlasFilePath;
+    @Getter
+    private final int numSlots;
+    @Getter
+    private final int pixelsLength;
+    private final int slotSize;
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+    private long sequence;
+    private boolean closed;
+
+    public CatHashAtlas(Path atlasFilePath, int iconSize, int numSlots) throws IOException {
+        checkArgument(iconSize > 0, "iconSize must be > 0");
+        checkArgument(numSlots > 0, "numSlots must be > 0");
+        this.atlasFilePath = atlasFilePath;
+        this.numSlots = numSlots;
+        pixelsLength = iconSize * iconSize * 4;
+        slotSize = SLOT_HEADER_SIZE + pixelsLength;
+        long fileSize = HEADER_SIZE + (long) slotSize * numSlots;
+        checkArgument(fileSize <= Integer.MAX_VALUE, "Atlas size must not exceed 2 GB. fileSize=" + fileSize);
+
+        Path parent = atlasFilePath.getParent();
+        if (parent != null && !Files.exists(parent)) {
+            FileMutatorUtils.createDirectories(parent);
+        }
+        boolean existed = Files.exists(atlasFilePath) && Files.size(atlasFilePath) == fileSize;
+        file = new RandomAccessFile(atlasFilePath.toFile(), "rw");
+        try {
+            // A sparse file on most file systems, thus unused slots do not consume disk space
+            file.setLength(fileSize);
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+
+        if (existed && hasValidHeader(iconSize)) {
+            sequence = buffer.getLong(SEQUENCE_POSITION);
+        } else {
+            if (existed) {
+                log.info("Atlas file {} has an incompatible header. We reset it.", atlasFilePath);
+            }
+            reset(iconSize);
+        }
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // API
+    /* --------------------------------------------------------------------- */
+
+    public synchronized Optional<byte[]> read(byte[] key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return Optional.empty();
+        }
+        byte[] pixels = new byte[pixelsLength];
+        buffer.get(slotPosition(slot) + SLOT_HEADER_SIZE, pixels);
+        return Optional.of(pixels);
+    }
+
+    public synchronized boolean contains(byte[] key) {
+        return findSlot(key) >= 0;
+    }
+
+    /**
+     * @return False if the key is too large to be stored in the atlas.
+     */
+    public synchronized boolean write(byte[] key, byte[] pixels) {
+        checkArgument(pixels.length == pixelsLength,
+                "Pixels length does not match slot size. pixels.length=" + pixels.length + "; pixelsLength=" + pixelsLength);
+        if (closed || key.length == 0 || key.length > MAX_KEY_LENGTH) {
+            return false;
+        }
+
+        int start = startSlot(key);
+        int candidate = -1;
+        int oldest = -1;
+        long oldestSequence = Long.MAX_VALUE;
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int slot = (start + i) % numSlots;
+            int position = slotPosition(slot);
+            byte state = buffer.get(position);
+            if (state == USED && keyMatches(position, key)) {
+                candidate = slot;
+                break;
+            }
+            if (state == EMPTY) {
+                if (candidate < 0) {
+                    candidate = slot;
+                }
+                // An empty slot terminates the probe sequence, the key cannot be stored further on
+                break;
+            }
+            if (state == FREE) {
+                if (candidate < 0) {
+                    candidate = slot;
+                }
+            } else {
+                long slotSequence = buffer.getLong(position + 8);
+                if (slotSequence < oldestSequence) {
+                    oldestSequence = slotSequence;
+                    oldest = slot;
+                }
+            }
+        }
+        int slot = candidate >= 0 ? candidate : oldest;
+
+        int position = slotPosition(slot);
+        // We mark the slot as free while writing, so that an interrupted write does not leave a valid looking entry
+        buffer.put(position, FREE);
+        buffer.put(position + 1, (byte) key.length);
+        buffer.putLong(position + 8, ++sequence);
+        byte[] paddedKey = Arrays.copyOf(key, MAX_KEY_LENGTH);
+        buffer.put(position + 16, paddedKey);
+        buffer.put(position + SLOT_HEADER_SIZE, pixels);
+        buffer.put(position, USED);
+        buffer.putLong(SEQUENCE_POSITION, sequence);
+        return true;
+    }
+
+    /**
+     * Frees all slots with keys not contained in the given set.
+     *
+     * @return The number of freed slots.
+     */
+    public synchronized int retainAll(Set<ByteArray> keys) {
+        int numFreed = 0;
+        for (int slot = 0; slot < numSlots; slot++) {
+            int position = slotPosition(slot);
+            if (buffer.get(position) == USED && !keys.contains(new ByteArray(readKey(position)))) {
+                // Freed slots keep the probe sequence intact and get reused at later writes
+                buffer.put(position, FREE);
+                numFreed++;
+            }
+        }
+        return numFreed;
+    }
+
+    public synchronized int size() {
+        int size = 0;
+        for (int slot = 0; slot < numSlots; slot++) {
+            if (buffer.get(slotPosition(slot)) == USED) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            buffer.force();
+            file.close();
+        } catch (Exception e) {
+            log.warn("Closing atlas file {} failed", atlasFilePath, e);
+        }
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private int findSlot(byte[] key) {
+        if (closed || key.length == 0 || key.length > MAX_KEY_LENGTH) {
+            return -1;
+        }
+        int start = startSlot(key);
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int slot = (start + i) % numSlots;
+            int position = slotPosition(slot);
+            byte state = buffer.get(position);
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (state == USED && keyMatches(position, key)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private boolean keyMatches(int position, byte[] key) {
+        return buffer.get(position + 1) == key.length && Arrays.equals(readKey(position), key);
+    }
+
+    private byte[] readKey(int position) {
+        byte[] key = new byte[buffer.get(position + 1)];
+        buffer.get(position + 16, key);
+        return key;
+    }
+
+    private int startSlot(byte[] key) {
+        int hash = Arrays.hashCode(key) * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), numSlots);
+    }
+
+    private int slotPosition(int slot) {
+        return HEADER_SIZE + slot * slotSize;
+    }
+
+    private boolean hasValidHeader(int iconSize) {
+        return buffer.getInt(0) == MAGIC &&
+                buffer.getInt(4) == FORMAT_VERSION &&
+                buffer.getInt(8) == iconSize &&
+                buffer.getInt(12) == numSlots;
+    }
+
+    private void reset(int iconSize) {
+        for (int slot = 0; slot < numSlots; slot++) {
+            buffer.put(slotPosition(slot), EMPTY);
+        }
+        sequence = 0;
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, FORMAT_VERSION);
+        buffer.putInt(8, iconSize);
+        buffer.putInt(12, numSlots);
+        buffer.putLong(SEQUENCE_POSITION, sequence);
+    }
+}
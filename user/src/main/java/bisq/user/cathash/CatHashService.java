@@ -17,7 +17,7 @@
 
 package bisq.user.cathash;
 
-import bisq.common.encoding.Hex;
+import bisq.common.data.ByteArray;
 import bisq.common.file.FileMutatorUtils;
 import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.ByteArrayUtils;
@@ -31,13 +31,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -52,11 +52,22 @@ public abstract class CatHashService<T> {
     // We limit size to max. 300 px as the png files for the image composition are of that size.
     public static final double MAX_ICON_SIZE = 300;
 
-    // This is a 120*120 image meaning 14400 pixels. At 4 bytes each, that takes 57.6 KB in memory (and on disk as we use raw format).
-    // With 5000 images we would get about 288 MB.
+    // This is a 120*120 image meaning 14400 pixels. At 4 bytes each, that takes 57.6 KB in the atlas file.
+    // With 5000 images we would get about 288 MB, but only the pages of accessed icons are loaded into memory.
     private static final int MAX_CACHE_SIZE = 5000;
 
-    private final ConcurrentHashMap<BigInteger, T> cache = new ConcurrentHashMap<>();
+    // Decoded images kept in the heap. 500 images take about 29 MB.
+    private static final int MAX_HEAP_CACHE_SIZE = 500;
+
+    private final Map<BigInteger, T> cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<BigInteger, T> eldest) {
+            return size() > getMaxHeapCacheSize();
+        }
+    });
+    private final Map<Integer, Optional<CatHashAtlas>> atlasByVersion = new ConcurrentHashMap<>();
+    private final Map<BigInteger, CompletableFuture<Void>> pendingRenderings = new ConcurrentHashMap<>();
+    private volatile ExecutorService rendererExecutor;
     @Setter
     private Path appDataDirPath;
 
@@ -64,11 +75,13 @@ public abstract class CatHashService<T> {
         this.appDataDirPath = appDataDirPath;
     }
 
-    protected abstract T composeImage(String[] paths, double size);
-
-    protected abstract void writeRawImage(T image, Path iconPath) throws IOException;
+    /**
+     * Composes the layers to the raw pixels of a square image of the given size. Must not require the UI thread
+     * as it is called from the renderer threads.
+     */
+    protected abstract byte[] composePixels(String[] paths, int size);
 
-    protected abstract T readRawImage(Path iconPath) throws IOException;
+    protected abstract T toImage(byte[] pixels, int size);
 
     public T getImage(UserProfile userProfile, double size) {
         checkArgument(size > 0, "Size must be > 0 at getImage");
@@ -81,9 +94,6 @@ public abstract class CatHashService<T> {
     public T getImage(byte[] pubKeyHash, byte[] powSolution, int avatarVersion, double size) {
         byte[] combined = ByteArrayUtils.concat(powSolution, pubKeyHash);
         BigInteger catHashInput = new BigInteger(combined);
-        String userProfileId = Hex.encode(pubKeyHash);
-        Path iconsDirPath = getCatHashIconsDirPath().resolve("v" + avatarVersion);
-        Path iconFilePath = iconsDirPath.resolve(userProfileId + ".raw");
 
         // We create the images internally with 2x size for retina resolution
         double scaledSize = 2 * size;
@@ -92,54 +102,70 @@ public abstract class CatHashService<T> {
                     "are of that size.", scaledSize, MAX_ICON_SIZE);
             scaledSize = MAX_ICON_SIZE;
         }
-        boolean useCache = scaledSize <= getSizeOfCachedIcons();
-        if (useCache) {
-            // First approach is to look up the cache
-            if (cache.containsKey(catHashInput)) {
-                return cache.get(catHashInput);
-            }
+        if (scaledSize > getSizeOfCachedIcons()) {
+            // Large images are used only rarely, and we do not cache them
+            int iconSize = (int) Math.ceil(scaledSize);
+            return toImage(renderPixels(catHashInput, avatarVersion, iconSize), iconSize);
+        }
 
-            if (!Files.exists(iconsDirPath)) {
-                try {
-                    FileMutatorUtils.createDirectories(iconsDirPath);
-                } catch (IOException e) {
-                    log.error(e.toString());
-                }
-            }
+        // All cached icons use the same size, so that they fit into the fixed-size slots of the atlas.
+        // The UI scales them down to the requested size.
+        T image = cache.get(catHashInput);
+        if (image != null) {
+            return image;
+        }
 
-            // Next approach is to read the image from file
-            if (Files.exists(iconFilePath)) {
-                try {
-                    T image = readRawImage(iconFilePath);
-                    if (cache.size() < getMaxCacheSize()) {
-                        cache.put(catHashInput, image);
-                    }
-                    return image;
-                } catch (Exception e) {
-                    log.error("Read image failed", e);
-                }
-            }
+        int iconSize = getCachedIconSize();
+        Optional<CatHashAtlas> atlas = getAtlas(avatarVersion);
+        byte[] pixels = atlas.flatMap(a -> a.read(combined))
+                .orElseGet(() -> {
+                    // Not pre-rendered yet. Composing the pixels takes about 1 ms once the layers are loaded.
+                    byte[] rendered = renderPixels(catHashInput, avatarVersion, iconSize);
+                    atlas.ifPresent(a -> a.write(combined, rendered));
+                    return rendered;
+                });
+        image = toImage(pixels, iconSize);
+        cache.put(catHashInput, image);
+        return image;
+    }
+
+    /**
+     * Renders the icon of the given user profile on a background thread into the atlas if not already present,
+     * so that a later getImage call only needs to copy the ready pixels.
+     */
+    public CompletableFuture<Void> prerender(UserProfile userProfile) {
+        byte[] combined = ByteArrayUtils.concat(userProfile.getProofOfWork().getSolution(), userProfile.getPubKeyHash());
+        BigInteger catHashInput = new BigInteger(combined);
+        if (cache.containsKey(catHashInput)) {
+            return CompletableFuture.completedFuture(null);
         }
 
-        // Image size might be larger as our cached images, or we did not find it in the
-        // cache and also not from persisted files. We create the image. This is an expensive operation taking
-        // about 12 ms on a high-end laptop, and it needs to be done on the UI thread.
-        long ts = System.currentTimeMillis();
-        BucketConfig bucketConfig = getBucketConfig(avatarVersion);
-        int[] buckets = BucketEncoder.encode(catHashInput, bucketConfig.getBucketSizes());
-        String[] paths = BucketEncoder.toPaths(buckets, bucketConfig.getPathTemplates());
-        T image = composeImage(paths, scaledSize);
-        //log.info("Creating user profile icon for {} took {} ms.", userProfileId, System.currentTimeMillis() - ts);
-        // We use the MAX_CACHE_SIZE as limit for files on disk
-        if (useCache && cache.size() < getMaxCacheSize()) {
-            cache.put(catHashInput, image);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        CompletableFuture<Void> pending = pendingRenderings.putIfAbsent(catHashInput, future);
+        if (pending != null) {
+            return pending;
+        }
+        int avatarVersion = userProfile.getAvatarVersion();
+        getRendererExecutor().execute(() -> {
             try {
-                writeRawImage(image, iconFilePath);
-            } catch (IOException e) {
-                log.error("Write image failed", e);
+                getAtlas(avatarVersion).ifPresent(atlas -> {
+                    if (!atlas.contains(combined)) {
+                        atlas.write(combined, renderPixels(catHashInput, avatarVersion, getCachedIconSize()));
+                    }
+                });
+                future.complete(null);
+            } catch (Exception e) {
+                log.warn("Pre-rendering cat hash icon for user profile {} failed", userProfile.getId(), e);
+                future.completeExceptionally(e);
+            } finally {
+                pendingRenderings.remove(catHashInput);
             }
-        }
-        return image;
+        });
+        return future;
+    }
+
+    public void prerender(Collection<UserProfile> userProfiles) {
+        userProfiles.forEach(this::prerender);
     }
 
     // Remove the user profile icons which are not contained anymore in the current user profile list
@@ -147,81 +173,30 @@ public abstract class CatHashService<T> {
         if (userProfiles.isEmpty()) {
             return;
         }
-        Path iconsDirPath = getCatHashIconsDirPath();
 
-        try (Stream<Path> versionDirStream = Files.list(iconsDirPath)) {
-            Map<String, List<Path>> iconFilesPathByVersion = versionDirStream
-                    .filter(Files::isDirectory)
-                    .filter(dir -> {
-                        String name = dir.getFileName().toString();
-                        if (!name.startsWith("v")) {
-                            log.warn("Version directory in the cat_hash_icons directory not prefixed with 'v' {}", name);
-                            return false;
-                        }
-                        try {
-                            int version = Integer.parseInt(name.replace("v", ""));
-                            boolean contains = BucketConfig.ALL_VERSIONS.contains(version);
-                            if (!contains) {
-                                log.warn("Version string '{}' of the version directory found in the existing versions: {}",
-                                        version, BucketConfig.ALL_VERSIONS);
-                            }
-                            return contains;
-                        } catch (NumberFormatException e) {
-                            log.warn("Version postfix is not an integer in the directory: {}", name, e);
-                            return false;
-                        }
-                    })
-                    .collect(Collectors.toMap(
-                            path -> path.getFileName().toString(),
-                            dirPath -> {
-                                try (Stream<Path> files = Files.list(dirPath)) {
-                                    return files.collect(Collectors.toList());
-                                } catch (IOException e) {
-                                    log.error("Failed to list files in directory {}", dirPath, e);
-                                    return Collections.emptyList();
-                                }
-                            }
-                    ));
-
-            Map<Integer, List<UserProfile>> userProfilesByVersion = userProfiles.stream()
-                    .collect(Collectors.groupingBy(UserProfile::getAvatarVersion));
-            CompletableFuture.runAsync(() -> {
-                iconFilesPathByVersion.forEach((versionDir, iconFiles) -> {
-                    try {
-                        int version = Integer.parseInt(versionDir.replace("v", ""));
-                        Set<String> fromDisk = iconFiles.stream()
-                                .map(path -> path.getFileName().toString())
-                                .collect(Collectors.toSet());
-                        Set<String> fromData = Optional.ofNullable(userProfilesByVersion.get(version))
-                                .map(profiles -> profiles.stream()
-                                        .map(userProfile -> userProfile.getId() + ".raw")
-                                        .collect(Collectors.toSet()))
-                                .orElseGet(Collections::emptySet);
-                        Set<String> toRemove = new HashSet<>(fromDisk);
-                        toRemove.removeAll(fromData);
-
-                        log.info("We remove {} outdated user profile icons (not found in the current user profile list)", toRemove.size());
-                        if (toRemove.size() < 10) {
-                            log.info("Removed user profile icons: {}", toRemove);
-                        }
-                        toRemove.forEach(fileName -> {
-                            Path filePath = iconsDirPath.resolve(versionDir).resolve(fileName);
-                            try {
-                                log.debug("Remove {}", filePath);
-                                Files.deleteIfExists(filePath);
-                            } catch (IOException e) {
-                                log.error("Failed to remove file {}", filePath, e);
-                            }
-                        });
-
-                    } catch (Exception e) {
-                        log.error("Unexpected versionDir {}", versionDir, e);
-                    }
-                });
-            }, ExecutorFactory.newSingleThreadExecutor("pruneOutdatedProfileIcons"));
-        } catch (IOException e) {
-            log.error("Failed to list version directories in the cat_hash_icons directory", e);
+        Map<Integer, Set<ByteArray>> catHashInputsByVersion = userProfiles.stream()
+                .collect(Collectors.groupingBy(UserProfile::getAvatarVersion,
+                        Collectors.mapping(userProfile -> new ByteArray(ByteArrayUtils.concat(userProfile.getProofOfWork().getSolution(),
+                                        userProfile.getPubKeyHash())),
+                                Collectors.toSet())));
+        CompletableFuture.runAsync(() -> {
+            deleteLegacyIconDirectories();
+            BucketConfig.ALL_VERSIONS.forEach(version ->
+                    getAtlas(version).ifPresent(atlas -> {
+                        Set<ByteArray> catHashInputs = catHashInputsByVersion.getOrDefault(version, Collections.emptySet());
+                        int numFreed = atlas.retainAll(catHashInputs);
+                        log.info("We removed {} outdated user profile icons (not found in the current user profile list)", numFreed);
+                    }));
+        }, getRendererExecutor());
+    }
+
+    public void shutdown() {
+        if (rendererExecutor != null) {
+            ExecutorFactory.shutdownAndAwaitTermination(rendererExecutor);
         }
+        atlasByVersion.values().forEach(atlas -> atlas.ifPresent(CatHashAtlas::close));
+        atlasByVersion.clear();
+        cache.clear();
     }
 
     public int currentAvatarsVersion() {
@@ -236,6 +211,70 @@ public abstract class CatHashService<T> {
         return MAX_CACHE_SIZE;
     }
 
+    protected int getMaxHeapCacheSize() {
+        return MAX_HEAP_CACHE_SIZE;
+    }
+
+    protected int getNumRendererThreads() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    private byte[] renderPixels(BigInteger catHashInput, int avatarVersion, int iconSize) {
+        BucketConfig bucketConfig = getBucketConfig(avatarVersion);
+        int[] buckets = BucketEncoder.encode(catHashInput, bucketConfig.getBucketSizes());
+        String[] paths = BucketEncoder.toPaths(buckets, bucketConfig.getPathTemplates());
+        return composePixels(paths, iconSize);
+    }
+
+    private int getCachedIconSize() {
+        return (int) getSizeOfCachedIcons();
+    }
+
+    private Optional<CatHashAtlas> getAtlas(int avatarVersion) {
+        return atlasByVersion.computeIfAbsent(avatarVersion, version -> {
+            Path atlasFilePath = getCatHashIconsDirPath().resolve("atlas_v" + version + ".bin");
+            try {
+                return Optional.of(new CatHashAtlas(atlasFilePath, getCachedIconSize(), getMaxCacheSize()));
+            } catch (Exception e) {
+                log.error("Opening cat hash icon atlas at {} failed. We render the icons without persisting them.", atlasFilePath, e);
+                return Optional.empty();
+            }
+        });
+    }
+
+    private ExecutorService getRendererExecutor() {
+        if (rendererExecutor == null) {
+            synchronized (this) {
+                if (rendererExecutor == null) {
+                    rendererExecutor = ExecutorFactory.newFixedThreadPool("CatHashRenderer", getNumRendererThreads());
+                }
+            }
+        }
+        return rendererExecutor;
+    }
+
+    // Before the atlas we stored each icon in a separate file in a version directory
+    private void deleteLegacyIconDirectories() {
+        Path iconsDirPath = getCatHashIconsDirPath();
+        if (!Files.exists(iconsDirPath)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.list(iconsDirPath)) {
+            paths.filter(Files::isDirectory)
+                    .filter(dir -> dir.getFileName().toString().startsWith("v"))
+                    .forEach(dir -> {
+                        try {
+                            log.info("Remove legacy user profile icon directory {}", dir);
+                            FileMutatorUtils.deleteFileOrDirectory(dir);
+                        } catch (IOException e) {
+                            log.error("Failed to remove legacy user profile icon directory {}", dir, e);
+                        }
+                    });
+        } catch (IOException e) {
+            log.error("Failed to list the cat_hash_icons directory", e);
+        }
+    }
+
     private Path getCatHashIconsDirPath() {
         return appDataDirPath
                 .resolve("db")
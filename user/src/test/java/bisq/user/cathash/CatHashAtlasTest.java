@@ -0,0 +1,117 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.user.cathash;
+
+import bisq.common.data.ByteArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatHashAtlasTest {
+    private static final int ICON_SIZE = 4;
+
+    @Test
+    void writeAndReadAfterReopen(@TempDir Path tempDir) throws IOException {
+        Path atlasFilePath = tempDir.resolve("atlas.bin");
+        byte[] key = key(1);
+        byte[] pixels = pixels(7);
+        try (CatHashAtlas atlas = new CatHashAtlas(atlasFilePath, ICON_SIZE, 10)) {
+            assertTrue(atlas.read(key).isEmpty());
+            assertTrue(atlas.write(key, pixels));
+            assertArrayEquals(pixels, atlas.read(key).orElseThrow());
+        }
+
+        try (CatHashAtlas atlas = new CatHashAtlas(atlasFilePath, ICON_SIZE, 10)) {
+            assertArrayEquals(pixels, atlas.read(key).orElseThrow());
+        }
+
+        // Other icon size invalidates the atlas
+        try (CatHashAtlas atlas = new CatHashAtlas(atlasFilePath, ICON_SIZE + 1, 10)) {
+            assertFalse(atlas.contains(key));
+        }
+    }
+
+    @Test
+    void overwritesOldestIfFull(@TempDir Path tempDir) throws IOException {
+        try (CatHashAtlas atlas = new CatHashAtlas(tempDir.resolve("atlas.bin"), ICON_SIZE, 3)) {
+            for (int i = 0; i < 3; i++) {
+                atlas.write(key(i), pixels(i));
+            }
+            assertEquals(3, atlas.size());
+
+            atlas.write(key(3), pixels(3));
+            assertEquals(3, atlas.size());
+            assertFalse(atlas.contains(key(0)));
+            assertArrayEquals(pixels(3), atlas.read(key(3)).orElseThrow());
+
+            // Overwriting an existing key does not consume another slot
+            atlas.write(key(3), pixels(4));
+            assertEquals(3, atlas.size());
+            assertArrayEquals(pixels(4), atlas.read(key(3)).orElseThrow());
+        }
+    }
+
+    @Test
+    void retainAll(@TempDir Path tempDir) throws IOException {
+        try (CatHashAtlas atlas = new CatHashAtlas(tempDir.resolve("atlas.bin"), ICON_SIZE, 100)) {
+            for (int i = 0; i < 50; i++) {
+                atlas.write(key(i), pixels(i));
+            }
+            int numFreed = atlas.retainAll(Set.of(new ByteArray(key(10)), new ByteArray(key(20))));
+            assertEquals(48, numFreed);
+            assertEquals(2, atlas.size());
+            assertArrayEquals(pixels(10), atlas.read(key(10)).orElseThrow());
+            assertArrayEquals(pixels(20), atlas.read(key(20)).orElseThrow());
+            assertFalse(atlas.contains(key(11)));
+
+            // Freed slots get reused
+            atlas.write(key(11), pixels(11));
+            assertArrayEquals(pixels(11), atlas.read(key(11)).orElseThrow());
+        }
+    }
+
+    @Test
+    void ignoresTooLargeKeys(@TempDir Path tempDir) throws IOException {
+        try (CatHashAtlas atlas = new CatHashAtlas(tempDir.resolve("atlas.bin"), ICON_SIZE, 10)) {
+            byte[] key = new byte[CatHashAtlas.MAX_KEY_LENGTH + 1];
+            assertFalse(atlas.write(key, pixels(1)));
+            assertFalse(atlas.contains(key));
+        }
+    }
+
+    private static byte[] key(int i) {
+        byte[] key = new byte[28];
+        Arrays.fill(key, (byte) i);
+        return key;
+    }
+
+    private static byte[] pixels(int i) {
+        byte[] pixels = new byte[ICON_SIZE * ICON_SIZE * 4];
+        Arrays.fill(pixels, (byte) i);
+        return pixels;
+    }
+}